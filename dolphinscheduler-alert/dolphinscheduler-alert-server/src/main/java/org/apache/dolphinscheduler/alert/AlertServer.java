@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.registry.AlertRegistryClient;
 import org.apache.dolphinscheduler.alert.rpc.AlertRpcServer;
 import org.apache.dolphinscheduler.alert.service.AlertBootstrapService;
+import org.apache.dolphinscheduler.alert.service.AlertChannelDispatcher;
+import org.apache.dolphinscheduler.alert.service.AlertSendResultWriter;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
@@ -49,6 +51,10 @@ public class AlertServer {
     private AlertPluginManager alertPluginManager;
     @Autowired
     private AlertRegistryClient alertRegistryClient;
+    @Autowired
+    private AlertChannelDispatcher alertChannelDispatcher;
+    @Autowired
+    private AlertSendResultWriter alertSendResultWriter;
 
     public static void main(String[] args) {
         Thread.currentThread().setName(Constants.THREAD_NAME_ALERT_SERVER);
@@ -60,6 +66,7 @@ public class AlertServer {
         log.info("Alert server is staring ...");
         alertPluginManager.start();
         alertRegistryClient.start();
+        alertSendResultWriter.start();
         alertBootstrapService.start();
         alertRpcServer.start();
         log.info("Alert server is started ...");
@@ -88,6 +95,8 @@ public class AlertServer {
             try (
                     AlertRpcServer closedAlertRpcServer = alertRpcServer;
                     AlertBootstrapService closedAlertBootstrapService = alertBootstrapService;
+                    AlertChannelDispatcher closedAlertChannelDispatcher = alertChannelDispatcher;
+                    AlertSendResultWriter closedAlertSendResultWriter = alertSendResultWriter;
                     AlertRegistryClient closedAlertRegistryClient = alertRegistryClient) {
                 // close resource
             }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Coalesce the pending alerts which have the same alert group, warning type, alert type and project in a time window
+ * into one digest alert, to avoid flooding the alert channels when a shared upstream fails.
+ */
+@Data
+public class AlertCoalesceProperties {
+
+    /**
+     * If disabled, each alert will be sent individually.
+     */
+    private boolean enabled = false;
+    /**
+     * The alerts created in the window after the first alert of a group will be coalesced.
+     */
+    private Duration window = Duration.ofSeconds(30);
+    /**
+     * The max number of alerts in a digest alert, the digest is sent immediately once reaching it.
+     */
+    private int maxBatchSize = 50;
+
+}
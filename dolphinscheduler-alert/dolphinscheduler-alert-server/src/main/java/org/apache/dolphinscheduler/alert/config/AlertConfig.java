@@ -45,6 +45,10 @@ public final class AlertConfig implements Validator {
 
     private String alertServerAddress;
 
+    private AlertSenderProperties sender = new AlertSenderProperties();
+
+    private AlertCoalesceProperties coalesce = new AlertCoalesceProperties();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return AlertConfig.class.isAssignableFrom(clazz);
@@ -58,6 +62,42 @@ public final class AlertConfig implements Validator {
             errors.rejectValue("heartbeat-interval", null, "should be a valid duration");
         }
 
+        AlertSenderProperties senderProperties = alertConfig.getSender();
+        if (senderProperties.getChannelParallelism() <= 0) {
+            errors.rejectValue("sender.channel-parallelism", null, "should be a positive value");
+        }
+        if (senderProperties.getChannelQueueCapacity() <= 0) {
+            errors.rejectValue("sender.channel-queue-capacity", null, "should be a positive value");
+        }
+        if (senderProperties.getChannelRateLimit() < 0) {
+            errors.rejectValue("sender.channel-rate-limit", null, "should not be negative");
+        }
+        if (senderProperties.getMaxRetryTimes() < 0) {
+            errors.rejectValue("sender.max-retry-times", null, "should not be negative");
+        }
+        if (senderProperties.getRetryBackoff().isNegative()
+                || senderProperties.getMaxRetryBackoff().compareTo(senderProperties.getRetryBackoff()) < 0) {
+            errors.rejectValue("sender.retry-backoff", null,
+                    "should not be negative and not be greater than max-retry-backoff");
+        }
+        if (senderProperties.getPluginInstanceCacheExpire().isNegative()) {
+            errors.rejectValue("sender.plugin-instance-cache-expire", null, "should not be negative");
+        }
+        if (senderProperties.getChannelIdleTimeout().toMillis() <= 0) {
+            errors.rejectValue("sender.channel-idle-timeout", null, "should be a positive value");
+        }
+        if (senderProperties.getStatusWriteBatchSize() <= 0) {
+            errors.rejectValue("sender.status-write-batch-size", null, "should be a positive value");
+        }
+
+        AlertCoalesceProperties coalesceProperties = alertConfig.getCoalesce();
+        if (coalesceProperties.getWindow().isNegative()) {
+            errors.rejectValue("coalesce.window", null, "should not be negative");
+        }
+        if (coalesceProperties.getMaxBatchSize() <= 0) {
+            errors.rejectValue("coalesce.max-batch-size", null, "should be a positive value");
+        }
+
         if (StringUtils.isEmpty(alertServerAddress)) {
             alertConfig.setAlertServerAddress(NetUtils.getAddr(alertConfig.getPort()));
         }
@@ -69,5 +109,7 @@ public final class AlertConfig implements Validator {
         log.info("Alert config: port -> {}", port);
         log.info("Alert config: alertServerAddress -> {}", alertServerAddress);
         log.info("Alert config: heartbeatInterval -> {}", heartbeatInterval);
+        log.info("Alert config: sender -> {}", sender);
+        log.info("Alert config: coalesce -> {}", coalesce);
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * The delivery settings of the pending alerts, each alert plugin instance (channel) has its own worker pool, so that
+ * a slow channel will not block the alerts sent to the other channels.
+ */
+@Data
+public class AlertSenderProperties {
+
+    /**
+     * The number of threads that send alerts to the same alert plugin instance concurrently.
+     */
+    private int channelParallelism = 2;
+    /**
+     * The max number of alerts waiting to be sent to the same alert plugin instance, the alerts exceeding it will be
+     * left pending and fetched again in the next round.
+     */
+    private int channelQueueCapacity = 1000;
+    /**
+     * The max number of alerts sent to the same alert plugin instance per second, 0 means unlimited.
+     */
+    private double channelRateLimit = 10;
+    /**
+     * The max retry times when an alert is failed to be sent to an alert plugin instance.
+     */
+    private int maxRetryTimes = 3;
+    /**
+     * The backoff before the first retry, it will be doubled for each retry.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    /**
+     * The max backoff between two retries.
+     */
+    private Duration maxRetryBackoff = Duration.ofSeconds(60);
+    /**
+     * How long the alert plugin instances of an alert group are cached.
+     */
+    private Duration pluginInstanceCacheExpire = Duration.ofSeconds(30);
+    /**
+     * The worker pool of an alert plugin instance is released after no alert is sent to it for so long, e.g. the
+     * instance is deleted or unbound from the alert groups.
+     */
+    private Duration channelIdleTimeout = Duration.ofMinutes(10);
+    /**
+     * The max number of alerts whose send status are written to the database in one transaction.
+     */
+    private int statusWriteBatchSize = 100;
+
+}
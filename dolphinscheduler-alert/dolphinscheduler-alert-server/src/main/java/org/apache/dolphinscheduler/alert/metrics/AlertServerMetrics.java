@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.alert.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class AlertServerMetrics {
@@ -45,6 +47,44 @@ public class AlertServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerAlertSendingGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.sending", supplier)
+                .description("Number of alerts which are being sent")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerAlertCoalescingGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.coalescing", supplier)
+                .description("Number of alerts waiting to be coalesced into digest alerts")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerChannelQueueGauge(final String channel, final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.channel.queue.size", supplier)
+                .tag("channel", channel)
+                .description("Number of alerts waiting to be sent to the alert plugin instance")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void removeChannelQueueGauge(final String channel) {
+        Gauge gauge = Metrics.globalRegistry.find("ds.alert.channel.queue.size").tag("channel", channel).gauge();
+        if (gauge != null) {
+            Metrics.globalRegistry.remove(gauge);
+        }
+    }
+
+    public void recordChannelSendDuration(final String channel, final long milliseconds) {
+        Timer.builder("ds.alert.channel.send.duration")
+                .tag("channel", channel)
+                .description("Time cost of sending an alert to the alert plugin instance")
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incChannelRetryCount(final String channel) {
+        Metrics.globalRegistry.counter("ds.alert.channel.retry.count", "channel", channel).increment();
+    }
+
     public void incAlertSuccessCount() {
         alertSuccessCounter.increment();
     }
@@ -43,15 +43,21 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,9 +75,33 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
     private AlertPluginManager alertPluginManager;
     @Autowired
     private AlertConfig alertConfig;
+    @Autowired
+    private AlertPluginInstanceCache alertPluginInstanceCache;
+    @Autowired
+    private AlertChannelDispatcher alertChannelDispatcher;
+    @Autowired
+    private AlertSendResultWriter alertSendResultWriter;
+    @Autowired
+    private AlertCoalescer alertCoalescer;
+
+    /**
+     * The ids of the alerts which are dispatched but whose result is not written to the database yet, they are still
+     * pending in the database, so we need to skip them when fetching the pending alerts.
+     */
+    private final Set<Integer> sendingAlertIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The id of the last pending alert fetched, the pending alerts are fetched page by page after it, and from the
+     * first one again once no more alert is fetched, so the alerts committed late or not sent are fetched again.
+     */
+    private int pendingAlertCursor;
+
+    private volatile int pendingAlertCount;
 
     public AlertBootstrapService() {
         super("AlertBootstrapService");
+        AlertServerMetrics.registerPendingAlertGauge(() -> pendingAlertCount);
+        AlertServerMetrics.registerAlertSendingGauge(sendingAlertIds::size);
     }
 
     @Override
@@ -79,13 +109,16 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread started");
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                List<Alert> alerts = alertDao.listPendingAlerts();
+                List<Alert> alerts = alertDao.listPendingAlerts(pendingAlertCursor);
+                pendingAlertCount = CollectionUtils.size(alerts);
                 if (CollectionUtils.isEmpty(alerts)) {
                     log.debug("There is not waiting alerts");
-                    continue;
+                    pendingAlertCursor = 0;
+                } else {
+                    pendingAlertCursor = alerts.get(alerts.size() - 1).getId();
+                    this.send(alerts);
                 }
-                AlertServerMetrics.registerPendingAlertGauge(alerts::size);
-                this.send(alerts);
+                alertCoalescer.pollExpiredBatches().forEach(this::sendAlerts);
             } catch (Exception e) {
                 log.error("Alert sender thread meet an exception", e);
             } finally {
@@ -95,65 +128,123 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Alert sender thread stopped");
     }
 
+    /**
+     * Dispatch the alerts to their alert plugin instances, this method will not wait for the alerts to be sent, the
+     * results are written to the database in batch once all the plugin instances of an alert are finished.
+     * <p>
+     * If coalescing is enabled, the alerts are held by {@link AlertCoalescer} until their window elapsed.
+     */
     public void send(List<Alert> alerts) {
         for (Alert alert : alerts) {
-            // get alert group from alert
-            int alertId = alert.getId();
-            int alertGroupId = Optional.ofNullable(alert.getAlertGroupId()).orElse(0);
-            List<AlertPluginInstance> alertInstanceList = alertDao.listInstanceByAlertGroupId(alertGroupId);
-            if (CollectionUtils.isEmpty(alertInstanceList)) {
-                log.error("send alert msg fail,no bind plugin instance.");
-                List<AlertResult> alertResults = Lists.newArrayList(new AlertResult("false",
-                        "no bind plugin instance"));
-                alertDao.updateAlert(AlertStatus.EXECUTION_FAILURE, JSONUtils.toJsonString(alertResults), alertId);
+            if (!sendingAlertIds.add(alert.getId())) {
                 continue;
             }
-            AlertData alertData = AlertData.builder()
-                    .id(alertId)
-                    .content(alert.getContent())
-                    .log(alert.getLog())
-                    .title(alert.getTitle())
-                    .warnType(alert.getWarningType().getCode())
-                    .alertType(alert.getAlertType().getCode())
+            if (alertCoalescer.canCoalesce(alert)) {
+                alertCoalescer.add(alert).ifPresent(this::sendAlerts);
+            } else {
+                sendAlerts(Collections.singletonList(alert));
+            }
+        }
+    }
+
+    /**
+     * Send the alerts as one message, the alerts should belong to the same alert group, and each of them will get
+     * the send status of each alert plugin instance.
+     */
+    private void sendAlerts(List<Alert> alerts) {
+        Alert firstAlert = alerts.get(0);
+        List<Integer> alertIds = alerts.stream().map(Alert::getId).collect(Collectors.toList());
+        // get alert group from alert
+        int alertGroupId = Optional.ofNullable(firstAlert.getAlertGroupId()).orElse(0);
+        List<AlertPluginInstance> alertInstanceList = alertPluginInstanceCache.getAlertPluginInstances(alertGroupId);
+        if (CollectionUtils.isEmpty(alertInstanceList)) {
+            log.error("send alert msg fail,no bind plugin instance.");
+            List<AlertResult> alertResults = Lists.newArrayList(new AlertResult("false",
+                    "no bind plugin instance"));
+            for (Integer alertId : alertIds) {
+                writeAlertResult(alertId, AlertStatus.EXECUTION_FAILURE, alertResults, Collections.emptyList());
+            }
+            return;
+        }
+        AlertData alertData;
+        if (alerts.size() == 1) {
+            alertData = AlertData.builder()
+                    .id(firstAlert.getId())
+                    .content(firstAlert.getContent())
+                    .log(firstAlert.getLog())
+                    .title(firstAlert.getTitle())
+                    .warnType(firstAlert.getWarningType().getCode())
+                    .alertType(firstAlert.getAlertType().getCode())
+                    .build();
+        } else {
+            log.info("Send {} alerts of alert group {} as a digest, alert ids: {}",
+                    alerts.size(), alertGroupId, alertIds);
+            alertData = AlertData.builder()
+                    .id(firstAlert.getId())
+                    .content(AlertCoalescer.digestContent(alerts))
+                    .title(AlertCoalescer.digestTitle(alerts))
+                    .warnType(firstAlert.getWarningType().getCode())
+                    .alertType(firstAlert.getAlertType().getCode())
                     .build();
+        }
 
-            int sendSuccessCount = 0;
-            List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
-            List<AlertResult> alertResults = new ArrayList<>();
-            for (AlertPluginInstance instance : alertInstanceList) {
-                AlertResult alertResult = this.alertResultHandler(instance, alertData);
-                if (alertResult != null) {
-                    AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
-                            ? AlertStatus.EXECUTION_SUCCESS
-                            : AlertStatus.EXECUTION_FAILURE;
-                    AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                            .alertId(alertId)
-                            .alertPluginInstanceId(instance.getId())
-                            .sendStatus(sendStatus)
-                            .log(JSONUtils.toJsonString(alertResult))
-                            .createTime(new Date())
-                            .build();
-                    alertSendStatuses.add(alertSendStatus);
-                    if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
-                        sendSuccessCount++;
-                        AlertServerMetrics.incAlertSuccessCount();
-                    } else {
-                        AlertServerMetrics.incAlertFailCount();
-                    }
-                    alertResults.add(alertResult);
-                }
+        AlertSendContext alertSendContext = new AlertSendContext(alertIds, alertInstanceList.size());
+        for (AlertPluginInstance instance : alertInstanceList) {
+            AlertResult rejectedResult = checkAlertPluginInstance(instance, alertData);
+            if (rejectedResult != null) {
+                // the alert will never be sent to this instance, so don't need to retry
+                onAlertResult(alertSendContext, instance, rejectedResult);
+                continue;
             }
-            AlertStatus alertStatus = AlertStatus.EXECUTION_SUCCESS;
-            if (sendSuccessCount == 0) {
-                alertStatus = AlertStatus.EXECUTION_FAILURE;
-            } else if (sendSuccessCount < alertInstanceList.size()) {
-                alertStatus = AlertStatus.EXECUTION_PARTIAL_SUCCESS;
+            alertChannelDispatcher.dispatch(instance,
+                    () -> sendAlert(instance, alertData),
+                    alertResult -> onAlertResult(alertSendContext, instance, alertResult));
+        }
+    }
+
+    private void onAlertResult(AlertSendContext alertSendContext,
+                               AlertPluginInstance instance,
+                               AlertResult alertResult) {
+        AlertStatus sendStatus = Boolean.parseBoolean(alertResult.getStatus())
+                ? AlertStatus.EXECUTION_SUCCESS
+                : AlertStatus.EXECUTION_FAILURE;
+        for (int i = 0; i < alertSendContext.alertIds.size(); i++) {
+            if (AlertStatus.EXECUTION_SUCCESS.equals(sendStatus)) {
+                AlertServerMetrics.incAlertSuccessCount();
+            } else {
+                AlertServerMetrics.incAlertFailCount();
             }
-            // we update the alert first to avoid duplicate key in alertSendStatus
-            // this may loss the alertSendStatus if the server restart
-            // todo: use transaction to update these two table
-            alertDao.updateAlert(alertStatus, JSONUtils.toJsonString(alertResults), alertId);
-            alertDao.insertAlertSendStatus(alertSendStatuses);
+        }
+        if (!alertSendContext.addResult(new InstanceSendResult(instance.getId(), sendStatus, alertResult))) {
+            return;
+        }
+
+        List<InstanceSendResult> instanceSendResults = alertSendContext.instanceSendResults;
+        long sendSuccessCount = instanceSendResults.stream()
+                .filter(instanceSendResult -> AlertStatus.EXECUTION_SUCCESS.equals(instanceSendResult.sendStatus))
+                .count();
+        AlertStatus alertStatus = AlertStatus.EXECUTION_SUCCESS;
+        if (sendSuccessCount == 0) {
+            alertStatus = AlertStatus.EXECUTION_FAILURE;
+        } else if (sendSuccessCount < alertSendContext.instanceCount) {
+            alertStatus = AlertStatus.EXECUTION_PARTIAL_SUCCESS;
+        }
+        List<AlertResult> alertResults = instanceSendResults.stream()
+                .map(instanceSendResult -> instanceSendResult.alertResult)
+                .collect(Collectors.toList());
+        Date now = new Date();
+        // each coalesced alert keeps its own send status, so that the outcome of each alert can still be queried
+        for (Integer alertId : alertSendContext.alertIds) {
+            List<AlertSendStatus> alertSendStatuses = instanceSendResults.stream()
+                    .map(instanceSendResult -> AlertSendStatus.builder()
+                            .alertId(alertId)
+                            .alertPluginInstanceId(instanceSendResult.alertPluginInstanceId)
+                            .sendStatus(instanceSendResult.sendStatus)
+                            .log(JSONUtils.toJsonString(instanceSendResult.alertResult))
+                            .createTime(now)
+                            .build())
+                    .collect(Collectors.toList());
+            writeAlertResult(alertId, alertStatus, alertResults, alertSendStatuses);
         }
     }
 
@@ -210,6 +301,19 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
      * @return AlertResult
      */
     private @Nullable AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
+        AlertResult rejectedResult = checkAlertPluginInstance(instance, alertData);
+        if (rejectedResult != null) {
+            return rejectedResult;
+        }
+        return sendAlert(instance, alertData);
+    }
+
+    /**
+     * Check whether the alert can be sent to the alert plugin instance
+     *
+     * @return the failed result if the alert should not be sent to the instance, otherwise null
+     */
+    private @Nullable AlertResult checkAlertPluginInstance(AlertPluginInstance instance, AlertData alertData) {
         String pluginInstanceName = instance.getInstanceName();
         int pluginDefineId = instance.getPluginDefineId();
         Optional<AlertChannel> alertChannelOptional = alertPluginManager.getAlertChannel(instance.getPluginDefineId());
@@ -220,7 +324,6 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
             log.error("Alert Plugin {} send error : not found plugin {}", pluginInstanceName, pluginDefineId);
             return new AlertResult("false", message);
         }
-        AlertChannel alertChannel = alertChannelOptional.get();
 
         Map<String, String> paramsMap = JSONUtils.toMap(instance.getPluginInstanceParams());
         String instanceWarnType = WarningType.ALL.getDescp();
@@ -264,7 +367,18 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
                     pluginInstanceName, warningType.getCode(), alertData.getWarnType());
             return new AlertResult("false", message);
         }
+        return null;
+    }
 
+    /**
+     * Send the alert to the alert plugin instance, the instance should be checked by
+     * {@link #checkAlertPluginInstance(AlertPluginInstance, AlertData)}
+     */
+    private AlertResult sendAlert(AlertPluginInstance instance, AlertData alertData) {
+        AlertChannel alertChannel = alertPluginManager.getAlertChannel(instance.getPluginDefineId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "The alert channel doesn't exist, pluginDefineId: " + instance.getPluginDefineId()));
+        Map<String, String> paramsMap = JSONUtils.toMap(instance.getPluginInstanceParams());
         AlertInfo alertInfo = AlertInfo.builder()
                 .alertData(alertData)
                 .alertParams(paramsMap)
@@ -307,4 +421,41 @@ public final class AlertBootstrapService extends BaseDaemonThread implements Aut
         log.info("Closed AlertBootstrapService...");
     }
 
+    /**
+     * Collect the results of the alert plugin instances of the alerts, which may be finished in different threads.
+     */
+    private static class AlertSendContext {
+
+        private final List<Integer> alertIds;
+
+        private final int instanceCount;
+
+        private final AtomicInteger finishedCount = new AtomicInteger();
+
+        private final List<InstanceSendResult> instanceSendResults = Collections.synchronizedList(new ArrayList<>());
+
+        private AlertSendContext(List<Integer> alertIds, int instanceCount) {
+            this.alertIds = alertIds;
+            this.instanceCount = instanceCount;
+        }
+
+        /**
+         * @return true if all the alert plugin instances are finished
+         */
+        private boolean addResult(InstanceSendResult instanceSendResult) {
+            instanceSendResults.add(instanceSendResult);
+            return finishedCount.incrementAndGet() == instanceCount;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class InstanceSendResult {
+
+        private final int alertPluginInstanceId;
+
+        private final AlertStatus sendStatus;
+
+        private final AlertResult alertResult;
+    }
+
 }
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.config.AlertSenderProperties;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Dispatch the alerts to the alert plugin instances (channels). Each channel has its own bounded worker pool and rate
+ * limiter, so a slow channel, e.g. a webhook which is timeout, only delays the alerts sent to itself.
+ * <p>
+ * A failed send is retried with exponential backoff until {@link AlertSenderProperties#getMaxRetryTimes()}, then the
+ * last result is handed to the callback.
+ * <p>
+ * The worker pool of a channel is released once no alert is sent to it for
+ * {@link AlertSenderProperties#getChannelIdleTimeout()}, so the pools of the deleted channels are not leaked.
+ */
+@Slf4j
+@Component
+public class AlertChannelDispatcher implements AutoCloseable {
+
+    private final AlertSenderProperties senderProperties;
+
+    private final Map<Integer, ChannelWorker> channelWorkers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService retryExecutor;
+
+    public AlertChannelDispatcher(AlertConfig alertConfig) {
+        this.senderProperties = alertConfig.getSender();
+        this.retryExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("AlertSendRetryThread");
+        long evictInterval =
+                Math.min(senderProperties.getChannelIdleTimeout().toMillis(), TimeUnit.MINUTES.toMillis(1));
+        this.retryExecutor.scheduleWithFixedDelay(() -> evictIdleChannels(System.currentTimeMillis()),
+                evictInterval, evictInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send the alert to the alert plugin instance asynchronously.
+     *
+     * @param pluginInstance the alert plugin instance
+     * @param alertSender    send the alert and return the result, a result whose status is not true will be retried
+     * @param callback       called with the final result
+     */
+    public void dispatch(AlertPluginInstance pluginInstance,
+                         Supplier<AlertResult> alertSender,
+                         Consumer<AlertResult> callback) {
+        submit(new SendAttempt(pluginInstance, alertSender, callback));
+    }
+
+    private void submit(SendAttempt sendAttempt) {
+        while (true) {
+            ChannelWorker channelWorker =
+                    channelWorkers.computeIfAbsent(sendAttempt.pluginInstance.getId(),
+                            id -> new ChannelWorker(sendAttempt.pluginInstance));
+            channelWorker.lastDispatchTime = System.currentTimeMillis();
+            try {
+                channelWorker.executor.execute(() -> channelWorker.send(sendAttempt));
+                return;
+            } catch (RejectedExecutionException e) {
+                if (channelWorker.executor.isShutdown() && !retryExecutor.isShutdown()) {
+                    // the worker is evicted concurrently, submit to a new one
+                    channelWorkers.remove(sendAttempt.pluginInstance.getId(), channelWorker);
+                    continue;
+                }
+                log.warn("The queue of alert channel: {} is full", sendAttempt.getChannelName());
+                onFailure(sendAttempt, new AlertResult("false", "The queue of alert channel is full"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Release the worker pools of the channels which have no alert dispatched since the idle timeout and no alert in
+     * sending. The alerts dispatched to an evicted worker concurrently are still sent, since its pool is shut down
+     * gracefully.
+     */
+    void evictIdleChannels(long now) {
+        long idleTimeout = senderProperties.getChannelIdleTimeout().toMillis();
+        for (Map.Entry<Integer, ChannelWorker> entry : channelWorkers.entrySet()) {
+            ChannelWorker channelWorker = entry.getValue();
+            if (now - channelWorker.lastDispatchTime < idleTimeout || !channelWorker.isIdle()) {
+                continue;
+            }
+            if (channelWorkers.remove(entry.getKey(), channelWorker)) {
+                channelWorker.executor.shutdown();
+                AlertServerMetrics.removeChannelQueueGauge(channelWorker.channelName);
+                log.info("Release the worker pool of idle alert channel: {}", channelWorker.channelName);
+            }
+        }
+    }
+
+    int getChannelWorkerCount() {
+        return channelWorkers.size();
+    }
+
+    private void onFailure(SendAttempt sendAttempt, AlertResult alertResult) {
+        if (sendAttempt.attempt >= senderProperties.getMaxRetryTimes() || retryExecutor.isShutdown()) {
+            sendAttempt.callback.accept(alertResult);
+            return;
+        }
+        long backoff = Math.min(
+                senderProperties.getRetryBackoff().toMillis() << Math.min(sendAttempt.attempt, 30),
+                senderProperties.getMaxRetryBackoff().toMillis());
+        sendAttempt.attempt++;
+        AlertServerMetrics.incChannelRetryCount(sendAttempt.getChannelName());
+        log.info("Retry to send alert to channel: {} after {} ms, attempt: {}",
+                sendAttempt.getChannelName(), backoff, sendAttempt.attempt);
+        try {
+            retryExecutor.schedule(() -> submit(sendAttempt), backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            sendAttempt.callback.accept(alertResult);
+        }
+    }
+
+    @Override
+    public void close() {
+        retryExecutor.shutdownNow();
+        channelWorkers.values().forEach(channelWorker -> channelWorker.executor.shutdownNow());
+        log.info("Closed AlertChannelDispatcher...");
+    }
+
+    private class ChannelWorker {
+
+        private final String channelName;
+
+        private final ThreadPoolExecutor executor;
+
+        private final RateLimiter rateLimiter;
+
+        private volatile long lastDispatchTime = System.currentTimeMillis();
+
+        private ChannelWorker(AlertPluginInstance pluginInstance) {
+            this.channelName = pluginInstance.getInstanceName();
+            int parallelism = senderProperties.getChannelParallelism();
+            this.executor = new ThreadPoolExecutor(
+                    parallelism,
+                    parallelism,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(senderProperties.getChannelQueueCapacity()),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("AlertChannel-" + pluginInstance.getId() + "-%d")
+                            .setDaemon(true)
+                            .build());
+            this.rateLimiter = senderProperties.getChannelRateLimit() > 0
+                    ? RateLimiter.create(senderProperties.getChannelRateLimit())
+                    : null;
+            AlertServerMetrics.registerChannelQueueGauge(channelName, () -> executor.getQueue().size());
+        }
+
+        private boolean isIdle() {
+            return executor.getActiveCount() == 0 && executor.getQueue().isEmpty();
+        }
+
+        private void send(SendAttempt sendAttempt) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            long startTime = System.currentTimeMillis();
+            AlertResult alertResult;
+            try {
+                alertResult = sendAttempt.alertSender.get();
+            } catch (Exception e) {
+                log.error("Send alert to channel: {} error", sendAttempt.getChannelName(), e);
+                alertResult = new AlertResult("false", e.getMessage());
+            } finally {
+                AlertServerMetrics.recordChannelSendDuration(sendAttempt.getChannelName(),
+                        System.currentTimeMillis() - startTime);
+            }
+            if (alertResult == null) {
+                alertResult = new AlertResult("false", "Alert result cannot be null");
+            }
+            if (Boolean.parseBoolean(alertResult.getStatus())) {
+                sendAttempt.callback.accept(alertResult);
+            } else {
+                onFailure(sendAttempt, alertResult);
+            }
+        }
+    }
+
+    private static class SendAttempt {
+
+        private final AlertPluginInstance pluginInstance;
+
+        private final Supplier<AlertResult> alertSender;
+
+        private final Consumer<AlertResult> callback;
+
+        private int attempt;
+
+        private SendAttempt(AlertPluginInstance pluginInstance,
+                            Supplier<AlertResult> alertSender,
+                            Consumer<AlertResult> callback) {
+            this.pluginInstance = pluginInstance;
+            this.alertSender = alertSender;
+            this.callback = callback;
+        }
+
+        private String getChannelName() {
+            return pluginInstance.getInstanceName();
+        }
+    }
+}
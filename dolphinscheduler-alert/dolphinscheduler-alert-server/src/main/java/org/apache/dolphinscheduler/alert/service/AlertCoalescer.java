@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertCoalesceProperties;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.enums.WarningType;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Group the pending alerts by (alert group, warning type, alert type, project) and hold them for a time window, the
+ * alerts of a group are sent as one digest alert once the window elapsed or the group is full.
+ * <p>
+ * The window of a group starts from the create time of its first alert, so the alerts which have been waiting in the
+ * database longer than the window, e.g. the backlog after the alert server restarts, are sent without more delay.
+ */
+@Slf4j
+@Component
+public class AlertCoalescer {
+
+    private final AlertCoalesceProperties coalesceProperties;
+
+    private final Map<CoalesceKey, CoalesceBucket> buckets = new LinkedHashMap<>();
+
+    public AlertCoalescer(AlertConfig alertConfig) {
+        this.coalesceProperties = alertConfig.getCoalesce();
+        AlertServerMetrics.registerAlertCoalescingGauge(this::getCoalescingAlertCount);
+    }
+
+    /**
+     * Whether the alert can be coalesced with others, the close alert is always sent individually since the channel
+     * may use it to resolve the previous alert.
+     */
+    public boolean canCoalesce(Alert alert) {
+        return coalesceProperties.isEnabled()
+                && alert.getAlertType() != null
+                && alert.getAlertType() != AlertType.CLOSE_ALERT;
+    }
+
+    /**
+     * Add the alert into its group.
+     *
+     * @return the alerts of the group if the group is full, otherwise empty
+     */
+    public synchronized Optional<List<Alert>> add(Alert alert) {
+        CoalesceKey coalesceKey = new CoalesceKey(
+                Optional.ofNullable(alert.getAlertGroupId()).orElse(0),
+                alert.getWarningType(),
+                alert.getAlertType(),
+                alert.getProjectCode());
+        CoalesceBucket bucket = buckets.computeIfAbsent(coalesceKey, key -> new CoalesceBucket());
+        bucket.add(alert);
+        if (bucket.alerts.size() >= coalesceProperties.getMaxBatchSize()) {
+            buckets.remove(coalesceKey);
+            return Optional.of(bucket.alerts);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Poll the alerts of the groups whose window has elapsed.
+     */
+    public synchronized List<List<Alert>> pollExpiredBatches() {
+        if (buckets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        long windowMillis = coalesceProperties.getWindow().toMillis();
+        List<List<Alert>> expiredBatches = new ArrayList<>();
+        Iterator<CoalesceBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            CoalesceBucket bucket = iterator.next();
+            if (now - bucket.windowStartTime >= windowMillis) {
+                expiredBatches.add(bucket.alerts);
+                iterator.remove();
+            }
+        }
+        return expiredBatches;
+    }
+
+    public synchronized int getCoalescingAlertCount() {
+        return buckets.values().stream().mapToInt(bucket -> bucket.alerts.size()).sum();
+    }
+
+    /**
+     * Build the title of the digest alert.
+     */
+    public static String digestTitle(List<Alert> alerts) {
+        return String.format("[%d alerts] %s", alerts.size(), alerts.get(0).getTitle());
+    }
+
+    /**
+     * Build the content of the digest alert, the content of the alerts generated by the master are json arrays, they
+     * are merged into one array so that the channels can render them as usual, otherwise the contents are joined by
+     * lines.
+     */
+    public static String digestContent(List<Alert> alerts) {
+        try {
+            ArrayNode digestContent = JSONUtils.createArrayNode();
+            for (Alert alert : alerts) {
+                digestContent.addAll(JSONUtils.parseArray(alert.getContent()));
+            }
+            return JSONUtils.toJsonString(digestContent);
+        } catch (Exception e) {
+            log.debug("The alert content is not json array, join the contents by lines");
+            return alerts.stream().map(Alert::getContent).collect(Collectors.joining(System.lineSeparator()));
+        }
+    }
+
+    @Data
+    private static class CoalesceKey {
+
+        private final int alertGroupId;
+
+        private final WarningType warningType;
+
+        private final AlertType alertType;
+
+        private final Long projectCode;
+    }
+
+    private static class CoalesceBucket {
+
+        private final List<Alert> alerts = new ArrayList<>();
+
+        private long windowStartTime = Long.MAX_VALUE;
+
+        private void add(Alert alert) {
+            alerts.add(alert);
+            long createTime = alert.getCreateTime() == null ? System.currentTimeMillis()
+                    : alert.getCreateTime().getTime();
+            windowStartTime = Math.min(windowStartTime, createTime);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Cache the alert plugin instances of the alert groups, during an alert storm most of the alerts belong to a few alert
+ * groups, so we don't need to query the alert group and its plugin instances for each alert.
+ */
+@Component
+public class AlertPluginInstanceCache {
+
+    private final LoadingCache<Integer, List<AlertPluginInstance>> alertGroupPluginInstances;
+
+    public AlertPluginInstanceCache(AlertDao alertDao, AlertConfig alertConfig) {
+        this.alertGroupPluginInstances = CacheBuilder.newBuilder()
+                .expireAfterWrite(alertConfig.getSender().getPluginInstanceCacheExpire().toMillis(),
+                        TimeUnit.MILLISECONDS)
+                .build(new CacheLoader<Integer, List<AlertPluginInstance>>() {
+
+                    @Override
+                    public List<AlertPluginInstance> load(Integer alertGroupId) {
+                        return Optional.ofNullable(alertDao.listInstanceByAlertGroupId(alertGroupId))
+                                .orElse(Collections.emptyList());
+                    }
+                });
+    }
+
+    public List<AlertPluginInstance> getAlertPluginInstances(int alertGroupId) {
+        return alertGroupPluginInstances.getUnchecked(alertGroupId);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.apache.dolphinscheduler.dao.entity.AlertSendStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Write the send results of the alerts to the database in batch, the alert status and the send status of each alert
+ * plugin instance of a batch are written in one transaction.
+ */
+@Slf4j
+@Component
+public class AlertSendResultWriter extends BaseDaemonThread implements AutoCloseable {
+
+    private final AlertDao alertDao;
+
+    private final int batchSize;
+
+    private final BlockingQueue<AlertSendResult> alertSendResults = new LinkedBlockingQueue<>();
+
+    public AlertSendResultWriter(AlertDao alertDao, AlertConfig alertConfig) {
+        super("AlertSendResultWriter");
+        this.alertDao = alertDao;
+        this.batchSize = alertConfig.getSender().getStatusWriteBatchSize();
+    }
+
+    /**
+     * Submit the send result of an alert.
+     *
+     * @param alert            the alert with id, alertStatus and log set
+     * @param alertSendStatuses the send status of each alert plugin instance
+     * @param afterWritten     called after the result is written to the database
+     */
+    public void submit(Alert alert, List<AlertSendStatus> alertSendStatuses, Runnable afterWritten) {
+        alertSendResults.add(new AlertSendResult(alert, alertSendStatuses, afterWritten));
+    }
+
+    @Override
+    public void run() {
+        log.info("AlertSendResultWriter started");
+        List<AlertSendResult> batch = new ArrayList<>(batchSize);
+        while (!ServerLifeCycleManager.isStopped()) {
+            try {
+                if (batch.isEmpty()) {
+                    AlertSendResult first = alertSendResults.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    alertSendResults.drainTo(batch, batchSize - 1);
+                }
+                write(batch);
+                batch.forEach(alertSendResult -> alertSendResult.afterWritten.run());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // keep the batch and retry, otherwise the alerts will be sent again
+                log.error("Write alert send results error, batch size: {}, will retry", batch.size(), e);
+                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+            }
+        }
+        log.info("AlertSendResultWriter stopped");
+    }
+
+    private void write(List<AlertSendResult> batch) {
+        List<Alert> alerts = new ArrayList<>(batch.size());
+        List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
+        for (AlertSendResult alertSendResult : batch) {
+            alerts.add(alertSendResult.alert);
+            alertSendStatuses.addAll(alertSendResult.alertSendStatuses);
+        }
+        alertDao.updateAlertsAndInsertSendStatus(alerts, alertSendStatuses);
+    }
+
+    public int getPendingWriteCount() {
+        return alertSendResults.size();
+    }
+
+    @Override
+    public void close() {
+        log.info("Closed AlertSendResultWriter...");
+    }
+
+    @AllArgsConstructor
+    private static class AlertSendResult {
+
+        private final Alert alert;
+
+        private final List<AlertSendStatus> alertSendStatuses;
+
+        private final Runnable afterWritten;
+    }
+}
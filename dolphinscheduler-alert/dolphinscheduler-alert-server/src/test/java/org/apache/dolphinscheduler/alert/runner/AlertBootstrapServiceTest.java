@@ -25,21 +25,31 @@ import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.service.AlertBootstrapService;
+import org.apache.dolphinscheduler.alert.service.AlertChannelDispatcher;
+import org.apache.dolphinscheduler.alert.service.AlertCoalescer;
+import org.apache.dolphinscheduler.alert.service.AlertPluginInstanceCache;
+import org.apache.dolphinscheduler.alert.service.AlertSendResultWriter;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.PluginDao;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+import org.apache.dolphinscheduler.dao.entity.AlertSendStatus;
 import org.apache.dolphinscheduler.dao.entity.PluginDefine;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -47,6 +57,8 @@ import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
+
 public class AlertBootstrapServiceTest {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertBootstrapServiceTest.class);
@@ -59,6 +71,14 @@ public class AlertBootstrapServiceTest {
     private AlertPluginManager alertPluginManager;
     @Mock
     private AlertConfig alertConfig;
+    @Mock
+    private AlertPluginInstanceCache alertPluginInstanceCache;
+    @Mock
+    private AlertChannelDispatcher alertChannelDispatcher;
+    @Mock
+    private AlertSendResultWriter alertSendResultWriter;
+    @Mock
+    private AlertCoalescer alertCoalescer;
 
     @InjectMocks
     private AlertBootstrapService alertBootstrapService;
@@ -183,7 +203,101 @@ public class AlertBootstrapServiceTest {
         when(alertChannelMock.process(Mockito.any())).thenReturn(alertResult);
         when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.of(alertChannelMock));
         Assertions.assertTrue(Boolean.parseBoolean(alertResult.getStatus()));
-        when(alertDao.listInstanceByAlertGroupId(1)).thenReturn(new ArrayList<>());
+        when(alertPluginInstanceCache.getAlertPluginInstances(1)).thenReturn(new ArrayList<>());
         alertBootstrapService.send(alertList);
+
+        ArgumentCaptor<Alert> alertCaptor = ArgumentCaptor.forClass(Alert.class);
+        Mockito.verify(alertSendResultWriter).submit(alertCaptor.capture(), Mockito.anyList(), Mockito.any());
+        Assertions.assertEquals(AlertStatus.EXECUTION_FAILURE, alertCaptor.getValue().getAlertStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendByChannelDispatcher() {
+        Alert alert = new Alert();
+        alert.setId(2);
+        alert.setAlertGroupId(1);
+        alert.setTitle("alert mail test title");
+        alert.setContent("alert mail test content");
+        alert.setWarningType(WarningType.FAILURE);
+        alert.setAlertType(AlertType.PROCESS_INSTANCE_FAILURE);
+
+        List<AlertPluginInstance> alertInstanceList = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            AlertPluginInstance alertPluginInstance = new AlertPluginInstance(i, null, "alert-instance-" + i);
+            alertPluginInstance.setId(i);
+            alertInstanceList.add(alertPluginInstance);
+        }
+        when(alertPluginInstanceCache.getAlertPluginInstances(1)).thenReturn(alertInstanceList);
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(Mockito.any())).thenReturn(new AlertResult("true", "success"));
+        when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.of(alertChannelMock));
+        // the channel of the second instance doesn't exist, it will not be dispatched
+        when(alertPluginManager.getAlertChannel(2)).thenReturn(Optional.empty());
+        Mockito.doAnswer(invocation -> {
+            Supplier<AlertResult> alertSender = invocation.getArgument(1);
+            Consumer<AlertResult> callback = invocation.getArgument(2);
+            callback.accept(alertSender.get());
+            return null;
+        }).when(alertChannelDispatcher).dispatch(Mockito.any(), Mockito.any(), Mockito.any());
+
+        alertBootstrapService.send(Lists.newArrayList(alert, alert));
+
+        // the second one is skipped since the alert is being sent
+        Mockito.verify(alertChannelDispatcher, Mockito.times(1))
+                .dispatch(Mockito.eq(alertInstanceList.get(0)), Mockito.any(), Mockito.any());
+        ArgumentCaptor<Alert> alertCaptor = ArgumentCaptor.forClass(Alert.class);
+        ArgumentCaptor<List> alertSendStatusCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(alertSendResultWriter).submit(alertCaptor.capture(), alertSendStatusCaptor.capture(),
+                Mockito.any());
+        Assertions.assertEquals(AlertStatus.EXECUTION_PARTIAL_SUCCESS, alertCaptor.getValue().getAlertStatus());
+        Assertions.assertEquals(2, alertSendStatusCaptor.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendCoalescedAlerts() {
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 10; i < 12; i++) {
+            Alert alert = new Alert();
+            alert.setId(i);
+            alert.setAlertGroupId(1);
+            alert.setTitle("workflow failed " + i);
+            alert.setContent("[{\"processId\":" + i + "}]");
+            alert.setWarningType(WarningType.FAILURE);
+            alert.setAlertType(AlertType.PROCESS_INSTANCE_FAILURE);
+            alerts.add(alert);
+        }
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(1, null, "alert-instance-1");
+        alertPluginInstance.setId(1);
+        when(alertPluginInstanceCache.getAlertPluginInstances(1)).thenReturn(Lists.newArrayList(alertPluginInstance));
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertChannelMock.process(Mockito.any())).thenReturn(new AlertResult("true", "success"));
+        when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.of(alertChannelMock));
+        Mockito.doAnswer(invocation -> {
+            Supplier<AlertResult> alertSender = invocation.getArgument(1);
+            Consumer<AlertResult> callback = invocation.getArgument(2);
+            callback.accept(alertSender.get());
+            return null;
+        }).when(alertChannelDispatcher).dispatch(Mockito.any(), Mockito.any(), Mockito.any());
+        when(alertCoalescer.canCoalesce(Mockito.any())).thenReturn(true);
+        when(alertCoalescer.add(alerts.get(0))).thenReturn(Optional.empty());
+        when(alertCoalescer.add(alerts.get(1))).thenReturn(Optional.of(alerts));
+
+        alertBootstrapService.send(alerts);
+
+        // the coalesced alerts are sent once, but each of them has its own send status
+        Mockito.verify(alertChannelMock, Mockito.times(1)).process(Mockito.any());
+        ArgumentCaptor<Alert> alertCaptor = ArgumentCaptor.forClass(Alert.class);
+        ArgumentCaptor<List> alertSendStatusCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(alertSendResultWriter, Mockito.times(2)).submit(alertCaptor.capture(),
+                alertSendStatusCaptor.capture(), Mockito.any());
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(alerts.get(i).getId(), alertCaptor.getAllValues().get(i).getId());
+            Assertions.assertEquals(AlertStatus.EXECUTION_SUCCESS, alertCaptor.getAllValues().get(i).getAlertStatus());
+            List<AlertSendStatus> alertSendStatuses = alertSendStatusCaptor.getAllValues().get(i);
+            Assertions.assertEquals(1, alertSendStatuses.size());
+            Assertions.assertEquals(alerts.get(i).getId(), alertSendStatuses.get(0).getAlertId());
+        }
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AlertChannelDispatcherTest {
+
+    private AlertChannelDispatcher alertChannelDispatcher;
+
+    @BeforeEach
+    public void before() {
+        AlertConfig alertConfig = new AlertConfig();
+        alertConfig.getSender().setChannelParallelism(1);
+        alertConfig.getSender().setChannelRateLimit(0);
+        alertConfig.getSender().setMaxRetryTimes(2);
+        alertConfig.getSender().setRetryBackoff(Duration.ofMillis(10));
+        alertChannelDispatcher = new AlertChannelDispatcher(alertConfig);
+    }
+
+    @AfterEach
+    public void after() {
+        alertChannelDispatcher.close();
+    }
+
+    @Test
+    public void testRetryUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<AlertResult> result = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(1), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new RuntimeException("webhook is unavailable");
+            }
+            return new AlertResult("true", "success");
+        }, result::complete);
+
+        Assertions.assertEquals("true", result.get(10, TimeUnit.SECONDS).getStatus());
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testGiveUpAfterMaxRetryTimes() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<AlertResult> result = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(1), () -> {
+            attempts.incrementAndGet();
+            return new AlertResult("false", "failed");
+        }, result::complete);
+
+        Assertions.assertEquals("false", result.get(10, TimeUnit.SECONDS).getStatus());
+        // the first attempt and 2 retries
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testSlowChannelNotBlockOtherChannels() throws Exception {
+        CountDownLatch slowChannelLatch = new CountDownLatch(1);
+        CompletableFuture<AlertResult> slowResult = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(1), () -> {
+            try {
+                slowChannelLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new AlertResult("true", "slow");
+        }, slowResult::complete);
+
+        CompletableFuture<AlertResult> fastResult = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(2), () -> new AlertResult("true", "fast"),
+                fastResult::complete);
+
+        Assertions.assertEquals("fast", fastResult.get(10, TimeUnit.SECONDS).getMessage());
+        Assertions.assertFalse(slowResult.isDone());
+        slowChannelLatch.countDown();
+        Assertions.assertEquals("slow", slowResult.get(10, TimeUnit.SECONDS).getMessage());
+    }
+
+    @Test
+    public void testEvictIdleChannel() throws Exception {
+        CountDownLatch sendingLatch = new CountDownLatch(1);
+        CompletableFuture<AlertResult> sendingResult = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(1), () -> {
+            try {
+                sendingLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new AlertResult("true", "sending");
+        }, sendingResult::complete);
+        CompletableFuture<AlertResult> idleResult = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(2), () -> new AlertResult("true", "idle"),
+                idleResult::complete);
+        idleResult.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, alertChannelDispatcher.getChannelWorkerCount());
+
+        // the channel which is still sending is kept
+        long idleTime = System.currentTimeMillis() + Duration.ofMinutes(10).toMillis();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        // the worker thread of the idle channel may not finish the task just after the callback
+        while (alertChannelDispatcher.getChannelWorkerCount() > 1 && System.currentTimeMillis() < deadline) {
+            alertChannelDispatcher.evictIdleChannels(idleTime);
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, alertChannelDispatcher.getChannelWorkerCount());
+        sendingLatch.countDown();
+        Assertions.assertEquals("sending", sendingResult.get(10, TimeUnit.SECONDS).getMessage());
+
+        // the evicted channel gets a new worker pool
+        CompletableFuture<AlertResult> result = new CompletableFuture<>();
+        alertChannelDispatcher.dispatch(newPluginInstance(2), () -> new AlertResult("true", "again"),
+                result::complete);
+        Assertions.assertEquals("again", result.get(10, TimeUnit.SECONDS).getMessage());
+        Assertions.assertEquals(2, alertChannelDispatcher.getChannelWorkerCount());
+    }
+
+    private AlertPluginInstance newPluginInstance(int id) {
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(id, null, "alert-instance-" + id);
+        alertPluginInstance.setId(id);
+        return alertPluginInstance;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.enums.WarningType;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+
+public class AlertCoalescerTest {
+
+    private AlertConfig alertConfig;
+
+    private AlertCoalescer alertCoalescer;
+
+    @BeforeEach
+    public void before() {
+        alertConfig = new AlertConfig();
+        alertConfig.getCoalesce().setEnabled(true);
+        alertConfig.getCoalesce().setWindow(Duration.ofMinutes(1));
+        alertConfig.getCoalesce().setMaxBatchSize(3);
+        alertCoalescer = new AlertCoalescer(alertConfig);
+    }
+
+    @Test
+    public void testCanCoalesce() {
+        Assertions.assertTrue(alertCoalescer.canCoalesce(newAlert(1, 1, AlertType.TASK_FAILURE, new Date())));
+        Assertions.assertFalse(alertCoalescer.canCoalesce(newAlert(1, 1, AlertType.CLOSE_ALERT, new Date())));
+
+        alertConfig.getCoalesce().setEnabled(false);
+        Assertions.assertFalse(alertCoalescer.canCoalesce(newAlert(1, 1, AlertType.TASK_FAILURE, new Date())));
+    }
+
+    @Test
+    public void testFlushWhenBatchIsFull() {
+        Assertions.assertFalse(alertCoalescer.add(newAlert(1, 1, AlertType.TASK_FAILURE, new Date())).isPresent());
+        Assertions.assertFalse(alertCoalescer.add(newAlert(2, 1, AlertType.TASK_FAILURE, new Date())).isPresent());
+        // different alert type will not be coalesced together
+        Assertions.assertFalse(
+                alertCoalescer.add(newAlert(3, 1, AlertType.PROCESS_INSTANCE_FAILURE, new Date())).isPresent());
+        // different project will not be coalesced together
+        Assertions.assertFalse(alertCoalescer.add(newAlert(4, 2, AlertType.TASK_FAILURE, new Date())).isPresent());
+
+        Optional<List<Alert>> batch = alertCoalescer.add(newAlert(5, 1, AlertType.TASK_FAILURE, new Date()));
+        Assertions.assertTrue(batch.isPresent());
+        Assertions.assertEquals(Lists.newArrayList(1, 2, 5), Lists.transform(batch.get(), Alert::getId));
+        Assertions.assertEquals(2, alertCoalescer.getCoalescingAlertCount());
+        Assertions.assertTrue(alertCoalescer.pollExpiredBatches().isEmpty());
+    }
+
+    @Test
+    public void testFlushWhenWindowElapsed() {
+        Date expiredCreateTime = new Date(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+        alertCoalescer.add(newAlert(1, 1, AlertType.TASK_FAILURE, expiredCreateTime));
+        alertCoalescer.add(newAlert(2, 1, AlertType.TASK_FAILURE, new Date()));
+        alertCoalescer.add(newAlert(3, 2, AlertType.TASK_FAILURE, new Date()));
+
+        List<List<Alert>> expiredBatches = alertCoalescer.pollExpiredBatches();
+        Assertions.assertEquals(1, expiredBatches.size());
+        Assertions.assertEquals(Lists.newArrayList(1, 2), Lists.transform(expiredBatches.get(0), Alert::getId));
+        Assertions.assertEquals(1, alertCoalescer.getCoalescingAlertCount());
+    }
+
+    @Test
+    public void testDigest() {
+        Alert alert1 = newAlert(1, 1, AlertType.TASK_FAILURE, new Date());
+        alert1.setContent("[{\"taskName\":\"task1\"}]");
+        Alert alert2 = newAlert(2, 1, AlertType.TASK_FAILURE, new Date());
+        alert2.setContent("[{\"taskName\":\"task2\"}]");
+        List<Alert> alerts = Lists.newArrayList(alert1, alert2);
+
+        Assertions.assertEquals("[2 alerts] alert-1", AlertCoalescer.digestTitle(alerts));
+        Assertions.assertEquals(2, JSONUtils.parseArray(AlertCoalescer.digestContent(alerts)).size());
+
+        alert2.setContent("task2 failed");
+        Assertions.assertEquals("[{\"taskName\":\"task1\"}]" + System.lineSeparator() + "task2 failed",
+                AlertCoalescer.digestContent(alerts));
+    }
+
+    private Alert newAlert(int id, long projectCode, AlertType alertType, Date createTime) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(1);
+        alert.setTitle("alert-" + id);
+        alert.setContent("[]");
+        alert.setProjectCode(projectCode);
+        alert.setWarningType(WarningType.FAILURE);
+        alert.setAlertType(alertType);
+        alert.setCreateTime(createTime);
+        return alert;
+    }
+}
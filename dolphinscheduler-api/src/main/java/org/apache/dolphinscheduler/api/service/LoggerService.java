@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -48,6 +50,15 @@ public interface LoggerService {
      */
     byte[] getLogBytes(User loginUser, int taskInstId);
 
+    /**
+     * download log, the log is written to the output stream chunk by chunk
+     *
+     * @param loginUser    login user
+     * @param taskInstId   task instance id
+     * @param outputStream the stream which the log is written to
+     */
+    void downloadLog(User loginUser, int taskInstId, OutputStream outputStream) throws IOException;
+
     /**
      * query log
      *
@@ -69,4 +80,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * download log in specified project, the log is written to the output stream chunk by chunk
+     *
+     * @param loginUser    login user
+     * @param projectCode  project code
+     * @param taskInstId   task instance id
+     * @param outputStream the stream which the log is written to
+     */
+    void downloadLog(User loginUser, long projectCode, int taskInstId, OutputStream outputStream) throws IOException;
 }
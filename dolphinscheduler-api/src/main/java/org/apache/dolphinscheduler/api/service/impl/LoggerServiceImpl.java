@@ -38,13 +38,13 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.master.IMasterLogService;
-import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadRequest;
-import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogPageQueryResponse;
 import org.apache.dolphinscheduler.extract.worker.IWorkerLogService;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadRequest;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogPageQueryResponse;
 import org.apache.dolphinscheduler.plugin.task.api.utils.TaskUtils;
@@ -52,19 +52,22 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.TaskUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.google.common.primitives.Bytes;
-
 /**
  * logger service impl
  */
@@ -74,6 +77,15 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]:  %s%s";
 
+    private static final String LOG_TRUNCATED_FORMAT =
+            "%s[LOG-TRUNCATED]: failed to fetch the log after offset %s from %s";
+
+    /**
+     * The size of each chunk fetched from the master/worker when downloading the log file, the log file may be
+     * several GB, so we don't transport it in a single rpc response.
+     */
+    private static final int LOG_DOWNLOAD_CHUNK_SIZE = 1024 * 1024;
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -127,13 +139,29 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
+        return getLogBytes(queryDownloadableTaskInstance(loginUser, taskInstId));
+    }
+
+    /**
+     * download log
+     *
+     * @param loginUser    login user
+     * @param taskInstId   task instance id
+     * @param outputStream the stream which the log is written to
+     */
+    @Override
+    public void downloadLog(User loginUser, int taskInstId, OutputStream outputStream) throws IOException {
+        writeLog(queryDownloadableTaskInstance(loginUser, taskInstId), outputStream);
+    }
+
+    private TaskInstance queryDownloadableTaskInstance(User loginUser, int taskInstId) {
         TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
         if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
             throw new ServiceException("task instance is null or host is null");
         }
         Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
         projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
+        return taskInstance;
     }
 
     /**
@@ -182,6 +210,24 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+        return getLogBytes(queryDownloadableTaskInstance(loginUser, projectCode, taskInstId));
+    }
+
+    /**
+     * download log
+     *
+     * @param loginUser    login user
+     * @param projectCode  project code
+     * @param taskInstId   task instance id
+     * @param outputStream the stream which the log is written to
+     */
+    @Override
+    public void downloadLog(User loginUser, long projectCode, int taskInstId,
+                            OutputStream outputStream) throws IOException {
+        writeLog(queryDownloadableTaskInstance(loginUser, projectCode, taskInstId), outputStream);
+    }
+
+    private TaskInstance queryDownloadableTaskInstance(User loginUser, long projectCode, int taskInstId) {
         Project project = projectMapper.queryByCode(projectCode);
         // check user access for project
         Map<String, Object> result = projectService.checkProjectAndAuth(loginUser, project, projectCode, DOWNLOAD_LOG);
@@ -198,7 +244,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -274,6 +320,26 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @return log byte array
      */
     private byte[] getLogBytes(TaskInstance taskInstance) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            writeLog(taskInstance, byteArrayOutputStream);
+        } catch (IOException e) {
+            // ByteArrayOutputStream will not throw IOException, the log chunk cannot be fetched from the host
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR.getCode(),
+                    Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR.getMsg(), e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Write the log of the task instance to the output stream, the log file is fetched from the master/worker chunk
+     * by chunk, so the whole file will not be held in memory. If a chunk cannot be fetched after part of the log has
+     * been written, a truncation marker is written and the download is aborted.
+     *
+     * @param taskInstance task instance
+     * @param outputStream output stream
+     */
+    private void writeLog(TaskInstance taskInstance, OutputStream outputStream) throws IOException {
         String host = taskInstance.getHost();
         String logPath = taskInstance.getLogPath();
 
@@ -281,47 +347,85 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
                 logPath,
                 host,
                 Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        outputStream.write(head);
 
-        byte[] logBytes = new byte[0];
-        if (TaskUtils.isLogicTask(taskInstance.getTaskType())) {
-            IMasterLogService masterLogService = SingletonJdkDynamicRpcClientProxyFactory
-                    .getProxyClient(taskInstance.getHost(), IMasterLogService.class);
+        long offset = 0;
+        long fileLength = -1;
+        while (fileLength < 0 || offset < fileLength) {
+            LogFileChunk logFileChunk;
             try {
-                LogicTaskInstanceLogFileDownloadRequest logicTaskInstanceLogFileDownloadRequest =
-                        new LogicTaskInstanceLogFileDownloadRequest(taskInstance.getId(), logPath);
-                LogicTaskInstanceLogFileDownloadResponse logicTaskInstanceLogFileDownloadResponse =
-                        masterLogService.getLogicTaskInstanceWholeLogFileBytes(logicTaskInstanceLogFileDownloadRequest);
-                logBytes = logicTaskInstanceLogFileDownloadResponse.getLogBytes();
+                logFileChunk = getLogFileChunk(taskInstance, offset);
             } catch (Exception ex) {
-                log.error("Query LogicTaskInstance log error", ex);
+                log.error("Query TaskInstance log chunk error, taskInstanceId: {}, offset: {}",
+                        taskInstance.getId(), offset, ex);
+                if (offset == 0) {
+                    // The log is not reachable on the host, try to get it from the remote target
+                    break;
+                }
+                // Part of the log has been written, abort the download rather than return a truncated log silently
+                String truncatedMarker =
+                        String.format(LOG_TRUNCATED_FORMAT, Constants.SYSTEM_LINE_SEPARATOR, offset, host);
+                outputStream.write(truncatedMarker.getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+                throw new IOException(String.format("Query TaskInstance log chunk error, taskInstanceId: %s, "
+                        + "offset: %s", taskInstance.getId(), offset), ex);
             }
-        } else {
-            IWorkerLogService iWorkerLogService = SingletonJdkDynamicRpcClientProxyFactory
-                    .getProxyClient(host, IWorkerLogService.class);
-            try {
-                TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest =
-                        new TaskInstanceLogFileDownloadRequest(taskInstance.getId(), logPath);
-                TaskInstanceLogFileDownloadResponse taskInstanceWholeLogFileBytes =
-                        iWorkerLogService.getTaskInstanceWholeLogFileBytes(taskInstanceLogFileDownloadRequest);
-                logBytes = taskInstanceWholeLogFileBytes.getLogBytes();
-            } catch (Exception ex) {
-                log.error("Query LogicTaskInstance log error", ex);
+            byte[] logBytes = logFileChunk.getLogBytes();
+            if (logBytes == null || logBytes.length == 0) {
+                break;
+            }
+            if (fileLength < 0) {
+                // The log file may still be written, only download the part that exists when the download starts
+                fileLength = logFileChunk.getFileLength();
             }
+            outputStream.write(logBytes);
+            offset += logBytes.length;
         }
 
-        if ((logBytes == null || logBytes.length == 0) && RemoteLogUtils.isRemoteLoggingEnable()) {
+        if (offset == 0 && RemoteLogUtils.isRemoteLoggingEnable()) {
             // get task log from remote target
             try {
                 log.info("Get log {} from remote target", logPath);
                 RemoteLogUtils.getRemoteLog(logPath);
                 File logFile = new File(logPath);
-                logBytes = FileUtils.readFileToByteArray(logFile);
+                Files.copy(logFile.toPath(), outputStream);
                 FileUtils.delete(logFile);
             } catch (IOException e) {
                 log.error("Error while getting log from remote target", e);
             }
         }
+        outputStream.flush();
+    }
+
+    private LogFileChunk getLogFileChunk(TaskInstance taskInstance, long offset) {
+        if (TaskUtils.isLogicTask(taskInstance.getTaskType())) {
+            IMasterLogService masterLogService = SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(taskInstance.getHost(), IMasterLogService.class);
+            LogicTaskInstanceLogFileChunkDownloadRequest logicTaskInstanceLogFileChunkDownloadRequest =
+                    new LogicTaskInstanceLogFileChunkDownloadRequest(taskInstance.getId(), taskInstance.getLogPath(),
+                            offset, LOG_DOWNLOAD_CHUNK_SIZE);
+            LogicTaskInstanceLogFileChunkDownloadResponse logicTaskInstanceLogFileChunkDownloadResponse =
+                    masterLogService.getLogicTaskInstanceLogFileChunk(logicTaskInstanceLogFileChunkDownloadRequest);
+            return new LogFileChunk(logicTaskInstanceLogFileChunkDownloadResponse.getLogBytes(),
+                    logicTaskInstanceLogFileChunkDownloadResponse.getFileLength());
+        }
+        IWorkerLogService iWorkerLogService = SingletonJdkDynamicRpcClientProxyFactory
+                .getProxyClient(taskInstance.getHost(), IWorkerLogService.class);
+        TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest =
+                new TaskInstanceLogFileChunkDownloadRequest(taskInstance.getId(), taskInstance.getLogPath(), offset,
+                        LOG_DOWNLOAD_CHUNK_SIZE);
+        TaskInstanceLogFileChunkDownloadResponse taskInstanceLogFileChunkDownloadResponse =
+                iWorkerLogService.getTaskInstanceLogFileChunk(taskInstanceLogFileChunkDownloadRequest);
+        return new LogFileChunk(taskInstanceLogFileChunkDownloadResponse.getLogBytes(),
+                taskInstanceLogFileChunkDownloadResponse.getFileLength());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LogFileChunk {
+
+        private final byte[] logBytes;
 
-        return Bytes.concat(head, logBytes);
+        private final long fileLength;
     }
 }
@@ -1130,6 +1130,7 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
                     if (schedule != null) {
                         // set status
                         schedule.setReleaseState(releaseState);
+                        schedule.setUpdateTime(new Date());
                         int updateSchedule = scheduleMapper.updateById(schedule);
                         if (updateSchedule == 0) {
                             log.error(
@@ -2904,6 +2905,7 @@ public class ProcessDefinitionServiceImpl extends BaseServiceImpl implements Pro
                             projectCode, code, scheduleObj.getId());
                     // set status
                     scheduleObj.setReleaseState(ReleaseState.OFFLINE);
+                    scheduleObj.setUpdateTime(new Date());
                     int updateSchedule = scheduleMapper.updateById(scheduleObj);
                     if (updateSchedule == 0) {
                         log.error(
@@ -524,8 +524,9 @@ public class SchedulerServiceImpl extends BaseServiceImpl implements SchedulerSe
             throw new ServiceException(Status.MASTER_NOT_EXISTS);
         }
 
-        // set status
+        // set status, the update time is used by the schedulers to find the changed schedules
         scheduleObj.setReleaseState(scheduleStatus);
+        scheduleObj.setUpdateTime(new Date());
 
         scheduleMapper.updateById(scheduleObj);
 
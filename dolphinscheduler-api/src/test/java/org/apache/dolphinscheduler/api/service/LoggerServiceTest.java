@@ -33,7 +33,13 @@ import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.worker.IWorkerLogService;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadResponse;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +49,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -236,6 +243,38 @@ public class LoggerServiceTest {
         loggerService.getLogBytes(loginUser, projectCode, 1);
     }
 
+    @Test
+    public void testDownloadLogAbortedWhenChunkQueryFailed() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setHost("127.0.0.1:1234");
+        taskInstance.setLogPath("/temp/log");
+        Mockito.when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        Project project = getProject(1);
+        Mockito.when(projectMapper.queryProjectByTaskInstanceId(1)).thenReturn(project);
+
+        IWorkerLogService workerLogService = Mockito.mock(IWorkerLogService.class);
+        Mockito.when(workerLogService.getTaskInstanceLogFileChunk(Mockito.any()))
+                .thenReturn(new TaskInstanceLogFileChunkDownloadResponse("first chunk".getBytes(), 100))
+                .thenThrow(new IllegalStateException("worker is unreachable"));
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> mockedProxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockedProxyFactory.when(() -> SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(
+                    taskInstance.getHost(), IWorkerLogService.class)).thenReturn(workerLogService);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Assertions.assertThrows(IOException.class, () -> loggerService.downloadLog(loginUser, 1, outputStream));
+            String logContent = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(logContent.contains("first chunk"));
+            Assertions.assertTrue(logContent.endsWith("[LOG-TRUNCATED]: failed to fetch the log after offset 11 from "
+                    + taskInstance.getHost()));
+        }
+    }
+
     /**
      * get mock Project
      *
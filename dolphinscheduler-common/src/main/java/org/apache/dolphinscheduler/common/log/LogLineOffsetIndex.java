@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A sparse line offset index of a log file, which records the byte offset of every {@code checkpointInterval}th
+ * line, so that a page of the log can be read by seeking to the nearest checkpoint instead of scanning the file from
+ * the beginning.
+ * <p>
+ * The index is built lazily on the first read and extended incrementally from the last indexed byte when the file
+ * grows, since the log file is only appended while the task is running. If the file is truncated or replaced, the
+ * index is rebuilt.
+ * <p>
+ * Lines are separated by {@code '\n'}, a trailing {@code '\r'} is removed, the content is decoded as UTF-8.
+ */
+@Slf4j
+public class LogLineOffsetIndex {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path filePath;
+
+    private final int checkpointInterval;
+
+    /**
+     * checkpoints[i] is the byte offset of the line {@code i * checkpointInterval}.
+     */
+    private long[] checkpoints = new long[16];
+
+    private int checkpointCount;
+
+    /**
+     * The count of the lines which are terminated by '\n' in [0, indexedLength).
+     */
+    private long indexedLineCount;
+
+    private long indexedLength;
+
+    private Object indexedFileKey;
+
+    public LogLineOffsetIndex(Path filePath) {
+        this(filePath, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public LogLineOffsetIndex(Path filePath, int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("checkpointInterval must be positive");
+        }
+        this.filePath = filePath;
+        this.checkpointInterval = checkpointInterval;
+        reset(null);
+    }
+
+    /**
+     * Read at most {@code limit} lines after skipping {@code skipLine} lines, the I/O cost is O(limit +
+     * checkpointInterval) lines rather than O(skipLine).
+     */
+    public List<String> readLines(int skipLine, int limit) throws IOException {
+        if (skipLine < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        long startOffset;
+        long startLine;
+        synchronized (this) {
+            refresh();
+            int checkpointIndex = (int) Math.min(skipLine / checkpointInterval, checkpointCount - 1);
+            startOffset = checkpoints[checkpointIndex];
+            startLine = (long) checkpointIndex * checkpointInterval;
+        }
+
+        List<String> lines = new ArrayList<>(Math.min(limit, checkpointInterval));
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            channel.position(startOffset);
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+            long currentLineNum = startLine;
+            while (lines.size() < limit && channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining() && lines.size() < limit) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        if (currentLineNum >= skipLine) {
+                            lines.add(decodeLine(currentLine));
+                        }
+                        currentLine.reset();
+                        currentLineNum++;
+                    } else if (currentLineNum >= skipLine) {
+                        currentLine.write(b);
+                    }
+                }
+                buffer.clear();
+            }
+            // the last line may not be terminated
+            if (lines.size() < limit && currentLineNum >= skipLine && currentLine.size() > 0) {
+                lines.add(decodeLine(currentLine));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Get the count of the lines which are terminated by '\n' that have been indexed.
+     */
+    public synchronized long getIndexedLineCount() {
+        return indexedLineCount;
+    }
+
+    public synchronized int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    private void refresh() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long fileLength = attributes.size();
+        Object fileKey = attributes.fileKey();
+        if (fileLength < indexedLength || !Objects.equals(fileKey, indexedFileKey)) {
+            log.debug("The log file: {} is truncated or replaced, rebuild the line offset index", filePath);
+            reset(fileKey);
+        }
+        if (fileLength == indexedLength) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            channel.position(indexedLength);
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            long position = indexedLength;
+            // only index to the length we have seen, the bytes appended later will be indexed in the next refresh
+            while (position < fileLength) {
+                int read = channel.read(buffer);
+                if (read == -1) {
+                    break;
+                }
+                buffer.flip();
+                int scanLength = (int) Math.min(read, fileLength - position);
+                for (int i = 0; i < scanLength; i++) {
+                    if (buffer.get(i) == '\n') {
+                        indexedLineCount++;
+                        if (indexedLineCount % checkpointInterval == 0) {
+                            addCheckpoint(position + i + 1);
+                        }
+                    }
+                }
+                position += scanLength;
+                buffer.clear();
+            }
+            indexedLength = position;
+        }
+    }
+
+    private void reset(Object fileKey) {
+        checkpoints = new long[16];
+        checkpoints[0] = 0;
+        checkpointCount = 1;
+        indexedLineCount = 0;
+        indexedLength = 0;
+        indexedFileKey = fileKey;
+    }
+
+    private void addCheckpoint(long offset) {
+        if (checkpointCount == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+        }
+        checkpoints[checkpointCount++] = offset;
+    }
+
+    private static String decodeLine(ByteArrayOutputStream line) {
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
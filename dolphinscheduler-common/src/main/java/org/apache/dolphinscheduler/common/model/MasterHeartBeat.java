@@ -40,6 +40,11 @@ public class MasterHeartBeat implements HeartBeat {
     private int processId;
     private ServerStatus serverStatus;
 
+    /**
+     * Whether the master is woken up by the command created events, the events are not sent to the polling masters.
+     */
+    private boolean commandNotifyEnabled;
+
     private String host;
     private int port;
 }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +27,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +44,21 @@ import ch.qos.logback.classic.LoggerContext;
 @Slf4j
 public class LogUtils {
 
+    private static final int MAX_CACHED_LINE_OFFSET_INDEX = 256;
+
+    /**
+     * The line offset index of the recently read log files, the page query of a log file is usually continuous, so we
+     * cache the index to avoid scanning the file again.
+     */
+    private static final Map<String, LogLineOffsetIndex> LINE_OFFSET_INDEX_CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<String, LogLineOffsetIndex>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LogLineOffsetIndex> eldest) {
+                    return size() > MAX_CACHED_LINE_OFFSET_INDEX;
+                }
+            });
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -79,8 +96,10 @@ public class LogUtils {
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return LINE_OFFSET_INDEX_CACHE
+                        .computeIfAbsent(filePath, path -> new LogLineOffsetIndex(Paths.get(path)))
+                        .readLines(skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -110,6 +129,42 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read at most {@code length} bytes of the file from the given offset, return an empty array if the offset is
+     * beyond the end of the file.
+     */
+    public static byte[] readFileChunkFromLocal(String filePath, long offset, int length) {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(filePath, "r")) {
+            long remaining = randomAccessFile.length() - offset;
+            if (remaining <= 0 || length <= 0) {
+                return new byte[0];
+            }
+            byte[] chunk = new byte[(int) Math.min(length, remaining)];
+            randomAccessFile.seek(offset);
+            randomAccessFile.readFully(chunk);
+            return chunk;
+        } catch (IOException e) {
+            log.error("read file chunk error", e);
+            throw new RuntimeException(String.format("Read file: %s chunk error", filePath), e);
+        }
+    }
+
+    public static byte[] readFileChunk(String filePath, long offset, int length) {
+        File file = new File(filePath);
+        if (!file.exists() && RemoteLogUtils.isRemoteLoggingEnable()) {
+            // the following chunks will be read from the local file which is downloaded here
+            RemoteLogUtils.getRemoteLog(filePath);
+        }
+        return readFileChunkFromLocal(filePath, offset, length);
+    }
+
+    /**
+     * Remove the cached line offset index of the file, should be called when the file is deleted.
+     */
+    public static void evictLineOffsetIndex(String filePath) {
+        LINE_OFFSET_INDEX_CACHE.remove(filePath);
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
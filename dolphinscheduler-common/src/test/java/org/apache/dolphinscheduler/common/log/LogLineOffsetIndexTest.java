@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogLineOffsetIndexTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testReadLinesAcrossCheckpoints() throws IOException {
+        Path logFile = folder.resolve("task.log");
+        List<String> lines = generateLines(0, 1050);
+        Files.write(logFile, lines, StandardCharsets.UTF_8);
+
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(logFile, 100);
+        Assertions.assertEquals(lines.subList(0, 10), logLineOffsetIndex.readLines(0, 10));
+        Assertions.assertEquals(lines.subList(95, 205), logLineOffsetIndex.readLines(95, 110));
+        Assertions.assertEquals(lines.subList(1000, 1050), logLineOffsetIndex.readLines(1000, 100));
+        Assertions.assertTrue(logLineOffsetIndex.readLines(2000, 100).isEmpty());
+        Assertions.assertEquals(1050, logLineOffsetIndex.getIndexedLineCount());
+        Assertions.assertEquals(11, logLineOffsetIndex.getCheckpointCount());
+    }
+
+    @Test
+    public void testIndexIsExtendedWhenFileGrows() throws IOException {
+        Path logFile = folder.resolve("task.log");
+        List<String> lines = new ArrayList<>(generateLines(0, 250));
+        Files.write(logFile, lines, StandardCharsets.UTF_8);
+
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(logFile, 100);
+        Assertions.assertEquals(lines.subList(200, 250), logLineOffsetIndex.readLines(200, 100));
+
+        // append an unterminated line, then terminate it and append more lines
+        Files.write(logFile, "line-250".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assertions.assertEquals(Arrays.asList("line-249", "line-250"), logLineOffsetIndex.readLines(249, 100));
+        Files.write(logFile, "\r\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        List<String> appended = generateLines(251, 500);
+        Files.write(logFile, appended, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        lines.add("line-250");
+        lines.addAll(appended);
+
+        Assertions.assertEquals(lines.subList(420, 500), logLineOffsetIndex.readLines(420, 100));
+        Assertions.assertEquals(500, logLineOffsetIndex.getIndexedLineCount());
+        Assertions.assertEquals(6, logLineOffsetIndex.getCheckpointCount());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenFileTruncated() throws IOException {
+        Path logFile = folder.resolve("task.log");
+        Files.write(logFile, generateLines(0, 300), StandardCharsets.UTF_8);
+
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(logFile, 100);
+        Assertions.assertEquals(300, logLineOffsetIndex.readLines(0, 1000).size());
+
+        List<String> rewritten = generateLines(1000, 1150);
+        Files.write(logFile, rewritten, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING);
+        Assertions.assertEquals(rewritten.subList(120, 150), logLineOffsetIndex.readLines(120, 100));
+        Assertions.assertEquals(150, logLineOffsetIndex.getIndexedLineCount());
+    }
+
+    @Test
+    public void testReadMultiByteLines() throws IOException {
+        Path logFile = folder.resolve("task.log");
+        List<String> lines = Arrays.asList("任务开始", "", "日志-中文", "end");
+        Files.write(logFile, lines, StandardCharsets.UTF_8);
+
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(logFile, 2);
+        Assertions.assertEquals(lines, logLineOffsetIndex.readLines(0, 10));
+        Assertions.assertEquals(lines.subList(1, 3), logLineOffsetIndex.readLines(1, 2));
+    }
+
+    private List<String> generateLines(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "line-" + i).collect(Collectors.toList());
+    }
+}
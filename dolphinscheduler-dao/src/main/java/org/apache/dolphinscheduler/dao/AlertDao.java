@@ -54,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.google.common.base.Strings;
@@ -156,6 +157,23 @@ public class AlertDao {
         return alertSendStatusMapper.batchInsert(alertSendStatuses);
     }
 
+    /**
+     * Update the sending(execution) status of the alerts and insert their send status of each alert plugin instance in
+     * one transaction, so that the send status will not be lost if the server restarts in the middle.
+     *
+     * @param alerts the alerts with id, alertStatus and log set
+     * @param alertSendStatuses the send status of each alert plugin instance
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateAlertsAndInsertSendStatus(List<Alert> alerts, List<AlertSendStatus> alertSendStatuses) {
+        Date now = new Date();
+        for (Alert alert : alerts) {
+            alert.setUpdateTime(now);
+            alertMapper.updateById(alert);
+        }
+        insertAlertSendStatus(alertSendStatuses);
+    }
+
     /**
      * MasterServer or WorkerServer stopped
      *
@@ -276,6 +294,16 @@ public class AlertDao {
         return alertMapper.listingAlertByStatus(AlertStatus.WAIT_EXECUTION.getCode(), QUERY_ALERT_THRESHOLD);
     }
 
+    /**
+     * List alerts that are pending for execution whose id is greater than the given id, ordered by id
+     *
+     * @param afterId the id of the last alert listed in the previous page, 0 means listing from the first alert
+     */
+    public List<Alert> listPendingAlerts(int afterId) {
+        return alertMapper.listingAlertByStatusAfterId(AlertStatus.WAIT_EXECUTION.getCode(), afterId,
+                QUERY_ALERT_THRESHOLD);
+    }
+
     public List<Alert> listAlerts(int processInstanceId) {
         LambdaQueryWrapper<Alert> wrapper = new LambdaQueryWrapper<Alert>()
                 .eq(Alert::getProcessInstanceId, processInstanceId);
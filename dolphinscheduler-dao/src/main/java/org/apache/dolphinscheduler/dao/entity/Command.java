@@ -113,6 +113,12 @@ public class Command {
     @TableField("test_flag")
     private int testFlag;
 
+    /**
+     * the virtual slot of the command, used to partition the commands to masters
+     */
+    @TableField("slot")
+    private int slot;
+
     public Command(
                    CommandType commandType,
                    TaskDependType taskDependType,
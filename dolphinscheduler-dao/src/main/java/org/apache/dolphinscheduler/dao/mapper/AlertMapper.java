@@ -38,6 +38,13 @@ public interface AlertMapper extends BaseMapper<Alert> {
      */
     List<Alert> listingAlertByStatus(@Param("alertStatus") int alertStatus, @Param("limit") int limit);
 
+    /**
+     * Listing the alerts by status whose id is greater than afterId, ordered by id.
+     */
+    List<Alert> listingAlertByStatusAfterId(@Param("alertStatus") int alertStatus,
+                                            @Param("afterId") int afterId,
+                                            @Param("limit") int limit);
+
     /**
      * Insert server crash alert
      * <p>This method will ensure that there is at most one unsent alert which has the same content in the database.
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.CommandCount;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -51,10 +52,36 @@ public interface CommandMapper extends BaseMapper<Command> {
     List<Command> queryCommandPage(@Param("limit") int limit, @Param("offset") int offset);
 
     /**
-     * query command page by slot
+     * query command page by slot range
+     * @param limit limit
+     * @param slotStart the first slot, inclusive
+     * @param slotEnd the last slot, exclusive
      * @return command list
      */
-    List<Command> queryCommandPageBySlot(@Param("limit") int limit,
-                                         @Param("masterCount") int masterCount,
-                                         @Param("thisMasterSlot") int thisMasterSlot);
+    List<Command> queryCommandPageBySlotRange(@Param("limit") int limit,
+                                              @Param("slotStart") int slotStart,
+                                              @Param("slotEnd") int slotEnd);
+
+    /**
+     * insert the commands in one statement, the generated ids will be set back to the commands
+     * @param commands commands
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
+
+    /**
+     * query the latest schedule time of the scheduler commands of each process definition
+     * @param processDefinitionCodes processDefinitionCodes
+     * @return command list, only the process definition code and the schedule time are set
+     */
+    List<Command> queryLastScheduleTimeByProcessDefinitionCodes(@Param("processDefinitionCodes") Collection<Long> processDefinitionCodes);
+
+    /**
+     * query the scheduler commands of the process definitions whose schedule time is one of the given times
+     * @param processDefinitionCodes processDefinitionCodes
+     * @param scheduleTimes scheduleTimes
+     * @return command list, only the process definition code and the schedule time are set
+     */
+    List<Command> queryScheduleTimeByProcessDefinitionCodes(@Param("processDefinitionCodes") Collection<Long> processDefinitionCodes,
+                                                            @Param("scheduleTimes") Collection<Date> scheduleTimes);
 }
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -333,4 +334,22 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
      * @return
      */
     List<ProcessInstance> queryByTriggerCode(@Param("triggerCode") Long triggerCode);
+
+    /**
+     * query the latest schedule time of the scheduler process instances of each process definition
+     *
+     * @param processDefinitionCodes processDefinitionCodes
+     * @return process instance list, only the process definition code and the schedule time are set
+     */
+    List<ProcessInstance> queryLastScheduleTimeByProcessDefinitionCodes(@Param("processDefinitionCodes") Collection<Long> processDefinitionCodes);
+
+    /**
+     * query the scheduler process instances of the process definitions whose schedule time is one of the given times
+     *
+     * @param processDefinitionCodes processDefinitionCodes
+     * @param scheduleTimes scheduleTimes
+     * @return process instance list, only the process definition code and the schedule time are set
+     */
+    List<ProcessInstance> queryScheduleTimeByProcessDefinitionCodes(@Param("processDefinitionCodes") Collection<Long> processDefinitionCodes,
+                                                                    @Param("scheduleTimes") Collection<Date> scheduleTimes);
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.dao.entity.Schedule;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.cache.annotation.CacheConfig;
@@ -126,4 +127,17 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      * @return schedule list
      */
     List<Schedule> queryScheduleListByTenant(@Param("tenantCode") String tenantCode);
+
+    /**
+     * query the schedules whose id belongs to the given slot, if the update time is null only the online schedules
+     * are returned, otherwise all the schedules updated since the given time are returned
+     *
+     * @param slot slot
+     * @param slotCount slot count
+     * @param updateTimeAfter updateTimeAfter, inclusive
+     * @return schedule list
+     */
+    List<Schedule> querySchedulesBySlot(@Param("slot") int slot,
+                                        @Param("slotCount") int slotCount,
+                                        @Param("updateTimeAfter") Date updateTimeAfter);
 }
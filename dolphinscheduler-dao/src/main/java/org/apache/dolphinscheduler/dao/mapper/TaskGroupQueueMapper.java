@@ -79,6 +79,16 @@ public interface TaskGroupQueueMapper extends BaseMapper<TaskGroupQueue> {
     List<TaskGroupQueue> queryHighPriorityTasks(@Param("groupId") int groupId, @Param("priority") int priority,
                                                 @Param("status") int status);
 
+    /**
+     * Query the {@link TaskGroupQueue} of the given task group and status, order by priority desc and id asc
+     */
+    List<TaskGroupQueue> queryByGroupIdAndStatus(@Param("groupId") int groupId, @Param("status") int status);
+
+    /**
+     * Query all the {@link TaskGroupQueue} of the given workflow instance
+     */
+    List<TaskGroupQueue> queryByWorkflowInstanceId(@Param("workflowInstanceId") int workflowInstanceId);
+
     TaskGroupQueue queryTheHighestPriorityTasks(@Param("groupId") int groupId, @Param("status") int status,
                                                 @Param("forceStart") int forceStart, @Param("inQueue") int inQueue);
 
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The commands are partitioned into {@link #COMMAND_SLOT_SIZE} virtual slots when inserted, each master owns a
+ * contiguous slot range which is computed by the master count and the master slot.
+ * <p>
+ * Since the slot of a command never changes, the ownership is rebalanced by recomputing the slot range once the
+ * master count changed. The commands of a slot range are fetched in the order of the index on
+ * (process_instance_priority, id, slot), the slot is filtered in the index, so no sort is needed.
+ */
+public class CommandSlotUtils {
+
+    public static final int COMMAND_SLOT_SIZE = 1024;
+
+    private CommandSlotUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Assign a random virtual slot to a new command, so that the commands are evenly distributed to the masters.
+     */
+    public static int assignSlot() {
+        return ThreadLocalRandom.current().nextInt(COMMAND_SLOT_SIZE);
+    }
+
+    /**
+     * Get the first virtual slot owned by the given master, inclusive.
+     */
+    public static int getSlotRangeStart(int masterCount, int thisMasterSlot) {
+        return (int) ((long) COMMAND_SLOT_SIZE * thisMasterSlot / masterCount);
+    }
+
+    /**
+     * Get the last virtual slot owned by the given master, exclusive.
+     */
+    public static int getSlotRangeEnd(int masterCount, int thisMasterSlot) {
+        return (int) ((long) COMMAND_SLOT_SIZE * (thisMasterSlot + 1) / masterCount);
+    }
+
+}
@@ -14,3 +14,57 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
 */
+
+-- ALTER TABLE `t_ds_command` ADD COLUMN `slot`
+drop PROCEDURE if EXISTS t_ds_command_add_column_slot;
+delimiter d//
+CREATE PROCEDURE t_ds_command_add_column_slot()
+BEGIN
+   IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_command'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME ='slot')
+   THEN
+ALTER TABLE t_ds_command ADD `slot` int(11) DEFAULT '0' COMMENT 'the virtual slot used to partition command to master';
+END IF;
+END;
+d//
+delimiter ;
+CALL t_ds_command_add_column_slot;
+DROP PROCEDURE t_ds_command_add_column_slot;
+
+-- ALTER TABLE `t_ds_command` ADD KEY `idx_priority_id_slot`
+drop PROCEDURE if EXISTS add_t_ds_command_idx_priority_id_slot;
+delimiter d//
+CREATE PROCEDURE add_t_ds_command_idx_priority_id_slot()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_NAME='t_ds_command'
+        AND TABLE_SCHEMA=(SELECT DATABASE())
+        AND INDEX_NAME='idx_priority_id_slot')
+    THEN
+ALTER TABLE `t_ds_command` ADD KEY `idx_priority_id_slot`( `process_instance_priority`, `id`, `slot` );
+END IF;
+END;
+d//
+delimiter ;
+CALL add_t_ds_command_idx_priority_id_slot;
+DROP PROCEDURE add_t_ds_command_idx_priority_id_slot;
+
+-- ALTER TABLE `t_ds_command` DROP KEY `priority_id_index`, it's covered by `idx_priority_id_slot`
+drop PROCEDURE if EXISTS drop_t_ds_command_priority_id_index;
+delimiter d//
+CREATE PROCEDURE drop_t_ds_command_priority_id_index()
+BEGIN
+    IF EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_NAME='t_ds_command'
+        AND TABLE_SCHEMA=(SELECT DATABASE())
+        AND INDEX_NAME='priority_id_index')
+    THEN
+ALTER TABLE `t_ds_command` DROP KEY `priority_id_index`;
+END IF;
+END;
+d//
+delimiter ;
+CALL drop_t_ds_command_priority_id_index;
+DROP PROCEDURE drop_t_ds_command_priority_id_index;
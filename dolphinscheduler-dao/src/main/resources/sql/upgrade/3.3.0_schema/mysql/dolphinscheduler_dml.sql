@@ -14,3 +14,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
 */
+
+-- spread the existing commands to the virtual slots
+UPDATE t_ds_command SET slot = MOD(id, 1024);
@@ -14,3 +14,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
 */
+
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS slot int DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_priority_id_slot ON t_ds_command USING Btree("process_instance_priority", "id", "slot");
+DROP INDEX IF EXISTS priority_id_index;
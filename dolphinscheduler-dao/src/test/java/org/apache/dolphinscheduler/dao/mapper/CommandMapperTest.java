@@ -30,7 +30,11 @@ import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -60,6 +64,41 @@ public class CommandMapperTest extends BaseDaoTest {
         Assertions.assertTrue(command.getId() > 0);
     }
 
+    /**
+     * test batch insert
+     */
+    @Test
+    public void testBatchInsert() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            commands.add(newCommand(CommandType.SCHEDULER, i + 1));
+        }
+        Assertions.assertEquals(3, commandMapper.batchInsert(commands));
+        for (Command command : commands) {
+            Assertions.assertNotNull(command.getId());
+            Command actualCommand = commandMapper.selectById(command.getId());
+            Assertions.assertEquals(command.getProcessDefinitionCode(), actualCommand.getProcessDefinitionCode());
+            Assertions.assertEquals(command.getSlot(), actualCommand.getSlot());
+        }
+    }
+
+    @Test
+    public void testQueryScheduleTimeByProcessDefinitionCodes() {
+        Date scheduleTime = DateUtils.stringToDate("2019-12-29 12:10:00");
+        createCommand(CommandType.SCHEDULER, 1);
+        createCommand(CommandType.SCHEDULER, 2);
+        createCommand(CommandType.START_PROCESS, 3);
+
+        List<Command> commands = commandMapper.queryScheduleTimeByProcessDefinitionCodes(
+                Arrays.asList(1L, 3L), Collections.singletonList(scheduleTime));
+        Assertions.assertEquals(1, commands.size());
+        Assertions.assertEquals(1L, commands.get(0).getProcessDefinitionCode());
+        Assertions.assertEquals(scheduleTime, commands.get(0).getScheduleTime());
+
+        Assertions.assertTrue(commandMapper.queryScheduleTimeByProcessDefinitionCodes(Arrays.asList(1L, 2L),
+                Collections.singletonList(DateUtils.stringToDate("2019-12-29 12:11:00"))).isEmpty());
+    }
+
     /**
      * test select by id
      */
@@ -159,30 +198,32 @@ public class CommandMapperTest extends BaseDaoTest {
     }
 
     /**
-     * test query command page by slot
+     * test query command page by slot range
      */
     @Test
-    public void testQueryCommandPageBySlot() {
+    public void testQueryCommandPageBySlotRange() {
         int masterCount = 4;
         int thisMasterSlot = 2;
         // for hit or miss
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
+        toTestQueryCommandPageBySlotRange(masterCount, thisMasterSlot);
+        toTestQueryCommandPageBySlotRange(masterCount, thisMasterSlot);
+        toTestQueryCommandPageBySlotRange(masterCount, thisMasterSlot);
+        toTestQueryCommandPageBySlotRange(masterCount, thisMasterSlot);
     }
 
-    private boolean toTestQueryCommandPageBySlot(int masterCount, int thisMasterSlot) {
+    private boolean toTestQueryCommandPageBySlotRange(int masterCount, int thisMasterSlot) {
         Command command = createCommand();
         Integer id = command.getId();
-        boolean hit = id % masterCount == thisMasterSlot;
-        List<Command> commandList = commandMapper.queryCommandPageBySlot(1, masterCount, thisMasterSlot);
+        int slotStart = CommandSlotUtils.getSlotRangeStart(masterCount, thisMasterSlot);
+        int slotEnd = CommandSlotUtils.getSlotRangeEnd(masterCount, thisMasterSlot);
+        boolean hit = command.getSlot() >= slotStart && command.getSlot() < slotEnd;
+        List<Command> commandList = commandMapper.queryCommandPageBySlotRange(1, slotStart, slotEnd);
         if (hit) {
             Assertions.assertEquals(id, commandList.get(0).getId());
         } else {
             commandList.forEach(o -> {
                 Assertions.assertNotEquals(id, o.getId());
-                Assertions.assertEquals(thisMasterSlot, o.getId() % masterCount);
+                Assertions.assertTrue(o.getSlot() >= slotStart && o.getSlot() < slotEnd);
             });
         }
         return hit;
@@ -258,6 +299,13 @@ public class CommandMapperTest extends BaseDaoTest {
      * @return Command
      */
     private Command createCommand(CommandType commandType, long processDefinitionCode) {
+        Command command = newCommand(commandType, processDefinitionCode);
+        commandMapper.insert(command);
+
+        return command;
+    }
+
+    private Command newCommand(CommandType commandType, long processDefinitionCode) {
 
         Command command = new Command();
         command.setCommandType(commandType);
@@ -275,7 +323,7 @@ public class CommandMapperTest extends BaseDaoTest {
         command.setWorkerGroup(Constants.DEFAULT_WORKER_GROUP);
         command.setProcessInstanceId(0);
         command.setProcessDefinitionVersion(0);
-        commandMapper.insert(command);
+        command.setSlot(CommandSlotUtils.assignSlot());
 
         return command;
     }
@@ -246,4 +246,28 @@ public class ScheduleMapperTest extends BaseDaoTest {
         Schedule schedules = scheduleMapper.queryByProcessDefinitionCode(schedule.getProcessDefinitionCode());
         Assertions.assertNotNull(schedules);
     }
+
+    /**
+     * test query by slot
+     */
+    @Test
+    public void testQuerySchedulesBySlot() {
+        Schedule onlineSchedule = insertOne();
+        onlineSchedule.setReleaseState(ReleaseState.ONLINE);
+        scheduleMapper.updateById(onlineSchedule);
+        Schedule offlineSchedule = insertOne();
+
+        int slotCount = 1;
+        List<Schedule> schedules = scheduleMapper.querySchedulesBySlot(0, slotCount, null);
+        Assertions.assertTrue(schedules.stream().anyMatch(schedule -> schedule.getId().equals(onlineSchedule.getId())));
+        Assertions.assertTrue(
+                schedules.stream().noneMatch(schedule -> schedule.getId().equals(offlineSchedule.getId())));
+
+        // the offline schedules are returned when querying the updated schedules
+        schedules = scheduleMapper.querySchedulesBySlot(0, slotCount, new Date(0));
+        Assertions.assertTrue(
+                schedules.stream().anyMatch(schedule -> schedule.getId().equals(offlineSchedule.getId())));
+        schedules = scheduleMapper.querySchedulesBySlot(0, slotCount, new Date(System.currentTimeMillis() + 60000));
+        Assertions.assertEquals(0, schedules.size());
+    }
 }
@@ -99,4 +99,30 @@ public class TaskGroupQueueMapperTest extends BaseDaoTest {
         int i = taskGroupQueueMapper.deleteByTaskId(taskGroupQueue.getTaskId());
         Assertions.assertEquals(i, 1);
     }
+
+    @Test
+    public void testQueryByGroupIdAndStatus() {
+        TaskGroupQueue lowPriority = insertOne();
+        lowPriority.setStatus(TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueMapper.updateById(lowPriority);
+        TaskGroupQueue highPriority = insertOne();
+        highPriority.setPriority(20);
+        highPriority.setStatus(TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueMapper.updateById(highPriority);
+        insertOne();
+
+        List<TaskGroupQueue> taskGroupQueues =
+                taskGroupQueueMapper.queryByGroupIdAndStatus(10, TaskGroupQueueStatus.WAIT_QUEUE.getCode());
+        Assertions.assertEquals(2, taskGroupQueues.size());
+        Assertions.assertEquals(highPriority.getId(), taskGroupQueues.get(0).getId());
+        Assertions.assertEquals(lowPriority.getId(), taskGroupQueues.get(1).getId());
+    }
+
+    @Test
+    public void testQueryByWorkflowInstanceId() {
+        insertOne();
+        insertOne();
+        Assertions.assertEquals(2, taskGroupQueueMapper.queryByWorkflowInstanceId(11).size());
+        Assertions.assertEquals(0, taskGroupQueueMapper.queryByWorkflowInstanceId(12).size());
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CommandSlotUtilsTest {
+
+    @Test
+    void testSlotRangeCoverAllSlots() {
+        for (int masterCount = 1; masterCount <= 7; masterCount++) {
+            int expectedStart = 0;
+            for (int thisMasterSlot = 0; thisMasterSlot < masterCount; thisMasterSlot++) {
+                int slotStart = CommandSlotUtils.getSlotRangeStart(masterCount, thisMasterSlot);
+                int slotEnd = CommandSlotUtils.getSlotRangeEnd(masterCount, thisMasterSlot);
+                Assertions.assertEquals(expectedStart, slotStart);
+                Assertions.assertTrue(slotEnd > slotStart);
+                expectedStart = slotEnd;
+            }
+            Assertions.assertEquals(CommandSlotUtils.COMMAND_SLOT_SIZE, expectedStart);
+        }
+    }
+
+    @Test
+    void testAssignSlot() {
+        for (int i = 0; i < 100; i++) {
+            int slot = CommandSlotUtils.assignSlot();
+            Assertions.assertTrue(slot >= 0 && slot < CommandSlotUtils.COMMAND_SLOT_SIZE);
+        }
+    }
+
+}
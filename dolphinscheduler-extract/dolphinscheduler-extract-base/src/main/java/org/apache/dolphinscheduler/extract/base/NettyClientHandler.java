@@ -20,12 +20,12 @@ package org.apache.dolphinscheduler.extract.base;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.concurrent.ExecutorService;
 
 import lombok.extern.slf4j.Slf4j;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -53,16 +53,18 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived((Transporter) msg);
+        processReceived(ctx.channel(), (Transporter) msg);
     }
 
-    private void processReceived(final Transporter transporter) {
+    private void processReceived(final Channel channel, final Transporter transporter) {
+        nettyRemotingClient.negotiateSerializerType(channel, transporter.getHeader().getLatestSerializerVersion());
         ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
+        StandardRpcResponse deserialize = transporter.getSerializerType().getSerializer()
+                .deserialize(transporter.getBody(), StandardRpcResponse.class);
         future.setIRpcResponse(deserialize);
         future.release();
         if (future.getInvokeCallback() != null) {
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.CallerThreadExecutePolicy;
 import org.apache.dolphinscheduler.extract.base.utils.Constants;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
@@ -56,10 +57,18 @@ import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
 
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
 
+    /**
+     * The serializer negotiated with the server of the channel, the channel which is not negotiated uses
+     * {@link RpcSerializerType#JSON}, which is supported by all the server versions.
+     */
+    private static final AttributeKey<RpcSerializerType> NEGOTIATED_SERIALIZER_TYPE =
+            AttributeKey.valueOf("negotiatedSerializerType");
+
     private final Bootstrap bootstrap = new Bootstrap();
 
     private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
@@ -134,7 +143,7 @@ public class NettyRemotingClient implements AutoCloseable {
     public void sendAsync(final Host host,
                           final Transporter transporter,
                           final long timeoutMillis,
-                          final InvokeCallback invokeCallback) throws InterruptedException, RemotingException {
+                          final InvokeCallback invokeCallback) throws RemotingException {
         final Channel channel = getChannel(host);
         if (channel == null) {
             throw new RemotingException("network error");
@@ -144,9 +153,10 @@ public class NettyRemotingClient implements AutoCloseable {
          */
         final long opaque = transporter.getHeader().getOpaque();
         /*
-         * control concurrency number
+         * control concurrency number, fail fast rather than blocking the caller when there is no permit, the caller
+         * of an async request should never be held
          */
-        boolean acquired = this.asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        boolean acquired = this.asyncSemaphore.tryAcquire();
         if (acquired) {
             final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(this.asyncSemaphore);
 
@@ -181,8 +191,8 @@ public class NettyRemotingClient implements AutoCloseable {
             }
         } else {
             String message = String.format(
-                    "try to acquire async semaphore timeout: %d, waiting thread num: %d, total permits: %d",
-                    timeoutMillis, asyncSemaphore.getQueueLength(), asyncSemaphore.availablePermits());
+                    "no async semaphore permit available to send the request to host: %s, too many inflight requests",
+                    host);
             throw new RemotingTooMuchRequestException(message);
         }
     }
@@ -220,6 +230,28 @@ public class NettyRemotingClient implements AutoCloseable {
         return iRpcResponse;
     }
 
+    /**
+     * Get the serializer used to send request to the given host, it is negotiated by the previous response from the
+     * host, so the first requests on a new channel are always sent by {@link RpcSerializerType#JSON}.
+     */
+    public RpcSerializerType getSerializerType(Host host) {
+        final Channel channel = getChannel(host);
+        if (channel == null) {
+            return RpcSerializerType.JSON;
+        }
+        RpcSerializerType serializerType = channel.attr(NEGOTIATED_SERIALIZER_TYPE).get();
+        return serializerType == null ? RpcSerializerType.JSON : serializerType;
+    }
+
+    void negotiateSerializerType(Channel channel, byte serverLatestSerializerVersion) {
+        RpcSerializerType serializerType =
+                RpcSerializerType.negotiate(clientConfig.getSerializerType(), serverLatestSerializerVersion);
+        RpcSerializerType previous = channel.attr(NEGOTIATED_SERIALIZER_TYPE).getAndSet(serializerType);
+        if (previous != serializerType) {
+            log.info("The rpc serializer of channel: {} is negotiated to {}", channel, serializerType);
+        }
+    }
+
     public Channel getChannel(Host host) {
         Channel channel = channels.get(host);
         if (channel != null && channel.isActive()) {
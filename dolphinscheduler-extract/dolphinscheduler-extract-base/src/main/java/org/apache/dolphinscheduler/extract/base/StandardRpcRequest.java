@@ -17,7 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,16 +34,31 @@ public class StandardRpcRequest implements IRpcRequest {
     private Class<?>[] argsTypes;
 
     public static StandardRpcRequest of(Object[] args) {
+        return of(args, RpcSerializerType.JSON.getSerializer());
+    }
+
+    public static StandardRpcRequest of(Object[] args, IRpcSerializer serializer) {
         if (args == null || args.length == 0) {
             return new StandardRpcRequest(null, null);
         }
         final byte[][] argsBytes = new byte[args.length][];
         final Class<?>[] argsTypes = new Class[args.length];
         for (int i = 0; i < args.length; i++) {
-            argsBytes[i] = JsonSerializer.serialize(args[i]);
+            argsBytes[i] = serializer.serialize(args[i]);
             argsTypes[i] = args[i].getClass();
         }
         return new StandardRpcRequest(argsBytes, argsTypes);
     }
 
+    public Object[] deserializeArgs(IRpcSerializer serializer) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        final Object[] deserializedArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            deserializedArgs[i] = serializer.deserialize(args[i], argsTypes[i]);
+        }
+        return deserializedArgs;
+    }
+
 }
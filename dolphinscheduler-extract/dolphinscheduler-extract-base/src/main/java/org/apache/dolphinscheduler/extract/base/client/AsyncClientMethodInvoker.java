@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Invoke the remote method which return a {@link CompletableFuture}, the request will be written to the shared channel
+ * without waiting for the response, so multiple requests can be pipelined on one connection. The returned future will
+ * be completed by the netty callback executor once the response arrived or the request timeout.
+ */
+public class AsyncClientMethodInvoker extends BaseRemoteMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    public AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = getFutureValueClass(localMethod);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        RpcSerializerType serializerType = nettyRemotingClient.getSerializerType(serverHost);
+        Transporter transporter =
+                Transporter.ofRequestArgs(TransporterHeader.of(methodIdentifier), args, serializerType);
+
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            nettyRemotingClient.sendAsync(serverHost, transporter, rpcMethod.timeout(),
+                    responseFuture -> completeResult(result, responseFuture, serializerType));
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void completeResult(CompletableFuture<Object> result,
+                                ResponseFuture responseFuture,
+                                RpcSerializerType serializerType) {
+        IRpcResponse iRpcResponse = responseFuture.getIRpcResponse();
+        if (iRpcResponse == null) {
+            if (responseFuture.isSendOK()) {
+                result.completeExceptionally(new RemotingTimeoutException(serverHost.toString(),
+                        responseFuture.getTimeoutMillis(), responseFuture.getCause()));
+            } else {
+                result.completeExceptionally(new RemotingException(serverHost.toString(), responseFuture.getCause()));
+            }
+            return;
+        }
+        if (!iRpcResponse.isSuccess()) {
+            result.completeExceptionally(MethodInvocationException.of(iRpcResponse.getMessage()));
+            return;
+        }
+        if (iRpcResponse.getBody() == null || responseClass == Void.class) {
+            result.complete(null);
+            return;
+        }
+        try {
+            result.complete(serializerType.getSerializer().deserialize(iRpcResponse.getBody(), responseClass));
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static Class<?> getFutureValueClass(Method method) {
+        Type genericReturnType = method.getGenericReturnType();
+        if (genericReturnType instanceof ParameterizedType) {
+            Type valueType = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+            if (valueType instanceof Class) {
+                return (Class<?>) valueType;
+            }
+            if (valueType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) valueType).getRawType();
+            }
+        }
+        return Object.class;
+    }
+
+    static boolean isAsyncMethod(Method method) {
+        return CompletableFuture.class.equals(method.getReturnType());
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtils;
 
 import java.lang.reflect.Method;
 
@@ -36,7 +37,7 @@ public abstract class BaseRemoteMethodInvoker implements ClientMethodInvoker {
         this.serverHost = serverHost;
         this.localMethod = localMethod;
         this.nettyRemotingClient = nettyRemotingClient;
-        this.methodIdentifier = localMethod.toGenericString();
+        this.methodIdentifier = MethodIdentifierUtils.getMethodIdentifier(localMethod);
     }
 
 }
@@ -51,8 +51,15 @@ public class ClientInvocationHandler implements InvocationHandler {
             return method.invoke(proxy, args);
         }
         ClientMethodInvoker methodInvoker = methodInvokerMap.computeIfAbsent(
-                method.toGenericString(), m -> new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient));
+                method.toGenericString(), m -> createMethodInvoker(method));
         return methodInvoker.invoke(proxy, method, args);
     }
 
+    private ClientMethodInvoker createMethodInvoker(Method method) {
+        if (AsyncClientMethodInvoker.isAsyncMethod(method)) {
+            return new AsyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+        }
+        return new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+    }
+
 }
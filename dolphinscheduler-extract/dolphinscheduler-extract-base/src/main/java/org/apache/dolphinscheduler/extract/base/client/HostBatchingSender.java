@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.extract.base.utils.NamedThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesce the messages sent to the same host into batches.
+ * <p>
+ * The messages are buffered per host, a batch is sent once the buffer reach {@code maxBatchSize} or the oldest buffered
+ * message has waited {@code maxBatchWindowMillis}. Each host has at most one in-flight batch, the next batch will be
+ * sent after the previous one completed, so the messages of the same host are received by the peer in the order they
+ * are added. The messages buffered during a round trip are split into batches of at most {@code maxBatchSize}.
+ */
+@Slf4j
+public class HostBatchingSender<E> implements AutoCloseable {
+
+    private final String name;
+
+    private final int maxBatchSize;
+
+    private final long maxBatchWindowMillis;
+
+    private final BiFunction<String, List<E>, CompletableFuture<Void>> batchSendFunction;
+
+    private final Map<String, HostBatchBuffer> hostBatchBuffers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService batchFlushScheduler;
+
+    public HostBatchingSender(String name,
+                              int maxBatchSize,
+                              long maxBatchWindowMillis,
+                              BiFunction<String, List<E>, CompletableFuture<Void>> batchSendFunction) {
+        checkArgument(maxBatchSize > 0, "The maxBatchSize should be greater than 0");
+        checkArgument(maxBatchWindowMillis >= 0, "The maxBatchWindowMillis should not be negative");
+        this.name = checkNotNull(name);
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchWindowMillis = maxBatchWindowMillis;
+        this.batchSendFunction = checkNotNull(batchSendFunction);
+        this.batchFlushScheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(name));
+    }
+
+    /**
+     * Add the message to the batch of the given host.
+     *
+     * @return the future which will be completed when the batch contains the message is sent successfully
+     */
+    public CompletableFuture<Void> send(String host, E message) {
+        checkNotNull(host);
+        checkNotNull(message);
+        return hostBatchBuffers.computeIfAbsent(host, HostBatchBuffer::new).add(message);
+    }
+
+    public int getPendingMessageSize() {
+        int pendingMessageSize = 0;
+        for (HostBatchBuffer hostBatchBuffer : hostBatchBuffers.values()) {
+            pendingMessageSize += hostBatchBuffer.getPendingMessageSize();
+        }
+        return pendingMessageSize;
+    }
+
+    @Override
+    public void close() {
+        batchFlushScheduler.shutdownNow();
+        for (HostBatchBuffer hostBatchBuffer : hostBatchBuffers.values()) {
+            hostBatchBuffer.flush();
+        }
+    }
+
+    private class HostBatchBuffer {
+
+        private final String host;
+
+        private final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+
+        private int pendingMessageSize;
+
+        private boolean inFlight;
+
+        private boolean flushScheduled;
+
+        HostBatchBuffer(String host) {
+            this.host = host;
+        }
+
+        synchronized int getPendingMessageSize() {
+            return pendingMessageSize;
+        }
+
+        synchronized CompletableFuture<Void> add(E message) {
+            PendingBatch lastBatch = pendingBatches.peekLast();
+            if (lastBatch == null || lastBatch.messages.size() >= maxBatchSize) {
+                lastBatch = new PendingBatch();
+                pendingBatches.addLast(lastBatch);
+            }
+            lastBatch.messages.add(message);
+            pendingMessageSize++;
+            CompletableFuture<Void> future = lastBatch.future;
+            if (inFlight) {
+                // will be sent once the in-flight batch completed
+                return future;
+            }
+            if (lastBatch.messages.size() >= maxBatchSize || maxBatchWindowMillis == 0) {
+                sendPendingMessages();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                try {
+                    batchFlushScheduler.schedule(this::flush, maxBatchWindowMillis, TimeUnit.MILLISECONDS);
+                } catch (Exception e) {
+                    log.warn("{} schedule flush for host: {} failed, will send the batch directly", name, host, e);
+                    sendPendingMessages();
+                }
+            }
+            return future;
+        }
+
+        synchronized void flush() {
+            flushScheduled = false;
+            if (!inFlight && !pendingBatches.isEmpty()) {
+                sendPendingMessages();
+            }
+        }
+
+        private synchronized void onBatchFinished() {
+            inFlight = false;
+            if (!pendingBatches.isEmpty()) {
+                // the pending messages have waited for a round trip, so send them directly
+                sendPendingMessages();
+            }
+        }
+
+        /**
+         * Send the oldest pending batch, the others are sent one by one after it completed.
+         */
+        private void sendPendingMessages() {
+            final PendingBatch pendingBatch = pendingBatches.pollFirst();
+            final List<E> batch = pendingBatch.messages;
+            final CompletableFuture<Void> batchFuture = pendingBatch.future;
+            pendingMessageSize -= batch.size();
+            inFlight = true;
+
+            CompletableFuture<Void> sendFuture;
+            try {
+                sendFuture = batchSendFunction.apply(host, batch);
+            } catch (Exception e) {
+                sendFuture = new CompletableFuture<>();
+                sendFuture.completeExceptionally(e);
+            }
+            sendFuture.whenComplete((r, ex) -> {
+                if (ex != null) {
+                    log.error("{} send batch of {} messages to host: {} failed", name, batch.size(), host, ex);
+                    batchFuture.completeExceptionally(ex);
+                } else {
+                    batchFuture.complete(null);
+                }
+                onBatchFinished();
+            });
+        }
+    }
+
+    private class PendingBatch {
+
+        private final List<E> messages = new ArrayList<>();
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+    }
+}
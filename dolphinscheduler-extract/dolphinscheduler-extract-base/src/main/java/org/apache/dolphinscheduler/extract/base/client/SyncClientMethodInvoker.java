@@ -20,11 +20,10 @@ package org.apache.dolphinscheduler.extract.base.client;
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,9 +37,9 @@ public class SyncClientMethodInvoker extends BaseRemoteMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
-        Transporter transporter = new Transporter();
-        transporter.setBody(JsonSerializer.serialize(StandardRpcRequest.of(args)));
-        transporter.setHeader(TransporterHeader.of(methodIdentifier));
+        RpcSerializerType serializerType = nettyRemotingClient.getSerializerType(serverHost);
+        Transporter transporter =
+                Transporter.ofRequestArgs(TransporterHeader.of(methodIdentifier), args, serializerType);
 
         IRpcResponse iRpcResponse =
                 nettyRemotingClient.sendSync(serverHost, transporter, sync.timeout());
@@ -51,6 +50,6 @@ public class SyncClientMethodInvoker extends BaseRemoteMethodInvoker {
             return null;
         }
         Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        return serializerType.getSerializer().deserialize(iRpcResponse.getBody(), responseClass);
     }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -64,4 +66,11 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * The latest serializer the client is willing to use, the serializer of each channel is negotiated with the
+     * server, so the server older than 3.3.0 will still receive {@link RpcSerializerType#JSON}.
+     */
+    @Builder.Default
+    private RpcSerializerType serializerType = RpcSerializerType.latest();
+
 }
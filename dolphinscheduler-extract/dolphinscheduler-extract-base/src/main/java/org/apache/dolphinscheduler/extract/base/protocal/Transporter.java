@@ -19,7 +19,7 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 
 import java.io.Serializable;
 
@@ -34,19 +34,68 @@ public class Transporter implements Serializable {
     public static final byte MAGIC = (byte) 0xbabe;
     public static final byte VERSION = 0;
 
+    private RpcSerializerType serializerType = RpcSerializerType.JSON;
     private TransporterHeader header;
     private byte[] body;
 
+    /**
+     * The payload which is not serialized yet, it will be serialized into the netty buffer directly when encoding.
+     */
+    private Object payload;
+
+    /**
+     * The args of the request which are not serialized yet, they will be serialized into the netty buffer by
+     * {@link org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer#serializeArgs} when encoding.
+     */
+    private Object[] requestArgs;
+
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, iRpcResponse, RpcSerializerType.JSON);
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, iRpcRequest, RpcSerializerType.JSON);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcResponse iRpcResponse,
+                                 @NonNull RpcSerializerType serializerType) {
+        return ofPayload(header, iRpcResponse, serializerType);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcRequest iRpcRequest,
+                                 @NonNull RpcSerializerType serializerType) {
+        return ofPayload(header, iRpcRequest, serializerType);
+    }
+
+    public static Transporter ofRequestArgs(@NonNull TransporterHeader header,
+                                            Object[] args,
+                                            @NonNull RpcSerializerType serializerType) {
+        Transporter transporter = new Transporter();
+        transporter.setSerializerType(serializerType);
+        transporter.setHeader(header);
+        transporter.setRequestArgs(args == null ? new Object[0] : args);
+        return transporter;
+    }
+
+    private static Transporter ofPayload(TransporterHeader header, Object payload, RpcSerializerType serializerType) {
+        Transporter transporter = new Transporter();
+        transporter.setSerializerType(serializerType);
+        transporter.setHeader(header);
+        transporter.setPayload(payload);
+        return transporter;
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+        return of(header, body, RpcSerializerType.JSON);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 byte[] body,
+                                 @NonNull RpcSerializerType serializerType) {
         Transporter transporter = new Transporter();
+        transporter.setSerializerType(serializerType);
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 
 import java.util.List;
 
@@ -33,8 +34,9 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         super(State.MAGIC);
     }
 
+    private RpcSerializerType serializerType;
     private int headerLength;
-    private byte[] header;
+    private TransporterHeader header;
     private int bodyLength;
     private byte[] body;
 
@@ -45,14 +47,13 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
                 checkMagic(in.readByte());
                 checkpoint(State.VERSION);
             case VERSION:
-                checkVersion(in.readByte());
+                serializerType = RpcSerializerType.of(in.readByte());
                 checkpoint(State.HEADER_LENGTH);
             case HEADER_LENGTH:
                 headerLength = in.readInt();
                 checkpoint(State.HEADER);
             case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
+                header = readHeader(in);
                 checkpoint(State.BODY_LENGTH);
             case BODY_LENGTH:
                 bodyLength = in.readInt();
@@ -60,8 +61,7 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
             case BODY:
                 body = new byte[bodyLength];
                 in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
+                Transporter transporter = Transporter.of(header, body, serializerType);
                 out.add(transporter);
                 checkpoint(State.MAGIC);
                 break;
@@ -76,10 +76,14 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         }
     }
 
-    private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
+    private TransporterHeader readHeader(ByteBuf in) {
+        if (serializerType == RpcSerializerType.JSON) {
+            // keep compatible with the old version, which writes the header in json
+            byte[] headerBytes = new byte[headerLength];
+            in.readBytes(headerBytes);
+            return JsonSerializer.deserialize(headerBytes, TransporterHeader.class);
         }
+        return TransporterHeader.readFrom(in.readSlice(headerLength));
     }
 
     enum State {
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
@@ -32,18 +33,40 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
         if (transporter == null) {
             throw new RemotingException("encode msg is null");
         }
+        RpcSerializerType serializerType = transporter.getSerializerType();
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
+        out.writeByte(serializerType.getVersion());
 
         // write header
-        byte[] header = transporter.getHeader().toBytes();
-        out.writeInt(header.length);
-        out.writeBytes(header);
+        if (serializerType == RpcSerializerType.JSON) {
+            byte[] header = transporter.getHeader().toBytes();
+            out.writeInt(header.length);
+            out.writeBytes(header);
+        } else {
+            writeWithLength(out, () -> transporter.getHeader().writeTo(out));
+        }
 
         // write body
-        byte[] body = transporter.getBody();
-        out.writeInt(body.length);
-        out.writeBytes(body);
+        if (transporter.getRequestArgs() != null) {
+            writeWithLength(out, () -> serializerType.getSerializer().serializeArgs(transporter.getRequestArgs(), out));
+        } else if (transporter.getPayload() != null) {
+            writeWithLength(out, () -> serializerType.getSerializer().serialize(transporter.getPayload(), out));
+        } else {
+            byte[] body = transporter.getBody();
+            out.writeInt(body.length);
+            out.writeBytes(body);
+        }
+    }
+
+    /**
+     * Reserve the length field, write the content and then fill the length, so that the content can be written into
+     * the buffer directly.
+     */
+    private void writeWithLength(ByteBuf out, Runnable contentWriter) {
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        contentWriter.run();
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - Integer.BYTES);
     }
 
 }
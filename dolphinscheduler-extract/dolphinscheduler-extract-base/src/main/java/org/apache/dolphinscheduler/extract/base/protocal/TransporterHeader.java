@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.Data;
+import io.netty.buffer.ByteBuf;
 
 @Data
 public class TransporterHeader implements Serializable {
@@ -34,6 +37,13 @@ public class TransporterHeader implements Serializable {
     private String methodIdentifier;
     private long opaque;
 
+    /**
+     * The latest {@link RpcSerializerType} version the sender supports, it is set by the server in the response, so
+     * that the client can switch to a better serializer. The old version server doesn't set it, so it is
+     * {@link RpcSerializerType#JSON}.
+     */
+    private byte latestSerializerVersion;
+
     // Used for JsonDeSerializer
     public TransporterHeader() {
 
@@ -60,4 +70,36 @@ public class TransporterHeader implements Serializable {
         return JsonSerializer.serialize(this);
     }
 
+    /**
+     * Write the header in binary format: opaque(long) + latestSerializerVersion(byte) + methodIdentifierLength(int) +
+     * methodIdentifier(utf8).
+     */
+    public void writeTo(ByteBuf out) {
+        out.writeLong(opaque);
+        out.writeByte(latestSerializerVersion);
+        if (methodIdentifier == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] methodIdentifierBytes = methodIdentifier.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(methodIdentifierBytes.length);
+        out.writeBytes(methodIdentifierBytes);
+    }
+
+    /**
+     * Read the header which is written by {@link #writeTo(ByteBuf)}.
+     */
+    public static TransporterHeader readFrom(ByteBuf in) {
+        long opaque = in.readLong();
+        byte latestSerializerVersion = in.readByte();
+        int methodIdentifierLength = in.readInt();
+        String methodIdentifier = null;
+        if (methodIdentifierLength >= 0) {
+            methodIdentifier = in.readCharSequence(methodIdentifierLength, StandardCharsets.UTF_8).toString();
+        }
+        TransporterHeader transporterHeader = new TransporterHeader(opaque, methodIdentifier);
+        transporterHeader.setLatestSerializerVersion(latestSerializerVersion);
+        return transporterHeader;
+    }
+
 }
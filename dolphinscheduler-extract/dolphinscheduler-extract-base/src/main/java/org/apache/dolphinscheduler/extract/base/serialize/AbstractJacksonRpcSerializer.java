@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.exception.RemoteException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public abstract class AbstractJacksonRpcSerializer implements IRpcSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    protected AbstractJacksonRpcSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(obj);
+        } catch (IOException e) {
+            throw new RemoteException("Serialize " + obj.getClass().getName() + " failed", e);
+        }
+    }
+
+    @Override
+    public <T> void serialize(T obj, ByteBuf out) {
+        try (OutputStream outputStream = new ByteBufOutputStream(out)) {
+            objectMapper.writeValue(outputStream, obj);
+        } catch (IOException e) {
+            throw new RemoteException("Serialize " + obj.getClass().getName() + " failed", e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            throw new RemoteException("Deserialize " + clazz.getName() + " failed", e);
+        }
+    }
+
+    /**
+     * Write the args as a flat array: [argType, arg, argType, arg...], each arg is serialized into the buffer directly
+     * rather than being serialized to bytes and then being serialized again as a field of the request.
+     */
+    @Override
+    public void serializeArgs(Object[] args, ByteBuf out) {
+        try (
+                OutputStream outputStream = new ByteBufOutputStream(out);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            if (args != null) {
+                for (Object arg : args) {
+                    if (arg == null) {
+                        generator.writeNull();
+                        generator.writeNull();
+                        continue;
+                    }
+                    generator.writeString(arg.getClass().getName());
+                    objectMapper.writeValue(generator, arg);
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new RemoteException("Serialize rpc request args failed", e);
+        }
+    }
+
+    @Override
+    public Object[] deserializeArgs(byte[] src) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(src)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RemoteException("Deserialize rpc request args failed, the args is not an array");
+            }
+            List<Object> args = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                String argType = parser.getValueAsString();
+                parser.nextToken();
+                if (argType == null) {
+                    args.add(null);
+                    continue;
+                }
+                args.add(objectMapper.readValue(parser, objectMapper.getTypeFactory().findClass(argType)));
+            }
+            return args.isEmpty() ? null : args.toArray();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RemoteException("Deserialize rpc request args failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The serializer used to serialize the rpc request and response, each serializer is bound to a
+ * {@link RpcSerializerType}, which is transported as the version of the frame.
+ */
+public interface IRpcSerializer {
+
+    <T> byte[] serialize(T obj);
+
+    /**
+     * Serialize the object into the given buffer directly, without creating the intermediate byte array.
+     */
+    <T> void serialize(T obj, ByteBuf out);
+
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Serialize the args of the rpc request into the given buffer, each arg should be serialized only once.
+     */
+    void serializeArgs(Object[] args, ByteBuf out);
+
+    /**
+     * Deserialize the args which are written by {@link #serializeArgs(Object[], ByteBuf)}, return null if there is no
+     * arg.
+     */
+    Object[] deserializeArgs(byte[] src);
+
+}
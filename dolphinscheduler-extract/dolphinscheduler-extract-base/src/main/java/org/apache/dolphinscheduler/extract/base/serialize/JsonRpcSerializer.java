@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+
+import io.netty.buffer.ByteBuf;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * The json serializer, this is the serializer used by the old version server.
+ */
+public class JsonRpcSerializer extends AbstractJacksonRpcSerializer {
+
+    public JsonRpcSerializer() {
+        super(JsonSerializer.configure(JsonMapper.builder()));
+    }
+
+    /**
+     * Keep the {@link StandardRpcRequest} layout, which is the only layout the old version server can decode.
+     */
+    @Override
+    public void serializeArgs(Object[] args, ByteBuf out) {
+        serialize(StandardRpcRequest.of(args, this), out);
+    }
+
+    @Override
+    public Object[] deserializeArgs(byte[] src) {
+        return deserialize(src, StandardRpcRequest.class).deserializeArgs(this);
+    }
+
+}
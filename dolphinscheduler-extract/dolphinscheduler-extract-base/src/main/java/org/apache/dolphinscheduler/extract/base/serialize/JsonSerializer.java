@@ -26,7 +26,6 @@ import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.TimeZone;
@@ -35,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
@@ -44,22 +44,30 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 @Slf4j
 public class JsonSerializer {
 
-    private static final ObjectMapper objectMapper = JsonMapper.builder()
-            .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
-            .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
-            .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
-            .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
-            .addModule(new SimpleModule()
-                    .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
-                    .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
-            .defaultTimeZone(TimeZone.getDefault())
-            .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
-            .build();
+    private static final ObjectMapper objectMapper = configure(JsonMapper.builder());
 
     private JsonSerializer() {
 
     }
 
+    /**
+     * Apply the rpc serialize configuration to the given mapper builder, so that all the rpc serializer share the
+     * same data model.
+     */
+    static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B mapperBuilder) {
+        return mapperBuilder
+                .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
+                .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
+                .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
+                .addModule(new SimpleModule()
+                        .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
+                        .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
+                .defaultTimeZone(TimeZone.getDefault())
+                .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
+                .build();
+    }
+
     /**
      * serialize to byte
      *
@@ -72,7 +80,7 @@ public class JsonSerializer {
             return null;
         }
         try {
-            return objectMapper.writeValueAsString(obj).getBytes(StandardCharsets.UTF_8);
+            return objectMapper.writeValueAsBytes(obj);
         } catch (JsonProcessingException e) {
             log.error("serializeToString exception!", e);
             return null;
@@ -110,9 +118,8 @@ public class JsonSerializer {
             return null;
         }
 
-        String json = new String(src, StandardCharsets.UTF_8);
         try {
-            return objectMapper.readValue(json, clazz);
+            return objectMapper.readValue(src, clazz);
         } catch (IOException e) {
             log.error("deserialize exception!", e);
             return null;
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import lombok.Getter;
+
+/**
+ * The serializer of the rpc frame, the version will be written into the frame so that the server can use the same
+ * serializer to decode the request and encode the response. The version is increasing, the server tells the client the
+ * latest version it supports in the response header, and the client uses the latest version both of them support.
+ */
+@Getter
+public enum RpcSerializerType {
+
+    JSON((byte) 0, new JsonRpcSerializer()),
+    SMILE((byte) 1, new SmileRpcSerializer()),
+    ;
+
+    private final byte version;
+
+    private final IRpcSerializer serializer;
+
+    RpcSerializerType(byte version, IRpcSerializer serializer) {
+        this.version = version;
+        this.serializer = serializer;
+    }
+
+    public static RpcSerializerType of(byte version) {
+        for (RpcSerializerType rpcSerializerType : values()) {
+            if (rpcSerializerType.version == version) {
+                return rpcSerializerType;
+            }
+        }
+        throw new IllegalArgumentException("illegal protocol [version]" + version);
+    }
+
+    public static RpcSerializerType latest() {
+        return SMILE;
+    }
+
+    /**
+     * Get the latest serializer which is supported by both side, the serializer will not be later than the preferred
+     * one, the old version peer which doesn't tell its version will be treated as {@link #JSON}.
+     */
+    public static RpcSerializerType negotiate(RpcSerializerType preferred, byte peerLatestSerializerVersion) {
+        if (peerLatestSerializerVersion >= preferred.version) {
+            return preferred;
+        }
+        return of(peerLatestSerializerVersion);
+    }
+
+    public static RpcSerializerType of(String name) {
+        for (RpcSerializerType rpcSerializerType : values()) {
+            if (rpcSerializerType.name().equalsIgnoreCase(name)) {
+                return rpcSerializerType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rpc serializer: " + name);
+    }
+
+}
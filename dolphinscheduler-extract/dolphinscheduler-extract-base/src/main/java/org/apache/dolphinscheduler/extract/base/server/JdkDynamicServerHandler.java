@@ -20,15 +20,17 @@ package org.apache.dolphinscheduler.extract.base.server;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -72,6 +74,8 @@ public class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     private void processReceived(final Channel channel, final Transporter transporter) {
         final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
+        // response with the same serializer as the request, so that the old version client can still work
+        final IRpcSerializer serializer = transporter.getSerializerType().getSerializer();
         if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
@@ -82,55 +86,65 @@ public class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
         try {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
-                StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter,
+                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier));
                 return;
             }
             nettyRemotingServer.getDefaultExecutor().submit(() -> {
-                StandardRpcResponse iRpcResponse;
+                Object result;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
-                    Object[] args;
-                    if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
-                        args = null;
-                    } else {
-                        args = new Object[standardRpcRequest.getArgs().length];
-                        for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
-                                    standardRpcRequest.getArgsTypes()[i]);
-                        }
-                    }
-                    Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
-                    }
+                    Object[] args = serializer.deserializeArgs(transporter.getBody());
+                    result = methodInvoker.invoke(args);
                 } catch (Throwable e) {
                     log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeResponse(channel, transporter, StandardRpcResponse.fail(e.getMessage()));
+                    return;
+                }
+                if (result instanceof CompletionStage) {
+                    // the async method will release the server thread, the response is written once the stage is done
+                    ((CompletionStage<?>) result).whenComplete((value, ex) -> {
+                        if (ex != null) {
+                            Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                                    ? ex.getCause()
+                                    : ex;
+                            log.error("Invoke method {} failed, {}.", methodIdentifier, cause.getMessage(), cause);
+                            writeResponse(channel, transporter, StandardRpcResponse.fail(cause.getMessage()));
+                            return;
+                        }
+                        writeResponse(channel, transporter, buildSuccessResponse(serializer, methodIdentifier, value));
+                    });
+                    return;
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter, buildSuccessResponse(serializer, methodIdentifier, result));
             });
         } catch (RejectedExecutionException e) {
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
-            StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            writeResponse(channel, transporter, StandardRpcResponse.fail("NettyRemotingServer's thread pool is full"));
+        }
+    }
+
+    private StandardRpcResponse buildSuccessResponse(IRpcSerializer serializer, String methodIdentifier,
+                                                     Object result) {
+        if (result == null) {
+            return StandardRpcResponse.success(null, null);
+        }
+        try {
+            return StandardRpcResponse.success(serializer.serialize(result), result.getClass());
+        } catch (Throwable e) {
+            log.error("Serialize the result of method {} failed, {}.", methodIdentifier, e.getMessage(), e);
+            return StandardRpcResponse.fail(e.getMessage());
         }
     }
 
+    private void writeResponse(Channel channel, Transporter request, StandardRpcResponse iRpcResponse) {
+        TransporterHeader transporterHeader =
+                TransporterHeader.of(request.getHeader().getOpaque(), request.getHeader().getMethodIdentifier());
+        // tell the client the latest serializer this server supports, the client will use it in the later requests
+        transporterHeader.setLatestSerializerVersion(RpcSerializerType.latest().getVersion());
+        channel.writeAndFlush(Transporter.of(transporterHeader, iRpcResponse, request.getSerializerType()));
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("exceptionCaught : {}", cause.getMessage(), cause);
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.server;
 
+import org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtils;
+
 import java.lang.reflect.Method;
 
 public class ServerMethodInvokerImpl implements ServerMethodInvoker {
@@ -30,7 +32,7 @@ public class ServerMethodInvokerImpl implements ServerMethodInvoker {
     public ServerMethodInvokerImpl(Object serviceBean, Method method) {
         this.serviceBean = serviceBean;
         this.method = method;
-        this.methodIdentify = method.toGenericString();
+        this.methodIdentify = MethodIdentifierUtils.getMethodIdentifier(method);
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.utils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The identifier of the rpc method, which is used to find the method on the server.
+ */
+public class MethodIdentifierUtils {
+
+    private MethodIdentifierUtils() {
+        throw new IllegalStateException(MethodIdentifierUtils.class.getName());
+    }
+
+    /**
+     * Get the identifier of the given method, it is the {@link Method#toGenericString()} of the method, but the method
+     * returns {@code CompletableFuture<T>} is identified as the method returns {@code T}. So that changing a method to
+     * async on one side will not change its identifier, and the client and the server of different versions can still
+     * find each other's method.
+     */
+    public static String getMethodIdentifier(Method method) {
+        String genericString = method.toGenericString();
+        if (!CompletableFuture.class.equals(method.getReturnType())) {
+            return genericString;
+        }
+        Type genericReturnType = method.getGenericReturnType();
+        if (!(genericReturnType instanceof ParameterizedType)) {
+            return genericString;
+        }
+        Type valueType = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+        String syncReturnTypeName = Void.class.equals(valueType) ? "void" : valueType.getTypeName();
+        String asyncReturnTypeName = genericReturnType.getTypeName();
+        int index = genericString.indexOf(asyncReturnTypeName);
+        return genericString.substring(0, index)
+                + syncReturnTypeName
+                + genericString.substring(index + asyncReturnTypeName.length());
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HostBatchingSenderTest {
+
+    @Test
+    public void testSendWhenBatchIsFull() throws Exception {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                HostBatchingSender<Integer> hostBatchingSender = new HostBatchingSender<>("test", 3, 60_000,
+                        (host, batch) -> {
+                            sentBatches.add(batch);
+                            return CompletableFuture.completedFuture(null);
+                        })) {
+            hostBatchingSender.send("host1", 1);
+            hostBatchingSender.send("host1", 2);
+            Assertions.assertTrue(sentBatches.isEmpty());
+            hostBatchingSender.send("host1", 3).get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), sentBatches);
+        }
+    }
+
+    @Test
+    public void testSendWhenBatchWindowExpired() throws Exception {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        try (
+                HostBatchingSender<Integer> hostBatchingSender = new HostBatchingSender<>("test", 100, 10,
+                        (host, batch) -> {
+                            sentBatches.add(batch);
+                            return CompletableFuture.completedFuture(null);
+                        })) {
+            hostBatchingSender.send("host1", 1);
+            CompletableFuture<Void> host2Future = hostBatchingSender.send("host2", 2);
+            hostBatchingSender.send("host1", 3).get(1, TimeUnit.SECONDS);
+            host2Future.get(1, TimeUnit.SECONDS);
+            Assertions.assertTrue(sentBatches.contains(Arrays.asList(1, 3)));
+            Assertions.assertTrue(sentBatches.contains(Collections.singletonList(2)));
+            Assertions.assertEquals(0, hostBatchingSender.getPendingMessageSize());
+        }
+    }
+
+    @Test
+    public void testOnlyOneInFlightBatchPerHost() throws Exception {
+        List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> sendFutures = new CopyOnWriteArrayList<>();
+        try (
+                HostBatchingSender<Integer> hostBatchingSender = new HostBatchingSender<>("test", 2, 0,
+                        (host, batch) -> {
+                            sentBatches.add(batch);
+                            CompletableFuture<Void> sendFuture = new CompletableFuture<>();
+                            sendFutures.add(sendFuture);
+                            return sendFuture;
+                        })) {
+            CompletableFuture<Void> firstFuture = hostBatchingSender.send("host1", 1);
+            List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+            for (int i = 2; i <= 6; i++) {
+                pendingFutures.add(hostBatchingSender.send("host1", i));
+            }
+            Assertions.assertEquals(1, sentBatches.size());
+            Assertions.assertEquals(5, hostBatchingSender.getPendingMessageSize());
+
+            sendFutures.get(0).complete(null);
+            firstFuture.get(1, TimeUnit.SECONDS);
+            // the messages buffered during the round trip are sent in batches of at most maxBatchSize
+            Assertions.assertEquals(Arrays.asList(Collections.singletonList(1), Arrays.asList(2, 3)), sentBatches);
+            Assertions.assertEquals(3, hostBatchingSender.getPendingMessageSize());
+            Assertions.assertFalse(pendingFutures.get(0).isDone());
+
+            sendFutures.get(1).complete(null);
+            pendingFutures.get(1).get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(Arrays.asList(4, 5), sentBatches.get(2));
+            Assertions.assertFalse(pendingFutures.get(2).isDone());
+
+            sendFutures.get(2).complete(null);
+            Assertions.assertEquals(Collections.singletonList(6), sentBatches.get(3));
+            sendFutures.get(3).complete(null);
+            for (CompletableFuture<Void> pendingFuture : pendingFutures) {
+                pendingFuture.get(1, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(0, hostBatchingSender.getPendingMessageSize());
+        }
+    }
+
+    @Test
+    public void testSendFailed() {
+        try (
+                HostBatchingSender<Integer> hostBatchingSender = new HostBatchingSender<>("test", 1, 0,
+                        (host, batch) -> {
+                            throw new IllegalStateException("send failed");
+                        })) {
+            ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+                    () -> hostBatchingSender.send("host1", 1).get(1, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(IllegalStateException.class, executionException.getCause());
+            Assertions.assertEquals(0, hostBatchingSender.getPendingMessageSize());
+        }
+    }
+}
@@ -17,11 +17,23 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -56,6 +68,35 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         Assertions.assertEquals("pong", ping);
     }
 
+    @Test
+    public void testPingWithSmileSerializer() {
+        try (
+                NettyRemotingClient nettyRemotingClient = NettyRemotingClientFactory.buildNettyRemotingClient(
+                        NettyClientConfig.builder().serializerType(RpcSerializerType.SMILE).build())) {
+            IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                    .getProxyClient("localhost:12345", IService.class);
+            Assertions.assertEquals("pong", proxyClient.ping("ping"));
+            Assertions.assertDoesNotThrow(proxyClient::voidMethod);
+        }
+    }
+
+    @Test
+    public void testSerializerNegotiated() throws Exception {
+        try (
+                NettyRemotingClient nettyRemotingClient = NettyRemotingClientFactory.buildNettyRemotingClient(
+                        NettyClientConfig.builder().serializerType(RpcSerializerType.SMILE).build())) {
+            Host host = Host.of("localhost:12345");
+            // the first request is sent by json, since the server version is not known yet
+            Assertions.assertEquals(RpcSerializerType.JSON, nettyRemotingClient.getSerializerType(host));
+
+            IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                    .getProxyClient("localhost:12345", IService.class);
+            Assertions.assertEquals("pong", proxyClient.ping("ping"));
+            Assertions.assertEquals(RpcSerializerType.SMILE, nettyRemotingClient.getSerializerType(host));
+            Assertions.assertEquals("pong", proxyClient.asyncPing("ping").get(5, TimeUnit.SECONDS));
+        }
+    }
+
     @Test
     public void testVoid() {
         IService proxyClient =
@@ -63,6 +104,35 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         Assertions.assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testAsyncPing() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        Assertions.assertEquals("pong", proxyClient.asyncPing("ping").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncPingPipelined() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(proxyClient.asyncPing("ping"));
+        }
+        for (CompletableFuture<String> future : futures) {
+            Assertions.assertEquals("pong", future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testAsyncMethodFailed() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+                () -> proxyClient.asyncFailedMethod().get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+    }
+
     @AfterEach
     public void tearDown() {
         nettyRemotingServer.close();
@@ -76,6 +146,12 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod
+        CompletableFuture<String> asyncPing(String ping);
+
+        @RpcMethod
+        CompletableFuture<Void> asyncFailedMethod();
     }
 
     public static class IServiceImpl implements IService {
@@ -89,6 +165,18 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> asyncPing(String ping) {
+            return CompletableFuture.supplyAsync(() -> "pong");
+        }
+
+        @Override
+        public CompletableFuture<Void> asyncFailedMethod() {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("async failed"));
+            return future;
+        }
     }
 
 }
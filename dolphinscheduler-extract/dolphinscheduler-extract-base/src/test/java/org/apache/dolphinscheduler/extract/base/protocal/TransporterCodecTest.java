@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class TransporterCodecTest {
+
+    @Test
+    public void testEncodeAndDecodeRequest() {
+        for (RpcSerializerType serializerType : RpcSerializerType.values()) {
+            testEncodeAndDecodeRequest(serializerType);
+        }
+    }
+
+    private void testEncodeAndDecodeRequest(RpcSerializerType serializerType) {
+        IRpcSerializer serializer = serializerType.getSerializer();
+        TransporterHeader header = TransporterHeader.of(10L, "ping(java.lang.String,java.lang.Long)");
+        Transporter transporter =
+                Transporter.ofRequestArgs(header, new Object[]{"ping", null, 1L}, serializerType);
+
+        Transporter decoded = encodeAndDecode(transporter);
+
+        Assertions.assertEquals(serializerType, decoded.getSerializerType());
+        Assertions.assertEquals(header, decoded.getHeader());
+        Assertions.assertArrayEquals(new Object[]{"ping", null, 1L}, serializer.deserializeArgs(decoded.getBody()));
+    }
+
+    @Test
+    public void testEncodeAndDecodeRequestWithoutArgs() {
+        for (RpcSerializerType serializerType : RpcSerializerType.values()) {
+            Transporter transporter =
+                    Transporter.ofRequestArgs(TransporterHeader.of(13L, "ping()"), null, serializerType);
+
+            Transporter decoded = encodeAndDecode(transporter);
+
+            Assertions.assertNull(serializerType.getSerializer().deserializeArgs(decoded.getBody()));
+        }
+    }
+
+    @Test
+    public void testJsonRequestArgsCompatibleWithOldVersion() {
+        IRpcSerializer serializer = RpcSerializerType.JSON.getSerializer();
+        Transporter transporter = Transporter.ofRequestArgs(TransporterHeader.of(14L, "ping(java.lang.String)"),
+                new Object[]{"ping"}, RpcSerializerType.JSON);
+
+        Transporter decoded = encodeAndDecode(transporter);
+
+        StandardRpcRequest request = serializer.deserialize(decoded.getBody(), StandardRpcRequest.class);
+        Assertions.assertArrayEquals(new Class[]{String.class}, request.getArgsTypes());
+        Assertions.assertEquals("ping", serializer.deserialize(request.getArgs()[0], String.class));
+    }
+
+    @Test
+    public void testEncodeAndDecodeLatestSerializerVersion() {
+        for (RpcSerializerType serializerType : RpcSerializerType.values()) {
+            TransporterHeader header = TransporterHeader.of(15L, "ping(java.lang.String)");
+            header.setLatestSerializerVersion(RpcSerializerType.latest().getVersion());
+            Transporter transporter = Transporter.of(header, StandardRpcResponse.success(null, null), serializerType);
+
+            Transporter decoded = encodeAndDecode(transporter);
+
+            Assertions.assertEquals(RpcSerializerType.latest().getVersion(),
+                    decoded.getHeader().getLatestSerializerVersion());
+        }
+    }
+
+    @Test
+    public void testNegotiateSerializer() {
+        Assertions.assertEquals(RpcSerializerType.JSON, RpcSerializerType.negotiate(RpcSerializerType.SMILE,
+                RpcSerializerType.JSON.getVersion()));
+        Assertions.assertEquals(RpcSerializerType.SMILE, RpcSerializerType.negotiate(RpcSerializerType.SMILE,
+                RpcSerializerType.SMILE.getVersion()));
+        Assertions.assertEquals(RpcSerializerType.JSON, RpcSerializerType.negotiate(RpcSerializerType.JSON,
+                RpcSerializerType.SMILE.getVersion()));
+        byte unknownLaterVersion = (byte) (RpcSerializerType.SMILE.getVersion() + 1);
+        Assertions.assertEquals(RpcSerializerType.SMILE,
+                RpcSerializerType.negotiate(RpcSerializerType.SMILE, unknownLaterVersion));
+    }
+
+    @Test
+    public void testEncodeAndDecodeResponse() {
+        for (RpcSerializerType serializerType : RpcSerializerType.values()) {
+            testEncodeAndDecodeResponse(serializerType);
+        }
+    }
+
+    private void testEncodeAndDecodeResponse(RpcSerializerType serializerType) {
+        IRpcSerializer serializer = serializerType.getSerializer();
+        TransporterHeader header = TransporterHeader.of(11L, "ping(java.lang.String)");
+        Transporter transporter = Transporter.of(header,
+                StandardRpcResponse.success(serializer.serialize("pong"), String.class), serializerType);
+
+        Transporter decoded = encodeAndDecode(transporter);
+
+        StandardRpcResponse response = serializer.deserialize(decoded.getBody(), StandardRpcResponse.class);
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertEquals(String.class, response.getBodyType());
+        Assertions.assertEquals("pong", serializer.deserialize(response.getBody(), String.class));
+    }
+
+    @Test
+    public void testEncodeAndDecodeSerializedBody() {
+        for (RpcSerializerType serializerType : RpcSerializerType.values()) {
+            testEncodeAndDecodeSerializedBody(serializerType);
+        }
+    }
+
+    private void testEncodeAndDecodeSerializedBody(RpcSerializerType serializerType) {
+        byte[] body = serializerType.getSerializer().serialize(StandardRpcResponse.fail("failed"));
+        Transporter transporter = Transporter.of(TransporterHeader.of(12L, "failed()"), body, serializerType);
+
+        Transporter decoded = encodeAndDecode(transporter);
+
+        Assertions.assertArrayEquals(body, decoded.getBody());
+    }
+
+    private Transporter encodeAndDecode(Transporter transporter) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        Assertions.assertTrue(encodeChannel.writeOutbound(transporter));
+        ByteBuf encoded = encodeChannel.readOutbound();
+
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        Assertions.assertTrue(decodeChannel.writeInbound(encoded));
+        return decodeChannel.readInbound();
+    }
+
+}
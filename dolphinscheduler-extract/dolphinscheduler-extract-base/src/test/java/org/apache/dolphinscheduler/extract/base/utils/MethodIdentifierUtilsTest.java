@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.utils;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MethodIdentifierUtilsTest {
+
+    @Test
+    public void testSyncMethodIdentifier() throws NoSuchMethodException {
+        Assertions.assertEquals(
+                "public abstract java.lang.String "
+                        + "org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtilsTest$ISyncService"
+                        + ".ping(java.lang.String)",
+                MethodIdentifierUtils.getMethodIdentifier(ISyncService.class.getMethod("ping", String.class)));
+    }
+
+    @Test
+    public void testAsyncMethodIdentifierIgnoreFuture() throws NoSuchMethodException {
+        Assertions.assertEquals(
+                "public abstract java.lang.String "
+                        + "org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtilsTest$IAsyncService"
+                        + ".ping(java.lang.String)",
+                MethodIdentifierUtils.getMethodIdentifier(IAsyncService.class.getMethod("ping", String.class)));
+        Assertions.assertEquals(
+                "public abstract void "
+                        + "org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtilsTest$IAsyncService"
+                        + ".voidMethod(java.lang.String)",
+                MethodIdentifierUtils.getMethodIdentifier(IAsyncService.class.getMethod("voidMethod", String.class)));
+    }
+
+    public interface ISyncService {
+
+        String ping(String ping);
+    }
+
+    public interface IAsyncService {
+
+        CompletableFuture<String> ping(String ping);
+
+        CompletableFuture<Void> voidMethod(String ping);
+    }
+}
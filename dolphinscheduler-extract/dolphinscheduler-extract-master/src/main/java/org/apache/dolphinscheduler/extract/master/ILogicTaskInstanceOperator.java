@@ -29,11 +29,13 @@ import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceForceS
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceForceStartResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ILogicTaskInstanceOperator {
 
     @RpcMethod
-    LogicTaskDispatchResponse dispatchLogicTask(LogicTaskDispatchRequest taskDispatchRequest);
+    CompletableFuture<LogicTaskDispatchResponse> dispatchLogicTask(LogicTaskDispatchRequest taskDispatchRequest);
 
     @RpcMethod
     LogicTaskKillResponse killLogicTask(LogicTaskKillRequest taskKillRequest);
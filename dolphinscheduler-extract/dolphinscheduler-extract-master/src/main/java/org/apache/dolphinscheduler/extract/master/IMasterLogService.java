@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.extract.master;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogPageQueryRequest;
@@ -30,6 +32,12 @@ public interface IMasterLogService {
     @RpcMethod
     LogicTaskInstanceLogFileDownloadResponse getLogicTaskInstanceWholeLogFileBytes(LogicTaskInstanceLogFileDownloadRequest logicTaskInstanceLogFileDownloadRequest);
 
+    /**
+     * Read a chunk of the logic task instance log file, used to download a large log file chunk by chunk.
+     */
+    @RpcMethod
+    LogicTaskInstanceLogFileChunkDownloadResponse getLogicTaskInstanceLogFileChunk(LogicTaskInstanceLogFileChunkDownloadRequest logicTaskInstanceLogFileChunkDownloadRequest);
+
     @RpcMethod
     LogicTaskInstanceLogPageQueryResponse pageQueryLogicTaskInstanceLog(LogicTaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.extract.master;
+
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupAcquireRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupAcquireResponse;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupReleaseRequest;
+
+/**
+ * Each task group is arbitrated by the master which owns the slot of the task group, the other masters acquire and
+ * release the task group through this service.
+ */
+@RpcService
+public interface ITaskGroupArbiterService {
+
+    /**
+     * Acquire a permit of the task group, if there is no available permit the task instance will wait in the queue of
+     * the task group, and will be woken up once a permit is handed over to it.
+     */
+    @RpcMethod
+    TaskGroupAcquireResponse acquireTaskGroup(TaskGroupAcquireRequest taskGroupAcquireRequest);
+
+    /**
+     * Release the permit held by the task instance, or remove the task instance from the queue if it is waiting.
+     */
+    @RpcMethod
+    void releaseTaskGroup(TaskGroupReleaseRequest taskGroupReleaseRequest);
+
+}
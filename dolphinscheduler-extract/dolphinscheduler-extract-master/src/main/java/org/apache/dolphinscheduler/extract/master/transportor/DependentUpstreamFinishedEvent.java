@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A workflow instance or a task instance which may be depended by the dependent tasks is finished.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependentUpstreamFinishedEvent {
+
+    private long workflowDefinitionCode;
+
+    /**
+     * The code of the finished task, 0 means the workflow instance is finished.
+     */
+    private long taskCode;
+
+    /**
+     * The times used to find the upstream in the date interval of the dependent item, e.g. the schedule time and the
+     * start time.
+     */
+    private List<Long> matchTimes;
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A batch of task instance execution events sent from one worker to one master, the events are ordered by the time
+ * they are generated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInstanceExecutionEventBatch {
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "batchEventType")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = TaskInstanceExecutionRunningEvent.class, name = "RUNNING"),
+            @JsonSubTypes.Type(value = TaskInstanceExecutionFinishEvent.class, name = "FINISH"),
+            @JsonSubTypes.Type(value = TaskInstanceExecutionInfoEvent.class, name = "RUNNING_INFO")
+    })
+    private List<ITaskInstanceExecutionEvent> events;
+
+}
@@ -19,10 +19,13 @@ package org.apache.dolphinscheduler.extract.worker;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceExecutionEventAckListener {
 
@@ -36,4 +39,7 @@ public interface ITaskInstanceExecutionEventAckListener {
     @RpcMethod
     void handleTaskInstanceExecutionInfoEventAck(TaskInstanceExecutionInfoEventAck taskInstanceExecutionInfoEventAck);
 
+    @RpcMethod
+    CompletableFuture<Void> handleTaskInstanceExecutionEventAckBatch(TaskInstanceExecutionEventAckBatch taskInstanceExecutionEventAckBatch);
+
 }
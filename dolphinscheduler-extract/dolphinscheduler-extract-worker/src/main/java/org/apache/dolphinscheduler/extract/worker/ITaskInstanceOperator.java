@@ -28,11 +28,13 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseR
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceOperator {
 
     @RpcMethod
-    TaskInstanceDispatchResponse dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest);
+    CompletableFuture<TaskInstanceDispatchResponse> dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest);
 
     @RpcMethod
     TaskInstanceKillResponse killTask(TaskInstanceKillRequest taskInstanceKillRequest);
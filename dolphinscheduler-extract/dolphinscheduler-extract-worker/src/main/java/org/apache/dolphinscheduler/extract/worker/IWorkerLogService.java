@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.worker.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogPageQueryRequest;
@@ -32,6 +34,12 @@ public interface IWorkerLogService {
     @RpcMethod
     TaskInstanceLogFileDownloadResponse getTaskInstanceWholeLogFileBytes(TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest);
 
+    /**
+     * Read a chunk of the task instance log file, used to download a large log file chunk by chunk.
+     */
+    @RpcMethod
+    TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest);
+
     @RpcMethod
     TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
@@ -58,7 +58,11 @@ public class ProcessInstanceExecCacheManagerImpl implements ProcessInstanceExecC
 
     @Override
     public void removeByProcessInstanceId(int processInstanceId) {
-        processInstanceExecMaps.remove(processInstanceId);
+        WorkflowExecuteRunnable workflowExecuteRunnable = processInstanceExecMaps.remove(processInstanceId);
+        if (workflowExecuteRunnable != null) {
+            // the pending events will never be handled, remove them from the state event backlog
+            workflowExecuteRunnable.clearStateEvents();
+        }
     }
 
     @Override
@@ -73,6 +77,7 @@ public class ProcessInstanceExecCacheManagerImpl implements ProcessInstanceExecC
 
     @Override
     public void clearCache() {
+        processInstanceExecMaps.values().forEach(WorkflowExecuteRunnable::clearStateEvents);
         processInstanceExecMaps.clear();
     }
 }
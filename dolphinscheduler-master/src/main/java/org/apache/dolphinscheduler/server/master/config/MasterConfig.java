@@ -52,6 +52,15 @@ public class MasterConfig implements Validator {
      * The max batch size used to fetch command from database.
      */
     private int fetchCommandNum = 10;
+    /**
+     * The strategy used to find new commands, POLLING will query the database every second, NOTIFY will be woken up
+     * by the command created event and only query the database every {@link #commandFallbackFetchInterval}.
+     */
+    private CommandFetchStrategy commandFetchStrategy = CommandFetchStrategy.POLLING;
+    /**
+     * The interval to sweep the command table when there is no command created event, only used in NOTIFY strategy.
+     */
+    private Duration commandFallbackFetchInterval = Duration.ofSeconds(10);
     /**
      * The thread number used to prepare processInstance. This number shouldn't bigger than fetchCommandNum.
      */
@@ -67,14 +76,53 @@ public class MasterConfig implements Validator {
     private int masterTaskExecuteThreadPoolSize = Runtime.getRuntime().availableProcessors();
 
     private int masterAsyncTaskStateCheckThreadPoolSize = Runtime.getRuntime().availableProcessors();
+    /**
+     * The dependent tasks are woken up when their upstream workflows/tasks are finished, and only check the dependency
+     * at this interval as a fallback, if the check interval of the task is larger, the task's interval will be used.
+     * Set it to 0 to always use the check interval of the task.
+     */
+    private Duration dependentTaskFallbackCheckInterval = Duration.ofMinutes(1);
     /**
      * The task dispatch thread pool size.
      */
     private int dispatchTaskNumber = 3;
+    /**
+     * The max dispatch threads can be used by one worker group, should be smaller than dispatchTaskNumber so that a
+     * misbehaving worker group will not block the others.
+     */
+    private int dispatchTaskLaneParallelism = 2;
+    /**
+     * The max number of tasks waiting in one worker group lane, the task exceeds it will be added back to the waiting
+     * queue, so that the backlog is still counted by the back pressure of the master.
+     */
+    private int dispatchTaskLaneCapacity = 1000;
+    /**
+     * The max in-flight dispatch requests to one worker, so that a slow worker will not occupy the whole lane of its
+     * worker group, it's opt-in, 0 or a negative value means unlimited. Should not be smaller than
+     * dispatchTaskLaneParallelism if it's set, otherwise the dispatch to a worker is serialized.
+     */
+    private int dispatchTaskHostParallelism = 0;
+    /**
+     * The max backoff interval of the task which failed to dispatch, the backoff begins with 1s and doubles each time.
+     */
+    private Duration dispatchTaskMaxBackoffInterval = Duration.ofSeconds(60);
+    /**
+     * The max number of task event acks sent to one worker in one request.
+     */
+    private int taskEventAckBatchSize = 100;
+    /**
+     * The max time a task event ack waits to be batched before it is sent to worker.
+     */
+    private Duration taskEventAckBatchWindow = Duration.ofMillis(50);
     /**
      * Worker select strategy.
      */
     private HostSelector hostSelector = HostSelector.LOWER_WEIGHT;
+    /**
+     * Only used in LOAD_AWARE host selector, the max extra load accepted to select a worker which recently executed
+     * the resources of the task, the load unit is one waiting task per exec thread. Set it to 0 to ignore resources.
+     */
+    private double hostSelectorLocalityTolerance = 0.2;
     /**
      * Master heart beat task execute interval.
      */
@@ -88,9 +136,27 @@ public class MasterConfig implements Validator {
      */
     private Duration taskCommitInterval = Duration.ofSeconds(1);
     /**
-     * state wheel check interval, if this value is bigger, may increase the delay of task/processInstance.
+     * The tick of the state wheel, the timeout/retry check will be triggered at most one tick later than the deadline.
+     * Only the due candidates will be checked in each tick, so a small tick will not increase the check cost.
+     */
+    private Duration stateWheelInterval = Duration.ofSeconds(1);
+    /**
+     * The workflow events are handled by so many threads, the events of the same workflow instance are always handled
+     * by the same thread in order.
      */
-    private Duration stateWheelInterval = Duration.ofMillis(5);
+    private int workflowEventHandleThreads = 4;
+    /**
+     * The max backoff interval of the workflow event which failed to be handled, the backoff begins with 1s and
+     * doubles each time.
+     */
+    private Duration workflowEventMaxRetryInterval = Duration.ofSeconds(60);
+    /**
+     * The back pressure thresholds, once one of the queue size reaches the threshold, the master will stop fetching
+     * commands, and the fetch size will shrink when the queue size is over half of the threshold.
+     */
+    private int maxWorkflowEventQueueSize = 1000;
+    private int maxWorkflowStateEventBacklog = 10000;
+    private int maxTaskDispatchWaitingQueueSize = 10000;
     private double maxCpuLoadAvg = 1;
     private double reservedMemory = 0.1;
     private Duration failoverInterval = Duration.ofMinutes(10);
@@ -99,6 +165,21 @@ public class MasterConfig implements Validator {
 
     private Duration workerGroupRefreshInterval = Duration.ofSeconds(10L);
 
+    /**
+     * The max weight of the compiled workflow graph cache, the weight of a graph is the count of its task nodes and
+     * edges, 0 means the graph will be compiled for each workflow instance.
+     */
+    private long workflowGraphCacheMaxWeight = 100000L;
+    /**
+     * The compiled workflow graph will be evicted if it isn't used by any new workflow instance in this duration.
+     */
+    private Duration workflowGraphCacheExpireAfterAccess = Duration.ofHours(1);
+    /**
+     * The interval to reload the task groups owned by the master from db, so that the changes made by the api server,
+     * e.g. group size, queue priority and force start, can be picked up.
+     */
+    private Duration taskGroupRefreshInterval = Duration.ofSeconds(10);
+
     // ip:listenPort
     private String masterAddress;
 
@@ -119,6 +200,12 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFetchCommandNum() <= 0) {
             errors.rejectValue("fetch-command-num", null, "should be a positive value");
         }
+        if (masterConfig.getCommandFallbackFetchInterval().toMillis() <= 0) {
+            errors.rejectValue("command-fallback-fetch-interval", null, "should be a valid duration");
+        }
+        if (masterConfig.getDependentTaskFallbackCheckInterval().isNegative()) {
+            errors.rejectValue("dependent-task-fallback-check-interval", null, "should not be negative");
+        }
         if (masterConfig.getPreExecThreads() <= 0) {
             errors.rejectValue("per-exec-threads", null, "should be a positive value");
         }
@@ -128,6 +215,21 @@ public class MasterConfig implements Validator {
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
+        if (masterConfig.getDispatchTaskLaneParallelism() <= 0) {
+            errors.rejectValue("dispatch-task-lane-parallelism", null, "should be a positive value");
+        }
+        if (masterConfig.getDispatchTaskLaneCapacity() <= 0) {
+            errors.rejectValue("dispatch-task-lane-capacity", null, "should be a positive value");
+        }
+        if (masterConfig.getDispatchTaskMaxBackoffInterval().toMillis() <= 0) {
+            errors.rejectValue("dispatch-task-max-backoff-interval", null, "should be a valid duration");
+        }
+        if (masterConfig.getTaskEventAckBatchSize() <= 0) {
+            errors.rejectValue("task-event-ack-batch-size", null, "should be a positive value");
+        }
+        if (masterConfig.getTaskEventAckBatchWindow().isNegative()) {
+            errors.rejectValue("task-event-ack-batch-window", null, "should not be negative");
+        }
         if (masterConfig.getHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("heartbeat-interval", null, "should be a valid duration");
         }
@@ -140,9 +242,24 @@ public class MasterConfig implements Validator {
         if (masterConfig.getStateWheelInterval().toMillis() <= 0) {
             errors.rejectValue("state-wheel-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getWorkflowEventHandleThreads() <= 0) {
+            errors.rejectValue("workflow-event-handle-threads", null, "should be a positive value");
+        }
+        if (masterConfig.getWorkflowEventMaxRetryInterval().toMillis() <= 0) {
+            errors.rejectValue("workflow-event-max-retry-interval", null, "should be a valid duration");
+        }
         if (masterConfig.getFailoverInterval().toMillis() <= 0) {
             errors.rejectValue("failover-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getMaxWorkflowEventQueueSize() <= 0) {
+            errors.rejectValue("max-workflow-event-queue-size", null, "should be a positive value");
+        }
+        if (masterConfig.getMaxWorkflowStateEventBacklog() <= 0) {
+            errors.rejectValue("max-workflow-state-event-backlog", null, "should be a positive value");
+        }
+        if (masterConfig.getMaxTaskDispatchWaitingQueueSize() <= 0) {
+            errors.rejectValue("max-task-dispatch-waiting-queue-size", null, "should be a positive value");
+        }
         if (masterConfig.getMaxCpuLoadAvg() <= 0) {
             masterConfig.setMaxCpuLoadAvg(100);
         }
@@ -153,6 +270,18 @@ public class MasterConfig implements Validator {
         if (masterConfig.getWorkerGroupRefreshInterval().getSeconds() < 10) {
             errors.rejectValue("worker-group-refresh-interval", null, "should >= 10s");
         }
+        if (masterConfig.getWorkflowGraphCacheMaxWeight() < 0) {
+            errors.rejectValue("workflow-graph-cache-max-weight", null, "should not be negative");
+        }
+        if (masterConfig.getWorkflowGraphCacheExpireAfterAccess().toMillis() <= 0) {
+            errors.rejectValue("workflow-graph-cache-expire-after-access", null, "should be a valid duration");
+        }
+        if (masterConfig.getHostSelectorLocalityTolerance() < 0) {
+            errors.rejectValue("host-selector-locality-tolerance", null, "should not be negative");
+        }
+        if (masterConfig.getTaskGroupRefreshInterval().toMillis() <= 0) {
+            errors.rejectValue("task-group-refresh-interval", null, "should be a valid duration");
+        }
         if (StringUtils.isEmpty(masterConfig.getMasterAddress())) {
             masterConfig.setMasterAddress(NetUtils.getAddr(masterConfig.getListenPort()));
         }
@@ -165,14 +294,29 @@ public class MasterConfig implements Validator {
     private void printConfig() {
         log.info("Master config: listenPort -> {} ", listenPort);
         log.info("Master config: fetchCommandNum -> {} ", fetchCommandNum);
+        log.info("Master config: commandFetchStrategy -> {} ", commandFetchStrategy);
+        log.info("Master config: commandFallbackFetchInterval -> {} ", commandFallbackFetchInterval);
+        log.info("Master config: dependentTaskFallbackCheckInterval -> {} ", dependentTaskFallbackCheckInterval);
         log.info("Master config: preExecThreads -> {} ", preExecThreads);
         log.info("Master config: execThreads -> {} ", execThreads);
         log.info("Master config: dispatchTaskNumber -> {} ", dispatchTaskNumber);
+        log.info("Master config: dispatchTaskLaneParallelism -> {} ", dispatchTaskLaneParallelism);
+        log.info("Master config: dispatchTaskLaneCapacity -> {} ", dispatchTaskLaneCapacity);
+        log.info("Master config: dispatchTaskHostParallelism -> {} ", dispatchTaskHostParallelism);
+        log.info("Master config: dispatchTaskMaxBackoffInterval -> {} ", dispatchTaskMaxBackoffInterval);
+        log.info("Master config: taskEventAckBatchSize -> {} ", taskEventAckBatchSize);
+        log.info("Master config: taskEventAckBatchWindow -> {} ", taskEventAckBatchWindow);
         log.info("Master config: hostSelector -> {} ", hostSelector);
+        log.info("Master config: hostSelectorLocalityTolerance -> {} ", hostSelectorLocalityTolerance);
         log.info("Master config: heartbeatInterval -> {} ", heartbeatInterval);
         log.info("Master config: taskCommitRetryTimes -> {} ", taskCommitRetryTimes);
         log.info("Master config: taskCommitInterval -> {} ", taskCommitInterval);
         log.info("Master config: stateWheelInterval -> {} ", stateWheelInterval);
+        log.info("Master config: workflowEventHandleThreads -> {} ", workflowEventHandleThreads);
+        log.info("Master config: workflowEventMaxRetryInterval -> {} ", workflowEventMaxRetryInterval);
+        log.info("Master config: maxWorkflowEventQueueSize -> {} ", maxWorkflowEventQueueSize);
+        log.info("Master config: maxWorkflowStateEventBacklog -> {} ", maxWorkflowStateEventBacklog);
+        log.info("Master config: maxTaskDispatchWaitingQueueSize -> {} ", maxTaskDispatchWaitingQueueSize);
         log.info("Master config: maxCpuLoadAvg -> {} ", maxCpuLoadAvg);
         log.info("Master config: reservedMemory -> {} ", reservedMemory);
         log.info("Master config: failoverInterval -> {} ", failoverInterval);
@@ -181,5 +325,9 @@ public class MasterConfig implements Validator {
         log.info("Master config: masterAddress -> {} ", masterAddress);
         log.info("Master config: masterRegistryPath -> {} ", masterRegistryPath);
         log.info("Master config: workerGroupRefreshInterval -> {} ", workerGroupRefreshInterval);
+        log.info("Master config: workflowGraphCacheMaxWeight -> {} ", workflowGraphCacheMaxWeight);
+        log.info("Master config: workflowGraphCacheExpireAfterAccess -> {} ",
+                workflowGraphCacheExpireAfterAccess);
+        log.info("Master config: taskGroupRefreshInterval -> {} ", taskGroupRefreshInterval);
     }
 }
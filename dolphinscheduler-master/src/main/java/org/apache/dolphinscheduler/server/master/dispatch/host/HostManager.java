@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.dispatch.host;
 
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 
 import java.util.Optional;
@@ -29,4 +30,11 @@ public interface HostManager {
 
     Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException;
 
+    /**
+     * Select a worker for the task, the implementation can take the task into account, e.g. its resources.
+     */
+    default Optional<Host> select(TaskExecutionContext taskExecutionContext) throws WorkerGroupNotFoundException {
+        return select(taskExecutionContext.getWorkerGroup());
+    }
+
 }
@@ -55,6 +55,9 @@ public class HostManagerConfig {
             case LOWER_WEIGHT:
                 hostManager = new LowerWeightHostManager();
                 break;
+            case LOAD_AWARE:
+                hostManager = new LoadAwareHostManager();
+                break;
             default:
                 throw new IllegalArgumentException("unSupport selector " + selector);
         }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostLoad;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LoadAwareSelector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Select the worker by the load in heartbeat and the tasks dispatched after the heartbeat, and prefer the worker
+ * which has the resources of the task in cache, see {@link LoadAwareSelector}.
+ * <p>
+ * The heartbeats are read from {@link ServerNodeManager} when selecting, which is updated once a worker reports.
+ */
+@Slf4j
+public class LoadAwareHostManager extends CommonHostManager {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private LoadAwareSelector selector;
+
+    @PostConstruct
+    public void init() {
+        this.selector = new LoadAwareSelector(masterConfig.getHostSelectorLocalityTolerance());
+        serverNodeManager.addWorkerInfoChangeListener(
+                (workerGroups, workerNodeInfo) -> selector.retainHosts(workerNodeInfo.keySet()));
+    }
+
+    @Override
+    public Optional<Host> select(String workerGroup) throws WorkerGroupNotFoundException {
+        return select(workerGroup, Collections.emptySet());
+    }
+
+    @Override
+    public Optional<Host> select(TaskExecutionContext taskExecutionContext) throws WorkerGroupNotFoundException {
+        Map<String, String> resources = taskExecutionContext.getResources();
+        return select(taskExecutionContext.getWorkerGroup(),
+                resources == null ? Collections.emptySet() : resources.keySet());
+    }
+
+    /**
+     * Select from the given workers without resource locality, the workers without heartbeat or not healthy are
+     * skipped.
+     */
+    @Override
+    public HostWorker select(Collection<HostWorker> nodes) {
+        HostLoad hostLoad = selector.select(getHostLoads(nodes), Collections.emptySet());
+        return hostLoad == null ? null : hostLoad.getHostWorker();
+    }
+
+    private Optional<Host> select(String workerGroup,
+                                  Collection<String> resourceNames) throws WorkerGroupNotFoundException {
+        List<HostLoad> candidates = getHostLoads(getWorkerCandidates(workerGroup));
+        HostLoad hostLoad = selector.select(candidates, resourceNames);
+        return hostLoad == null ? Optional.empty() : Optional.of(hostLoad.getHost());
+    }
+
+    private List<HostLoad> getHostLoads(Collection<HostWorker> hostWorkers) {
+        List<HostLoad> hostLoads = new ArrayList<>(hostWorkers.size());
+        for (HostWorker hostWorker : hostWorkers) {
+            String node = hostWorker.getAddress();
+            serverNodeManager.getWorkerNodeInfo(node)
+                    .filter(heartBeat -> isHealthy(node, heartBeat))
+                    .ifPresent(heartBeat -> hostLoads.add(toHostLoad(hostWorker, heartBeat)));
+        }
+        return hostLoads;
+    }
+
+    private boolean isHealthy(String node, WorkerHeartBeat heartBeat) {
+        if (ServerStatus.NORMAL == heartBeat.getServerStatus()) {
+            return true;
+        }
+        log.debug("worker {} is {}, skip it", node, heartBeat.getServerStatus());
+        return false;
+    }
+
+    private HostLoad toHostLoad(HostWorker hostWorker, WorkerHeartBeat heartBeat) {
+        HostWeight hostWeight = new HostWeight(
+                hostWorker,
+                heartBeat.getCpuUsage(),
+                heartBeat.getMemoryUsage(),
+                heartBeat.getLoadAverage(),
+                heartBeat.getWorkerWaitingTaskCount(),
+                heartBeat.getStartupTime());
+        return new HostLoad(hostWeight, heartBeat.getWorkerExecThreadCount(), heartBeat.getReportTime());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+/**
+ * The load of a worker reported by its last heartbeat, used by {@link LoadAwareSelector}.
+ */
+public class HostLoad {
+
+    /**
+     * The sum of the cpu, memory and load average factors in {@link HostWeight}.
+     */
+    private static final double MAX_HOST_WEIGHT = 100;
+
+    private final HostWorker hostWorker;
+
+    private final double heartbeatLoad;
+
+    private final int execThreadCount;
+
+    private final long reportTime;
+
+    /**
+     * @param hostWeight      the heartbeat weight of the worker
+     * @param execThreadCount the exec thread count of the worker
+     * @param reportTime      the report time of the heartbeat, the in-flight dispatches are reset once it changes
+     */
+    public HostLoad(HostWeight hostWeight, int execThreadCount, long reportTime) {
+        this.hostWorker = hostWeight.getHostWorker();
+        this.execThreadCount = Math.max(execThreadCount, 1);
+        this.heartbeatLoad = hostWeight.getWeight() / MAX_HOST_WEIGHT
+                + (double) hostWeight.getWaitingTaskCount() / this.execThreadCount;
+        this.reportTime = reportTime;
+    }
+
+    /**
+     * The resource usage of the worker plus the waiting tasks per exec thread, lower is better.
+     */
+    public double getHeartbeatLoad() {
+        return heartbeatLoad;
+    }
+
+    public int getExecThreadCount() {
+        return execThreadCount;
+    }
+
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    public HostWorker getHostWorker() {
+        return hostWorker;
+    }
+
+    public Host getHost() {
+        return hostWorker;
+    }
+
+    @Override
+    public String toString() {
+        return "HostLoad{"
+                + "host=" + hostWorker.getAddress()
+                + ", heartbeatLoad=" + heartbeatLoad
+                + ", execThreadCount=" + execThreadCount
+                + ", reportTime=" + reportTime
+                + '}';
+    }
+}
@@ -22,5 +22,7 @@ public enum HostSelector {
 
     ROUND_ROBIN,
 
-    LOWER_WEIGHT
+    LOWER_WEIGHT,
+
+    LOAD_AWARE
 }
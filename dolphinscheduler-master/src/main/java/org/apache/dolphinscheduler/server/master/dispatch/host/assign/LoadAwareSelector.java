@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Select the worker by the power of two choices: pick two random candidates and take the one with lower load.
+ * <p>
+ * The load of a candidate is the load in its last heartbeat plus the tasks dispatched to it after that heartbeat,
+ * which are not visible in the heartbeat yet. So a burst of dispatches will not pile onto the worker which looks the
+ * lightest in a stale heartbeat, and comparing two random candidates avoids herding onto one worker even if the
+ * loads are equal.
+ * <p>
+ * The workers which recently executed the resources of the task have them in their local resource cache, such a
+ * worker is preferred as long as its load is not higher than the selected one by {@code localityTolerance}.
+ */
+public class LoadAwareSelector {
+
+    /**
+     * The max number of the workers remembered for one resource.
+     */
+    private static final int MAX_RESOURCE_HOSTS = 3;
+
+    private static final int MAX_RESOURCE_SIZE = 10000;
+
+    private final double localityTolerance;
+
+    /**
+     * The tasks dispatched since the last heartbeat, key is the worker address.
+     */
+    private final Map<String, InFlightDispatches> inFlightDispatchesMap = new ConcurrentHashMap<>();
+
+    /**
+     * The workers which recently executed the resource, key is the resource full name, value is the worker addresses
+     * and the latest one is at the end.
+     */
+    private final Cache<String, List<String>> resourceHostsCache =
+            CacheBuilder.newBuilder().maximumSize(MAX_RESOURCE_SIZE).build();
+
+    /**
+     * @param localityTolerance the max extra load accepted to select a worker which has the resources of the task,
+     *                          the load unit is one waiting task per exec thread, 0 means ignore the resources.
+     */
+    public LoadAwareSelector(double localityTolerance) {
+        this.localityTolerance = localityTolerance;
+    }
+
+    /**
+     * Select a worker and count the task as in-flight on it.
+     *
+     * @param candidates    the healthy workers
+     * @param resourceNames the resource full names of the task
+     * @return the selected worker, or null if there is no candidate
+     */
+    public HostLoad select(List<HostLoad> candidates, Collection<String> resourceNames) {
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        HostLoad selected = selectOfTwoChoices(candidates);
+        if (localityTolerance > 0 && resourceNames != null && !resourceNames.isEmpty()) {
+            HostLoad localHost = selectLocalHost(candidates, resourceNames);
+            if (localHost != null && getLoad(localHost) <= getLoad(selected) + localityTolerance) {
+                selected = localHost;
+            }
+        }
+        inFlightDispatchesMap.computeIfAbsent(selected.getHost().getAddress(), key -> new InFlightDispatches())
+                .increase(selected.getReportTime());
+        if (resourceNames != null) {
+            for (String resourceName : resourceNames) {
+                recordResourceHost(resourceName, selected.getHost().getAddress());
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The load of the worker, including the tasks dispatched after its last heartbeat.
+     */
+    public double getLoad(HostLoad hostLoad) {
+        InFlightDispatches inFlightDispatches = inFlightDispatchesMap.get(hostLoad.getHost().getAddress());
+        if (inFlightDispatches == null) {
+            return hostLoad.getHeartbeatLoad();
+        }
+        return hostLoad.getHeartbeatLoad()
+                + (double) inFlightDispatches.get(hostLoad.getReportTime()) / hostLoad.getExecThreadCount();
+    }
+
+    /**
+     * Forget the in-flight dispatches of the workers which are not alive.
+     */
+    public void retainHosts(Collection<String> aliveHosts) {
+        inFlightDispatchesMap.keySet().retainAll(aliveHosts);
+    }
+
+    private HostLoad selectOfTwoChoices(List<HostLoad> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        HostLoad firstHost = candidates.get(first);
+        HostLoad secondHost = candidates.get(second);
+        return getLoad(firstHost) <= getLoad(secondHost) ? firstHost : secondHost;
+    }
+
+    /**
+     * Select the candidate which recently executed the most resources of the task, the lower load one wins a tie.
+     */
+    private HostLoad selectLocalHost(List<HostLoad> candidates, Collection<String> resourceNames) {
+        Map<String, Integer> resourceCountMap = new HashMap<>();
+        for (String resourceName : resourceNames) {
+            List<String> hosts = resourceHostsCache.getIfPresent(resourceName);
+            if (hosts != null) {
+                hosts.forEach(host -> resourceCountMap.merge(host, 1, Integer::sum));
+            }
+        }
+        if (resourceCountMap.isEmpty()) {
+            return null;
+        }
+        HostLoad localHost = null;
+        int localResourceCount = 0;
+        double localLoad = 0;
+        for (HostLoad candidate : candidates) {
+            int resourceCount = resourceCountMap.getOrDefault(candidate.getHost().getAddress(), 0);
+            if (resourceCount == 0 || resourceCount < localResourceCount) {
+                continue;
+            }
+            double load = getLoad(candidate);
+            if (resourceCount > localResourceCount || load < localLoad) {
+                localHost = candidate;
+                localResourceCount = resourceCount;
+                localLoad = load;
+            }
+        }
+        return localHost;
+    }
+
+    private void recordResourceHost(String resourceName, String host) {
+        resourceHostsCache.asMap().compute(resourceName, (key, hosts) -> {
+            if (hosts != null && !hosts.isEmpty() && host.equals(hosts.get(hosts.size() - 1))) {
+                return hosts;
+            }
+            List<String> newHosts = new ArrayList<>(MAX_RESOURCE_HOSTS);
+            if (hosts != null) {
+                for (String oldHost : hosts) {
+                    if (!oldHost.equals(host)) {
+                        newHosts.add(oldHost);
+                    }
+                }
+            }
+            if (newHosts.size() >= MAX_RESOURCE_HOSTS) {
+                newHosts.remove(0);
+            }
+            newHosts.add(host);
+            return Collections.unmodifiableList(newHosts);
+        });
+    }
+
+    /**
+     * The number of tasks dispatched to a worker since its heartbeat at {@link #reportTime}.
+     */
+    private static class InFlightDispatches {
+
+        private long reportTime;
+
+        private int count;
+
+        synchronized int get(long heartbeatReportTime) {
+            if (heartbeatReportTime > reportTime) {
+                // the newer heartbeat has counted the tasks dispatched before
+                reportTime = heartbeatReportTime;
+                count = 0;
+            }
+            return count;
+        }
+
+        synchronized void increase(long heartbeatReportTime) {
+            get(heartbeatReportTime);
+            count++;
+        }
+    }
+}
@@ -17,15 +17,28 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
-@AllArgsConstructor
 public class WorkflowEvent {
 
     private WorkflowEventType workflowEventType;
 
     private int workflowInstanceId;
 
+    /**
+     * The time when the event is added into the queue, used to measure how long the event waits to be handled.
+     */
+    private long enqueueTime;
+
+    /**
+     * The times the event failed to be handled, used to calculate the retry backoff.
+     */
+    private int retryTimes;
+
+    public WorkflowEvent(WorkflowEventType workflowEventType, int workflowInstanceId) {
+        this.workflowEventType = workflowEventType;
+        this.workflowInstanceId = workflowInstanceId;
+    }
+
 }
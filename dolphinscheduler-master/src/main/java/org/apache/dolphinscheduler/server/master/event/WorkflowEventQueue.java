@@ -17,34 +17,95 @@
 
 package org.apache.dolphinscheduler.server.master.event;
 
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The workflow events are sharded by the workflow instance id, each shard is consumed by one thread of
+ * {@link org.apache.dolphinscheduler.server.master.runner.WorkflowEventLooper}, so the events of one workflow instance
+ * are handled in order while the events of different workflow instances are handled in parallel.
+ */
 @Component
 @Slf4j
 public class WorkflowEventQueue {
 
-    private static final LinkedBlockingQueue<WorkflowEvent> workflowEventQueue = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<WorkflowEvent>[] workflowEventQueueShards;
+
+    private final AtomicLong clearVersion = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public WorkflowEventQueue(MasterConfig masterConfig) {
+        this.workflowEventQueueShards = new LinkedBlockingQueue[masterConfig.getWorkflowEventHandleThreads()];
+        for (int i = 0; i < workflowEventQueueShards.length; i++) {
+            workflowEventQueueShards[i] = new LinkedBlockingQueue<>();
+        }
+    }
 
     /**
      * Add a workflow event.
      */
     public void addEvent(WorkflowEvent workflowEvent) {
-        workflowEventQueue.add(workflowEvent);
+        workflowEvent.setEnqueueTime(System.currentTimeMillis());
+        workflowEventQueueShards[getShard(workflowEvent.getWorkflowInstanceId())].add(workflowEvent);
         log.info("Added workflow event to workflowEvent queue, event: {}", workflowEvent);
     }
 
     /**
-     * Pool the head of the workflow event queue and wait an workflow event.
+     * Add a workflow event unless the queue has been cleared since the given clear version, e.g. the event scheduled
+     * to retry before the queue is cleared.
+     *
+     * @return false if the event is dropped
      */
-    public WorkflowEvent poolEvent() throws InterruptedException {
-        return workflowEventQueue.take();
+    public synchronized boolean addEventIfNotCleared(WorkflowEvent workflowEvent, long expectedClearVersion) {
+        if (clearVersion.get() != expectedClearVersion) {
+            log.info("The workflow event queue has been cleared, drop the workflow event: {}", workflowEvent);
+            return false;
+        }
+        addEvent(workflowEvent);
+        return true;
+    }
+
+    /**
+     * Pool the head of the given shard and wait an workflow event.
+     */
+    public WorkflowEvent poolEvent(int shard) throws InterruptedException {
+        return workflowEventQueueShards[shard].take();
+    }
+
+    public int getShardNum() {
+        return workflowEventQueueShards.length;
+    }
+
+    public int getWorkflowEventQueueSize() {
+        int workflowEventQueueSize = 0;
+        for (LinkedBlockingQueue<WorkflowEvent> workflowEventQueueShard : workflowEventQueueShards) {
+            workflowEventQueueSize += workflowEventQueueShard.size();
+        }
+        return workflowEventQueueSize;
+    }
+
+    /**
+     * The version is increased each time the queue is cleared, the looper should drop the events it holds once the
+     * version changed.
+     */
+    public long getClearVersion() {
+        return clearVersion.get();
+    }
+
+    public synchronized void clearWorkflowEventQueue() {
+        clearVersion.incrementAndGet();
+        for (LinkedBlockingQueue<WorkflowEvent> workflowEventQueueShard : workflowEventQueueShards) {
+            workflowEventQueueShard.clear();
+        }
     }
 
-    public void clearWorkflowEventQueue() {
-        workflowEventQueue.clear();
+    private int getShard(int workflowInstanceId) {
+        return Math.floorMod(workflowInstanceId, workflowEventQueueShards.length);
     }
 }
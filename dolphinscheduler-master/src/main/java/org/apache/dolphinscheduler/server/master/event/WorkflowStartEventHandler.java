@@ -67,6 +67,8 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                         if (processInstance.getTimeout() > 0) {
                             stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
                         }
+                        // the events added during starting are not scheduled since the workflow was not started
+                        workflowExecuteThreadPool.executeEvent(workflowExecuteRunnable);
                     } else if (WorkflowStartStatus.FAILED == workflowStartStatus) {
                         log.error(
                                 "Failed to submit the workflow instance, will resend the workflow start event: {}",
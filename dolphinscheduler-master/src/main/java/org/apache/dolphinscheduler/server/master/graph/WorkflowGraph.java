@@ -23,14 +23,20 @@ import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * The graph is shared by all the workflow instances of the same workflow definition version once it is cached in
+ * {@link WorkflowGraphCache}, so the task nodes and the dag should be treated as read-only.
+ */
 public class WorkflowGraph implements IWorkflowGraph {
 
+    private final List<TaskNode> taskNodes;
     private final Map<Long, TaskNode> taskNodeMap;
     private final DAG<Long, TaskNode, TaskNodeRelation> dag;
 
@@ -41,6 +47,7 @@ public class WorkflowGraph implements IWorkflowGraph {
         checkNotNull(taskNodes, "taskNodes can not be null");
         checkNotNull(dag, "dag can not be null");
 
+        this.taskNodes = Collections.unmodifiableList(taskNodes);
         this.taskNodeMap = taskNodes.stream().collect(Collectors.toMap(TaskNode::getCode, Function.identity()));
         this.dag = dag;
         forbiddenTaskCodes =
@@ -61,6 +68,10 @@ public class WorkflowGraph implements IWorkflowGraph {
         return dag;
     }
 
+    public List<TaskNode> getTaskNodes() {
+        return taskNodes;
+    }
+
     @Override
     public boolean isForbiddenTask(Long taskCode) {
         return forbiddenTaskCodes.contains(taskCode);
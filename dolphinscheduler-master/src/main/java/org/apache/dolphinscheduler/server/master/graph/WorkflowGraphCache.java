@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowGraphMetrics;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessDag;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Cache the compiled {@link WorkflowGraph} of each workflow definition version.
+ * <p>
+ * The graph compiled from the relation logs and the task definition logs of a workflow definition version is shared
+ * by all the workflow instances of the version, rather than transforming the task nodes and rebuilding the dag for
+ * each workflow instance. The flag of a task definition log is updated in place when the task definition is set
+ * online or offline, and it decides the run flag of the task node, so the logs are still queried for each workflow
+ * instance and the versions and the flags of them are part of the cache key. The cache is bounded by the count of the
+ * task nodes and edges of the cached graphs, a graph which is larger than the bound will not be cached.
+ */
+@Slf4j
+@Component
+public class WorkflowGraphCache {
+
+    private final ProcessService processService;
+
+    private final TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private final Cache<WorkflowGraphKey, WorkflowGraph> workflowGraphs;
+
+    public WorkflowGraphCache(ProcessService processService,
+                              TaskDefinitionLogDao taskDefinitionLogDao,
+                              MasterConfig masterConfig) {
+        this.processService = processService;
+        this.taskDefinitionLogDao = taskDefinitionLogDao;
+        this.workflowGraphs = CacheBuilder.newBuilder()
+                // the max weight is split across the segments, use one segment so that a large graph can be cached
+                .concurrencyLevel(1)
+                .maximumWeight(masterConfig.getWorkflowGraphCacheMaxWeight())
+                .weigher((WorkflowGraphKey key, WorkflowGraph workflowGraph) -> weigh(workflowGraph))
+                .expireAfterAccess(masterConfig.getWorkflowGraphCacheExpireAfterAccess().toMillis(),
+                        TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        WorkflowGraphMetrics.registerWorkflowGraphCacheHitGauge(() -> workflowGraphs.stats().hitCount());
+        WorkflowGraphMetrics.registerWorkflowGraphCacheMissGauge(() -> workflowGraphs.stats().missCount());
+        WorkflowGraphMetrics.registerWorkflowGraphCacheHitRateGauge(() -> workflowGraphs.stats().hitRate());
+        WorkflowGraphMetrics.registerWorkflowGraphCacheSizeGauge(workflowGraphs::size);
+    }
+
+    /**
+     * Get the whole graph of the given workflow definition version, the graph will be compiled if it is not cached.
+     */
+    public WorkflowGraph getWorkflowGraph(long workflowDefinitionCode, int workflowDefinitionVersion) throws Exception {
+        List<ProcessTaskRelation> processTaskRelations =
+                processService.findRelationByCode(workflowDefinitionCode, workflowDefinitionVersion);
+        List<TaskDefinitionLog> taskDefinitionLogs =
+                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
+        WorkflowGraphKey key = new WorkflowGraphKey(workflowDefinitionCode, workflowDefinitionVersion,
+                taskDefinitionLogs.stream().map(TaskDefinitionKey::new).collect(Collectors.toSet()));
+        try {
+            return workflowGraphs.get(key,
+                    () -> compileWorkflowGraph(key, processTaskRelations, taskDefinitionLogs));
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CacheStats getStats() {
+        return workflowGraphs.stats();
+    }
+
+    public void invalidateAll() {
+        workflowGraphs.invalidateAll();
+    }
+
+    private WorkflowGraph compileWorkflowGraph(WorkflowGraphKey key,
+                                               List<ProcessTaskRelation> processTaskRelations,
+                                               List<TaskDefinitionLog> taskDefinitionLogs) {
+        long startTime = System.currentTimeMillis();
+        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+
+        ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, Collections.emptyList(),
+                Collections.emptyList(), TaskDependType.TASK_POST);
+        if (processDag == null) {
+            log.error("ProcessDag is null, workflow definition code: {}, version: {}", key.workflowDefinitionCode,
+                    key.workflowDefinitionVersion);
+            throw new IllegalArgumentException("Create WorkflowGraph failed, ProcessDag is null");
+        }
+        DAG<Long, TaskNode, TaskNodeRelation> dagGraph = DagHelper.buildDagGraph(processDag);
+        WorkflowGraph workflowGraph = new WorkflowGraph(taskNodeList, dagGraph);
+        long cost = System.currentTimeMillis() - startTime;
+        WorkflowGraphMetrics.recordWorkflowGraphCompileTime(cost);
+        log.info("Compiled workflow graph of workflow definition code: {}, version: {}, nodes: {}, edges: {}, "
+                + "cost: {}ms", key.workflowDefinitionCode, key.workflowDefinitionVersion, dagGraph.getNodesCount(),
+                dagGraph.getEdgesCount(), cost);
+        return workflowGraph;
+    }
+
+    private static int weigh(WorkflowGraph workflowGraph) {
+        DAG<Long, TaskNode, TaskNodeRelation> dag = workflowGraph.getDag();
+        return dag.getNodesCount() + dag.getEdgesCount();
+    }
+
+    @EqualsAndHashCode
+    private static class WorkflowGraphKey {
+
+        private final long workflowDefinitionCode;
+        private final int workflowDefinitionVersion;
+        private final Set<TaskDefinitionKey> taskDefinitionKeys;
+
+        private WorkflowGraphKey(long workflowDefinitionCode,
+                                 int workflowDefinitionVersion,
+                                 Set<TaskDefinitionKey> taskDefinitionKeys) {
+            this.workflowDefinitionCode = workflowDefinitionCode;
+            this.workflowDefinitionVersion = workflowDefinitionVersion;
+            this.taskDefinitionKeys = taskDefinitionKeys;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class TaskDefinitionKey {
+
+        private final long taskDefinitionCode;
+        private final int taskDefinitionVersion;
+        private final Flag flag;
+
+        private TaskDefinitionKey(TaskDefinitionLog taskDefinitionLog) {
+            this.taskDefinitionCode = taskDefinitionLog.getCode();
+            this.taskDefinitionVersion = taskDefinitionLog.getVersion();
+            this.flag = taskDefinitionLog.getFlag();
+        }
+    }
+}
@@ -22,18 +22,15 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
-import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.service.process.ProcessDag;
-import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.utils.DagHelper;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -55,27 +52,26 @@ import org.springframework.stereotype.Component;
 @Component
 public class WorkflowGraphFactory {
 
-    @Autowired
-    private ProcessService processService;
-
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
     @Autowired
-    private TaskDefinitionLogDao taskDefinitionLogDao;
+    private WorkflowGraphCache workflowGraphCache;
 
     public IWorkflowGraph createWorkflowGraph(ProcessInstance workflowInstance) throws Exception {
-
-        List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(workflowInstance.getProcessDefinitionCode(),
-                        workflowInstance.getProcessDefinitionVersion());
-        List<TaskDefinitionLog> taskDefinitionLogs =
-                taskDefinitionLogDao.queryTaskDefineLogList(processTaskRelations);
-        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        WorkflowGraph wholeWorkflowGraph = workflowGraphCache.getWorkflowGraph(
+                workflowInstance.getProcessDefinitionCode(), workflowInstance.getProcessDefinitionVersion());
 
         // generate process to get DAG info
         List<Long> recoveryTaskNodeCodeList = getRecoveryTaskNodeCodeList(workflowInstance.getCommandParam());
         List<Long> startNodeNameList = parseStartNodeName(workflowInstance.getCommandParam());
+        if (workflowInstance.getTaskDependType() == TaskDependType.TASK_POST
+                && recoveryTaskNodeCodeList.isEmpty()
+                && startNodeNameList.isEmpty()) {
+            // the whole workflow will be executed, the cached graph can be shared
+            return wholeWorkflowGraph;
+        }
+        List<TaskNode> taskNodeList = wholeWorkflowGraph.getTaskNodes();
         ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, startNodeNameList, recoveryTaskNodeCodeList,
                 workflowInstance.getTaskDependType());
         if (processDag == null) {
@@ -17,9 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -40,6 +45,14 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the number of times the master throttled the command fetching due to back pressure.
+     */
+    private final Counter masterBackPressureCounter =
+            Counter.builder("ds.master.back.pressure.count")
+                    .description("Master server back pressure throttle count")
+                    .register(Metrics.globalRegistry);
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -48,4 +61,24 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public void incMasterBackPressure() {
+        masterBackPressureCounter.increment();
+    }
+
+    public synchronized void registerMasterBackPressureGauge(final String queue, final Supplier<Number> function) {
+        Gauge.builder("ds.master.back.pressure", function)
+                .tag("queue", queue)
+                .description("The usage ratio of the master queue, the master stops fetching command when reach 1")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventWaitTime(final String workflowEventType, final long milliseconds) {
+        Timer.builder("ds.master.workflow.event.wait.time")
+                .tag("type", workflowEventType)
+                .description("The time a workflow event waits in the queue before it is handled")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
 }
@@ -66,6 +66,14 @@ public class ProcessInstanceMetrics {
         processInstanceGenerateTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public void recordCommandToWorkflowStartTime(long milliseconds, String commandFetchStrategy) {
+        Timer.builder("ds.workflow.command.start.latency")
+                .tag("fetch.strategy", commandFetchStrategy)
+                .description("The latency from command created to workflow start event submitted")
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void registerProcessInstanceRunningGauge(Supplier<Number> function) {
         Gauge.builder("ds.workflow.instance.running", function)
                 .description("The current running process instance count")
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -29,6 +30,7 @@ import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
@@ -83,6 +85,21 @@ public class TaskMetrics {
         taskDispatchCounter.increment();
     }
 
+    /**
+     * Record the time cost of one dispatch, the count of the timer can be used as the dispatch throughput.
+     *
+     * @param lane the dispatch lane, e.g. the worker group
+     */
+    public void recordTaskDispatchTime(String lane, boolean success, long nanoseconds) {
+        Timer.builder("ds.task.dispatch.duration")
+                .tag("lane", lane)
+                .tag("result", success ? "success" : "failure")
+                .description("Task dispatch duration")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(nanoseconds, TimeUnit.NANOSECONDS);
+    }
+
     public void incTaskInstanceByState(final String state) {
         if (taskInstanceCounters.get(state) == null) {
             return;
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.experimental.UtilityClass;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class WorkflowGraphMetrics {
+
+    private final Timer workflowGraphCompileTimer =
+            Timer.builder("ds.master.workflow.graph.compile.duration")
+                    .description("The duration of compiling the graph of a workflow definition version")
+                    .register(Metrics.globalRegistry);
+
+    public void recordWorkflowGraphCompileTime(long milliseconds) {
+        workflowGraphCompileTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void registerWorkflowGraphCacheHitGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.graph.cache.hit", function)
+                .description("The total count of the workflow graph cache hits")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowGraphCacheMissGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.graph.cache.miss", function)
+                .description("The total count of the workflow graph cache misses")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowGraphCacheHitRateGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.graph.cache.hit.rate", function)
+                .description("The hit rate of the workflow graph cache")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowGraphCacheSizeGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.workflow.graph.cache.size", function)
+                .description("The count of the workflow graphs in the cache")
+                .register(Metrics.globalRegistry);
+    }
+
+}
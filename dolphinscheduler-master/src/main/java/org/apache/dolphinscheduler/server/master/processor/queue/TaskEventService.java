@@ -97,6 +97,13 @@ public class TaskEventService {
         eventQueue.add(taskEvent);
     }
 
+    /**
+     * Add a batch of events, the events will be dispatched in the order of the given list.
+     */
+    public void addEvents(List<TaskEvent> taskEvents) {
+        eventQueue.addAll(taskEvents);
+    }
+
     /**
      * Dispatch event to target task runnable.
      */
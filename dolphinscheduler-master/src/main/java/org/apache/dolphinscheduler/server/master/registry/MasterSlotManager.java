@@ -20,6 +20,9 @@ package org.apache.dolphinscheduler.server.master.registry;
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
 import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlot;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.service.queue.MasterPriorityQueue;
 
@@ -39,7 +42,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
-public class MasterSlotManager {
+public class MasterSlotManager implements SchedulerSlotProvider {
 
     @Autowired
     protected ServerNodeManager serverNodeManager;
@@ -50,11 +53,22 @@ public class MasterSlotManager {
     private volatile int currentSlot = 0;
     private volatile int totalSlot = 0;
 
+    /**
+     * The snapshot of the current slot and the total slot, which are updated together.
+     */
+    private volatile SchedulerSlot schedulerSlot = SchedulerSlot.NONE;
+
+    /**
+     * The master addresses indexed by slot.
+     */
+    private volatile String[] slotMasterAddresses = new String[0];
+
     @PostConstruct
     public void init() {
         serverNodeManager.addMasterInfoChangeListener(new MasterSlotManager.SlotChangeListener());
     }
 
+    @Override
     public int getSlot() {
         return currentSlot;
     }
@@ -63,6 +77,27 @@ public class MasterSlotManager {
         return totalSlot;
     }
 
+    @Override
+    public int getSlotCount() {
+        return totalSlot;
+    }
+
+    @Override
+    public SchedulerSlot getSchedulerSlot() {
+        return schedulerSlot;
+    }
+
+    /**
+     * Get the address of the master which owns the given slot, return null if the slot doesn't exist.
+     */
+    public String getMasterAddress(int slot) {
+        String[] addresses = slotMasterAddresses;
+        if (slot < 0 || slot >= addresses.length) {
+            return null;
+        }
+        return addresses[slot];
+    }
+
     public class SlotChangeListener implements MasterInfoChangeListener {
 
         private final Lock slotLock = new ReentrantLock();
@@ -87,13 +122,24 @@ public class MasterSlotManager {
                 this.masterPriorityQueue.putAll(masterNodes);
                 int tempCurrentSlot = masterPriorityQueue.getIndex(masterConfig.getMasterAddress());
                 int tempTotalSlot = masterNodes.size();
+                String[] tempSlotMasterAddresses = new String[tempTotalSlot];
+                for (Server masterNode : masterNodes) {
+                    String masterAddress = NetUtils.getAddr(masterNode.getHost(), masterNode.getPort());
+                    int slot = masterPriorityQueue.getIndex(masterAddress);
+                    if (slot >= 0 && slot < tempTotalSlot) {
+                        tempSlotMasterAddresses[slot] = masterAddress;
+                    }
+                }
+                slotMasterAddresses = tempSlotMasterAddresses;
                 if (tempCurrentSlot < 0) {
                     totalSlot = 0;
                     currentSlot = 0;
+                    schedulerSlot = SchedulerSlot.NONE;
                     log.warn("Current master is not in active master list");
                 } else if (tempCurrentSlot != currentSlot || tempTotalSlot != totalSlot) {
                     totalSlot = tempTotalSlot;
                     currentSlot = tempCurrentSlot;
+                    schedulerSlot = new SchedulerSlot(tempCurrentSlot, tempTotalSlot);
                     log.info("Update master nodes, total master size: {}, current slot: {}", totalSlot, currentSlot);
                 }
             } finally {
@@ -28,6 +28,8 @@ import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceForceS
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceForceStartResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,9 +43,10 @@ public class LogicTaskInstanceOperatorImpl implements ILogicTaskInstanceOperator
     private LogicTaskInstanceOperationFunctionManager logicTaskInstanceOperationFunctionManager;
 
     @Override
-    public LogicTaskDispatchResponse dispatchLogicTask(LogicTaskDispatchRequest taskDispatchRequest) {
-        return logicTaskInstanceOperationFunctionManager.getLogicTaskInstanceDispatchOperationFunction()
-                .operate(taskDispatchRequest);
+    public CompletableFuture<LogicTaskDispatchResponse> dispatchLogicTask(LogicTaskDispatchRequest taskDispatchRequest) {
+        return CompletableFuture.completedFuture(logicTaskInstanceOperationFunctionManager
+                .getLogicTaskInstanceDispatchOperationFunction()
+                .operate(taskDispatchRequest));
     }
 
     @Override
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.server.master.rpc;
 
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.master.IMasterLogService;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskInstanceLogPageQueryRequest;
@@ -43,6 +45,16 @@ public class MasterLogServiceImpl implements IMasterLogService {
         return new LogicTaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public LogicTaskInstanceLogFileChunkDownloadResponse getLogicTaskInstanceLogFileChunk(LogicTaskInstanceLogFileChunkDownloadRequest logicTaskInstanceLogFileChunkDownloadRequest) {
+        String logPath = logicTaskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath();
+        byte[] bytes = LogUtils.readFileChunk(
+                logPath,
+                logicTaskInstanceLogFileChunkDownloadRequest.getOffset(),
+                logicTaskInstanceLogFileChunkDownloadRequest.getLength());
+        return new LogicTaskInstanceLogFileChunkDownloadResponse(bytes, new File(logPath).length());
+    }
+
     @Override
     public LogicTaskInstanceLogPageQueryResponse pageQueryLogicTaskInstanceLog(LogicTaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
 
@@ -62,6 +74,7 @@ public class MasterLogServiceImpl implements IMasterLogService {
             if (taskLogFile.exists()) {
                 taskLogFile.delete();
             }
+            LogUtils.evictLineOffsetIndex(taskInstanceLogAbsolutePath);
         } catch (Exception e) {
             log.error("Remove LogicTaskInstanceLog error", e);
         }
@@ -18,12 +18,15 @@
 package org.apache.dolphinscheduler.server.master.rpc;
 
 import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.WorkflowInstanceStateChangeEvent;
 import org.apache.dolphinscheduler.server.master.runner.listener.TaskInstanceExecutionEventListenerFunctionManager;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,23 +40,32 @@ public class TaskInstanceListenerImpl implements ITaskInstanceExecutionEventList
     private TaskInstanceExecutionEventListenerFunctionManager taskInstanceExecutionEventListenerManager;
 
     @Override
-    public void onTaskInstanceExecutionRunning(TaskInstanceExecutionRunningEvent taskInstanceExecutionRunningEvent) {
+    public CompletableFuture<Void> onTaskInstanceExecutionRunning(TaskInstanceExecutionRunningEvent taskInstanceExecutionRunningEvent) {
         taskInstanceExecutionEventListenerManager
                 .getTaskInstanceExecutionRunningEventListenFunction()
                 .handleTaskInstanceExecutionEvent(taskInstanceExecutionRunningEvent);
-
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
-    public void onTaskInstanceExecutionFinish(TaskInstanceExecutionFinishEvent taskInstanceExecutionFinishEvent) {
+    public CompletableFuture<Void> onTaskInstanceExecutionFinish(TaskInstanceExecutionFinishEvent taskInstanceExecutionFinishEvent) {
         taskInstanceExecutionEventListenerManager.getTaskInstanceExecutionResultEventListenFunction()
                 .handleTaskInstanceExecutionEvent(taskInstanceExecutionFinishEvent);
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
-    public void onTaskInstanceExecutionInfoUpdate(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent) {
+    public CompletableFuture<Void> onTaskInstanceExecutionInfoUpdate(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent) {
         taskInstanceExecutionEventListenerManager.getTaskInstanceExecutionInfoEventListenFunction()
                 .handleTaskInstanceExecutionEvent(taskInstanceExecutionInfoEvent);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> onTaskInstanceExecutionEventBatch(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch) {
+        taskInstanceExecutionEventListenerManager.getTaskInstanceExecutionEventBatchListenFunction()
+                .handleTaskInstanceExecutionEvent(taskInstanceExecutionEventBatch);
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunna
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -50,7 +51,7 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
     }
 
     @Override
-    public void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
+    public CompletableFuture<Void> dispatchTaskAsync(TaskExecuteRunnable taskExecuteRunnable) {
         Host taskInstanceDispatchHost;
         try {
             taskInstanceDispatchHost = getTaskInstanceDispatchHost(taskExecuteRunnable)
@@ -59,17 +60,30 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
             log.error("Dispatch task: {} failed, worker group not found.",
                     taskExecuteRunnable.getTaskExecutionContext().getTaskName(), workerGroupNotFoundException);
             addDispatchFailedEvent(taskExecuteRunnable);
-            return;
+            return CompletableFuture.completedFuture(null);
+        } catch (TaskDispatchException taskDispatchException) {
+            return failedFuture(taskDispatchException);
         }
         taskExecuteRunnable.getTaskExecutionContext().setHost(taskInstanceDispatchHost.getAddress());
-        doDispatch(taskExecuteRunnable);
-        taskExecuteRunnable.getTaskInstance().setHost(taskInstanceDispatchHost.getAddress());
-        log.info("Success dispatch task {} to {}.", taskExecuteRunnable.getTaskExecutionContext().getTaskName(),
-                taskInstanceDispatchHost.getAddress());
-        addDispatchEvent(taskExecuteRunnable);
+        return doDispatch(taskExecuteRunnable).thenRun(() -> {
+            taskExecuteRunnable.getTaskInstance().setHost(taskInstanceDispatchHost.getAddress());
+            log.info("Success dispatch task {} to {}.", taskExecuteRunnable.getTaskExecutionContext().getTaskName(),
+                    taskInstanceDispatchHost.getAddress());
+            addDispatchEvent(taskExecuteRunnable);
+        });
     }
 
-    protected abstract void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException;
+    /**
+     * Send the task to the executor, the implementation should not block the caller thread, and the returned future
+     * should be completed exceptionally with {@link TaskDispatchException} if the dispatch failed.
+     */
+    protected abstract CompletableFuture<Void> doDispatch(TaskExecuteRunnable taskExecuteRunnable);
+
+    protected static CompletableFuture<Void> failedFuture(TaskDispatchException taskDispatchException) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(taskDispatchException);
+        return future;
+    }
 
     protected abstract Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecutionContext) throws TaskDispatchException, WorkerGroupNotFoundException;
 
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to wake up the {@link MasterSchedulerBootstrap} when a command belongs to the current master slot is created.
+ * <p>
+ * The wakeup signal is kept until the command loop consumes it, so the event received during a fetch round will not
+ * be lost, and multiple events will be merged into one fetch round.
+ */
+@Slf4j
+@Component
+public class CommandFetchTrigger {
+
+    private final Semaphore fetchSignal = new Semaphore(0);
+
+    @Autowired
+    private MasterSlotManager masterSlotManager;
+
+    /**
+     * @param commandId    the id of the last created command
+     * @param commandSlots the slots of the created commands
+     */
+    public void onCommandCreated(int commandId, Collection<Integer> commandSlots) {
+        int masterSize = masterSlotManager.getMasterSize();
+        if (masterSize <= 0 || commandSlots == null) {
+            return;
+        }
+        int thisMasterSlot = masterSlotManager.getSlot();
+        int slotRangeStart = CommandSlotUtils.getSlotRangeStart(masterSize, thisMasterSlot);
+        int slotRangeEnd = CommandSlotUtils.getSlotRangeEnd(masterSize, thisMasterSlot);
+        for (int commandSlot : commandSlots) {
+            if (commandSlot >= slotRangeStart && commandSlot < slotRangeEnd) {
+                wakeup();
+                return;
+            }
+        }
+        log.debug("The commands created until: {} don't belong to current slot, skip wakeup", commandId);
+    }
+
+    public void wakeup() {
+        if (fetchSignal.availablePermits() == 0) {
+            fetchSignal.release();
+        }
+    }
+
+    /**
+     * Wait until there is a new command or the timeout elapsed.
+     *
+     * @return true if woken up by a new command, false if timeout.
+     */
+    public boolean await(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        boolean wokenUp = fetchSignal.tryAcquire(timeout, timeUnit);
+        fetchSignal.drainPermits();
+        return wokenUp;
+    }
+
+}
@@ -19,28 +19,97 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The waiting queue of the task which need to be dispatched, the task which failed to dispatch will be added back with
+ * a delay, so that it will not block the other tasks before it can be retried.
+ */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueue {
 
+    private static final long MAX_WAIT_MILLIS = 1000L;
+
     private final PriorityBlockingQueue<DefaultTaskExecuteRunnable> queue = new PriorityBlockingQueue<>();
 
+    private final DelayQueue<DelayedTaskExecuteRunnable> delayQueue = new DelayQueue<>();
+
     public void submitNeedToDispatchTaskExecuteRunnable(DefaultTaskExecuteRunnable priorityTaskExecuteRunnable) {
         queue.put(priorityTaskExecuteRunnable);
     }
 
+    /**
+     * Submit the task which will be ready to dispatch after the given delay.
+     */
+    public void submitNeedToDispatchTaskExecuteRunnable(DefaultTaskExecuteRunnable priorityTaskExecuteRunnable,
+                                                        long delayMillis) {
+        if (delayMillis <= 0) {
+            submitNeedToDispatchTaskExecuteRunnable(priorityTaskExecuteRunnable);
+            return;
+        }
+        delayQueue.put(new DelayedTaskExecuteRunnable(priorityTaskExecuteRunnable,
+                System.currentTimeMillis() + delayMillis));
+    }
+
+    /**
+     * Take the task which is ready to dispatch with the highest priority, this method should be called by a single
+     * consumer.
+     */
     public DefaultTaskExecuteRunnable takeNeedToDispatchTaskExecuteRunnable() throws InterruptedException {
-        return queue.take();
+        while (true) {
+            DelayedTaskExecuteRunnable delayedTaskExecuteRunnable;
+            while ((delayedTaskExecuteRunnable = delayQueue.poll()) != null) {
+                queue.put(delayedTaskExecuteRunnable.getTaskExecuteRunnable());
+            }
+            long waitMillis = MAX_WAIT_MILLIS;
+            DelayedTaskExecuteRunnable nextDelayedTaskExecuteRunnable = delayQueue.peek();
+            if (nextDelayedTaskExecuteRunnable != null) {
+                waitMillis = Math.min(waitMillis, nextDelayedTaskExecuteRunnable.getDelay(TimeUnit.MILLISECONDS));
+            }
+            DefaultTaskExecuteRunnable defaultTaskExecuteRunnable =
+                    queue.poll(Math.max(waitMillis, 1), TimeUnit.MILLISECONDS);
+            if (defaultTaskExecuteRunnable != null) {
+                return defaultTaskExecuteRunnable;
+            }
+        }
     }
 
     public int getWaitingDispatchTaskNumber() {
-        return queue.size();
+        return queue.size() + delayQueue.size();
+    }
+
+    private static class DelayedTaskExecuteRunnable implements Delayed {
+
+        private final DefaultTaskExecuteRunnable taskExecuteRunnable;
+
+        private final long readyTime;
+
+        DelayedTaskExecuteRunnable(DefaultTaskExecuteRunnable taskExecuteRunnable, long readyTime) {
+            this.taskExecuteRunnable = taskExecuteRunnable;
+            this.readyTime = readyTime;
+        }
+
+        DefaultTaskExecuteRunnable getTaskExecuteRunnable() {
+            return taskExecuteRunnable;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(readyTime, ((DelayedTaskExecuteRunnable) o).readyTime);
+        }
     }
 
 }
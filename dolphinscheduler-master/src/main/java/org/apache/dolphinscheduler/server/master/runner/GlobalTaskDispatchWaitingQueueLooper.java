@@ -19,33 +19,64 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchRejectedException;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.utils.TaskUtils;
 
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Take the task from {@link GlobalTaskDispatchWaitingQueue} and dispatch it in the dispatch thread pool.
+ * <p>
+ * The tasks are dispatched in lanes, each worker group has its own lane and the master tasks share one lane. Each lane
+ * can have at most {@link MasterConfig#getDispatchTaskLaneParallelism()} in-flight dispatch requests, so a misbehaving
+ * worker group will not block the dispatch of the other worker groups, and at most
+ * {@link MasterConfig#getDispatchTaskLaneCapacity()} waiting tasks, the task exceeds it is added back to the waiting
+ * queue, which is counted by the {@link MasterBackPressureController}. Inside the lane, each worker can have at most
+ * {@link MasterConfig#getDispatchTaskHostParallelism()} in-flight dispatch requests if it's set, so a slow worker will
+ * not occupy the whole lane. The dispatch request is sent asynchronously, the dispatch thread will not wait for the
+ * response. The task which failed to dispatch will be added back to the waiting queue with an exponential backoff, the
+ * rejected task will be added back after a short delay and is not treated as a failure.
+ */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
 
+    private static final String MASTER_TASK_LANE = "__master__";
+
+    private static final long BASE_DISPATCH_BACKOFF_MILLIS = 1000L;
+
+    private static final long REJECTED_DISPATCH_DELAY_MILLIS = 100L;
+
     @Autowired
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
 
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    private final AtomicInteger DISPATCHED_TIMES = new AtomicInteger();
+    private final Map<String, TaskDispatchLane> taskDispatchLanes = new ConcurrentHashMap<>();
 
-    private static final Integer MAX_DISPATCHED_FAILED_TIMES = 100;
+    private ExecutorService taskDispatchThreadPool;
 
     public GlobalTaskDispatchWaitingQueueLooper() {
         super("GlobalTaskDispatchWaitingQueueLooper");
@@ -58,6 +89,8 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
+        taskDispatchThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("TaskDispatchThreadPool",
+                masterConfig.getDispatchTaskNumber());
         super.start();
         log.info("GlobalTaskDispatchWaitingQueueLooper started...");
     }
@@ -74,27 +107,173 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
                 break;
             }
             try {
-                final TaskDispatcher taskDispatcher = taskDispatchFactory
-                        .getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance().getTaskType());
-                taskDispatcher.dispatchTask(defaultTaskExecuteRunnable);
-                DISPATCHED_TIMES.set(0);
-            } catch (Exception e) {
-                defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
-                globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable);
-                if (DISPATCHED_TIMES.incrementAndGet() > MAX_DISPATCHED_FAILED_TIMES) {
-                    ThreadUtils.sleep(10 * 1000L);
+                TaskDispatchLane taskDispatchLane = taskDispatchLanes.computeIfAbsent(
+                        getTaskDispatchLaneName(defaultTaskExecuteRunnable),
+                        laneName -> new TaskDispatchLane(laneName, masterConfig.getDispatchTaskLaneParallelism(),
+                                masterConfig.getDispatchTaskLaneCapacity()));
+                if (!taskDispatchLane.submit(defaultTaskExecuteRunnable)) {
+                    log.warn("The dispatch lane {} is full, will add task {} back to the waiting queue",
+                            taskDispatchLane.getLaneName(),
+                            defaultTaskExecuteRunnable.getTaskExecutionContext().getTaskName());
+                    globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable,
+                            BASE_DISPATCH_BACKOFF_MILLIS);
                 }
-                log.error("Dispatch task failed", e);
+            } catch (Exception e) {
+                log.error("Submit task to dispatch lane failed, will add it back to the waiting queue", e);
+                globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable,
+                        BASE_DISPATCH_BACKOFF_MILLIS);
             }
         }
-        log.info("GlobalTaskDispatchWaitingQueueLooper started...");
+        log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
+    }
+
+    /**
+     * Get the number of the tasks which are taken from the waiting queue but still waiting for a free lane.
+     */
+    public int getLaneWaitingDispatchTaskNumber() {
+        int laneWaitingDispatchTaskNumber = 0;
+        for (TaskDispatchLane taskDispatchLane : taskDispatchLanes.values()) {
+            laneWaitingDispatchTaskNumber += taskDispatchLane.getWaitingTaskNumber();
+        }
+        return laneWaitingDispatchTaskNumber;
+    }
+
+    private String getTaskDispatchLaneName(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+        if (TaskUtils.isMasterTask(defaultTaskExecuteRunnable.getTaskInstance().getTaskType())) {
+            return MASTER_TASK_LANE;
+        }
+        return String.valueOf(defaultTaskExecuteRunnable.getTaskExecutionContext().getWorkerGroup());
+    }
+
+    private void dispatch(TaskDispatchLane taskDispatchLane, DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+        final long startTime = System.nanoTime();
+        CompletableFuture<Void> dispatchFuture;
+        try {
+            final TaskDispatcher taskDispatcher = taskDispatchFactory
+                    .getTaskDispatcher(defaultTaskExecuteRunnable.getTaskInstance().getTaskType());
+            dispatchFuture = taskDispatcher.dispatchTaskAsync(defaultTaskExecuteRunnable);
+        } catch (Exception e) {
+            onDispatchFinished(taskDispatchLane, defaultTaskExecuteRunnable, startTime, e);
+            return;
+        }
+        // the dispatch thread is released once the request is written, the lane slot is released by the response
+        dispatchFuture.whenComplete(
+                (r, ex) -> onDispatchFinished(taskDispatchLane, defaultTaskExecuteRunnable, startTime, ex));
+    }
+
+    private void onDispatchFinished(TaskDispatchLane taskDispatchLane,
+                                    DefaultTaskExecuteRunnable defaultTaskExecuteRunnable,
+                                    long startTime,
+                                    Throwable dispatchException) {
+        try {
+            if (dispatchException == null) {
+                TaskMetrics.recordTaskDispatchTime(taskDispatchLane.getLaneName(), true,
+                        System.nanoTime() - startTime);
+                return;
+            }
+            Throwable cause = dispatchException instanceof CompletionException && dispatchException.getCause() != null
+                    ? dispatchException.getCause()
+                    : dispatchException;
+            if (cause instanceof TaskDispatchRejectedException) {
+                globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable,
+                        REJECTED_DISPATCH_DELAY_MILLIS);
+                log.debug("Dispatch task {} is rejected: {}, will dispatch it again after {} ms",
+                        defaultTaskExecuteRunnable.getTaskExecutionContext().getTaskName(), cause.getMessage(),
+                        REJECTED_DISPATCH_DELAY_MILLIS);
+                return;
+            }
+            TaskMetrics.recordTaskDispatchTime(taskDispatchLane.getLaneName(), false, System.nanoTime() - startTime);
+            defaultTaskExecuteRunnable.getTaskExecutionContext().increaseDispatchFailTimes();
+            long backoffMillis = getDispatchBackoffMillis(
+                    defaultTaskExecuteRunnable.getTaskExecutionContext().getDispatchFailTimes());
+            globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(defaultTaskExecuteRunnable,
+                    backoffMillis);
+            log.error("Dispatch task {} failed, will retry after {} ms",
+                    defaultTaskExecuteRunnable.getTaskExecutionContext().getTaskName(), backoffMillis, cause);
+        } finally {
+            taskDispatchLane.onDispatchFinished();
+        }
+    }
+
+    private long getDispatchBackoffMillis(int dispatchFailTimes) {
+        long maxBackoffMillis = masterConfig.getDispatchTaskMaxBackoffInterval().toMillis();
+        int shift = Math.min(Math.max(dispatchFailTimes - 1, 0), 30);
+        return Math.min(BASE_DISPATCH_BACKOFF_MILLIS << shift, maxBackoffMillis);
     }
 
     @Override
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            if (taskDispatchThreadPool != null) {
+                taskDispatchThreadPool.shutdownNow();
+            }
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         }
     }
+
+    /**
+     * The dispatch lane limits the concurrent dispatching tasks, the task which exceeds the limit will wait in the
+     * lane by its priority, and the lane rejects the task once the waiting tasks reach the capacity.
+     */
+    private class TaskDispatchLane {
+
+        private final String laneName;
+
+        private final int parallelism;
+
+        private final int capacity;
+
+        private final PriorityQueue<DefaultTaskExecuteRunnable> waitingTasks = new PriorityQueue<>();
+
+        private int dispatchingTaskNumber;
+
+        TaskDispatchLane(String laneName, int parallelism, int capacity) {
+            this.laneName = laneName;
+            this.parallelism = parallelism;
+            this.capacity = capacity;
+        }
+
+        String getLaneName() {
+            return laneName;
+        }
+
+        synchronized int getWaitingTaskNumber() {
+            return waitingTasks.size();
+        }
+
+        /**
+         * Submit the task to the lane, return false if the lane is full.
+         */
+        synchronized boolean submit(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+            if (dispatchingTaskNumber >= parallelism) {
+                if (waitingTasks.size() >= capacity) {
+                    return false;
+                }
+                waitingTasks.add(defaultTaskExecuteRunnable);
+                return true;
+            }
+            dispatchingTaskNumber++;
+            execute(defaultTaskExecuteRunnable);
+            return true;
+        }
+
+        synchronized void onDispatchFinished() {
+            DefaultTaskExecuteRunnable nextTaskExecuteRunnable = waitingTasks.poll();
+            if (nextTaskExecuteRunnable == null) {
+                dispatchingTaskNumber--;
+                return;
+            }
+            execute(nextTaskExecuteRunnable);
+        }
+
+        private void execute(DefaultTaskExecuteRunnable defaultTaskExecuteRunnable) {
+            try {
+                taskDispatchThreadPool.execute(() -> dispatch(this, defaultTaskExecuteRunnable));
+            } catch (Exception e) {
+                dispatchingTaskNumber--;
+                throw e;
+            }
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to control how many commands the {@link MasterSchedulerBootstrap} can fetch by the real queue depth of the
+ * master, so that the master will not keep creating {@link WorkflowExecuteRunnable} when the downstream is saturated.
+ * <p>
+ * The pressure is the max usage ratio of the {@link WorkflowEventQueue}, the {@link WorkflowStateEventBacklog} of all
+ * the cached workflows and the tasks waiting to be dispatched. The fetch size keeps unchanged until the pressure
+ * reaches the low water mark, then shrinks linearly, and becomes 0 once the pressure reaches 1.
+ */
+@Slf4j
+@Component
+public class MasterBackPressureController {
+
+    private static final double LOW_WATER_MARK = 0.5;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private WorkflowEventQueue workflowEventQueue;
+
+    @Autowired
+    private WorkflowStateEventBacklog workflowStateEventBacklog;
+
+    @Autowired
+    private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
+
+    @Autowired
+    private GlobalTaskDispatchWaitingQueueLooper globalTaskDispatchWaitingQueueLooper;
+
+    private volatile double workflowEventQueuePressure;
+
+    private volatile double workflowStateEventPressure;
+
+    private volatile double taskDispatchWaitingQueuePressure;
+
+    @PostConstruct
+    public void registerMetrics() {
+        MasterServerMetrics.registerMasterBackPressureGauge("workflow.event", () -> workflowEventQueuePressure);
+        MasterServerMetrics.registerMasterBackPressureGauge("workflow.state.event", () -> workflowStateEventPressure);
+        MasterServerMetrics.registerMasterBackPressureGauge("task.dispatch.waiting",
+                () -> taskDispatchWaitingQueuePressure);
+    }
+
+    /**
+     * Calculate the command fetch size of this round by the current pressure.
+     *
+     * @param fetchCommandNum the configured fetch size
+     * @return the fetch size, 0 means the master should stop fetching command
+     */
+    public int getAvailableFetchSize(int fetchCommandNum) {
+        refreshPressure();
+        double pressure = getPressure();
+        if (pressure >= 1) {
+            log.warn(
+                    "The master is under back pressure, workflowEventQueue: {}, workflowStateEvent: {}, taskDispatchWaitingQueue: {}",
+                    workflowEventQueuePressure, workflowStateEventPressure, taskDispatchWaitingQueuePressure);
+            return 0;
+        }
+        if (pressure <= LOW_WATER_MARK) {
+            return fetchCommandNum;
+        }
+        return Math.max(1, (int) (fetchCommandNum * (1 - pressure) / (1 - LOW_WATER_MARK)));
+    }
+
+    public double getPressure() {
+        return Math.max(workflowEventQueuePressure,
+                Math.max(workflowStateEventPressure, taskDispatchWaitingQueuePressure));
+    }
+
+    private void refreshPressure() {
+        workflowEventQueuePressure = (double) workflowEventQueue.getWorkflowEventQueueSize()
+                / masterConfig.getMaxWorkflowEventQueueSize();
+        workflowStateEventPressure = (double) workflowStateEventBacklog.get()
+                / masterConfig.getMaxWorkflowStateEventBacklog();
+        taskDispatchWaitingQueuePressure = (double) (globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()
+                + globalTaskDispatchWaitingQueueLooper.getLaneWaitingDispatchTaskNumber())
+                / masterConfig.getMaxTaskDispatchWaitingQueueSize();
+    }
+
+}
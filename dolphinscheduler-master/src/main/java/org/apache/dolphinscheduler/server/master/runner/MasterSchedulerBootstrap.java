@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
@@ -41,6 +42,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -78,6 +80,12 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private MasterTaskExecutorBootstrap masterTaskExecutorBootstrap;
 
+    @Autowired
+    private CommandFetchTrigger commandFetchTrigger;
+
+    @Autowired
+    private MasterBackPressureController masterBackPressureController;
+
     protected MasterSchedulerBootstrap() {
         super("MasterCommandLoopThread");
     }
@@ -114,7 +122,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     log.warn("The current server is not at running status, cannot consumes commands.");
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 boolean isOverload =
                         OSUtils.isOverload(masterConfig.getMaxCpuLoadAvg(), masterConfig.getReservedMemory());
                 if (isOverload) {
@@ -123,12 +130,17 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = findCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
+                int fetchSize = masterBackPressureController.getAvailableFetchSize(masterConfig.getFetchCommandNum());
+                if (fetchSize <= 0) {
+                    MasterServerMetrics.incMasterBackPressure();
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                List<Command> commands = findCommands(fetchSize);
+                if (CollectionUtils.isEmpty(commands)) {
+                    waitForNewCommands();
+                    continue;
+                }
 
                 commands.parallelStream()
                         .forEach(command -> {
@@ -150,6 +162,7 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                                 processInstanceExecCacheManager.cache(processInstance.getId(), workflowExecuteRunnable);
                                 workflowEventQueue.addEvent(
                                         new WorkflowEvent(WorkflowEventType.START_WORKFLOW, processInstance.getId()));
+                                recordCommandToWorkflowStartTime(command);
                             } catch (WorkflowCreateException workflowCreateException) {
                                 log.error("Master handle command {} error ", command.getId(), workflowCreateException);
                                 commandService.moveToErrorCommand(command, workflowCreateException.toString());
@@ -168,7 +181,27 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
-    private List<Command> findCommands() throws MasterException {
+    private void waitForNewCommands() throws InterruptedException {
+        if (masterConfig.getCommandFetchStrategy() == CommandFetchStrategy.NOTIFY) {
+            // wait for the command created event, and sweep the database in fallback interval
+            commandFetchTrigger.await(masterConfig.getCommandFallbackFetchInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+            return;
+        }
+        // indicate that no command ,sleep for 1s
+        Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+    }
+
+    private void recordCommandToWorkflowStartTime(Command command) {
+        if (command.getUpdateTime() == null) {
+            return;
+        }
+        ProcessInstanceMetrics.recordCommandToWorkflowStartTime(
+                System.currentTimeMillis() - command.getUpdateTime().getTime(),
+                masterConfig.getCommandFetchStrategy().name());
+    }
+
+    private List<Command> findCommands(int pageSize) throws MasterException {
         try {
             long scheduleStartTime = System.currentTimeMillis();
             int thisMasterSlot = masterSlotManager.getSlot();
@@ -177,7 +210,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                 log.warn("Master count: {} is invalid, the current slot: {}", masterCount, thisMasterSlot);
                 return Collections.emptyList();
             }
-            int pageSize = masterConfig.getFetchCommandNum();
             final List<Command> result =
                     commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
             if (CollectionUtils.isNotEmpty(result)) {
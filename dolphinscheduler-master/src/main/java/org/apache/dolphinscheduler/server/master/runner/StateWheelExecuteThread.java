@@ -23,7 +23,6 @@ import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -34,9 +33,11 @@ import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
+import org.apache.dolphinscheduler.server.master.runner.wheel.HashedTimingWheel;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.annotation.PostConstruct;
 
@@ -53,25 +54,31 @@ import org.springframework.stereotype.Component;
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * The check candidates are kept in {@link HashedTimingWheel}s keyed by their deadline, each tick only the due
+ * candidates will be checked, the candidate which is not really due (e.g. the task is not started) will be added
+ * back with a new deadline.
  */
 @Component
 @Slf4j
 public class StateWheelExecuteThread extends BaseDaemonThread {
 
+    private static final int TICKS_PER_WHEEL = 512;
+
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout check wheel, element is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<Integer> processInstanceTimeoutCheckWheel;
 
     /**
-     * task time out check list
+     * task time out check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceTimeoutCheckWheel;
 
     /**
-     * task retry check list
+     * task retry check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceRetryCheckWheel;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -89,22 +96,32 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
 
     @PostConstruct
     public void startWheelThread() {
+        final long tickMillis = masterConfig.getStateWheelInterval().toMillis();
+        processInstanceTimeoutCheckWheel = new HashedTimingWheel<>(tickMillis, TICKS_PER_WHEEL);
+        taskInstanceTimeoutCheckWheel = new HashedTimingWheel<>(tickMillis, TICKS_PER_WHEEL);
+        taskInstanceRetryCheckWheel = new HashedTimingWheel<>(tickMillis, TICKS_PER_WHEEL);
         super.start();
     }
 
     @Override
     public void run() {
-        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkProcess4Timeout();
+                final long now = System.currentTimeMillis();
+                checkTask4Timeout(taskInstanceTimeoutCheckWheel.advance(now));
+                checkTask4Retry(taskInstanceRetryCheckWheel.advance(now));
+                checkProcess4Timeout(processInstanceTimeoutCheckWheel.advance(now));
             } catch (Exception e) {
                 log.error("state wheel thread check error:", e);
             }
             try {
-                Thread.sleep(checkInterval);
+                long nextTickTime = Math.min(processInstanceTimeoutCheckWheel.getNextTickTime(),
+                        Math.min(taskInstanceTimeoutCheckWheel.getNextTickTime(),
+                                taskInstanceRetryCheckWheel.getNextTickTime()));
+                long sleepTime = nextTickTime - System.currentTimeMillis();
+                if (sleepTime > 0) {
+                    Thread.sleep(sleepTime);
+                }
             } catch (InterruptedException e) {
                 log.error("state wheel thread sleep error, will close the loop", e);
                 Thread.currentThread().interrupt();
@@ -114,30 +131,28 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
-        log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        long deadline = getTimeoutDeadline(processInstance.getStartTime(), processInstance.getTimeout());
+        if (processInstanceTimeoutCheckWheel.add(processInstance.getId(), deadline)) {
+            log.info("Success add workflow instance {} into timeout check wheel", processInstance.getId());
+        }
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
+        boolean removeFlag = processInstanceTimeoutCheckWheel.cancel(processInstanceId);
         if (removeFlag) {
-            log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
+            log.info("Success remove workflow instance {} from timeout check wheel", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
+    private void checkProcess4Timeout(List<Integer> dueProcessInstanceIds) {
+        for (Integer processInstanceId : dueProcessInstanceIds) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
                 WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
                         processInstanceId);
                 if (workflowExecuteThread == null) {
                     log.warn(
-                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
+                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check wheel");
                     continue;
                 }
                 ProcessInstance processInstance =
@@ -146,17 +161,16 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     log.warn("Check workflow timeout failed, the workflowInstance is null");
                     continue;
                 }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        (long) processInstance.getTimeout()
-                                * Constants.SEC_2_MINUTES_TIME_UNIT);
-                if (timeRemain < 0) {
+                if (isTimeout(processInstance.getStartTime(), processInstance.getTimeout())) {
                     log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
                     addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
                     log.info("Workflow instance timeout, added timeout event");
+                } else {
+                    addProcess4TimeoutCheck(processInstance);
                 }
             } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
+                log.error("Check workflow instance timeout error, will check it again later", ex);
+                processInstanceTimeoutCheckWheel.add(processInstanceId, getNextCheckDeadline());
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
@@ -165,62 +179,60 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
 
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
-            log.warn("Task instance is already in timeout check list");
+        log.info("Adding task instance into timeout check wheel");
+        if (taskInstanceTimeoutCheckWheel.contains(taskInstanceKey)) {
+            log.warn("Task instance is already in timeout check wheel");
             return;
         }
         TaskDefinition taskDefinition = taskInstance.getTaskDefine();
         if (taskDefinition == null) {
-            log.error("Failed to add task instance into timeout check list, taskDefinition is null");
+            log.error("Failed to add task instance into timeout check wheel, taskDefinition is null");
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
-            log.info("Timeout flag is open, added task instance into timeout check list");
+            taskInstanceTimeoutCheckWheel.add(taskInstanceKey,
+                    getTimeoutDeadline(taskInstance.getStartTime(), taskDefinition.getTimeout()));
+            log.info("Timeout flag is open, added task instance into timeout check wheel");
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-        log.info("remove task instance from timeout check list");
+        taskInstanceTimeoutCheckWheel.cancel(taskInstanceKey);
+        log.info("remove task instance from timeout check wheel");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
-        log.info("Adding task instance into retry check list");
+        log.info("Adding task instance into retry check wheel");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
-            log.warn("Task instance is already in retry check list");
+        if (taskInstanceRetryCheckWheel.contains(taskInstanceKey)) {
+            log.warn("Task instance is already in retry check wheel");
             return;
         }
         TaskDefinition taskDefinition = taskInstance.getTaskDefine();
         if (taskDefinition == null) {
-            log.error("Add task instance into retry check list error, taskDefinition is null");
+            log.error("Add task instance into retry check wheel error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
-        log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
+        taskInstanceRetryCheckWheel.add(taskInstanceKey, getRetryDeadline(taskInstance));
+        log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check wheel",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
-        log.info("remove task instance from retry check list");
+        taskInstanceRetryCheckWheel.cancel(taskInstanceKey);
+        log.info("remove task instance from retry check wheel");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
+        processInstanceTimeoutCheckWheel.clear();
+        taskInstanceTimeoutCheckWheel.clear();
+        taskInstanceRetryCheckWheel.clear();
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
+    private void checkTask4Timeout(List<TaskInstanceKey> dueTaskInstanceKeys) {
+        for (TaskInstanceKey taskInstanceKey : dueTaskInstanceKeys) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(taskInstanceKey.getProcessInstanceId());
                 int processInstanceId = taskInstanceKey.getProcessInstanceId();
@@ -231,7 +243,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     log.warn(
                             "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 Optional<TaskInstance> taskInstanceOptional =
@@ -241,34 +252,32 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                             "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
                                     + "will remove this check task",
                             taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 TaskInstance taskInstance = taskInstanceOptional.get();
                 if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            (long) taskInstance.getTaskDefine().getTimeout()
-                                    * Constants.SEC_2_MINUTES_TIME_UNIT);
-                    if (timeRemain < 0) {
+                    if (isTimeout(taskInstance.getStartTime(), taskInstance.getTaskDefine().getTimeout())) {
                         log.info("Task instance is timeout, adding task timeout event and remove the check");
                         addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+                    } else {
+                        // the task is not started or the start time has been changed, check it again later
+                        taskInstanceTimeoutCheckWheel.add(taskInstanceKey,
+                                getTimeoutDeadline(taskInstance.getStartTime(),
+                                        taskInstance.getTaskDefine().getTimeout()));
                     }
                 }
             } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+                log.error("Check task timeout error, will check it again later, taskInstanceKey: {}",
+                        taskInstanceKey, ex);
+                taskInstanceTimeoutCheckWheel.add(taskInstanceKey, getNextCheckDeadline());
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
-        }
-
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
+    private void checkTask4Retry(List<TaskInstanceKey> dueTaskInstanceKeys) {
+        for (TaskInstanceKey taskInstanceKey : dueTaskInstanceKeys) {
             int processInstanceId = taskInstanceKey.getProcessInstanceId();
             long taskCode = taskInstanceKey.getTaskCode();
             try {
@@ -281,7 +290,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     log.warn(
                             "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
                                     + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
                     continue;
                 }
 
@@ -294,14 +302,12 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     log.warn(
                             "The process instance is ready to stop, will send process stop event and remove the check task");
                     addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
+                    continue;
                 }
 
                 if (!taskInstanceOptional.isPresent()) {
                     log.warn(
                             "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
                     continue;
                 }
 
@@ -320,16 +326,59 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
 
                     addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
+                } else {
+                    taskInstanceRetryCheckWheel.add(taskInstanceKey, Math.max(getRetryDeadline(taskInstance),
+                            getNextCheckDeadline()));
                 }
             } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
+                log.error("Check task retry error, will check it again later, taskInstanceKey: {}",
+                        taskInstanceKey, ex);
+                taskInstanceRetryCheckWheel.add(taskInstanceKey, getNextCheckDeadline());
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
+    /**
+     * Get the earliest time the timeout may happen, if the instance is not started, the timeout will not happen
+     * before now + timeout.
+     */
+    private long getTimeoutDeadline(Date startTime, int timeoutMinutes) {
+        long baseTime = startTime == null ? System.currentTimeMillis() : startTime.getTime();
+        return baseTime + timeoutMinutes * Constants.SEC_2_MINUTES_TIME_UNIT * 1000L;
+    }
+
+    /**
+     * Whether the instance started at the given time has run out of its timeout, compared in milliseconds so the
+     * timeout event is not delayed by an extra tick. The instance which is not started will never be timeout.
+     */
+    private boolean isTimeout(Date startTime, int timeoutMinutes) {
+        return startTime != null && System.currentTimeMillis() >= getTimeoutDeadline(startTime, timeoutMinutes);
+    }
+
+    /**
+     * Get the deadline of the next tick, used to check the candidate again when it cannot be decided now.
+     */
+    private long getNextCheckDeadline() {
+        return System.currentTimeMillis() + masterConfig.getStateWheelInterval().toMillis();
+    }
+
+    /**
+     * Get the earliest time the task instance can retry, should be consistent with
+     * {@link TaskInstance#retryTaskIntervalOverTime()}.
+     */
+    private long getRetryDeadline(TaskInstance taskInstance) {
+        if (taskInstance.getState() != TaskExecutionStatus.FAILURE
+                || taskInstance.getMaxRetryTimes() == 0
+                || taskInstance.getRetryInterval() == 0
+                || taskInstance.getEndTime() == null) {
+            return System.currentTimeMillis();
+        }
+        return taskInstance.getEndTime().getTime()
+                + (taskInstance.getRetryInterval() * Constants.SEC_2_MINUTES_TIME_UNIT + 1) * 1000L;
+    }
+
     private void addProcessStopEvent(ProcessInstance processInstance) {
         WorkflowStateEvent stateEvent = WorkflowStateEvent.builder()
                 .processInstanceId(processInstance.getId())
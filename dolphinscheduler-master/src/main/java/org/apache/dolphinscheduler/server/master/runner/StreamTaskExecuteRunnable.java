@@ -32,9 +32,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProcessTaskRelationMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.master.transportor.StreamingTaskTriggerRequest;
-import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
@@ -60,6 +58,7 @@ import org.apache.dolphinscheduler.server.master.runner.dispatcher.WorkerTaskDis
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecutionContextFactory;
+import org.apache.dolphinscheduler.server.master.runner.message.TaskInstanceExecutionEventAckSender;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
@@ -112,12 +111,14 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     protected TaskExecutionContextFactory taskExecutionContextFactory;
 
+    private TaskInstanceExecutionEventAckSender taskInstanceExecutionEventAckSender;
+
     /**
      * task event queue
      */
     private final ConcurrentLinkedQueue<TaskEvent> taskEvents = new ConcurrentLinkedQueue<>();
 
-    private TaskRunnableStatus taskRunnableStatus = TaskRunnableStatus.CREATED;
+    private volatile TaskRunnableStatus taskRunnableStatus = TaskRunnableStatus.CREATED;
 
     public StreamTaskExecuteRunnable(TaskDefinition taskDefinition,
                                      StreamingTaskTriggerRequest taskExecuteStartMessage) {
@@ -132,6 +133,8 @@ public class StreamTaskExecuteRunnable implements Runnable {
         this.taskDefinition = taskDefinition;
         this.taskExecuteStartMessage = taskExecuteStartMessage;
         this.taskExecutionContextFactory = SpringApplicationContext.getBean(TaskExecutionContextFactory.class);
+        this.taskInstanceExecutionEventAckSender =
+                SpringApplicationContext.getBean(TaskInstanceExecutionEventAckSender.class);
     }
 
     public TaskInstance getTaskInstance() {
@@ -154,20 +157,30 @@ public class StreamTaskExecuteRunnable implements Runnable {
         int processDefinitionVersion = processTaskRelationList.get(0).getProcessDefinitionVersion();
         processDefinition = processService.findProcessDefinition(processDefinitionCode, processDefinitionVersion);
 
+        DefaultTaskExecuteRunnable taskExecuteRunnable;
         try {
-            DefaultTaskExecuteRunnable taskExecuteRunnable =
-                    defaultTaskExecuteRunnableFactory.createTaskExecuteRunnable(taskInstance);
-            workerTaskDispatcher.dispatchTask(taskExecuteRunnable);
+            taskExecuteRunnable = defaultTaskExecuteRunnableFactory.createTaskExecuteRunnable(taskInstance);
         } catch (Exception e) {
-            log.error("Master dispatch task to worker error, taskInstanceName: {}", taskInstance.getName(), e);
-            taskInstance.setState(TaskExecutionStatus.FAILURE);
-            taskInstanceDao.upsertTaskInstance(taskInstance);
+            onDispatchFailed(e);
             return;
         }
-        // set started flag
-        taskRunnableStatus = TaskRunnableStatus.STARTED;
-        log.info("Master success dispatch task to worker, taskInstanceName: {}, worker: {}", taskInstance.getId(),
-                taskInstance.getHost());
+        // the dispatch result is handled in the callback, so the caller thread is not held while waiting for the worker
+        workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable).whenComplete((unused, throwable) -> {
+            if (throwable != null) {
+                onDispatchFailed(throwable);
+                return;
+            }
+            // set started flag
+            taskRunnableStatus = TaskRunnableStatus.STARTED;
+            log.info("Master success dispatch task to worker, taskInstanceName: {}, worker: {}", taskInstance.getId(),
+                    taskInstance.getHost());
+        });
+    }
+
+    private void onDispatchFailed(Throwable throwable) {
+        log.error("Master dispatch task to worker error, taskInstanceName: {}", taskInstance.getName(), throwable);
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstanceDao.upsertTaskInstance(taskInstance);
     }
 
     public boolean isStart() {
@@ -472,23 +485,19 @@ public class StreamTaskExecuteRunnable implements Runnable {
 
     private void sendAckToWorker(TaskEvent taskEvent) {
         // If event handle success, send ack to worker to otherwise the worker will retry this event
-        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskEvent.getWorkerAddress(), ITaskInstanceExecutionEventAckListener.class);
         if (taskEvent.getEvent() == TaskEventType.RUNNING) {
-            log.error("taskEvent.getChannel() is null, taskEvent:{}", taskEvent);
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionRunningEventAck(
+            taskInstanceExecutionEventAckSender.sendRunningEventAck(taskEvent.getWorkerAddress(),
                     TaskInstanceExecutionRunningEventAck.success(taskEvent.getTaskInstanceId()));
             return;
         }
         if (taskEvent.getEvent() == TaskEventType.RESULT) {
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionFinishEventAck(
+            taskInstanceExecutionEventAckSender.sendFinishEventAck(taskEvent.getWorkerAddress(),
                     TaskInstanceExecutionFinishEventAck.success(taskEvent.getTaskInstanceId()));
             return;
         }
 
         if (taskEvent.getEvent() == TaskEventType.UPDATE_PID) {
-            instanceExecutionEventAckListener.handleTaskInstanceExecutionInfoEventAck(
+            taskInstanceExecutionEventAckSender.sendInfoEventAck(taskEvent.getWorkerAddress(),
                     TaskInstanceExecutionInfoEventAck.success(taskEvent.getTaskInstanceId()));
             return;
         }
@@ -17,20 +17,25 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleError;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleException;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
@@ -40,9 +45,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Take the workflow events from {@link WorkflowEventQueue} and handle them.
+ * <p>
+ * Each shard of the queue is consumed by its own thread, so the events of one workflow instance are handled in order
+ * and a slow or failed workflow will not block the events of the workflows in other shards. The event which failed to
+ * be handled is added back to the queue after an exponential backoff, the later events of the same workflow instance
+ * are held until the failed event is handled, so the order of the events is kept.
+ */
 @Component
 @Slf4j
-public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseable {
+public class WorkflowEventLooper implements AutoCloseable {
+
+    private static final long BASE_RETRY_BACKOFF_MILLIS = 1000L;
 
     @Autowired
     private WorkflowEventQueue workflowEventQueue;
@@ -50,13 +65,16 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
     @Autowired
     private List<WorkflowEventHandler> workflowEventHandlerList;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private final Map<WorkflowEventType, WorkflowEventHandler> workflowEventHandlerMap = new HashMap<>();
 
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    protected WorkflowEventLooper() {
-        super("WorkflowEventLooper");
-    }
+    private final List<WorkflowEventShardLooper> workflowEventShardLoopers = new ArrayList<>();
+
+    private ScheduledExecutorService workflowEventRetryExecutor;
 
     @PostConstruct
     public void init() {
@@ -65,62 +83,147 @@ public class WorkflowEventLooper extends BaseDaemonThread implements AutoCloseab
                         workflowEventHandler));
     }
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("WorkflowEventLooper thread has already started, will not start again");
             return;
         }
         log.info("WorkflowEventLooper starting...");
-        super.start();
-        log.info("WorkflowEventLooper started...");
+        workflowEventRetryExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("WorkflowEventRetryThread");
+        for (int shard = 0; shard < workflowEventQueue.getShardNum(); shard++) {
+            WorkflowEventShardLooper workflowEventShardLooper = new WorkflowEventShardLooper(shard);
+            workflowEventShardLoopers.add(workflowEventShardLooper);
+            workflowEventShardLooper.start();
+        }
+        log.info("WorkflowEventLooper started with {} threads...", workflowEventShardLoopers.size());
     }
 
-    public void run() {
-        WorkflowEvent workflowEvent;
-        while (RUNNING_FLAG.get()) {
-            try {
-                workflowEvent = workflowEventQueue.poolEvent();
-            } catch (InterruptedException e) {
-                log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
-                Thread.currentThread().interrupt();
-                break;
+    private long getRetryBackoffMillis(int retryTimes) {
+        long maxBackoffMillis = masterConfig.getWorkflowEventMaxRetryInterval().toMillis();
+        int shift = Math.min(Math.max(retryTimes - 1, 0), 30);
+        return Math.min(BASE_RETRY_BACKOFF_MILLIS << shift, maxBackoffMillis);
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (!RUNNING_FLAG.compareAndSet(true, false)) {
+            log.info("WorkflowEventLooper thread is not start, no need to close");
+            return;
+        }
+        log.info("WorkflowEventLooper is closing...");
+        workflowEventShardLoopers.forEach(Thread::interrupt);
+        workflowEventShardLoopers.clear();
+        workflowEventRetryExecutor.shutdownNow();
+        log.info("WorkflowEventLooper closed...");
+    }
+
+    private class WorkflowEventShardLooper extends BaseDaemonThread {
+
+        private final int shard;
+
+        /**
+         * The events which are waiting for retry, keyed by the workflow instance id, only accessed by this thread.
+         */
+        private final Map<Integer, WorkflowEvent> retryingEvents = new HashMap<>();
+
+        /**
+         * The events which are held until the retrying event of the same workflow instance is handled.
+         */
+        private final Map<Integer, LinkedList<WorkflowEvent>> blockedEvents = new HashMap<>();
+
+        private long clearVersion = workflowEventQueue.getClearVersion();
+
+        WorkflowEventShardLooper(int shard) {
+            super("WorkflowEventLooper-" + shard);
+            this.shard = shard;
+        }
+
+        @Override
+        public void run() {
+            WorkflowEvent workflowEvent;
+            while (RUNNING_FLAG.get()) {
+                try {
+                    workflowEvent = workflowEventQueue.poolEvent(shard);
+                } catch (InterruptedException e) {
+                    log.warn("WorkflowEventLooper thread is interrupted, will close this loop");
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (clearVersion != workflowEventQueue.getClearVersion()) {
+                    log.info("The workflow event queue has been cleared, drop the retrying and blocked events");
+                    clearVersion = workflowEventQueue.getClearVersion();
+                    retryingEvents.clear();
+                    blockedEvents.clear();
+                }
+                int workflowInstanceId = workflowEvent.getWorkflowInstanceId();
+                WorkflowEvent retryingEvent = retryingEvents.get(workflowInstanceId);
+                if (retryingEvent != null && retryingEvent != workflowEvent) {
+                    // keep the order of the events of the same workflow instance
+                    blockedEvents.computeIfAbsent(workflowInstanceId, id -> new LinkedList<>()).add(workflowEvent);
+                    continue;
+                }
+                retryingEvents.remove(workflowInstanceId);
+                if (!handleWorkflowEvent(workflowEvent)) {
+                    continue;
+                }
+                LinkedList<WorkflowEvent> blockedWorkflowEvents = blockedEvents.get(workflowInstanceId);
+                while (blockedWorkflowEvents != null && !blockedWorkflowEvents.isEmpty()) {
+                    if (!handleWorkflowEvent(blockedWorkflowEvents.poll())) {
+                        break;
+                    }
+                }
+                if (blockedWorkflowEvents != null && blockedWorkflowEvents.isEmpty()) {
+                    blockedEvents.remove(workflowInstanceId);
+                }
             }
+        }
+
+        /**
+         * Handle the workflow event.
+         *
+         * @return false if the event is failed and will be retried later
+         */
+        private boolean handleWorkflowEvent(WorkflowEvent workflowEvent) {
             try {
                 LogUtils.setWorkflowInstanceIdMDC(workflowEvent.getWorkflowInstanceId());
+                MasterServerMetrics.recordWorkflowEventWaitTime(workflowEvent.getWorkflowEventType().name(),
+                        System.currentTimeMillis() - workflowEvent.getEnqueueTime());
                 log.info("Begin to handle WorkflowEvent: {}", workflowEvent);
                 WorkflowEventHandler workflowEventHandler =
                         workflowEventHandlerMap.get(workflowEvent.getWorkflowEventType());
                 workflowEventHandler.handleWorkflowEvent(workflowEvent);
                 log.info("Success handle WorkflowEvent: {}", workflowEvent);
+                return true;
             } catch (WorkflowEventHandleException workflowEventHandleException) {
                 log.error("Handle workflow event failed, will retry again: {}", workflowEvent,
                         workflowEventHandleException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                retryWorkflowEvent(workflowEvent);
+                return false;
             } catch (WorkflowEventHandleError workflowEventHandleError) {
                 log.error("Handle workflow event error, will drop this event: {}",
                         workflowEvent,
                         workflowEventHandleError);
+                return true;
             } catch (Exception unknownException) {
                 log.error("Handle workflow event failed, get a unknown exception, will retry again: {}", workflowEvent,
                         unknownException);
-                workflowEventQueue.addEvent(workflowEvent);
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                retryWorkflowEvent(workflowEvent);
+                return false;
             } finally {
                 LogUtils.removeWorkflowInstanceIdMDC();
             }
         }
-    }
 
-    @Override
-    public void close() throws Exception {
-        if (!RUNNING_FLAG.compareAndSet(true, false)) {
-            log.info("WorkflowEventLooper thread is not start, no need to close");
-            return;
+        private void retryWorkflowEvent(WorkflowEvent workflowEvent) {
+            workflowEvent.setRetryTimes(workflowEvent.getRetryTimes() + 1);
+            long backoffMillis = getRetryBackoffMillis(workflowEvent.getRetryTimes());
+            retryingEvents.put(workflowEvent.getWorkflowInstanceId(), workflowEvent);
+            log.info("The workflow event will be retried after {} ms: {}", backoffMillis, workflowEvent);
+            // the retry state is dropped once the queue is cleared, so the retry should be dropped as well
+            long retryClearVersion = clearVersion;
+            workflowEventRetryExecutor.schedule(
+                    () -> workflowEventQueue.addEventIfNotCleared(workflowEvent, retryClearVersion),
+                    backoffMillis, TimeUnit.MILLISECONDS);
         }
-        log.info("WorkflowEventLooper is closing...");
-        this.interrupt();
-        log.info("WorkflowEventLooper closed...");
     }
 }
@@ -58,8 +58,6 @@ import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.master.ILogicTaskInstanceOperator;
-import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupRequest;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostResponse;
@@ -83,6 +81,9 @@ import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.task.dependent.DependentUpstreamFinishedNotifier;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupArbiter;
+import org.apache.dolphinscheduler.server.master.runner.varpool.WorkflowVarPool;
 import org.apache.dolphinscheduler.server.master.utils.TaskUtils;
 import org.apache.dolphinscheduler.server.master.utils.WorkflowInstanceUtils;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -116,6 +117,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import lombok.NonNull;
@@ -206,6 +208,11 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      */
     private final ConcurrentLinkedQueue<StateEvent> stateEvents = new ConcurrentLinkedQueue<>();
 
+    /**
+     * the size of the state event queue, it's never less than the real size
+     */
+    private final AtomicInteger stateEventSize = new AtomicInteger();
+
     /**
      * The StandBy task list, will be executed, need to know, the taskInstance in this queue may doesn't have id.
      */
@@ -225,6 +232,19 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
     private final MasterConfig masterConfig;
 
+    private final WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    private final DependentUpstreamFinishedNotifier dependentUpstreamFinishedNotifier;
+
+    private final TaskGroupArbiter taskGroupArbiter;
+
+    private final WorkflowStateEventBacklog workflowStateEventBacklog;
+
+    /**
+     * the var pool of the workflow instance, it's loaded from the workflow instance when it's first used
+     */
+    private WorkflowVarPool workflowVarPool;
+
     public WorkflowExecuteRunnable(
                                    @NonNull IWorkflowExecuteContext workflowExecuteContext,
                                    @NonNull CommandService commandService,
@@ -235,7 +255,11 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                    @NonNull StateWheelExecuteThread stateWheelExecuteThread,
                                    @NonNull CuringParamsService curingParamsService,
                                    @NonNull TaskInstanceDao taskInstanceDao,
-                                   @NonNull DefaultTaskExecuteRunnableFactory defaultTaskExecuteRunnableFactory) {
+                                   @NonNull DefaultTaskExecuteRunnableFactory defaultTaskExecuteRunnableFactory,
+                                   @NonNull WorkflowExecuteThreadPool workflowExecuteThreadPool,
+                                   @NonNull DependentUpstreamFinishedNotifier dependentUpstreamFinishedNotifier,
+                                   @NonNull TaskGroupArbiter taskGroupArbiter,
+                                   @NonNull WorkflowStateEventBacklog workflowStateEventBacklog) {
         this.processService = processService;
         this.commandService = commandService;
         this.processInstanceDao = processInstanceDao;
@@ -246,6 +270,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         this.curingParamsService = curingParamsService;
         this.taskInstanceDao = taskInstanceDao;
         this.defaultTaskExecuteRunnableFactory = defaultTaskExecuteRunnableFactory;
+        this.workflowExecuteThreadPool = workflowExecuteThreadPool;
+        this.dependentUpstreamFinishedNotifier = dependentUpstreamFinishedNotifier;
+        this.taskGroupArbiter = taskGroupArbiter;
+        this.workflowStateEventBacklog = workflowStateEventBacklog;
         TaskMetrics.registerTaskPrepared(readyToSubmitTaskQueue::size);
     }
 
@@ -266,7 +294,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                     stateEvents);
             return;
         }
-        int loopTimes = stateEvents.size() * 2;
+        int loopTimes = eventSize() * 2;
         for (int i = 0; i < loopTimes; i++) {
             final StateEvent stateEvent = this.stateEvents.peek();
             if (stateEvent == null) {
@@ -285,12 +313,12 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                         "Cannot find handler for the given state event"));
                 log.info("Begin to handle state event, {}", stateEvent);
                 if (stateEventHandler.handleStateEvent(this, stateEvent)) {
-                    this.stateEvents.remove(stateEvent);
+                    removeStateEvent(stateEvent);
                 }
             } catch (StateEventHandleError stateEventHandleError) {
                 log.error("State event handle error, will remove this event: {}", stateEvent,
                         stateEventHandleError);
-                this.stateEvents.remove(stateEvent);
+                removeStateEvent(stateEvent);
                 ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (StateEventHandleException stateEventHandleException) {
                 log.error("State event handle error, will retry this event: {}",
@@ -301,8 +329,9 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 log.error("State event handle failed, will move event to the tail: {}",
                         stateEvent,
                         stateEventHandleFailure);
-                this.stateEvents.remove(stateEvent);
-                this.stateEvents.offer(stateEvent);
+                if (this.stateEvents.remove(stateEvent)) {
+                    this.stateEvents.offer(stateEvent);
+                }
                 ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (Exception e) {
                 // we catch the exception here, since if the state event handle failed, the state event will still
@@ -327,12 +356,35 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             log.info("state event would be abounded :{}", stateEvent);
             return false;
         }
+        // count the event before adding it, so the workflow will not be treated as idle with a pending event
+        stateEventSize.incrementAndGet();
+        workflowStateEventBacklog.increase();
         this.stateEvents.add(stateEvent);
+        // the workflow will be scheduled only once no matter how many events are added, the events added during
+        // handling will be handled in the next round
+        workflowExecuteThreadPool.executeEvent(this);
         return true;
     }
 
     public int eventSize() {
-        return this.stateEvents.size();
+        return stateEventSize.get();
+    }
+
+    /**
+     * Remove all the state events, should be called when the workflow is no longer handled by this master.
+     */
+    public void clearStateEvents() {
+        while (this.stateEvents.poll() != null) {
+            stateEventSize.decrementAndGet();
+            workflowStateEventBacklog.decrease();
+        }
+    }
+
+    private void removeStateEvent(StateEvent stateEvent) {
+        if (this.stateEvents.remove(stateEvent)) {
+            stateEventSize.decrementAndGet();
+            workflowStateEventBacklog.decrease();
+        }
     }
 
     public boolean checkForceStartAndWakeUp(StateEvent stateEvent) {
@@ -354,6 +406,26 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             }
             return true;
         }
+        if (taskGroupQueue.getStatus() == TaskGroupQueueStatus.ACQUIRE_SUCCESS) {
+            // the permit is handed over by the task group arbiter
+            TaskInstance taskInstance = taskInstanceDao.queryById(stateEvent.getTaskInstanceId());
+            if (taskInstance == null) {
+                // the task instance is deleted, give the permit back so it will not be held forever
+                log.warn("Cannot find the taskInstance: {}, will release the taskGroup: {}",
+                        stateEvent.getTaskInstanceId(), taskGroupQueue.getGroupId());
+                taskGroupArbiter.releaseTaskGroup(taskGroupQueue.getGroupId(), taskGroupQueue.getTaskId());
+                return true;
+            }
+            DefaultTaskExecuteRunnable defaultTaskExecuteRunnable =
+                    taskExecuteRunnableMap.get(taskInstance.getTaskCode());
+            if (defaultTaskExecuteRunnable == null) {
+                log.warn("Cannot find the TaskExecuteRunnable: {}", taskGroupQueue.getTaskName());
+                return false;
+            }
+            defaultTaskExecuteRunnable.dispatch();
+            log.info("Success wake up taskGroupQueue: {}", taskGroupQueue.getId());
+            return true;
+        }
         if (taskGroupQueue.getInQueue() == Flag.YES.getCode()) {
             log.info("Begin to wake up taskGroupQueue: {}", taskGroupQueue.getId());
             boolean acquireTaskGroup = processService.robTaskGroupResource(taskGroupQueue);
@@ -389,6 +461,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         log.info("TaskInstance finished task code:{} state:{}", taskInstance.getTaskCode(), taskInstance.getState());
         try {
             ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
+            dependentUpstreamFinishedNotifier.notifyTaskInstanceFinished(workflowInstance, taskInstance);
             // Do we need to remove?
             taskExecuteRunnableMap.remove(taskInstance.getTaskCode());
             stateWheelExecuteThread.removeTask4TimeoutCheck(workflowInstance, taskInstance);
@@ -397,6 +470,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             if (taskInstance.getState().isSuccess()) {
                 completeTaskSet.add(taskInstance.getTaskCode());
                 mergeTaskInstanceVarPool(taskInstance);
+                flushVarPool();
                 processInstanceDao.upsertProcessInstance(workflowInstance);
                 // save the cacheKey only if the task is defined as cache task and the task is success
                 if (taskInstance.getIsCache().equals(Flag.YES)) {
@@ -446,35 +520,14 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      *
      */
     public void releaseTaskGroup(TaskInstance taskInstance) throws InterruptedException {
-        ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
         // todo: use Integer
         if (taskInstance.getTaskGroupId() <= 0) {
             log.info("The current TaskInstance: {} doesn't use taskGroup, no need to release taskGroup",
                     taskInstance.getName());
-        }
-        TaskInstance nextTaskInstance = processService.releaseTaskGroup(taskInstance);
-        if (nextTaskInstance == null) {
-            log.info(
-                    "The current TaskInstance: {} is the last taskInstance in the taskGroup, no need to wakeup next taskInstance",
-                    taskInstance.getName());
             return;
         }
-        if (nextTaskInstance.getProcessInstanceId() == taskInstance.getProcessInstanceId()) {
-            TaskStateEvent nextEvent = TaskStateEvent.builder()
-                    .processInstanceId(workflowInstance.getId())
-                    .taskInstanceId(nextTaskInstance.getId())
-                    .type(StateEventType.WAKE_UP_TASK_GROUP)
-                    .build();
-            stateEvents.add(nextEvent);
-        } else {
-            ProcessInstance processInstance =
-                    processService.findProcessInstanceById(nextTaskInstance.getProcessInstanceId());
-            ILogicTaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
-                    .getProxyClient(processInstance.getHost(), ILogicTaskInstanceOperator.class);
-            taskInstanceOperator.wakeupTaskInstance(
-                    new TaskInstanceWakeupRequest(processInstance.getId(), nextTaskInstance.getId()));
-        }
-        log.info("Success send wakeup message to next taskInstance: {}", nextTaskInstance.getId());
+        // the next waiting taskInstance will be woken up by the task group arbiter
+        taskGroupArbiter.releaseTaskGroup(taskInstance.getTaskGroupId(), taskInstance.getId());
     }
 
     /**
@@ -742,13 +795,14 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
      * process end handle
      */
     public void endProcess() {
-        this.stateEvents.clear();
+        clearStateEvents();
         ProcessDefinition workflowDefinition = workflowExecuteContext.getWorkflowDefinition();
         if (workflowDefinition.getExecutionType().typeIsSerialWait() || workflowDefinition.getExecutionType()
                 .typeIsSerialPriority()) {
             checkSerialProcess(workflowDefinition);
         }
         ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
+        dependentUpstreamFinishedNotifier.notifyWorkflowInstanceFinished(workflowInstance);
         ProjectUser projectUser = processService.queryProjectWithUserByProcessInstanceId(workflowInstance.getId());
         processAlertManager.sendAlertProcessInstance(workflowInstance, getValidTaskList(), projectUser);
         if (workflowInstance.getState().isSuccess()) {
@@ -756,7 +810,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
         }
         if (checkTaskQueue()) {
             // release task group
-            processService.releaseAllTaskGroup(workflowInstance.getId());
+            taskGroupArbiter.releaseAllTaskGroup(workflowInstance.getId());
         }
         // Log the workflowInstance in detail
         log.info(WorkflowInstanceUtils.logWorkflowInstanceInDetails(workflowInstance));
@@ -920,6 +974,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                                 workflowInstance.getScheduleTime(),
                                 cmdParam.get(Constants.SCHEDULE_TIMEZONE));
                         workflowInstance.setGlobalParams(globalParams);
+                        flushVarPool();
                         processInstanceDao.updateById(workflowInstance);
                     }
                 }
@@ -970,11 +1025,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 // it will be wakeup when other tasks release the resource.
                 int taskGroupId = taskInstance.getTaskGroupId();
                 if (taskGroupId > 0) {
-                    boolean acquireTaskGroup = processService.acquireTaskGroup(taskInstance.getId(),
-                            taskInstance.getName(),
-                            taskGroupId,
-                            taskInstance.getProcessInstanceId(),
-                            taskInstance.getTaskGroupPriority());
+                    boolean acquireTaskGroup = taskGroupArbiter.acquireTaskGroup(taskInstance);
                     if (!acquireTaskGroup) {
                         log.info(
                                 "Submitted task will not be dispatch right now because the first time to try to acquire"
@@ -1014,7 +1065,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                         .status(taskInstance.getState())
                         .type(StateEventType.PROCESS_BLOCKED)
                         .build();
-                this.stateEvents.add(processBlockEvent);
+                addStateEvent(processBlockEvent);
             }
 
             TaskStateEvent taskStateChangeEvent = TaskStateEvent.builder()
@@ -1023,7 +1074,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                     .status(taskInstance.getState())
                     .type(StateEventType.TASK_STATE_CHANGE)
                     .build();
-            this.stateEvents.add(taskStateChangeEvent);
+            addStateEvent(taskStateChangeEvent);
         }
     }
 
@@ -1221,20 +1272,17 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 if (preTaskInstance == null) {
                     continue;
                 }
-                String preVarPool = preTaskInstance.getVarPool();
-                if (StringUtils.isNotEmpty(preVarPool)) {
-                    List<Property> properties = JSONUtils.toList(preVarPool, Property.class);
-                    for (Property info : properties) {
-                        setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
-                    }
+                for (Property info : getWorkflowVarPool().getTaskVarPool(preTaskInstance)) {
+                    setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
                 }
             }
             if (allProperty.size() > 0) {
                 taskInstance.setVarPool(JSONUtils.toJsonString(allProperty.values()));
             }
         } else {
-            if (StringUtils.isNotEmpty(workflowInstance.getVarPool())) {
-                taskInstance.setVarPool(workflowInstance.getVarPool());
+            String workflowVarPool = getWorkflowVarPool().toJson();
+            if (StringUtils.isNotEmpty(workflowVarPool)) {
+                taskInstance.setVarPool(workflowVarPool);
             }
         }
     }
@@ -1350,10 +1398,8 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(parentNodeCode);
             if (existTaskInstanceOptional.isPresent()) {
                 TaskInstance endTaskInstance = taskInstanceMap.get(existTaskInstanceOptional.get().getId());
-                String taskInstanceVarPool = endTaskInstance.getVarPool();
-                if (StringUtils.isNotEmpty(taskInstanceVarPool)) {
-                    Set<Property> taskProperties = new HashSet<>(JSONUtils.toList(taskInstanceVarPool, Property.class));
-                    String processInstanceVarPool = workflowInstance.getVarPool();
+                List<Property> taskProperties = getWorkflowVarPool().getTaskVarPool(endTaskInstance);
+                if (!taskProperties.isEmpty()) {
                     List<Property> processGlobalParams =
                             new ArrayList<>(JSONUtils.toList(workflowInstance.getGlobalParams(), Property.class));
                     Map<String, Direct> oldProcessGlobalParamsMap = processGlobalParams.stream()
@@ -1366,24 +1412,10 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                     Set<Property> taskVarPoolIn =
                             taskProperties.stream().filter(property -> property.getDirect().equals(Direct.IN))
                                     .collect(Collectors.toSet());
-                    if (StringUtils.isNotEmpty(processInstanceVarPool)) {
-                        Set<Property> properties =
-                                new HashSet<>(JSONUtils.toList(processInstanceVarPool, Property.class));
-                        Set<String> newProcessVarPoolKeys =
-                                taskProperties.stream().map(Property::getProp).collect(Collectors.toSet());
-                        properties = properties.stream()
-                                .filter(property -> !newProcessVarPoolKeys.contains(property.getProp()))
-                                .collect(Collectors.toSet());
-                        properties.addAll(processVarPoolOut);
-                        properties.addAll(taskVarPoolIn);
-
-                        workflowInstance.setVarPool(JSONUtils.toJsonString(properties));
-                    } else {
-                        Set<Property> varPool = new HashSet<>();
-                        varPool.addAll(taskVarPoolIn);
-                        varPool.addAll(processVarPoolOut);
-                        workflowInstance.setVarPool(JSONUtils.toJsonString(varPool));
-                    }
+                    getWorkflowVarPool().removeProps(
+                            taskProperties.stream().map(Property::getProp).collect(Collectors.toSet()));
+                    getWorkflowVarPool().putAll(processVarPoolOut);
+                    getWorkflowVarPool().putAll(taskVarPoolIn);
                 }
             }
         }
@@ -1784,7 +1816,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                     .type(StateEventType.PROCESS_STATE_CHANGE)
                     .build();
             // replace with `stateEvents`, make sure `WorkflowExecuteThread` can be deleted to avoid memory leaks
-            this.stateEvents.add(stateEvent);
+            addStateEvent(stateEvent);
         } else {
             log.info("There is no need to update the workflow instance state, origin state: {}, target state: {}",
                     workflowInstance.getState(),
@@ -1813,6 +1845,7 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
                 workflowInstance.setEndTime(new Date());
             }
             try {
+                flushVarPool();
                 processInstanceDao.updateById(workflowInstance);
             } catch (Exception ex) {
                 // recover the status
@@ -2166,27 +2199,19 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
 
         Set<String> removeSet = new HashSet<>();
         for (TaskInstance taskInstance : removeTaskInstances) {
-            String taskVarPool = taskInstance.getVarPool();
-            if (StringUtils.isNotEmpty(taskVarPool)) {
-                List<Property> properties = JSONUtils.toList(taskVarPool, Property.class);
-                List<String> keys = properties.stream()
-                        .filter(property -> property.getDirect().equals(Direct.OUT))
-                        .map(property -> String.format("%s_%s", property.getProp(), property.getType()))
-                        .collect(Collectors.toList());
-                removeSet.addAll(keys);
-            }
+            List<String> keys = getWorkflowVarPool().getTaskVarPool(taskInstance).stream()
+                    .filter(property -> property.getDirect().equals(Direct.OUT))
+                    .map(property -> String.format("%s_%s", property.getProp(), property.getType()))
+                    .collect(Collectors.toList());
+            removeSet.addAll(keys);
         }
 
         // remove varPool data and update process instance
         // TODO: we can remove this snippet if : we get varPool from pre taskInstance instead of process instance when
         // task can not get pre task from incomplete dag
-        List<Property> processProperties = JSONUtils.toList(workflowInstance.getVarPool(), Property.class);
-        processProperties = processProperties.stream()
-                .filter(property -> !(property.getDirect().equals(Direct.IN)
-                        && removeSet.contains(String.format("%s_%s", property.getProp(), property.getType()))))
-                .collect(Collectors.toList());
-
-        workflowInstance.setVarPool(JSONUtils.toJsonString(processProperties));
+        getWorkflowVarPool().removeIf(property -> property.getDirect().equals(Direct.IN)
+                && removeSet.contains(String.format("%s_%s", property.getProp(), property.getType())));
+        flushVarPool();
         processInstanceDao.updateById(workflowInstance);
 
         // remove task instance from taskInstanceMap, completeTaskSet, validTaskMap, errorTaskMap
@@ -2228,24 +2253,23 @@ public class WorkflowExecuteRunnable implements IWorkflowExecuteRunnable {
     }
 
     private void mergeTaskInstanceVarPool(TaskInstance taskInstance) {
-        String taskVarPoolJson = taskInstance.getVarPool();
-        if (StringUtils.isEmpty(taskVarPoolJson)) {
-            return;
-        }
-        ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
-        String processVarPoolJson = workflowInstance.getVarPool();
-        if (StringUtils.isEmpty(processVarPoolJson)) {
-            workflowInstance.setVarPool(taskVarPoolJson);
-            return;
-        }
-        List<Property> processVarPool = new ArrayList<>(JSONUtils.toList(processVarPoolJson, Property.class));
-        List<Property> taskVarPool = JSONUtils.toList(taskVarPoolJson, Property.class);
-        Set<String> newProcessVarPoolKeys = taskVarPool.stream().map(Property::getProp).collect(Collectors.toSet());
-        processVarPool = processVarPool.stream().filter(property -> !newProcessVarPoolKeys.contains(property.getProp()))
-                .collect(Collectors.toList());
+        getWorkflowVarPool().merge(getWorkflowVarPool().getTaskVarPool(taskInstance));
+    }
 
-        processVarPool.addAll(taskVarPool);
+    private WorkflowVarPool getWorkflowVarPool() {
+        if (workflowVarPool == null) {
+            workflowVarPool = new WorkflowVarPool(workflowExecuteContext.getWorkflowInstance().getVarPool());
+        }
+        return workflowVarPool;
+    }
 
-        workflowInstance.setVarPool(JSONUtils.toJsonString(processVarPool));
+    /**
+     * serialize the var pool into the workflow instance, should be called before the workflow instance is persisted,
+     * the var pool is only serialized again when it's changed
+     */
+    private void flushVarPool() {
+        if (workflowVarPool != null) {
+            workflowExecuteContext.getWorkflowInstance().setVarPool(workflowVarPool.toJson());
+        }
     }
 }
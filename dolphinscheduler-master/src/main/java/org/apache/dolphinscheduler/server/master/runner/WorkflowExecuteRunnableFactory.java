@@ -23,6 +23,8 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.WorkflowCreateException;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
+import org.apache.dolphinscheduler.server.master.runner.task.dependent.DependentUpstreamFinishedNotifier;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupArbiter;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.expand.CuringParamsService;
@@ -69,6 +71,18 @@ public class WorkflowExecuteRunnableFactory {
     @Autowired
     private WorkflowExecuteContextFactory workflowExecuteContextFactory;
 
+    @Autowired
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Autowired
+    private DependentUpstreamFinishedNotifier dependentUpstreamFinishedNotifier;
+
+    @Autowired
+    private TaskGroupArbiter taskGroupArbiter;
+
+    @Autowired
+    private WorkflowStateEventBacklog workflowStateEventBacklog;
+
     public Optional<WorkflowExecuteRunnable> createWorkflowExecuteRunnable(Command command) throws WorkflowCreateException {
         try {
             Optional<IWorkflowExecuteContext> workflowExecuteRunnableContextOptional =
@@ -83,7 +97,11 @@ public class WorkflowExecuteRunnableFactory {
                     stateWheelExecuteThread,
                     curingGlobalParamsService,
                     taskInstanceDao,
-                    defaultTaskExecuteRunnableFactory));
+                    defaultTaskExecuteRunnableFactory,
+                    workflowExecuteThreadPool,
+                    dependentUpstreamFinishedNotifier,
+                    taskGroupArbiter,
+                    workflowStateEventBacklog));
         } catch (Exception ex) {
             throw new WorkflowCreateException("Create workflow execute runnable failed", ex);
         }
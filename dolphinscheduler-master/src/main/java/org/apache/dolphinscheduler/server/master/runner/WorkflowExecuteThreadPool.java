@@ -99,7 +99,11 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     }
 
     /**
-     * Handle the events belong to the given workflow.
+     * Schedule the given workflow to handle its events, this is called once an event is added to the workflow.
+     * <p>
+     * A workflow will be handled by at most one thread at the same time, if the workflow is being handled, it will be
+     * scheduled again after the current round finished if there are still events left, so the idle workflows cost
+     * nothing.
      */
     public void executeEvent(final WorkflowExecuteRunnable workflowExecuteThread) {
         if (!workflowExecuteThread.isStart() || workflowExecuteThread.eventSize() == 0) {
@@ -109,12 +113,17 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 workflowExecuteThread.getWorkflowExecuteContext();
         Integer workflowInstanceId = workflowExecuteRunnableContext.getWorkflowInstance().getId();
 
-        if (multiThreadFilterMap.containsKey(workflowInstanceId)) {
+        if (multiThreadFilterMap.putIfAbsent(workflowInstanceId, workflowExecuteThread) != null) {
             log.debug("The workflow has been executed by another thread");
             return;
         }
-        multiThreadFilterMap.put(workflowInstanceId, workflowExecuteThread);
-        ListenableFuture<?> future = this.submitListenable(workflowExecuteThread::handleEvents);
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(workflowExecuteThread::handleEvents);
+        } catch (Exception ex) {
+            multiThreadFilterMap.remove(workflowInstanceId);
+            throw ex;
+        }
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -128,6 +137,7 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 } finally {
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
+                rescheduleIfHasEvents(workflowExecuteThread, workflowInstanceId);
             }
 
             @Override
@@ -151,10 +161,27 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                     multiThreadFilterMap.remove(workflowInstanceId);
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
+                rescheduleIfHasEvents(workflowExecuteThread, workflowInstanceId);
             }
         });
     }
 
+    /**
+     * The events added while the workflow is being handled will not schedule the workflow, since it has not been
+     * removed from multiThreadFilterMap, so we need to check it again once the workflow is released.
+     */
+    private void rescheduleIfHasEvents(WorkflowExecuteRunnable workflowExecuteThread, Integer workflowInstanceId) {
+        if (workflowExecuteThread.eventSize() == 0 || !processInstanceExecCacheManager.contains(workflowInstanceId)) {
+            return;
+        }
+        try {
+            executeEvent(workflowExecuteThread);
+        } catch (Exception ex) {
+            log.error("Reschedule the workflow instance: {} to handle the left events failed", workflowInstanceId,
+                    ex);
+        }
+    }
+
     /**
      * notify process change
      */
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The count of the state events waiting to be handled by all the {@link WorkflowExecuteRunnable} in this master.
+ * <p>
+ * The count is increased before an event is added and decreased after an event is removed, so it's never less than the
+ * real backlog, and reading it doesn't need to walk the event queues of all the workflows.
+ */
+@Component
+public class WorkflowStateEventBacklog {
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    public void increase() {
+        backlog.incrementAndGet();
+    }
+
+    public void decrease() {
+        backlog.decrementAndGet();
+    }
+
+    public long get() {
+        return backlog.get();
+    }
+}
@@ -21,7 +21,6 @@ import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcCli
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.master.ILogicTaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchRequest;
-import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
@@ -30,6 +29,7 @@ import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -48,23 +48,33 @@ public class MasterTaskDispatcher extends BaseTaskDispatcher {
     }
 
     @Override
-    protected void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
+    protected CompletableFuture<Void> doDispatch(TaskExecuteRunnable taskExecuteRunnable) {
         TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        CompletableFuture<Void> dispatchFuture = new CompletableFuture<>();
         try {
             ILogicTaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
                     .getProxyClient(taskExecutionContext.getHost(), ILogicTaskInstanceOperator.class);
-            LogicTaskDispatchResponse logicTaskDispatchResponse = taskInstanceOperator
-                    .dispatchLogicTask(new LogicTaskDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()));
-            if (!logicTaskDispatchResponse.isDispatchSuccess()) {
-                throw new TaskDispatchException(String.format("Dispatch LogicTask to %s failed, response is: %s",
-                        taskExecutionContext.getHost(), logicTaskDispatchResponse));
-            }
-        } catch (TaskDispatchException e) {
-            throw e;
+            taskInstanceOperator
+                    .dispatchLogicTask(new LogicTaskDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()))
+                    .whenComplete((logicTaskDispatchResponse, ex) -> {
+                        if (ex != null) {
+                            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                                    String.format("Dispatch task to %s failed", taskExecutionContext.getHost()), ex));
+                            return;
+                        }
+                        if (!logicTaskDispatchResponse.isDispatchSuccess()) {
+                            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                                    String.format("Dispatch LogicTask to %s failed, response is: %s",
+                                            taskExecutionContext.getHost(), logicTaskDispatchResponse)));
+                            return;
+                        }
+                        dispatchFuture.complete(null);
+                    });
         } catch (Exception e) {
-            throw new TaskDispatchException(String.format("Dispatch task to %s failed",
-                    taskExecutionContext.getHost()), e);
+            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                    String.format("Dispatch task to %s failed", taskExecutionContext.getHost()), e));
         }
+        return dispatchFuture;
     }
 
     @Override
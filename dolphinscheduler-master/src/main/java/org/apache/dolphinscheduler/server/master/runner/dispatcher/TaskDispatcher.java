@@ -17,15 +17,20 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
-import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Used to do task dispatcher.
  */
 public interface TaskDispatcher {
 
-    void dispatchTask(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException, WorkerGroupNotFoundException;
+    /**
+     * Dispatch the task without blocking the caller thread, the returned future will be completed once the task
+     * executor accepted the task, or completed exceptionally with {@link TaskDispatchException} if the dispatch failed.
+     */
+    CompletableFuture<Void> dispatchTaskAsync(TaskExecuteRunnable taskExecuteRunnable);
 
 }
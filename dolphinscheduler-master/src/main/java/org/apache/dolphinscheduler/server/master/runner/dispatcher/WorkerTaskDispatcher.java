@@ -23,17 +23,21 @@ import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcCli
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
-import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
 import org.apache.dolphinscheduler.server.master.exception.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchRejectedException;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.BaseTaskDispatcher;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +49,12 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
 
     private final HostManager hostManager;
 
+    /**
+     * The number of in-flight dispatch requests of each worker, key is the worker address, only counted when
+     * {@link MasterConfig#getDispatchTaskHostParallelism()} is positive.
+     */
+    private final Map<String, AtomicInteger> hostDispatchingTaskNumbers = new ConcurrentHashMap<>();
+
     public WorkerTaskDispatcher(TaskEventService taskEventService,
                                 MasterConfig masterConfig,
                                 HostManager hostManager) {
@@ -53,29 +63,54 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
     }
 
     @Override
-    protected void doDispatch(TaskExecuteRunnable taskExecuteRunnable) throws TaskDispatchException {
+    protected CompletableFuture<Void> doDispatch(TaskExecuteRunnable taskExecuteRunnable) {
+        int dispatchTaskHostParallelism = masterConfig.getDispatchTaskHostParallelism();
+        if (dispatchTaskHostParallelism <= 0) {
+            return dispatchToWorker(taskExecuteRunnable);
+        }
         TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        AtomicInteger hostDispatchingTaskNumber =
+                hostDispatchingTaskNumbers.computeIfAbsent(taskExecutionContext.getHost(), host -> new AtomicInteger());
+        if (hostDispatchingTaskNumber.incrementAndGet() > dispatchTaskHostParallelism) {
+            hostDispatchingTaskNumber.decrementAndGet();
+            return failedFuture(new TaskDispatchRejectedException(
+                    String.format("Too many tasks are dispatching to %s", taskExecutionContext.getHost())));
+        }
+        return dispatchToWorker(taskExecuteRunnable)
+                .whenComplete((unused, ex) -> hostDispatchingTaskNumber.decrementAndGet());
+    }
+
+    private CompletableFuture<Void> dispatchToWorker(TaskExecuteRunnable taskExecuteRunnable) {
+        TaskExecutionContext taskExecutionContext = taskExecuteRunnable.getTaskExecutionContext();
+        CompletableFuture<Void> dispatchFuture = new CompletableFuture<>();
         try {
             ITaskInstanceOperator taskInstanceOperator = SingletonJdkDynamicRpcClientProxyFactory
                     .getProxyClient(taskExecutionContext.getHost(), ITaskInstanceOperator.class);
-            TaskInstanceDispatchResponse taskInstanceDispatchResponse = taskInstanceOperator
-                    .dispatchTask(new TaskInstanceDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()));
-            if (!taskInstanceDispatchResponse.isDispatchSuccess()) {
-                throw new TaskDispatchException(String.format("Dispatch task to %s failed, response is: %s",
-                        taskExecutionContext.getHost(), taskInstanceDispatchResponse));
-            }
-        } catch (TaskDispatchException e) {
-            throw e;
+            taskInstanceOperator
+                    .dispatchTask(new TaskInstanceDispatchRequest(taskExecuteRunnable.getTaskExecutionContext()))
+                    .whenComplete((taskInstanceDispatchResponse, ex) -> {
+                        if (ex != null) {
+                            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                                    String.format("Dispatch task to %s failed", taskExecutionContext.getHost()), ex));
+                            return;
+                        }
+                        if (!taskInstanceDispatchResponse.isDispatchSuccess()) {
+                            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                                    String.format("Dispatch task to %s failed, response is: %s",
+                                            taskExecutionContext.getHost(), taskInstanceDispatchResponse)));
+                            return;
+                        }
+                        dispatchFuture.complete(null);
+                    });
         } catch (Exception e) {
-            throw new TaskDispatchException(String.format("Dispatch task to %s failed",
-                    taskExecutionContext.getHost()), e);
+            dispatchFuture.completeExceptionally(new TaskDispatchException(
+                    String.format("Dispatch task to %s failed", taskExecutionContext.getHost()), e));
         }
+        return dispatchFuture;
     }
 
     @Override
     protected Optional<Host> getTaskInstanceDispatchHost(TaskExecuteRunnable taskExecuteRunnable) throws WorkerGroupNotFoundException {
-        String workerGroup = taskExecuteRunnable.getTaskExecutionContext().getWorkerGroup();
-        return hostManager.select(workerGroup);
-
+        return hostManager.select(taskExecuteRunnable.getTaskExecutionContext());
     }
 }
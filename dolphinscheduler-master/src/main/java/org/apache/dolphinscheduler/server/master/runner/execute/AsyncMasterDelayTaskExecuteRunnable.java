@@ -46,10 +46,13 @@ public class AsyncMasterDelayTaskExecuteRunnable extends MasterDelayTaskExecuteR
         final IAsyncLogicTask iAsyncLogicTask = (IAsyncLogicTask) logicTask;
         // we execute the handle method here, but for async task, this method will not block
         // submit the task to async task queue
+        final AsyncTaskExecuteFunction asyncTaskExecuteFunction = iAsyncLogicTask.getAsyncTaskExecuteFunction();
         final AsyncTaskExecutionContext asyncTaskExecutionContext = new AsyncTaskExecutionContext(
                 taskExecutionContext,
-                iAsyncLogicTask.getAsyncTaskExecuteFunction(),
+                asyncTaskExecuteFunction,
                 new AsyncTaskCallbackFunctionImpl(this));
+        asyncTaskExecuteFunction.bindStateCheckTrigger(
+                () -> asyncMasterTaskDelayQueue.wakeUpAsyncTask(asyncTaskExecutionContext));
         asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
     }
 
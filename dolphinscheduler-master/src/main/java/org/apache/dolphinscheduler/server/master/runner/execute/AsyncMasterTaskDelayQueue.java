@@ -30,11 +30,28 @@ public class AsyncMasterTaskDelayQueue {
 
     private final DelayQueue<AsyncTaskExecutionContext> asyncTaskCheckDelayQueue = new DelayQueue<>();
 
-    public void addAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
+    public synchronized void addAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
         asyncTaskExecutionContext.refreshStartTime();
+        if (asyncTaskExecutionContext.isWakeUpRequested()) {
+            // the task is woken up when its state is being checked
+            asyncTaskExecutionContext.wakeUp();
+        }
         asyncTaskCheckDelayQueue.add(asyncTaskExecutionContext);
     }
 
+    /**
+     * Check the state of the given async task immediately, if the task is being checked now, it will be checked again
+     * once it is added back to the queue.
+     */
+    public synchronized void wakeUpAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
+        if (asyncTaskCheckDelayQueue.removeIf(element -> element == asyncTaskExecutionContext)) {
+            asyncTaskExecutionContext.wakeUp();
+            asyncTaskCheckDelayQueue.add(asyncTaskExecutionContext);
+        } else {
+            asyncTaskExecutionContext.setWakeUpRequested(true);
+        }
+    }
+
     public @Nullable AsyncTaskExecutionContext pollAsyncTask() throws InterruptedException {
         return asyncTaskCheckDelayQueue.take();
     }
@@ -29,6 +29,13 @@ public interface AsyncTaskExecuteFunction {
     @NonNull
     Duration getAsyncTaskStateCheckInterval();
 
+    /**
+     * Bind the trigger which can make the task state be checked immediately rather than waiting for the check
+     * interval, the function can call it once the state it waits for may be changed.
+     */
+    default void bindStateCheckTrigger(@NonNull Runnable stateCheckTrigger) {
+    }
+
     enum AsyncTaskExecutionStatus {
 
         RUNNING,
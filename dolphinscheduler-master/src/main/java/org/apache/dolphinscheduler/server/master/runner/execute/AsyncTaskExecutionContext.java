@@ -39,6 +39,7 @@ public class AsyncTaskExecutionContext implements Delayed {
     private int executeTimes;
     private final long executeInterval;
     private long timeout;
+    private volatile boolean wakeUpRequested;
 
     public AsyncTaskExecutionContext(@NonNull TaskExecutionContext taskExecutionContext,
                                      @NonNull AsyncTaskExecuteFunction asyncTaskExecuteFunction,
@@ -68,6 +69,14 @@ public class AsyncTaskExecutionContext implements Delayed {
         }
     }
 
+    /**
+     * Make the next state check execute immediately.
+     */
+    public void wakeUp() {
+        wakeUpRequested = false;
+        currentStartTime = System.currentTimeMillis() - executeInterval;
+    }
+
     @Override
     public long getDelay(TimeUnit unit) {
         long nextExecuteTimeDelay = Math.min(currentStartTime + executeInterval, timeout) - System.currentTimeMillis();
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.listener;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventBatchListenFunction
+        implements
+            ITaskInstanceExecutionEventListenFunction<TaskInstanceExecutionEventBatch> {
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    @Override
+    public void handleTaskInstanceExecutionEvent(TaskInstanceExecutionEventBatch taskInstanceExecutionEventBatch) {
+        if (CollectionUtils.isEmpty(taskInstanceExecutionEventBatch.getEvents())) {
+            return;
+        }
+        List<TaskEvent> taskEvents = new ArrayList<>(taskInstanceExecutionEventBatch.getEvents().size());
+        for (ITaskInstanceExecutionEvent taskInstanceExecutionEvent : taskInstanceExecutionEventBatch.getEvents()) {
+            TaskEvent taskEvent = toTaskEvent(taskInstanceExecutionEvent);
+            if (taskEvent == null) {
+                log.warn("Receive an unknown task instance execution event: {}", taskInstanceExecutionEvent);
+                continue;
+            }
+            taskEvents.add(taskEvent);
+        }
+        log.info("Receive a batch of {} task instance execution events", taskEvents.size());
+        taskEventService.addEvents(taskEvents);
+    }
+
+    private TaskEvent toTaskEvent(ITaskInstanceExecutionEvent taskInstanceExecutionEvent) {
+        if (taskInstanceExecutionEvent instanceof TaskInstanceExecutionRunningEvent) {
+            return TaskEvent.newRunningEvent((TaskInstanceExecutionRunningEvent) taskInstanceExecutionEvent);
+        }
+        if (taskInstanceExecutionEvent instanceof TaskInstanceExecutionFinishEvent) {
+            return TaskEvent.newResultEvent((TaskInstanceExecutionFinishEvent) taskInstanceExecutionEvent);
+        }
+        if (taskInstanceExecutionEvent instanceof TaskInstanceExecutionInfoEvent) {
+            return TaskEvent.newUpdatePidEvent((TaskInstanceExecutionInfoEvent) taskInstanceExecutionEvent);
+        }
+        return null;
+    }
+}
@@ -35,6 +35,9 @@ public class TaskInstanceExecutionEventListenerFunctionManager {
     @Autowired
     private TaskInstanceExecutionInfoEventListenFunction taskInstanceExecutionInfoEventListenFunction;
 
+    @Autowired
+    private TaskInstanceExecutionEventBatchListenFunction taskInstanceExecutionEventBatchListenFunction;
+
     @Autowired
     private TaskInstanceStateEventListenFunction taskInstanceStateEventListenFunction;
 
@@ -50,6 +53,10 @@ public class TaskInstanceExecutionEventListenerFunctionManager {
         return taskInstanceExecutionInfoEventListenFunction;
     }
 
+    public TaskInstanceExecutionEventBatchListenFunction getTaskInstanceExecutionEventBatchListenFunction() {
+        return taskInstanceExecutionEventBatchListenFunction;
+    }
+
     public TaskInstanceStateEventListenFunction getTaskInstanceStateEventListenFunction() {
         return taskInstanceStateEventListenFunction;
     }
@@ -23,9 +23,11 @@ import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class LogicTaskInstanceExecuteRunningEventSender
         implements
@@ -37,7 +39,13 @@ public class LogicTaskInstanceExecuteRunningEventSender
                 SingletonJdkDynamicRpcClientProxyFactory
                         .getProxyClient(taskInstanceExecutionRunningEvent.getWorkflowInstanceHost(),
                                 ITaskInstanceExecutionEventListener.class);
-        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionRunning(taskInstanceExecutionRunningEvent);
+        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionRunning(taskInstanceExecutionRunningEvent)
+                .whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        log.error("Send event: {} to master: {} failed", taskInstanceExecutionRunningEvent,
+                                taskInstanceExecutionRunningEvent.getWorkflowInstanceHost(), ex);
+                    }
+                });
     }
 
     @Override
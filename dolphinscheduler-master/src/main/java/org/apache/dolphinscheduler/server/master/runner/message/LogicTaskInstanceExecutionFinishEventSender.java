@@ -22,8 +22,11 @@ import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventLis
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class LogicTaskInstanceExecutionFinishEventSender
         implements
@@ -34,7 +37,13 @@ public class LogicTaskInstanceExecutionFinishEventSender
         ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
                 SingletonJdkDynamicRpcClientProxyFactory
                         .getProxyClient(message.getWorkflowInstanceHost(), ITaskInstanceExecutionEventListener.class);
-        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionFinish(message);
+        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionFinish(message)
+                .whenComplete((r, ex) -> {
+                    if (ex != null) {
+                        log.error("Send event: {} to master: {} failed", message,
+                                message.getWorkflowInstanceHost(), ex);
+                    }
+                });
     }
 
     @Override
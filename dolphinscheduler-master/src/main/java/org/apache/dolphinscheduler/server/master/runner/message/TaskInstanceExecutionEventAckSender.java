@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.message;
+
+import org.apache.dolphinscheduler.extract.base.client.HostBatchingSender;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionEventAckBatch;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionFinishEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionInfoEventAck;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Send the task instance execution event acks to worker, the acks sent to the same worker are coalesced into one
+ * request.
+ */
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventAckSender implements AutoCloseable {
+
+    private final HostBatchingSender<Object> hostBatchingSender;
+
+    public TaskInstanceExecutionEventAckSender(MasterConfig masterConfig) {
+        this.hostBatchingSender = new HostBatchingSender<>("TaskInstanceExecutionEventAckSender",
+                masterConfig.getTaskEventAckBatchSize(),
+                masterConfig.getTaskEventAckBatchWindow().toMillis(),
+                this::sendBatch);
+    }
+
+    public void sendRunningEventAck(String workerAddress, TaskInstanceExecutionRunningEventAck runningEventAck) {
+        hostBatchingSender.send(workerAddress, runningEventAck);
+    }
+
+    public void sendFinishEventAck(String workerAddress, TaskInstanceExecutionFinishEventAck finishEventAck) {
+        hostBatchingSender.send(workerAddress, finishEventAck);
+    }
+
+    public void sendInfoEventAck(String workerAddress, TaskInstanceExecutionInfoEventAck infoEventAck) {
+        hostBatchingSender.send(workerAddress, infoEventAck);
+    }
+
+    private CompletableFuture<Void> sendBatch(String workerAddress, List<Object> acks) {
+        TaskInstanceExecutionEventAckBatch ackBatch = new TaskInstanceExecutionEventAckBatch();
+        for (Object ack : acks) {
+            if (ack instanceof TaskInstanceExecutionRunningEventAck) {
+                ackBatch.getRunningEventAcks().add((TaskInstanceExecutionRunningEventAck) ack);
+            } else if (ack instanceof TaskInstanceExecutionFinishEventAck) {
+                ackBatch.getFinishEventAcks().add((TaskInstanceExecutionFinishEventAck) ack);
+            } else if (ack instanceof TaskInstanceExecutionInfoEventAck) {
+                ackBatch.getInfoEventAcks().add((TaskInstanceExecutionInfoEventAck) ack);
+            } else {
+                log.warn("Unknown task instance execution event ack: {}", ack);
+            }
+        }
+        ITaskInstanceExecutionEventAckListener instanceExecutionEventAckListener =
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workerAddress, ITaskInstanceExecutionEventAckListener.class);
+        return instanceExecutionEventAckListener.handleTaskInstanceExecutionEventAckBatch(ackBatch);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        hostBatchingSender.close();
+    }
+}
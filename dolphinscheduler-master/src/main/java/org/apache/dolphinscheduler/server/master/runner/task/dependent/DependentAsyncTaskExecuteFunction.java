@@ -64,6 +64,8 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
     private final ProcessDefinitionDao processDefinitionDao;
     private final TaskDefinitionDao taskDefinitionDao;
     private final TaskInstanceDao taskInstanceDao;
+    private final DependentResolutionIndex dependentResolutionIndex;
+    private final Duration fallbackCheckInterval;
 
     private final ProcessInstance processInstance;
     private final Date dependentDate;
@@ -76,13 +78,17 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
                                              ProcessDefinitionDao processDefinitionDao,
                                              TaskDefinitionDao taskDefinitionDao,
                                              TaskInstanceDao taskInstanceDao,
-                                             ProcessInstanceDao processInstanceDao) {
+                                             ProcessInstanceDao processInstanceDao,
+                                             DependentResolutionIndex dependentResolutionIndex,
+                                             Duration fallbackCheckInterval) {
         this.taskExecutionContext = taskExecutionContext;
         this.dependentParameters = dependentParameters;
         this.projectDao = projectDao;
         this.processDefinitionDao = processDefinitionDao;
         this.taskDefinitionDao = taskDefinitionDao;
         this.taskInstanceDao = taskInstanceDao;
+        this.dependentResolutionIndex = dependentResolutionIndex;
+        this.fallbackCheckInterval = fallbackCheckInterval;
         this.processInstance =
                 processInstanceDao.queryById(taskExecutionContext.getProcessInstanceId());
         this.dependentDate = calculateDependentDate();
@@ -93,14 +99,39 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
 
     @Override
     public @NonNull AsyncTaskExecutionStatus getAsyncTaskExecutionStatus() {
-        if (isAllDependentTaskFinished()) {
-            log.info("All dependent task finished, will calculate the dependent result");
-            DependResult dependResult = calculateDependResult();
-            log.info("The Dependent result is: {}", dependResult);
-            return dependResult == DependResult.SUCCESS ? AsyncTaskExecutionStatus.SUCCESS
-                    : AsyncTaskExecutionStatus.FAILED;
+        try {
+            if (isAllDependentTaskFinished()) {
+                log.info("All dependent task finished, will calculate the dependent result");
+                DependResult dependResult = calculateDependResult();
+                log.info("The Dependent result is: {}", dependResult);
+                dependentResolutionIndex.unregister(taskExecutionContext.getTaskInstanceId());
+                return dependResult == DependResult.SUCCESS ? AsyncTaskExecutionStatus.SUCCESS
+                        : AsyncTaskExecutionStatus.FAILED;
+            }
+            return AsyncTaskExecutionStatus.RUNNING;
+        } catch (RuntimeException ex) {
+            dependentResolutionIndex.unregister(taskExecutionContext.getTaskInstanceId());
+            throw ex;
+        }
+    }
+
+    /**
+     * Register the dependent items into the {@link DependentResolutionIndex}, the dependency will be rechecked once
+     * the upstream is finished.
+     */
+    @Override
+    public void bindStateCheckTrigger(@NonNull Runnable stateCheckTrigger) {
+        List<DependentResolutionIndex.DependentWaitingItem> dependentWaitingItems = new ArrayList<>();
+        for (DependentTaskModel dependentTaskModel : dependentParameters.getDependTaskList()) {
+            for (DependentItem dependentItem : dependentTaskModel.getDependItemList()) {
+                dependentWaitingItems.add(new DependentResolutionIndex.DependentWaitingItem(
+                        dependentItem.getDefinitionCode(),
+                        dependentItem.getDepTaskCode(),
+                        DependentUtils.getDateIntervalList(dependentDate, dependentItem.getDateValue())));
+            }
         }
-        return AsyncTaskExecutionStatus.RUNNING;
+        dependentResolutionIndex.register(taskExecutionContext.getTaskInstanceId(), dependentWaitingItems,
+                stateCheckTrigger);
     }
 
     private Date calculateDependentDate() {
@@ -222,7 +253,9 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
 
     @Override
     public @NonNull Duration getAsyncTaskStateCheckInterval() {
-        return dependentParameters.getCheckInterval() == null ? DEFAULT_STATE_CHECK_INTERVAL
+        Duration checkInterval = dependentParameters.getCheckInterval() == null ? DEFAULT_STATE_CHECK_INTERVAL
                 : Duration.ofSeconds(dependentParameters.getCheckInterval());
+        // the task is woken up by the upstream finished event, so the check is only a fallback
+        return checkInterval.compareTo(fallbackCheckInterval) >= 0 ? checkInterval : fallbackCheckInterval;
     }
 }
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DependentParameters;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.LogicTaskInitializeException;
 import org.apache.dolphinscheduler.server.master.exception.MasterTaskExecuteException;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
@@ -49,6 +50,8 @@ public class DependentLogicTask extends BaseAsyncLogicTask<DependentParameters>
     private final ProcessInstanceDao processInstanceDao;
 
     private final ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+    private final DependentResolutionIndex dependentResolutionIndex;
+    private final MasterConfig masterConfig;
 
     public DependentLogicTask(TaskExecutionContext taskExecutionContext,
                               ProjectDao projectDao,
@@ -56,7 +59,9 @@ public class DependentLogicTask extends BaseAsyncLogicTask<DependentParameters>
                               TaskDefinitionDao taskDefinitionDao,
                               TaskInstanceDao taskInstanceDao,
                               ProcessInstanceDao processInstanceDao,
-                              ProcessInstanceExecCacheManager processInstanceExecCacheManager) throws LogicTaskInitializeException {
+                              ProcessInstanceExecCacheManager processInstanceExecCacheManager,
+                              DependentResolutionIndex dependentResolutionIndex,
+                              MasterConfig masterConfig) throws LogicTaskInitializeException {
         super(taskExecutionContext,
                 processInstanceExecCacheManager.getByProcessInstanceId(taskExecutionContext.getProcessInstanceId())
                         .getTaskInstance(taskExecutionContext.getTaskInstanceId())
@@ -69,7 +74,8 @@ public class DependentLogicTask extends BaseAsyncLogicTask<DependentParameters>
         this.taskInstanceDao = taskInstanceDao;
         this.processInstanceDao = processInstanceDao;
         this.processInstanceExecCacheManager = processInstanceExecCacheManager;
-
+        this.dependentResolutionIndex = dependentResolutionIndex;
+        this.masterConfig = masterConfig;
     }
 
     @Override
@@ -80,7 +86,15 @@ public class DependentLogicTask extends BaseAsyncLogicTask<DependentParameters>
                 processDefinitionDao,
                 taskDefinitionDao,
                 taskInstanceDao,
-                processInstanceDao);
+                processInstanceDao,
+                dependentResolutionIndex,
+                masterConfig.getDependentTaskFallbackCheckInterval());
+    }
+
+    @Override
+    public void kill() {
+        dependentResolutionIndex.unregister(taskExecutionContext.getTaskInstanceId());
+        super.kill();
     }
 
     @Override
@@ -100,6 +114,7 @@ public class DependentLogicTask extends BaseAsyncLogicTask<DependentParameters>
         taskInstance.setState(TaskExecutionStatus.PAUSE);
         taskInstance.setEndTime(new Date());
         taskInstanceDao.upsertTaskInstance(taskInstance);
+        dependentResolutionIndex.unregister(taskExecutionContext.getTaskInstanceId());
         super.pause();
     }
 
@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.exception.LogicTaskInitializeException;
 import org.apache.dolphinscheduler.server.master.runner.task.ILogicTaskPluginFactory;
 
@@ -50,6 +51,12 @@ public class DependentLogicTaskPluginFactory implements ILogicTaskPluginFactory<
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
+    @Autowired
+    private DependentResolutionIndex dependentResolutionIndex;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
     @Override
     public DependentLogicTask createLogicTask(TaskExecutionContext taskExecutionContext) throws LogicTaskInitializeException {
         return new DependentLogicTask(
@@ -59,7 +66,9 @@ public class DependentLogicTaskPluginFactory implements ILogicTaskPluginFactory<
                 taskDefinitionDao,
                 taskInstanceDao,
                 processInstanceDao,
-                processInstanceExecCacheManager);
+                processInstanceExecCacheManager,
+                dependentResolutionIndex,
+                masterConfig);
     }
 
     @Override
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.dependent;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.extract.master.transportor.DependentUpstreamFinishedEvent;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The index of the dependent tasks which are waiting for the upstream workflows/tasks, keyed by the upstream workflow
+ * definition code.
+ * <p>
+ * When an upstream is finished, the dependent tasks whose dependent item matches the upstream (workflow definition
+ * code, task code and date interval) will be triggered to recheck the dependency immediately, so the dependent tasks
+ * don't need to query the database at a short interval.
+ */
+@Slf4j
+@Component
+public class DependentResolutionIndex {
+
+    private final Map<Integer, DependentWaiter> dependentWaiters = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<DependentWaiter>> workflowDefinitionCodeIndex = new ConcurrentHashMap<>();
+
+    public void register(int taskInstanceId,
+                         @NonNull List<DependentWaitingItem> dependentWaitingItems,
+                         @NonNull Runnable stateCheckTrigger) {
+        unregister(taskInstanceId);
+        DependentWaiter dependentWaiter =
+                new DependentWaiter(taskInstanceId, dependentWaitingItems, stateCheckTrigger);
+        dependentWaiters.put(taskInstanceId, dependentWaiter);
+        for (DependentWaitingItem dependentWaitingItem : dependentWaitingItems) {
+            workflowDefinitionCodeIndex.compute(dependentWaitingItem.getWorkflowDefinitionCode(),
+                    (workflowDefinitionCode, waiters) -> {
+                        if (waiters == null) {
+                            waiters = ConcurrentHashMap.newKeySet();
+                        }
+                        waiters.add(dependentWaiter);
+                        return waiters;
+                    });
+        }
+    }
+
+    public void unregister(int taskInstanceId) {
+        DependentWaiter dependentWaiter = dependentWaiters.remove(taskInstanceId);
+        if (dependentWaiter == null) {
+            return;
+        }
+        for (DependentWaitingItem dependentWaitingItem : dependentWaiter.getDependentWaitingItems()) {
+            workflowDefinitionCodeIndex.computeIfPresent(dependentWaitingItem.getWorkflowDefinitionCode(),
+                    (workflowDefinitionCode, waiters) -> {
+                        waiters.remove(dependentWaiter);
+                        return waiters.isEmpty() ? null : waiters;
+                    });
+        }
+    }
+
+    /**
+     * Trigger the dependent tasks waiting for the finished upstream.
+     *
+     * @return the number of the triggered dependent tasks
+     */
+    public int onUpstreamFinished(@NonNull DependentUpstreamFinishedEvent dependentUpstreamFinishedEvent) {
+        Set<DependentWaiter> waiters =
+                workflowDefinitionCodeIndex.get(dependentUpstreamFinishedEvent.getWorkflowDefinitionCode());
+        if (CollectionUtils.isEmpty(waiters)) {
+            return 0;
+        }
+        int triggeredCount = 0;
+        for (DependentWaiter dependentWaiter : waiters) {
+            if (!dependentWaiter.isWaitingFor(dependentUpstreamFinishedEvent)) {
+                continue;
+            }
+            try {
+                dependentWaiter.getStateCheckTrigger().run();
+                triggeredCount++;
+            } catch (Exception ex) {
+                log.error("Trigger the state check of dependent task: {} failed", dependentWaiter.getTaskInstanceId(),
+                        ex);
+            }
+        }
+        if (triggeredCount > 0) {
+            log.info("The upstream: {} is finished, triggered {} dependent tasks", dependentUpstreamFinishedEvent,
+                    triggeredCount);
+        }
+        return triggeredCount;
+    }
+
+    public int getWaitingDependentTaskCount() {
+        return dependentWaiters.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class DependentWaiter {
+
+        private final int taskInstanceId;
+        private final List<DependentWaitingItem> dependentWaitingItems;
+        private final Runnable stateCheckTrigger;
+
+        boolean isWaitingFor(DependentUpstreamFinishedEvent dependentUpstreamFinishedEvent) {
+            for (DependentWaitingItem dependentWaitingItem : dependentWaitingItems) {
+                if (dependentWaitingItem.isWaitingFor(dependentUpstreamFinishedEvent)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The upstream which a dependent item is waiting for.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class DependentWaitingItem {
+
+        private final long workflowDefinitionCode;
+
+        /**
+         * The dependent task code, or {@link Constants#DEPENDENT_WORKFLOW_CODE}/{@link Constants#DEPENDENT_ALL_TASK_CODE}
+         * if the item depends on the whole workflow.
+         */
+        private final long depTaskCode;
+
+        private final List<DateInterval> dateIntervals;
+
+        boolean isWaitingFor(DependentUpstreamFinishedEvent dependentUpstreamFinishedEvent) {
+            if (workflowDefinitionCode != dependentUpstreamFinishedEvent.getWorkflowDefinitionCode()) {
+                return false;
+            }
+            long finishedTaskCode = dependentUpstreamFinishedEvent.getTaskCode();
+            // the finished workflow may resolve all kinds of the item, e.g. the dependent task is not executed in it,
+            // but a finished task can only resolve the item depends on it
+            if (finishedTaskCode != Constants.DEPENDENT_WORKFLOW_CODE && finishedTaskCode != depTaskCode) {
+                return false;
+            }
+            if (CollectionUtils.isEmpty(dependentUpstreamFinishedEvent.getMatchTimes())) {
+                return true;
+            }
+            for (DateInterval dateInterval : dateIntervals) {
+                for (Long matchTime : dependentUpstreamFinishedEvent.getMatchTimes()) {
+                    if (matchTime != null
+                            && matchTime >= dateInterval.getStartTime().getTime()
+                            && matchTime <= dateInterval.getEndTime().getTime()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
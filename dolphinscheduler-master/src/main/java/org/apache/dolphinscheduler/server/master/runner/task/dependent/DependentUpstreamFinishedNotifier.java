@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.dependent;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.IDependentEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.DependentUpstreamFinishedEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.DependentUpstreamFinishedEventBatch;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Used to notify all the masters that a workflow instance or a task instance is finished, so that the dependent tasks
+ * waiting for it can be rechecked immediately.
+ * <p>
+ * The notification is best-effort: the events are sent asynchronously in batch, and the dependent tasks still check
+ * their dependency at the fallback interval, so a lost notification only delays the dependent task.
+ */
+@Slf4j
+@Component
+public class DependentUpstreamFinishedNotifier {
+
+    private static final int MAX_PENDING_EVENT_SIZE = 10000;
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    @Autowired
+    private DependentResolutionIndex dependentResolutionIndex;
+
+    private final BlockingQueue<DependentUpstreamFinishedEvent> pendingEvents =
+            new LinkedBlockingQueue<>(MAX_PENDING_EVENT_SIZE);
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final ExecutorService notifyExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("DependentUpstreamFinishedNotifier", 1);
+
+    public void notifyWorkflowInstanceFinished(ProcessInstance workflowInstance) {
+        List<Long> matchTimes = new ArrayList<>();
+        addMatchTime(matchTimes, workflowInstance.getScheduleTime());
+        addMatchTime(matchTimes, workflowInstance.getStartTime());
+        notify(new DependentUpstreamFinishedEvent(workflowInstance.getProcessDefinitionCode(),
+                Constants.DEPENDENT_WORKFLOW_CODE, matchTimes));
+    }
+
+    public void notifyTaskInstanceFinished(ProcessInstance workflowInstance, TaskInstance taskInstance) {
+        List<Long> matchTimes = new ArrayList<>();
+        addMatchTime(matchTimes, workflowInstance.getScheduleTime());
+        addMatchTime(matchTimes, workflowInstance.getStartTime());
+        addMatchTime(matchTimes, taskInstance.getStartTime());
+        notify(new DependentUpstreamFinishedEvent(workflowInstance.getProcessDefinitionCode(),
+                taskInstance.getTaskCode(), matchTimes));
+    }
+
+    private void notify(DependentUpstreamFinishedEvent dependentUpstreamFinishedEvent) {
+        if (!pendingEvents.offer(dependentUpstreamFinishedEvent)) {
+            log.warn("Too many pending dependent upstream finished events, discard the event: {}",
+                    dependentUpstreamFinishedEvent);
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            notifyExecutor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<DependentUpstreamFinishedEvent> events = new ArrayList<>();
+        while (pendingEvents.drainTo(events, MAX_BATCH_SIZE) > 0) {
+            for (DependentUpstreamFinishedEvent event : events) {
+                try {
+                    dependentResolutionIndex.onUpstreamFinished(event);
+                } catch (Exception ex) {
+                    log.error("Handle dependent upstream finished event: {} failed", event, ex);
+                }
+            }
+            notifyOtherMasters(new DependentUpstreamFinishedEventBatch(new ArrayList<>(events)));
+            events.clear();
+        }
+    }
+
+    private void notifyOtherMasters(DependentUpstreamFinishedEventBatch dependentUpstreamFinishedEventBatch) {
+        for (MasterHeartBeat master : serverNodeManager.getMasterNodeInfo().values()) {
+            String masterAddress = master.getHost() + ":" + master.getPort();
+            if (masterAddress.equals(masterConfig.getMasterAddress())) {
+                continue;
+            }
+            try {
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(masterAddress, IDependentEventListener.class)
+                        .onDependentUpstreamFinished(dependentUpstreamFinishedEventBatch);
+            } catch (Exception ex) {
+                log.warn("Notify master: {} dependent upstream finished failed", masterAddress, ex);
+            }
+        }
+    }
+
+    private void addMatchTime(List<Long> matchTimes, Date date) {
+        if (date != null) {
+            matchTimes.add(date.getTime());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        notifyExecutor.shutdownNow();
+    }
+
+}
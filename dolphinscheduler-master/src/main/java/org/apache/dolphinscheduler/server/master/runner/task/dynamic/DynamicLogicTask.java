@@ -26,7 +26,6 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.RelationSubWorkflow;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
@@ -41,6 +40,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.server.master.exception.MasterTaskExecuteException;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
 import org.apache.dolphinscheduler.server.master.runner.task.BaseAsyncLogicTask;
+import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -69,7 +69,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
 
     private final ProcessDefinitionMapper processDefineMapper;
 
-    private final CommandMapper commandMapper;
+    private final CommandService commandService;
 
     private final ProcessService processService;
 
@@ -85,7 +85,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
                             SubWorkflowService subWorkflowService,
                             ProcessService processService,
                             ProcessDefinitionMapper processDefineMapper,
-                            CommandMapper commandMapper) {
+                            CommandService commandService) {
         super(taskExecutionContext,
                 JSONUtils.parseObject(taskExecutionContext.getTaskParams(), new TypeReference<DynamicParameters>() {
                 }));
@@ -93,7 +93,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
         this.subWorkflowService = subWorkflowService;
         this.processService = processService;
         this.processDefineMapper = processDefineMapper;
-        this.commandMapper = commandMapper;
+        this.commandService = commandService;
 
         this.processInstance = processInstanceDao.queryById(taskExecutionContext.getProcessInstanceId());
         this.taskInstance = taskInstanceDao.queryById(taskExecutionContext.getTaskInstanceId());
@@ -118,7 +118,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
             resetProcessInstanceStatus(existsSubProcessInstanceList);
         }
         return new DynamicAsyncTaskExecuteFunction(taskExecutionContext, processInstance, taskInstance, this,
-                commandMapper,
+                commandService,
                 subWorkflowService, taskParameters.getDegreeOfParallelism());
     }
 
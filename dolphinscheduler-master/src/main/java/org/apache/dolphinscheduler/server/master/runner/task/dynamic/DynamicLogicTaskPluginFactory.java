@@ -17,12 +17,12 @@
 
 package org.apache.dolphinscheduler.server.master.runner.task.dynamic;
 
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.runner.task.ILogicTaskPluginFactory;
+import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -45,7 +45,7 @@ public class DynamicLogicTaskPluginFactory implements ILogicTaskPluginFactory<Dy
     private ProcessDefinitionMapper processDefineMapper;
 
     @Autowired
-    private CommandMapper commandMapper;
+    private CommandService commandService;
 
     @Autowired
     private ProcessService processService;
@@ -57,7 +57,7 @@ public class DynamicLogicTaskPluginFactory implements ILogicTaskPluginFactory<Dy
     public DynamicLogicTask createLogicTask(TaskExecutionContext taskExecutionContext) {
         return new DynamicLogicTask(taskExecutionContext, processInstanceDao, taskInstanceDao, subWorkflowService,
                 processService,
-                processDefineMapper, commandMapper);
+                processDefineMapper, commandService);
 
     }
 
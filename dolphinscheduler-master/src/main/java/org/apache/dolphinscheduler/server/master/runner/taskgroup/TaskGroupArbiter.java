@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ILogicTaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.master.ITaskGroupArbiterService;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupAcquireRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupReleaseRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceWakeupRequest;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.StateEventResponseService;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Arbitrate the permits of the task groups in the master memory.
+ * <p>
+ * Each task group is owned by the master whose slot equals to {@code taskGroupId % masterCount}, the owner keeps the
+ * permits and the waiting queue of the task group in {@link TaskGroupState}, the other masters acquire and release the
+ * task group through {@link ITaskGroupArbiterService}. A released permit is handed over to the head waiter directly and
+ * then the waiter is woken up, rather than waking up a waiter to rob the permit in db.
+ * <p>
+ * The db is only used as a durable journal: the task group queue records keep the waiters and the holders, and the
+ * use size of the task group is updated by compare-and-set with the use size in memory. If the compare-and-set fails,
+ * e.g. the ownership of the task group is changing, the state is reloaded from db. The task groups which have waiters
+ * in db and are owned by this master are also reloaded at {@link MasterConfig#getTaskGroupRefreshInterval()}, to pick
+ * up the changes made by the api server, e.g. group size, priority and force start, and the task groups taken over
+ * from other masters, the free permits are handed over to the waiters after reloading.
+ */
+@Slf4j
+@Component
+public class TaskGroupArbiter {
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private MasterSlotManager masterSlotManager;
+
+    @Autowired
+    private TaskGroupMapper taskGroupMapper;
+
+    @Autowired
+    private TaskGroupQueueMapper taskGroupQueueMapper;
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private ProcessInstanceDao processInstanceDao;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private StateEventResponseService stateEventResponseService;
+
+    private final Map<Integer, TaskGroupHolder> taskGroupHolders = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService taskGroupRefreshExecutor;
+
+    @PostConstruct
+    public void start() {
+        long refreshInterval = masterConfig.getTaskGroupRefreshInterval().toMillis();
+        taskGroupRefreshExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("TaskGroupRefreshThread");
+        taskGroupRefreshExecutor.scheduleWithFixedDelay(this::refreshWaitingTaskGroups, refreshInterval,
+                refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (taskGroupRefreshExecutor != null) {
+            taskGroupRefreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Acquire a permit of the task group for the task instance.
+     *
+     * @return true if the permit is acquired, otherwise the task instance will be woken up once a permit is handed
+     * over to it
+     */
+    public boolean acquireTaskGroup(TaskInstance taskInstance) {
+        TaskGroupAcquireRequest taskGroupAcquireRequest = TaskGroupAcquireRequest.builder()
+                .taskGroupId(taskInstance.getTaskGroupId())
+                .taskGroupPriority(taskInstance.getTaskGroupPriority())
+                .taskInstanceId(taskInstance.getId())
+                .taskName(taskInstance.getName())
+                .workflowInstanceId(taskInstance.getProcessInstanceId())
+                .workflowInstanceHost(masterConfig.getMasterAddress())
+                .build();
+        String ownerAddress = getOwnerAddress(taskInstance.getTaskGroupId());
+        if (ownerAddress == null) {
+            log.warn("Cannot find the owner of taskGroup: {}, will acquire it from db", taskInstance.getTaskGroupId());
+            return acquireTaskGroupFromDB(taskGroupAcquireRequest);
+        }
+        if (ownerAddress.equals(masterConfig.getMasterAddress())) {
+            return acquireTaskGroupLocally(taskGroupAcquireRequest);
+        }
+        try {
+            return SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(ownerAddress, ITaskGroupArbiterService.class)
+                    .acquireTaskGroup(taskGroupAcquireRequest)
+                    .isAcquired();
+        } catch (Exception ex) {
+            log.warn("Acquire taskGroup: {} from master: {} failed, will acquire it from db",
+                    taskInstance.getTaskGroupId(), ownerAddress, ex);
+            return acquireTaskGroupFromDB(taskGroupAcquireRequest);
+        }
+    }
+
+    /**
+     * Release the permit held by the task instance, or remove the task instance from the waiting queue.
+     */
+    public void releaseTaskGroup(int taskGroupId, int taskInstanceId) {
+        TaskGroupReleaseRequest taskGroupReleaseRequest = new TaskGroupReleaseRequest(taskGroupId, taskInstanceId);
+        String ownerAddress = getOwnerAddress(taskGroupId);
+        if (ownerAddress == null) {
+            log.warn("Cannot find the owner of taskGroup: {}, will release it in db", taskGroupId);
+            releaseTaskGroupInDB(taskInstanceId);
+            return;
+        }
+        if (ownerAddress.equals(masterConfig.getMasterAddress())) {
+            releaseTaskGroupLocally(taskGroupReleaseRequest);
+            return;
+        }
+        try {
+            SingletonJdkDynamicRpcClientProxyFactory
+                    .getProxyClient(ownerAddress, ITaskGroupArbiterService.class)
+                    .releaseTaskGroup(taskGroupReleaseRequest);
+        } catch (Exception ex) {
+            log.warn("Release taskGroup: {} on master: {} failed, will release it in db",
+                    taskGroupId, ownerAddress, ex);
+            releaseTaskGroupInDB(taskInstanceId);
+        }
+    }
+
+    /**
+     * Release all the permits held by the task instances of the workflow instance, and remove its waiting task
+     * instances from the queues.
+     */
+    public void releaseAllTaskGroup(int workflowInstanceId) {
+        for (TaskGroupQueue taskGroupQueue : taskGroupQueueMapper.queryByWorkflowInstanceId(workflowInstanceId)) {
+            if (taskGroupQueue.getStatus() != TaskGroupQueueStatus.RELEASE) {
+                releaseTaskGroup(taskGroupQueue.getGroupId(), taskGroupQueue.getTaskId());
+            }
+        }
+    }
+
+    public boolean acquireTaskGroupLocally(TaskGroupAcquireRequest taskGroupAcquireRequest) {
+        int taskGroupId = taskGroupAcquireRequest.getTaskGroupId();
+        int taskInstanceId = taskGroupAcquireRequest.getTaskInstanceId();
+        List<TaskGroupWaiter> wakeupWaiters = new ArrayList<>();
+        boolean acquired;
+        TaskGroupHolder taskGroupHolder = taskGroupHolders.computeIfAbsent(taskGroupId, TaskGroupHolder::new);
+        synchronized (taskGroupHolder) {
+            refreshIfNeeded(taskGroupHolder, wakeupWaiters);
+            TaskGroupState taskGroupState = taskGroupHolder.taskGroupState;
+            if (taskGroupState == null || !taskGroupHolder.enabled) {
+                // we don't throw exception here, to avoid the task group has been deleted during workflow running
+                log.warn("The taskGroup: {} is not exist or not enabled, no need to acquire it", taskGroupId);
+                return true;
+            }
+            TaskGroupQueue taskGroupQueue = taskGroupQueueMapper.queryByTaskId(taskInstanceId);
+            if (taskGroupQueue == null) {
+                taskGroupQueue = processService.insertIntoTaskGroupQueue(
+                        taskInstanceId,
+                        taskGroupAcquireRequest.getTaskName(),
+                        taskGroupId,
+                        taskGroupAcquireRequest.getWorkflowInstanceId(),
+                        taskGroupAcquireRequest.getTaskGroupPriority(),
+                        TaskGroupQueueStatus.WAIT_QUEUE);
+            } else if (taskGroupQueue.getStatus() == TaskGroupQueueStatus.ACQUIRE_SUCCESS) {
+                log.info("The taskInstance: {} already acquired the taskGroup: {}", taskInstanceId, taskGroupId);
+                return true;
+            }
+            TaskGroupWaiter taskGroupWaiter = new TaskGroupWaiter(
+                    taskGroupQueue.getId(),
+                    taskInstanceId,
+                    taskGroupAcquireRequest.getWorkflowInstanceId(),
+                    taskGroupQueue.getPriority(),
+                    taskGroupAcquireRequest.getWorkflowInstanceHost());
+            acquired = taskGroupState.tryAcquire(taskGroupWaiter) && journalAcquired(taskGroupHolder, taskGroupQueue);
+            refreshIfNeeded(taskGroupHolder, wakeupWaiters);
+            log.info("The taskInstance: {} {} the taskGroup: {}, useSize: {}, groupSize: {}, waitingSize: {}",
+                    taskInstanceId, acquired ? "acquired" : "is waiting for", taskGroupId,
+                    taskGroupState.getUseSize(), taskGroupState.getGroupSize(), taskGroupState.getWaitingSize());
+        }
+        wakeupWaiters.forEach(this::wakeupWaiter);
+        return acquired;
+    }
+
+    public void releaseTaskGroupLocally(TaskGroupReleaseRequest taskGroupReleaseRequest) {
+        int taskGroupId = taskGroupReleaseRequest.getTaskGroupId();
+        int taskInstanceId = taskGroupReleaseRequest.getTaskInstanceId();
+        List<TaskGroupWaiter> wakeupWaiters = new ArrayList<>();
+        TaskGroupHolder taskGroupHolder = taskGroupHolders.computeIfAbsent(taskGroupId, TaskGroupHolder::new);
+        synchronized (taskGroupHolder) {
+            refreshIfNeeded(taskGroupHolder, wakeupWaiters);
+            TaskGroupState taskGroupState = taskGroupHolder.taskGroupState;
+            TaskGroupQueue taskGroupQueue = taskGroupQueueMapper.queryByTaskId(taskInstanceId);
+            if (taskGroupState == null || taskGroupQueue == null
+                    || taskGroupQueue.getStatus() == TaskGroupQueueStatus.RELEASE) {
+                log.info("The taskInstance: {} doesn't hold or wait for the taskGroup: {}, no need to release",
+                        taskInstanceId, taskGroupId);
+            } else if (taskGroupQueue.getStatus() == TaskGroupQueueStatus.WAIT_QUEUE) {
+                taskGroupState.removeWaiter(taskInstanceId);
+                updateTaskGroupQueueStatus(taskGroupQueue, TaskGroupQueueStatus.RELEASE);
+                log.info("The taskInstance: {} is removed from the queue of taskGroup: {}", taskInstanceId,
+                        taskGroupId);
+            } else {
+                if (taskGroupQueue.getForceStart() == Flag.NO.getCode()) {
+                    // the force started task instance doesn't hold a permit
+                    int affectedCount = taskGroupMapper.releaseTaskGroupResource(taskGroupId,
+                            taskGroupState.getUseSize(), taskGroupQueue.getId(),
+                            TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode());
+                    if (affectedCount != 1) {
+                        log.warn("Release taskGroup: {} in db failed, will reload it", taskGroupId);
+                        taskGroupHolder.expire();
+                    }
+                    taskGroupState.release();
+                }
+                updateTaskGroupQueueStatus(taskGroupQueue, TaskGroupQueueStatus.RELEASE);
+                log.info("The taskInstance: {} released the taskGroup: {}", taskInstanceId, taskGroupId);
+                if (!taskGroupHolder.isExpired()) {
+                    handOverFreePermits(taskGroupHolder, wakeupWaiters);
+                }
+                // the state is expired if a journal write failed, reload it and hand over the free permits again,
+                // otherwise the polled waiter would not get the permit until the next refresh
+                refreshIfNeeded(taskGroupHolder, wakeupWaiters);
+            }
+        }
+        wakeupWaiters.forEach(this::wakeupWaiter);
+    }
+
+    /**
+     * Reload the task groups which have waiters in db and are owned by this master, and hand over the free permits.
+     */
+    void refreshWaitingTaskGroups() {
+        try {
+            Set<Integer> waitingTaskGroupIds = taskGroupQueueMapper
+                    .queryByStatus(TaskGroupQueueStatus.WAIT_QUEUE.getCode())
+                    .stream()
+                    .filter(taskGroupQueue -> taskGroupQueue.getForceStart() != Flag.YES.getCode())
+                    .map(TaskGroupQueue::getGroupId)
+                    .collect(Collectors.toSet());
+            for (Integer taskGroupId : waitingTaskGroupIds) {
+                if (!masterConfig.getMasterAddress().equals(getOwnerAddress(taskGroupId))) {
+                    continue;
+                }
+                List<TaskGroupWaiter> wakeupWaiters = new ArrayList<>();
+                TaskGroupHolder taskGroupHolder = taskGroupHolders.computeIfAbsent(taskGroupId, TaskGroupHolder::new);
+                synchronized (taskGroupHolder) {
+                    taskGroupHolder.expire();
+                    refreshIfNeeded(taskGroupHolder, wakeupWaiters);
+                }
+                wakeupWaiters.forEach(this::wakeupWaiter);
+            }
+        } catch (Exception ex) {
+            log.error("Refresh the waiting taskGroups failed", ex);
+        }
+    }
+
+    private boolean journalAcquired(TaskGroupHolder taskGroupHolder, TaskGroupQueue taskGroupQueue) {
+        TaskGroupState taskGroupState = taskGroupHolder.taskGroupState;
+        int affectedCount = taskGroupMapper.robTaskGroupResource(
+                taskGroupState.getTaskGroupId(),
+                taskGroupState.getUseSize() - 1,
+                taskGroupQueue.getId(),
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode());
+        if (affectedCount != 1) {
+            // the use size in db is changed by others, the task instance will be handed over a permit after reloading
+            log.warn("Acquire taskGroup: {} in db failed, will reload it", taskGroupState.getTaskGroupId());
+            taskGroupHolder.expire();
+            return false;
+        }
+        updateTaskGroupQueueStatus(taskGroupQueue, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        return true;
+    }
+
+    /**
+     * Hand over the free permits to the head waiters, the waiters which are force started or finished are skipped.
+     */
+    private void handOverFreePermits(TaskGroupHolder taskGroupHolder, List<TaskGroupWaiter> wakeupWaiters) {
+        TaskGroupState taskGroupState = taskGroupHolder.taskGroupState;
+        TaskGroupWaiter taskGroupWaiter;
+        while ((taskGroupWaiter = taskGroupState.pollWaiterForFreePermit()) != null) {
+            TaskGroupQueue taskGroupQueue = taskGroupQueueMapper.selectById(taskGroupWaiter.getQueueId());
+            if (taskGroupQueue == null
+                    || taskGroupQueue.getStatus() != TaskGroupQueueStatus.WAIT_QUEUE
+                    || taskGroupQueue.getForceStart() == Flag.YES.getCode()) {
+                taskGroupState.release();
+                continue;
+            }
+            TaskInstance taskInstance = taskInstanceDao.queryById(taskGroupWaiter.getTaskInstanceId());
+            if (taskInstance == null || taskInstance.getState().isFinished()) {
+                updateTaskGroupQueueStatus(taskGroupQueue, TaskGroupQueueStatus.RELEASE);
+                taskGroupState.release();
+                continue;
+            }
+            if (!journalAcquired(taskGroupHolder, taskGroupQueue)) {
+                // keep the waiter so that its workflow instance host is kept after reloading
+                taskGroupState.addWaiter(taskGroupWaiter);
+                return;
+            }
+            log.info("Hand over a permit of taskGroup: {} to taskInstance: {}", taskGroupState.getTaskGroupId(),
+                    taskGroupWaiter.getTaskInstanceId());
+            wakeupWaiters.add(taskGroupWaiter);
+        }
+    }
+
+    private void refreshIfNeeded(TaskGroupHolder taskGroupHolder, List<TaskGroupWaiter> wakeupWaiters) {
+        int slot = masterSlotManager.getSlot();
+        int slotCount = masterSlotManager.getSlotCount();
+        long now = System.currentTimeMillis();
+        if (!taskGroupHolder.isExpired()
+                && taskGroupHolder.slot == slot
+                && taskGroupHolder.slotCount == slotCount
+                && now - taskGroupHolder.loadTime < masterConfig.getTaskGroupRefreshInterval().toMillis()) {
+            return;
+        }
+        int taskGroupId = taskGroupHolder.taskGroupId;
+        TaskGroup taskGroup = taskGroupMapper.selectById(taskGroupId);
+        taskGroupHolder.slot = slot;
+        taskGroupHolder.slotCount = slotCount;
+        taskGroupHolder.loadTime = now;
+        taskGroupHolder.expired = false;
+        if (taskGroup == null) {
+            taskGroupHolder.taskGroupState = null;
+            return;
+        }
+        taskGroupHolder.enabled = taskGroup.getStatus() == Flag.YES.getCode();
+        TaskGroupState taskGroupState =
+                new TaskGroupState(taskGroupId, taskGroup.getGroupSize(), taskGroup.getUseSize());
+        List<TaskGroupQueue> waitingTaskGroupQueues =
+                taskGroupQueueMapper.queryByGroupIdAndStatus(taskGroupId, TaskGroupQueueStatus.WAIT_QUEUE.getCode());
+        for (TaskGroupQueue taskGroupQueue : waitingTaskGroupQueues) {
+            if (taskGroupQueue.getForceStart() == Flag.YES.getCode()) {
+                continue;
+            }
+            TaskGroupWaiter previousWaiter = taskGroupHolder.taskGroupState == null
+                    ? null
+                    : taskGroupHolder.taskGroupState.removeWaiter(taskGroupQueue.getTaskId());
+            taskGroupState.addWaiter(new TaskGroupWaiter(
+                    taskGroupQueue.getId(),
+                    taskGroupQueue.getTaskId(),
+                    taskGroupQueue.getProcessId(),
+                    taskGroupQueue.getPriority(),
+                    previousWaiter == null ? null : previousWaiter.getWorkflowInstanceHost()));
+        }
+        taskGroupHolder.taskGroupState = taskGroupState;
+        log.debug("Loaded taskGroup: {}, useSize: {}, groupSize: {}, waitingSize: {}", taskGroupId,
+                taskGroupState.getUseSize(), taskGroupState.getGroupSize(), taskGroupState.getWaitingSize());
+        if (taskGroupHolder.enabled) {
+            // the group size may be increased
+            handOverFreePermits(taskGroupHolder, wakeupWaiters);
+        }
+    }
+
+    private void wakeupWaiter(TaskGroupWaiter taskGroupWaiter) {
+        wakeupTaskInstance(taskGroupWaiter.getWorkflowInstanceId(), taskGroupWaiter.getTaskInstanceId(),
+                taskGroupWaiter.getWorkflowInstanceHost());
+    }
+
+    private void wakeupTaskInstance(int workflowInstanceId, int taskInstanceId, String workflowInstanceHost) {
+        if (workflowInstanceHost == null) {
+            ProcessInstance workflowInstance = processInstanceDao.queryById(workflowInstanceId);
+            workflowInstanceHost = workflowInstance == null ? null : workflowInstance.getHost();
+        }
+        if (workflowInstanceHost == null) {
+            log.warn("Cannot find the host of the workflow instance, will not wake up the taskInstance: {}",
+                    taskInstanceId);
+            return;
+        }
+        try {
+            if (workflowInstanceHost.equals(masterConfig.getMasterAddress())) {
+                TaskStateEvent taskStateEvent = TaskStateEvent.builder()
+                        .processInstanceId(workflowInstanceId)
+                        .taskInstanceId(taskInstanceId)
+                        .type(StateEventType.WAKE_UP_TASK_GROUP)
+                        .build();
+                stateEventResponseService.addEvent2WorkflowExecute(taskStateEvent);
+            } else {
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(workflowInstanceHost, ILogicTaskInstanceOperator.class)
+                        .wakeupTaskInstance(new TaskInstanceWakeupRequest(workflowInstanceId, taskInstanceId));
+            }
+        } catch (Exception ex) {
+            // the task instance will be dispatched when the workflow instance is failover
+            log.warn("Wake up the taskInstance: {} on master: {} failed", taskInstanceId, workflowInstanceHost, ex);
+        }
+    }
+
+    private String getOwnerAddress(int taskGroupId) {
+        int slotCount = masterSlotManager.getSlotCount();
+        if (slotCount <= 0) {
+            return null;
+        }
+        return masterSlotManager.getMasterAddress(taskGroupId % slotCount);
+    }
+
+    private boolean acquireTaskGroupFromDB(TaskGroupAcquireRequest taskGroupAcquireRequest) {
+        return processService.acquireTaskGroup(
+                taskGroupAcquireRequest.getTaskInstanceId(),
+                taskGroupAcquireRequest.getTaskName(),
+                taskGroupAcquireRequest.getTaskGroupId(),
+                taskGroupAcquireRequest.getWorkflowInstanceId(),
+                taskGroupAcquireRequest.getTaskGroupPriority());
+    }
+
+    /**
+     * Release the task group in db like before the arbiter, the next waiting task instance is woken up to rob the
+     * released permit in db.
+     */
+    private void releaseTaskGroupInDB(int taskInstanceId) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstanceId);
+        if (taskInstance == null) {
+            return;
+        }
+        TaskInstance nextTaskInstance = processService.releaseTaskGroup(taskInstance);
+        if (nextTaskInstance == null) {
+            log.info("The taskInstance: {} is the last taskInstance in the taskGroup, no need to wake up others",
+                    taskInstanceId);
+            return;
+        }
+        wakeupTaskInstance(nextTaskInstance.getProcessInstanceId(), nextTaskInstance.getId(), null);
+    }
+
+    private void updateTaskGroupQueueStatus(TaskGroupQueue taskGroupQueue, TaskGroupQueueStatus status) {
+        taskGroupQueue.setStatus(status);
+        taskGroupQueue.setInQueue(Flag.NO.getCode());
+        taskGroupQueue.setUpdateTime(new Date());
+        taskGroupQueueMapper.updateById(taskGroupQueue);
+    }
+
+    private static class TaskGroupHolder {
+
+        private final int taskGroupId;
+
+        private TaskGroupState taskGroupState;
+
+        private boolean enabled;
+
+        private int slot = -1;
+
+        private int slotCount = -1;
+
+        private long loadTime;
+
+        private boolean expired = true;
+
+        private TaskGroupHolder(int taskGroupId) {
+            this.taskGroupId = taskGroupId;
+        }
+
+        private void expire() {
+            expired = true;
+        }
+
+        private boolean isExpired() {
+            return expired;
+        }
+    }
+}
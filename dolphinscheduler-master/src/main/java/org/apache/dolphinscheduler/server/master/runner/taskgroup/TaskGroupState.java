@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The in-memory state of a task group: the permits and the waiting task instances.
+ * <p>
+ * The waiters are ordered by priority desc and then by queue id asc, so the task instances with the same priority are
+ * woken up in the order they arrived. A new task instance can only take a free permit when it is ahead of all the
+ * waiters, and a released permit is handed over to the head waiter directly, so the waiters will not be starved by the
+ * new task instances.
+ * <p>
+ * This class is not thread-safe, the caller should hold the lock of the task group.
+ */
+public class TaskGroupState {
+
+    private static final Comparator<TaskGroupWaiter> WAITER_COMPARATOR =
+            Comparator.comparingInt(TaskGroupWaiter::getPriority).reversed()
+                    .thenComparingInt(TaskGroupWaiter::getQueueId);
+
+    private final int taskGroupId;
+
+    private int groupSize;
+
+    private int useSize;
+
+    private final PriorityQueue<TaskGroupWaiter> waiters = new PriorityQueue<>(WAITER_COMPARATOR);
+
+    private final Map<Integer, TaskGroupWaiter> waiterIndex = new HashMap<>();
+
+    public TaskGroupState(int taskGroupId, int groupSize, int useSize) {
+        this.taskGroupId = taskGroupId;
+        this.groupSize = groupSize;
+        this.useSize = useSize;
+    }
+
+    /**
+     * Take a permit for the task instance if there is a free permit and no waiter is ahead of it, otherwise the task
+     * instance will wait in the queue.
+     *
+     * @return true if the permit is taken
+     */
+    public boolean tryAcquire(TaskGroupWaiter candidate) {
+        TaskGroupWaiter head = waiters.peek();
+        boolean aheadOfWaiters = head == null
+                || head.getTaskInstanceId() == candidate.getTaskInstanceId()
+                || WAITER_COMPARATOR.compare(candidate, head) < 0;
+        if (hasAvailablePermit() && aheadOfWaiters) {
+            removeWaiter(candidate.getTaskInstanceId());
+            useSize++;
+            return true;
+        }
+        addWaiter(candidate);
+        return false;
+    }
+
+    /**
+     * Give back a permit, the caller should hand over the permit by {@link #pollWaiterForFreePermit()}.
+     */
+    public void release() {
+        if (useSize > 0) {
+            useSize--;
+        }
+    }
+
+    /**
+     * Take a free permit for the head waiter and remove it from the queue.
+     *
+     * @return the head waiter, or null if there is no free permit or no waiter
+     */
+    public TaskGroupWaiter pollWaiterForFreePermit() {
+        if (!hasAvailablePermit() || waiters.isEmpty()) {
+            return null;
+        }
+        TaskGroupWaiter waiter = waiters.poll();
+        waiterIndex.remove(waiter.getTaskInstanceId());
+        useSize++;
+        return waiter;
+    }
+
+    public void addWaiter(TaskGroupWaiter waiter) {
+        if (waiterIndex.putIfAbsent(waiter.getTaskInstanceId(), waiter) == null) {
+            waiters.add(waiter);
+        }
+    }
+
+    public TaskGroupWaiter removeWaiter(int taskInstanceId) {
+        TaskGroupWaiter waiter = waiterIndex.remove(taskInstanceId);
+        if (waiter != null) {
+            waiters.remove(waiter);
+        }
+        return waiter;
+    }
+
+    public boolean isWaiting(int taskInstanceId) {
+        return waiterIndex.containsKey(taskInstanceId);
+    }
+
+    public boolean hasAvailablePermit() {
+        return useSize < groupSize;
+    }
+
+    public int getTaskGroupId() {
+        return taskGroupId;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    public void setGroupSize(int groupSize) {
+        this.groupSize = groupSize;
+    }
+
+    public int getUseSize() {
+        return useSize;
+    }
+
+    public int getWaitingSize() {
+        return waiters.size();
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A task instance waiting in the queue of a task group.
+ */
+@Data
+@AllArgsConstructor
+public class TaskGroupWaiter {
+
+    /**
+     * The id of the task group queue record of the task instance.
+     */
+    private int queueId;
+
+    private int taskInstanceId;
+
+    private int workflowInstanceId;
+
+    private int priority;
+
+    /**
+     * The address of the master which executes the workflow instance, may be null if the waiter is loaded from db.
+     */
+    private String workflowInstanceHost;
+
+}
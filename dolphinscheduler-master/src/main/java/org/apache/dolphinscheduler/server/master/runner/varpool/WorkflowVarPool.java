@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.varpool;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The var pool of a workflow instance, the properties are kept by prop and direct, so merging the var pool of a task
+ * instance doesn't need to parse and serialize the whole var pool.
+ * <p>
+ * The var pool is only serialized by {@link #toJson()} when the workflow instance is persisted, the serialized string
+ * and the {@link #getProperties()} snapshot are reused until the var pool is changed. The var pools of the task
+ * instances are parsed once and cached, the downstream tasks get copies of them.
+ * <p>
+ * This class is not thread-safe, it should only be used by the workflow event thread.
+ */
+public class WorkflowVarPool {
+
+    private final Map<String, Map<Direct, Property>> properties = new LinkedHashMap<>();
+
+    private final Map<Integer, TaskVarPool> taskVarPools = new HashMap<>();
+
+    private String varPoolJson;
+
+    private boolean changed;
+
+    private List<Property> snapshot;
+
+    public WorkflowVarPool(String varPoolJson) {
+        this.varPoolJson = varPoolJson;
+        if (StringUtils.isNotEmpty(varPoolJson)) {
+            JSONUtils.toList(varPoolJson, Property.class).forEach(this::put);
+        }
+    }
+
+    /**
+     * Merge the var pool of a task instance, the properties with the same prop are replaced.
+     */
+    public void merge(Collection<Property> taskVarPool) {
+        if (taskVarPool.isEmpty()) {
+            return;
+        }
+        for (Property property : taskVarPool) {
+            properties.remove(property.getProp());
+        }
+        putAll(taskVarPool);
+    }
+
+    public void putAll(Collection<Property> taskVarPool) {
+        taskVarPool.forEach(this::put);
+        if (!taskVarPool.isEmpty()) {
+            markChanged();
+        }
+    }
+
+    public void removeProps(Set<String> props) {
+        for (String prop : props) {
+            if (properties.remove(prop) != null) {
+                markChanged();
+            }
+        }
+    }
+
+    public void removeIf(Predicate<Property> predicate) {
+        Iterator<Map<Direct, Property>> iterator = properties.values().iterator();
+        while (iterator.hasNext()) {
+            Map<Direct, Property> directProperties = iterator.next();
+            if (directProperties.values().removeIf(predicate)) {
+                markChanged();
+                if (directProperties.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the snapshot of the properties, the snapshot is not changed by the following changes of the var pool.
+     */
+    public List<Property> getProperties() {
+        if (snapshot == null) {
+            List<Property> propertyList = new ArrayList<>();
+            properties.values().forEach(directProperties -> propertyList.addAll(directProperties.values()));
+            snapshot = Collections.unmodifiableList(propertyList);
+        }
+        return snapshot;
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    /**
+     * Serialize the var pool, the original string is returned if the var pool is not changed.
+     */
+    public String toJson() {
+        if (changed) {
+            varPoolJson = JSONUtils.toJsonString(getProperties());
+            changed = false;
+        }
+        return varPoolJson;
+    }
+
+    /**
+     * Get the var pool of the task instance, the properties are copied so the caller can modify them.
+     */
+    public List<Property> getTaskVarPool(TaskInstance taskInstance) {
+        String taskVarPoolJson = taskInstance.getVarPool();
+        if (StringUtils.isEmpty(taskVarPoolJson)) {
+            return Collections.emptyList();
+        }
+        TaskVarPool taskVarPool = taskVarPools.get(taskInstance.getId());
+        if (taskVarPool == null || !Objects.equals(taskVarPool.varPoolJson, taskVarPoolJson)) {
+            taskVarPool = new TaskVarPool(taskVarPoolJson, JSONUtils.toList(taskVarPoolJson, Property.class));
+            if (taskInstance.getId() != null) {
+                taskVarPools.put(taskInstance.getId(), taskVarPool);
+            }
+        }
+        List<Property> copies = new ArrayList<>(taskVarPool.properties.size());
+        for (Property property : taskVarPool.properties) {
+            copies.add(new Property(property.getProp(), property.getDirect(), property.getType(),
+                    property.getValue()));
+        }
+        return copies;
+    }
+
+    private void put(Property property) {
+        properties.computeIfAbsent(property.getProp(), prop -> new LinkedHashMap<>(2))
+                .put(property.getDirect(), property);
+    }
+
+    private void markChanged() {
+        changed = true;
+        snapshot = null;
+    }
+
+    private static class TaskVarPool {
+
+        private final String varPoolJson;
+
+        private final List<Property> properties;
+
+        private TaskVarPool(String varPoolJson, List<Property> properties) {
+            this.varPoolJson = varPoolJson;
+            this.properties = properties;
+        }
+    }
+}
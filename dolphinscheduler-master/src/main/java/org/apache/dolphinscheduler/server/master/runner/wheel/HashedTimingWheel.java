@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.wheel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hashed timing wheel keyed by the element, each element is placed in the bucket of its deadline tick, the deadline
+ * which is beyond one wheel round is handled by the remaining rounds, so add and cancel are both O(1).
+ * <p>
+ * The wheel doesn't own a thread, the owner should call {@link #advance(long)} at {@link #getNextTickTime()} to
+ * collect the expired elements. An element is never expired before its deadline, and will be expired in one tick
+ * after its deadline if the owner advances the wheel in time.
+ *
+ * @param <K> the element type, should implement equals and hashCode
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+
+    private final long startTime;
+
+    private final int mask;
+
+    private final Bucket<K>[] wheel;
+
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    /**
+     * The next tick need to be processed, all the ticks before this tick have been processed.
+     */
+    private long currentTick = 0;
+
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel) {
+        this(tickMillis, ticksPerWheel, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel, long startTime) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than 0: " + tickMillis);
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be greater than 0: " + ticksPerWheel);
+        }
+        int wheelSize = normalizeTicksPerWheel(ticksPerWheel);
+        this.tickMillis = tickMillis;
+        this.startTime = startTime;
+        this.mask = wheelSize - 1;
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket<>();
+        }
+    }
+
+    /**
+     * Add an element which will be expired at the given deadline.
+     *
+     * @return false if the element is already in the wheel
+     */
+    public synchronized boolean add(K key, long deadline) {
+        if (timeouts.containsKey(key)) {
+            return false;
+        }
+        long deadlineTick = Math.max(ceilDiv(deadline - startTime, tickMillis), currentTick);
+        Timeout<K> timeout = new Timeout<>(key, (deadlineTick - currentTick) / wheel.length);
+        wheel[(int) (deadlineTick & mask)].add(timeout);
+        timeouts.put(key, timeout);
+        return true;
+    }
+
+    /**
+     * Cancel the element.
+     *
+     * @return false if the element is not in the wheel
+     */
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timeouts.containsKey(key);
+    }
+
+    /**
+     * Process all the ticks until the given time, and remove the expired elements from the wheel.
+     *
+     * @return the expired elements, in tick order
+     */
+    public synchronized List<K> advance(long now) {
+        if (timeouts.isEmpty()) {
+            // fast forward the empty wheel
+            currentTick = Math.max(currentTick, Math.floorDiv(now - startTime, tickMillis) + 1);
+            return Collections.emptyList();
+        }
+        List<K> expiredKeys = new ArrayList<>();
+        while (startTime + currentTick * tickMillis <= now) {
+            Bucket<K> bucket = wheel[(int) (currentTick & mask)];
+            Timeout<K> timeout = bucket.head;
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    bucket.remove(timeout);
+                    timeouts.remove(timeout.key);
+                    expiredKeys.add(timeout.key);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            currentTick++;
+        }
+        return expiredKeys;
+    }
+
+    /**
+     * Get the time when the next tick should be processed.
+     */
+    public synchronized long getNextTickTime() {
+        return startTime + currentTick * tickMillis;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    public synchronized void clear() {
+        for (Bucket<K> bucket : wheel) {
+            bucket.head = null;
+            bucket.tail = null;
+        }
+        timeouts.clear();
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private static int normalizeTicksPerWheel(int ticksPerWheel) {
+        int normalizedTicksPerWheel = 1;
+        while (normalizedTicksPerWheel < ticksPerWheel) {
+            normalizedTicksPerWheel <<= 1;
+        }
+        return normalizedTicksPerWheel;
+    }
+
+    private static class Timeout<K> {
+
+        private final K key;
+
+        private long remainingRounds;
+
+        private Bucket<K> bucket;
+
+        private Timeout<K> prev;
+
+        private Timeout<K> next;
+
+        Timeout(K key, long remainingRounds) {
+            this.key = key;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+
+    private static class Bucket<K> {
+
+        private Timeout<K> head;
+
+        private Timeout<K> tail;
+
+        void add(Timeout<K> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout<K> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
 import lombok.NonNull;
@@ -64,6 +65,7 @@ public class MasterHeartBeatTask extends BaseHeartBeatTask<MasterHeartBeat> {
                 .serverStatus(getServerStatus())
                 .host(NetUtils.getHost())
                 .port(masterConfig.getListenPort())
+                .commandNotifyEnabled(masterConfig.getCommandFetchStrategy() == CommandFetchStrategy.NOTIFY)
                 .build();
     }
 
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+
+public class LoadAwareSelectorTest {
+
+    private static final long START_TIME = System.currentTimeMillis() - 60 * 60 * 1000;
+
+    @Test
+    public void testInFlightDispatchesAreCounted() {
+        LoadAwareSelector selector = new LoadAwareSelector(0);
+        HostLoad idleHost = hostLoad("192.158.2.1:11", 0, 1);
+        HostLoad busyHost = hostLoad("192.158.2.2:22", 3, 1);
+        List<HostLoad> candidates = Arrays.asList(idleHost, busyHost);
+
+        // the idle host takes the tasks until the in-flight tasks make it as busy as the other one
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("192.158.2.1", select(selector, candidates).getIp());
+        }
+        Assertions.assertEquals(0.3, selector.getLoad(idleHost), 0.0001);
+        select(selector, candidates);
+        select(selector, candidates);
+        Assertions.assertEquals(0.4, selector.getLoad(idleHost), 0.0001);
+        Assertions.assertEquals(0.4, selector.getLoad(busyHost), 0.0001);
+    }
+
+    @Test
+    public void testInFlightDispatchesAreResetByNewerHeartbeat() {
+        LoadAwareSelector selector = new LoadAwareSelector(0);
+        List<HostLoad> candidates = Arrays.asList(hostLoad("192.158.2.1:11", 0, 1), hostLoad("192.158.2.2:22", 3, 1));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("192.158.2.1", select(selector, candidates).getIp());
+        }
+
+        // the heartbeat with the same report time doesn't contain the dispatched tasks
+        HostLoad sameHeartbeat = hostLoad("192.158.2.1:11", 0, 1);
+        Assertions.assertEquals(0.3, selector.getLoad(sameHeartbeat), 0.0001);
+
+        HostLoad newerHeartbeat = hostLoad("192.158.2.1:11", 0, 2);
+        Assertions.assertEquals(0, selector.getLoad(newerHeartbeat), 0.0001);
+        candidates = Arrays.asList(newerHeartbeat, hostLoad("192.158.2.2:22", 3, 1));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("192.158.2.1", select(selector, candidates).getIp());
+        }
+    }
+
+    @Test
+    public void testPreferHostWithResources() {
+        LoadAwareSelector selector = new LoadAwareSelector(0.35);
+        List<HostLoad> candidates = Arrays.asList(hostLoad("192.158.2.1:11", 0, 1), hostLoad("192.158.2.2:22", 0, 1));
+        Set<String> resources = Sets.newHashSet("/tenant/resources/a.jar");
+
+        String localHost = selector.select(candidates, resources).getHost().getAddress();
+        // the task without resources goes to the other host
+        Assertions.assertNotEquals(localHost, select(selector, candidates).getAddress());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(localHost, selector.select(candidates, resources).getHost().getAddress());
+        }
+        // the local host is busier than the other one by 0.4 now, more than the tolerance
+        Assertions.assertNotEquals(localHost, selector.select(candidates, resources).getHost().getAddress());
+    }
+
+    @Test
+    public void testIgnoreResourcesWithoutTolerance() {
+        LoadAwareSelector selector = new LoadAwareSelector(0);
+        List<HostLoad> candidates = Arrays.asList(hostLoad("192.158.2.1:11", 0, 1), hostLoad("192.158.2.2:22", 0, 1));
+        Set<String> resources = Sets.newHashSet("/tenant/resources/a.jar");
+
+        String firstHost = selector.select(candidates, resources).getHost().getAddress();
+        Assertions.assertNotEquals(firstHost, selector.select(candidates, resources).getHost().getAddress());
+    }
+
+    @Test
+    public void testSelectEmpty() {
+        LoadAwareSelector selector = new LoadAwareSelector(0.5);
+        Assertions.assertNull(selector.select(Collections.emptyList(), Collections.emptySet()));
+    }
+
+    private HostLoad hostLoad(String address, int waitingTaskCount, long reportTime) {
+        HostWeight hostWeight =
+                new HostWeight(HostWorker.of(address, 100, "default"), 0, 0, 0, waitingTaskCount, START_TIME);
+        return new HostLoad(hostWeight, 10, reportTime);
+    }
+
+    private HostWorker select(LoadAwareSelector selector, List<HostLoad> candidates) {
+        return selector.select(candidates, Collections.emptySet()).getHostWorker();
+    }
+}
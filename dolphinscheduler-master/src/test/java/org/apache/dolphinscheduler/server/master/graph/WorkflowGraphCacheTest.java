@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.graph;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class WorkflowGraphCacheTest {
+
+    private ProcessService processService;
+
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    void setUp() {
+        processService = Mockito.mock(ProcessService.class);
+        taskDefinitionLogDao = Mockito.mock(TaskDefinitionLogDao.class);
+        masterConfig = new MasterConfig();
+        Mockito.when(processService.findRelationByCode(anyLong(), anyInt())).thenReturn(Collections.emptyList());
+        Mockito.when(taskDefinitionLogDao.queryTaskDefineLogList(any())).thenReturn(Collections.emptyList());
+        // a chain of three tasks: 1 -> 2 -> 3
+        Mockito.when(processService.transformTask(any(), any()))
+                .thenAnswer(invocation -> createTaskNodeChain(3));
+    }
+
+    @Test
+    void testGetWorkflowGraphFromCache() throws Exception {
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowGraph workflowGraph = workflowGraphCache.getWorkflowGraph(1L, 1);
+        Assertions.assertEquals(3, workflowGraph.getDag().getNodesCount());
+        Assertions.assertEquals(2, workflowGraph.getDag().getEdgesCount());
+        Assertions.assertSame(workflowGraph, workflowGraphCache.getWorkflowGraph(1L, 1));
+        Mockito.verify(processService, Mockito.times(1)).transformTask(any(), any());
+
+        // a new version should be compiled again
+        Assertions.assertNotSame(workflowGraph, workflowGraphCache.getWorkflowGraph(1L, 2));
+        Mockito.verify(processService, Mockito.times(2)).transformTask(any(), any());
+
+        Assertions.assertEquals(1, workflowGraphCache.getStats().hitCount());
+        Assertions.assertEquals(2, workflowGraphCache.getStats().missCount());
+    }
+
+    @Test
+    void testGetWorkflowGraphAfterTaskDefinitionFlagChanged() throws Exception {
+        TaskDefinitionLog taskDefinitionLog = new TaskDefinitionLog();
+        taskDefinitionLog.setCode(1L);
+        taskDefinitionLog.setVersion(1);
+        taskDefinitionLog.setFlag(Flag.YES);
+        Mockito.when(taskDefinitionLogDao.queryTaskDefineLogList(any()))
+                .thenAnswer(invocation -> Collections.singletonList(copy(taskDefinitionLog)));
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowGraph workflowGraph = workflowGraphCache.getWorkflowGraph(1L, 1);
+        Assertions.assertSame(workflowGraph, workflowGraphCache.getWorkflowGraph(1L, 1));
+
+        // the task definition is set offline, the flag of the task definition log is updated in place
+        taskDefinitionLog.setFlag(Flag.NO);
+        WorkflowGraph offlineWorkflowGraph = workflowGraphCache.getWorkflowGraph(1L, 1);
+        Assertions.assertNotSame(workflowGraph, offlineWorkflowGraph);
+        Assertions.assertSame(offlineWorkflowGraph, workflowGraphCache.getWorkflowGraph(1L, 1));
+        Mockito.verify(processService, Mockito.times(2)).transformTask(any(), any());
+    }
+
+    @Test
+    void testGetWorkflowGraphLargerThanMaxWeight() throws Exception {
+        masterConfig.setWorkflowGraphCacheMaxWeight(4);
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(processService, taskDefinitionLogDao, masterConfig);
+
+        WorkflowGraph workflowGraph = workflowGraphCache.getWorkflowGraph(1L, 1);
+        Assertions.assertNotSame(workflowGraph, workflowGraphCache.getWorkflowGraph(1L, 1));
+        Mockito.verify(processService, Mockito.times(2)).transformTask(any(), any());
+    }
+
+    @Test
+    void testGetWorkflowGraphOfEmptyWorkflow() {
+        Mockito.when(processService.transformTask(any(), any())).thenReturn(new ArrayList<>());
+        WorkflowGraphCache workflowGraphCache =
+                new WorkflowGraphCache(processService, taskDefinitionLogDao, masterConfig);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> workflowGraphCache.getWorkflowGraph(1L, 1));
+    }
+
+    private TaskDefinitionLog copy(TaskDefinitionLog taskDefinitionLog) {
+        TaskDefinitionLog copied = new TaskDefinitionLog();
+        copied.setCode(taskDefinitionLog.getCode());
+        copied.setVersion(taskDefinitionLog.getVersion());
+        copied.setFlag(taskDefinitionLog.getFlag());
+        return copied;
+    }
+
+    private List<TaskNode> createTaskNodeChain(int size) {
+        List<TaskNode> taskNodes = new ArrayList<>();
+        for (long code = 1; code <= size; code++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(code);
+            taskNode.setName("task-" + code);
+            taskNode.setPreTasks(code == 1 ? "[]" : "[" + (code - 1) + "]");
+            taskNodes.add(taskNode);
+        }
+        return taskNodes;
+    }
+}
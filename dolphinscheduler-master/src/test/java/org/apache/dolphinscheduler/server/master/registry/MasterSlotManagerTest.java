@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.registry;
 
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlot;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
 import java.util.HashMap;
@@ -67,6 +68,7 @@ public class MasterSlotManagerTest {
         sendHeartBeat(ServerStatus.NORMAL, ServerStatus.NORMAL);
         Assertions.assertEquals(2, masterSlotManager.getMasterSize());
         Assertions.assertEquals(0, masterSlotManager.getSlot());
+        Assertions.assertEquals(new SchedulerSlot(0, 2), masterSlotManager.getSchedulerSlot());
     }
 
     public void sendHeartBeat(ServerStatus serverStatus1, ServerStatus serverStatus2) {
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.rpc;
+
+import org.apache.dolphinscheduler.extract.base.utils.MethodIdentifierUtils;
+import org.apache.dolphinscheduler.extract.master.ILogicTaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The identifiers of the rpc methods which are async now must be the same as the sync version, otherwise the master
+ * and the worker of different versions cannot find each other's method.
+ */
+public class RpcMethodIdentifierTest {
+
+    @Test
+    public void testDispatchTaskIdentifier() throws NoSuchMethodException {
+        Assertions.assertEquals(
+                "public abstract org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse "
+                        + "org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator.dispatchTask("
+                        + "org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest)",
+                MethodIdentifierUtils.getMethodIdentifier(
+                        ITaskInstanceOperator.class.getMethod("dispatchTask", TaskInstanceDispatchRequest.class)));
+    }
+
+    @Test
+    public void testDispatchLogicTaskIdentifier() throws NoSuchMethodException {
+        Assertions.assertEquals(
+                "public abstract org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchResponse "
+                        + "org.apache.dolphinscheduler.extract.master.ILogicTaskInstanceOperator.dispatchLogicTask("
+                        + "org.apache.dolphinscheduler.extract.master.transportor.LogicTaskDispatchRequest)",
+                MethodIdentifierUtils.getMethodIdentifier(ILogicTaskInstanceOperator.class
+                        .getMethod("dispatchLogicTask", LogicTaskDispatchRequest.class)));
+    }
+
+    @Test
+    public void testTaskInstanceExecutionEventIdentifier() throws NoSuchMethodException {
+        Assertions.assertEquals(
+                "public abstract void "
+                        + "org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener"
+                        + ".onTaskInstanceExecutionRunning("
+                        + "org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent)",
+                MethodIdentifierUtils.getMethodIdentifier(ITaskInstanceExecutionEventListener.class
+                        .getMethod("onTaskInstanceExecutionRunning", TaskInstanceExecutionRunningEvent.class)));
+        Assertions.assertEquals(
+                "public abstract void "
+                        + "org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener"
+                        + ".onTaskInstanceExecutionFinish("
+                        + "org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent)",
+                MethodIdentifierUtils.getMethodIdentifier(ITaskInstanceExecutionEventListener.class
+                        .getMethod("onTaskInstanceExecutionFinish", TaskInstanceExecutionFinishEvent.class)));
+        Assertions.assertEquals(
+                "public abstract void "
+                        + "org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener"
+                        + ".onTaskInstanceExecutionInfoUpdate("
+                        + "org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent)",
+                MethodIdentifierUtils.getMethodIdentifier(ITaskInstanceExecutionEventListener.class
+                        .getMethod("onTaskInstanceExecutionInfoUpdate", TaskInstanceExecutionInfoEvent.class)));
+    }
+}
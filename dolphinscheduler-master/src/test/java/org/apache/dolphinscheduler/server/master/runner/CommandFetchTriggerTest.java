@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CommandFetchTriggerTest {
+
+    @InjectMocks
+    private CommandFetchTrigger commandFetchTrigger;
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    @Test
+    void testWakeupByCommandInCurrentSlot() throws InterruptedException {
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(1);
+
+        commandFetchTrigger.onCommandCreated(1, Collections.singletonList(CommandSlotUtils.COMMAND_SLOT_SIZE - 1));
+        commandFetchTrigger.onCommandCreated(3, Arrays.asList(0, CommandSlotUtils.COMMAND_SLOT_SIZE / 2));
+        Assertions.assertTrue(commandFetchTrigger.await(1, TimeUnit.SECONDS));
+        // the events are merged into one wakeup
+        Assertions.assertFalse(commandFetchTrigger.await(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testIgnoreCommandInOtherSlot() throws InterruptedException {
+        Mockito.when(masterSlotManager.getMasterSize()).thenReturn(2);
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(1);
+
+        commandFetchTrigger.onCommandCreated(2, Arrays.asList(0, CommandSlotUtils.COMMAND_SLOT_SIZE / 2 - 1));
+        Assertions.assertFalse(commandFetchTrigger.await(10, TimeUnit.MILLISECONDS));
+    }
+
+}
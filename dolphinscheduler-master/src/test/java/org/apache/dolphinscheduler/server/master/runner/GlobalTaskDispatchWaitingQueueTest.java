@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.operator.TaskExecuteRunnableOperatorManager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class GlobalTaskDispatchWaitingQueueTest {
+
+    private final GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+
+    @Test
+    void testTakeByPriority() throws InterruptedException {
+        DefaultTaskExecuteRunnable lowPriorityTask = createTaskExecuteRunnable(1, Priority.LOW);
+        DefaultTaskExecuteRunnable highPriorityTask = createTaskExecuteRunnable(2, Priority.HIGH);
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(lowPriorityTask);
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(highPriorityTask);
+
+        Assertions.assertEquals(2, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
+        Assertions.assertSame(highPriorityTask, globalTaskDispatchWaitingQueue.takeNeedToDispatchTaskExecuteRunnable());
+        Assertions.assertSame(lowPriorityTask, globalTaskDispatchWaitingQueue.takeNeedToDispatchTaskExecuteRunnable());
+    }
+
+    @Test
+    void testDelayedTaskNotBlockOthers() throws InterruptedException {
+        DefaultTaskExecuteRunnable delayedTask = createTaskExecuteRunnable(1, Priority.HIGHEST);
+        DefaultTaskExecuteRunnable readyTask = createTaskExecuteRunnable(2, Priority.LOWEST);
+        long startTime = System.currentTimeMillis();
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(delayedTask, 200);
+        globalTaskDispatchWaitingQueue.submitNeedToDispatchTaskExecuteRunnable(readyTask);
+
+        Assertions.assertEquals(2, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
+        Assertions.assertSame(readyTask, globalTaskDispatchWaitingQueue.takeNeedToDispatchTaskExecuteRunnable());
+        Assertions.assertSame(delayedTask, globalTaskDispatchWaitingQueue.takeNeedToDispatchTaskExecuteRunnable());
+        Assertions.assertTrue(System.currentTimeMillis() - startTime >= 200);
+    }
+
+    private DefaultTaskExecuteRunnable createTaskExecuteRunnable(int taskInstanceId, Priority priority) {
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setId(1);
+        workflowInstance.setProcessInstancePriority(Priority.MEDIUM);
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setTaskInstancePriority(priority);
+        return new DefaultTaskExecuteRunnable(workflowInstance, taskInstance, new TaskExecutionContext(),
+                new TaskExecuteRunnableOperatorManager());
+    }
+}
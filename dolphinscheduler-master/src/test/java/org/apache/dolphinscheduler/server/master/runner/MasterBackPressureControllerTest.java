@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MasterBackPressureControllerTest {
+
+    @InjectMocks
+    private MasterBackPressureController masterBackPressureController;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private WorkflowEventQueue workflowEventQueue;
+
+    @Mock
+    private WorkflowStateEventBacklog workflowStateEventBacklog;
+
+    @Mock
+    private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
+
+    @Mock
+    private GlobalTaskDispatchWaitingQueueLooper globalTaskDispatchWaitingQueueLooper;
+
+    @BeforeEach
+    void before() {
+        Mockito.when(masterConfig.getMaxWorkflowEventQueueSize()).thenReturn(100);
+        Mockito.when(masterConfig.getMaxWorkflowStateEventBacklog()).thenReturn(100);
+        Mockito.when(masterConfig.getMaxTaskDispatchWaitingQueueSize()).thenReturn(100);
+    }
+
+    @Test
+    void testNoPressure() {
+        Mockito.when(workflowEventQueue.getWorkflowEventQueueSize()).thenReturn(10);
+        Assertions.assertEquals(10, masterBackPressureController.getAvailableFetchSize(10));
+    }
+
+    @Test
+    void testShrinkFetchSize() {
+        Mockito.when(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).thenReturn(75);
+        Assertions.assertEquals(5, masterBackPressureController.getAvailableFetchSize(10));
+    }
+
+    @Test
+    void testStopFetch() {
+        Mockito.when(workflowStateEventBacklog.get()).thenReturn(100L);
+        Assertions.assertEquals(0, masterBackPressureController.getAvailableFetchSize(10));
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandleException;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventHandler;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkflowEventLooperTest {
+
+    @InjectMocks
+    private WorkflowEventLooper workflowEventLooper;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Spy
+    private WorkflowEventQueue workflowEventQueue = new WorkflowEventQueue(new MasterConfig());
+
+    @Spy
+    private List<WorkflowEventHandler> workflowEventHandlerList = new ArrayList<>();
+
+    private final List<WorkflowEvent> handledEvents = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicBoolean failFirstEvent = new AtomicBoolean(true);
+
+    @BeforeEach
+    void before() {
+        Mockito.when(masterConfig.getWorkflowEventMaxRetryInterval()).thenReturn(Duration.ofMillis(100));
+        workflowEventHandlerList.add(new WorkflowEventHandler() {
+
+            @Override
+            public void handleWorkflowEvent(WorkflowEvent workflowEvent) throws WorkflowEventHandleException {
+                if (workflowEvent.getWorkflowInstanceId() == 1 && failFirstEvent.compareAndSet(true, false)) {
+                    throw new WorkflowEventHandleException("Mock handle failed");
+                }
+                handledEvents.add(workflowEvent);
+            }
+
+            @Override
+            public WorkflowEventType getHandleWorkflowEventType() {
+                return WorkflowEventType.START_WORKFLOW;
+            }
+        });
+        workflowEventLooper.init();
+        workflowEventLooper.start();
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        workflowEventLooper.close();
+    }
+
+    @Test
+    void testRetryFailedEventInOrder() throws InterruptedException {
+        WorkflowEvent firstEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent secondEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        WorkflowEvent otherWorkflowEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 2);
+        workflowEventQueue.addEvent(firstEvent);
+        workflowEventQueue.addEvent(secondEvent);
+        workflowEventQueue.addEvent(otherWorkflowEvent);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (handledEvents.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(3, handledEvents.size());
+        // the other workflow is not blocked by the failed event
+        Assertions.assertSame(otherWorkflowEvent, handledEvents.get(0));
+        // the second event is held until the first one is retried
+        Assertions.assertSame(firstEvent, handledEvents.get(1));
+        Assertions.assertSame(secondEvent, handledEvents.get(2));
+        Assertions.assertEquals(1, firstEvent.getRetryTimes());
+    }
+
+    @Test
+    void testDropPendingRetryWhenQueueCleared() throws InterruptedException {
+        WorkflowEvent failedEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        workflowEventQueue.addEvent(failedEvent);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (failedEvent.getRetryTimes() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertEquals(1, failedEvent.getRetryTimes());
+
+        // the retry is pending now
+        workflowEventQueue.clearWorkflowEventQueue();
+        WorkflowEvent newEvent = new WorkflowEvent(WorkflowEventType.START_WORKFLOW, 1);
+        workflowEventQueue.addEvent(newEvent);
+
+        // wait for the retry backoff
+        Thread.sleep(500);
+        Assertions.assertEquals(Collections.singletonList(newEvent), handledEvents);
+        Assertions.assertEquals(0, workflowEventQueue.getWorkflowEventQueueSize());
+    }
+}
@@ -24,6 +24,7 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ProcessExecutionTypeEnum;
+import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
@@ -37,9 +38,12 @@ import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.graph.IWorkflowGraph;
 import org.apache.dolphinscheduler.server.master.runner.execute.DefaultTaskExecuteRunnableFactory;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.task.dependent.DependentUpstreamFinishedNotifier;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupArbiter;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.command.CommandService;
@@ -102,6 +106,8 @@ public class WorkflowExecuteRunnableTest {
 
     private WorkflowExecuteContextFactory workflowExecuteContextFactory;
 
+    private WorkflowStateEventBacklog workflowStateEventBacklog;
+
     @BeforeEach
     public void init() throws Exception {
         applicationContext = Mockito.mock(ApplicationContext.class);
@@ -117,6 +123,7 @@ public class WorkflowExecuteRunnableTest {
         taskDefinitionLogDao = Mockito.mock(TaskDefinitionLogDao.class);
         defaultTaskExecuteRunnableFactory = Mockito.mock(DefaultTaskExecuteRunnableFactory.class);
         workflowExecuteContextFactory = Mockito.mock(WorkflowExecuteContextFactory.class);
+        workflowStateEventBacklog = new WorkflowStateEventBacklog();
 
         Map<String, String> cmdParam = new HashMap<>();
         cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_START_DATE, "2020-01-01 00:00:00");
@@ -146,7 +153,37 @@ public class WorkflowExecuteRunnableTest {
                         stateWheelExecuteThread,
                         curingGlobalParamsService,
                         taskInstanceDao,
-                        defaultTaskExecuteRunnableFactory));
+                        defaultTaskExecuteRunnableFactory,
+                        Mockito.mock(WorkflowExecuteThreadPool.class),
+                        Mockito.mock(DependentUpstreamFinishedNotifier.class),
+                        Mockito.mock(TaskGroupArbiter.class),
+                        workflowStateEventBacklog));
+    }
+
+    @Test
+    public void testStateEventBacklog() {
+        Mockito.when(processInstance.getId()).thenReturn(1);
+        TaskStateEvent taskStateEvent = TaskStateEvent.builder()
+                .processInstanceId(1)
+                .taskInstanceId(1)
+                .type(StateEventType.TASK_STATE_CHANGE)
+                .build();
+        Assertions.assertTrue(workflowExecuteThread.addStateEvent(taskStateEvent));
+        Assertions.assertTrue(workflowExecuteThread.addStateEvent(taskStateEvent));
+        Assertions.assertEquals(2, workflowExecuteThread.eventSize());
+        Assertions.assertEquals(2, workflowStateEventBacklog.get());
+
+        // the event of other workflow is abandoned
+        Assertions.assertFalse(workflowExecuteThread.addStateEvent(TaskStateEvent.builder()
+                .processInstanceId(2)
+                .taskInstanceId(1)
+                .type(StateEventType.TASK_STATE_CHANGE)
+                .build()));
+        Assertions.assertEquals(2, workflowStateEventBacklog.get());
+
+        workflowExecuteThread.clearStateEvents();
+        Assertions.assertEquals(0, workflowExecuteThread.eventSize());
+        Assertions.assertEquals(0, workflowStateEventBacklog.get());
     }
 
     @Test
@@ -17,19 +17,27 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.exception.TaskDispatchRejectedException;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.server.master.runner.execute.TaskExecuteRunnable;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -41,7 +49,8 @@ public class WorkerTaskDispatcherTest {
         TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
         MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
         HostManager hostManager = Mockito.mock(HostManager.class);
-        Mockito.when(hostManager.select(Mockito.any())).thenReturn(Optional.of(Host.of("localhost:1234")));
+        Mockito.when(hostManager.select(Mockito.any(TaskExecutionContext.class)))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
         WorkerTaskDispatcher workerTaskDispatcher =
                 new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
 
@@ -50,4 +59,78 @@ public class WorkerTaskDispatcherTest {
         Optional<Host> taskInstanceDispatchHost = workerTaskDispatcher.getTaskInstanceDispatchHost(taskExecuteRunnable);
         Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
     }
+
+    @Test
+    public void testDispatchRejectedWhenHostBusy() throws Exception {
+        TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
+        MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
+        Mockito.when(masterConfig.getDispatchTaskHostParallelism()).thenReturn(1);
+        HostManager hostManager = Mockito.mock(HostManager.class);
+        Mockito.when(hostManager.select(Mockito.any(TaskExecutionContext.class)))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
+
+        TaskExecuteRunnable taskExecuteRunnable = Mockito.mock(TaskExecuteRunnable.class);
+        Mockito.when(taskExecuteRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
+        Mockito.when(taskExecuteRunnable.getTaskInstance()).thenReturn(new TaskInstance());
+        CompletableFuture<TaskInstanceDispatchResponse> dispatchResponse = new CompletableFuture<>();
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        Mockito.when(taskInstanceOperator.dispatchTask(Mockito.any())).thenReturn(dispatchResponse);
+
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> mockedProxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockedProxyFactory.when(() -> SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(
+                    "localhost:1234", ITaskInstanceOperator.class)).thenReturn(taskInstanceOperator);
+
+            CompletableFuture<Void> dispatchingFuture = workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable);
+            Assertions.assertFalse(dispatchingFuture.isDone());
+
+            ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+                    () -> workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable).get());
+            Assertions.assertInstanceOf(TaskDispatchRejectedException.class, executionException.getCause());
+
+            dispatchResponse.complete(TaskInstanceDispatchResponse.success(1));
+            Assertions.assertDoesNotThrow(() -> dispatchingFuture.get());
+            Assertions.assertDoesNotThrow(() -> workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable).get());
+        }
+    }
+
+    @Test
+    public void testDispatchNotLimitedWhenHostParallelismNotSet() throws Exception {
+        TaskEventService taskEventService = Mockito.mock(TaskEventService.class);
+        MasterConfig masterConfig = Mockito.mock(MasterConfig.class);
+        Mockito.when(masterConfig.getDispatchTaskHostParallelism()).thenReturn(0);
+        HostManager hostManager = Mockito.mock(HostManager.class);
+        Mockito.when(hostManager.select(Mockito.any(TaskExecutionContext.class)))
+                .thenReturn(Optional.of(Host.of("localhost:1234")));
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(taskEventService, masterConfig, hostManager);
+
+        TaskExecuteRunnable taskExecuteRunnable = Mockito.mock(TaskExecuteRunnable.class);
+        Mockito.when(taskExecuteRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
+        Mockito.when(taskExecuteRunnable.getTaskInstance()).thenReturn(new TaskInstance());
+        CompletableFuture<TaskInstanceDispatchResponse> dispatchResponse = new CompletableFuture<>();
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        Mockito.when(taskInstanceOperator.dispatchTask(Mockito.any())).thenReturn(dispatchResponse);
+
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> mockedProxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockedProxyFactory.when(() -> SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(
+                    "localhost:1234", ITaskInstanceOperator.class)).thenReturn(taskInstanceOperator);
+
+            CompletableFuture<Void> firstDispatchingFuture =
+                    workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable);
+            CompletableFuture<Void> secondDispatchingFuture =
+                    workerTaskDispatcher.dispatchTaskAsync(taskExecuteRunnable);
+            Assertions.assertFalse(firstDispatchingFuture.isDone());
+            Assertions.assertFalse(secondDispatchingFuture.isDone());
+
+            dispatchResponse.complete(TaskInstanceDispatchResponse.success(1));
+            Assertions.assertDoesNotThrow(() -> firstDispatchingFuture.get());
+            Assertions.assertDoesNotThrow(() -> secondDispatchingFuture.get());
+        }
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.dependent;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.extract.master.transportor.DependentUpstreamFinishedEvent;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncMasterTaskDelayQueue;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskCallbackFunction;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecutionContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.NonNull;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DependentResolutionIndexTest {
+
+    private final DependentResolutionIndex dependentResolutionIndex = new DependentResolutionIndex();
+
+    @Test
+    void testWakeUpThousandsOfDependentTasks() throws InterruptedException {
+        int dependentTaskCount = 5000;
+        int upstreamWorkflowCount = 100;
+        Date now = new Date();
+        List<DateInterval> today = DependentUtils.getDateIntervalList(now, "today");
+
+        AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue = new AsyncMasterTaskDelayQueue();
+        List<AsyncTaskExecutionContext> asyncTaskExecutionContexts = new ArrayList<>();
+        for (int i = 0; i < dependentTaskCount; i++) {
+            AsyncTaskExecutionContext asyncTaskExecutionContext = new AsyncTaskExecutionContext(
+                    TaskExecutionContext.builder().taskInstanceId(i).build(),
+                    new WaitingAsyncTaskExecuteFunction(),
+                    Mockito.mock(AsyncTaskCallbackFunction.class));
+            asyncTaskExecutionContexts.add(asyncTaskExecutionContext);
+            dependentResolutionIndex.register(i,
+                    Collections.singletonList(new DependentResolutionIndex.DependentWaitingItem(
+                            i % upstreamWorkflowCount, Constants.DEPENDENT_WORKFLOW_CODE, today)),
+                    () -> asyncMasterTaskDelayQueue.wakeUpAsyncTask(asyncTaskExecutionContext));
+            // the first check is executed immediately, then the task waits for the check interval
+            asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+            asyncMasterTaskDelayQueue.pollAsyncTask();
+            asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        }
+        Assertions.assertEquals(dependentTaskCount, dependentResolutionIndex.getWaitingDependentTaskCount());
+
+        long startTime = System.currentTimeMillis();
+        int triggeredCount = 0;
+        for (int upstreamWorkflowCode = 0; upstreamWorkflowCode < 10; upstreamWorkflowCode++) {
+            triggeredCount += dependentResolutionIndex.onUpstreamFinished(new DependentUpstreamFinishedEvent(
+                    upstreamWorkflowCode, Constants.DEPENDENT_WORKFLOW_CODE,
+                    Collections.singletonList(now.getTime())));
+        }
+        long costTime = System.currentTimeMillis() - startTime;
+
+        Assertions.assertEquals(dependentTaskCount / 10, triggeredCount);
+        for (int i = 0; i < dependentTaskCount; i++) {
+            boolean shouldBeWokenUp = i % upstreamWorkflowCount < 10;
+            Assertions.assertEquals(shouldBeWokenUp,
+                    asyncTaskExecutionContexts.get(i).getDelay(TimeUnit.MILLISECONDS) <= 0);
+        }
+        Assertions.assertEquals(dependentTaskCount, asyncMasterTaskDelayQueue.getAsyncTaskRunningNum());
+        Assertions.assertTrue(costTime < TimeUnit.SECONDS.toMillis(10),
+                "Wake up " + triggeredCount + " dependent tasks cost " + costTime + "ms");
+    }
+
+    @Test
+    void testOnlyWakeUpMatchedDependentItem() {
+        Date now = new Date();
+        AtomicInteger triggeredTimes = new AtomicInteger();
+        dependentResolutionIndex.register(1,
+                Collections.singletonList(new DependentResolutionIndex.DependentWaitingItem(1L, 10L,
+                        DependentUtils.getDateIntervalList(now, "today"))),
+                triggeredTimes::incrementAndGet);
+
+        // other task of the upstream workflow
+        dependentResolutionIndex.onUpstreamFinished(
+                new DependentUpstreamFinishedEvent(1L, 11L, Collections.singletonList(now.getTime())));
+        // other upstream workflow
+        dependentResolutionIndex.onUpstreamFinished(new DependentUpstreamFinishedEvent(2L,
+                Constants.DEPENDENT_WORKFLOW_CODE, Collections.singletonList(now.getTime())));
+        // not in the date interval
+        dependentResolutionIndex.onUpstreamFinished(new DependentUpstreamFinishedEvent(1L, 10L,
+                Collections.singletonList(now.getTime() - Duration.ofDays(2).toMillis())));
+        Assertions.assertEquals(0, triggeredTimes.get());
+
+        dependentResolutionIndex.onUpstreamFinished(
+                new DependentUpstreamFinishedEvent(1L, 10L, Collections.singletonList(now.getTime())));
+        Assertions.assertEquals(1, triggeredTimes.get());
+        // the finished workflow may resolve the single task item, e.g. the task is not executed
+        dependentResolutionIndex.onUpstreamFinished(new DependentUpstreamFinishedEvent(1L,
+                Constants.DEPENDENT_WORKFLOW_CODE, Collections.singletonList(now.getTime())));
+        Assertions.assertEquals(2, triggeredTimes.get());
+
+        dependentResolutionIndex.unregister(1);
+        dependentResolutionIndex.onUpstreamFinished(
+                new DependentUpstreamFinishedEvent(1L, 10L, Collections.singletonList(now.getTime())));
+        Assertions.assertEquals(2, triggeredTimes.get());
+        Assertions.assertEquals(0, dependentResolutionIndex.getWaitingDependentTaskCount());
+    }
+
+    @Test
+    void testWakeUpDependentTaskBeingChecked() throws InterruptedException {
+        AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue = new AsyncMasterTaskDelayQueue();
+        AsyncTaskExecutionContext asyncTaskExecutionContext = new AsyncTaskExecutionContext(
+                TaskExecutionContext.builder().taskInstanceId(1).build(),
+                new WaitingAsyncTaskExecuteFunction(),
+                Mockito.mock(AsyncTaskCallbackFunction.class));
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        asyncMasterTaskDelayQueue.pollAsyncTask();
+
+        // the upstream is finished when the task state is being checked
+        asyncMasterTaskDelayQueue.wakeUpAsyncTask(asyncTaskExecutionContext);
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.MILLISECONDS) <= 0);
+
+        asyncMasterTaskDelayQueue.pollAsyncTask();
+        asyncMasterTaskDelayQueue.addAsyncTask(asyncTaskExecutionContext);
+        Assertions.assertTrue(asyncTaskExecutionContext.getDelay(TimeUnit.MILLISECONDS) > 0);
+    }
+
+    private static class WaitingAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction {
+
+        @Override
+        public @NonNull AsyncTaskExecutionStatus getAsyncTaskExecutionStatus() {
+            return AsyncTaskExecutionStatus.RUNNING;
+        }
+
+        @Override
+        public @NonNull Duration getAsyncTaskStateCheckInterval() {
+            return Duration.ofMinutes(1);
+        }
+    }
+}
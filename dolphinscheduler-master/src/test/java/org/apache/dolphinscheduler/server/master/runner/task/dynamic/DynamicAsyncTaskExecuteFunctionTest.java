@@ -21,8 +21,8 @@ import static org.apache.dolphinscheduler.server.master.runner.execute.AsyncTask
 
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
 import java.util.Arrays;
@@ -49,7 +49,7 @@ class DynamicAsyncTaskExecuteFunctionTest {
     private SubWorkflowService subWorkflowService;
 
     @Mock
-    private CommandMapper commandMapper;
+    private CommandService commandService;
 
     @Mock
     private DynamicLogicTask dynamicLogicTask;
@@ -69,7 +69,7 @@ class DynamicAsyncTaskExecuteFunctionTest {
                 processInstance,
                 taskInstance,
                 dynamicLogicTask,
-                commandMapper,
+                commandService,
                 subWorkflowService,
                 0);
     }
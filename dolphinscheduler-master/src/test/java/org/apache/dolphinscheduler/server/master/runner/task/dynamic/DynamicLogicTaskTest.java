@@ -20,13 +20,13 @@ package org.apache.dolphinscheduler.server.master.runner.task.dynamic;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.DynamicInputParameter;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -64,7 +64,7 @@ class DynamicLogicTaskTest {
     private ProcessDefinitionMapper processDefineMapper;
 
     @Mock
-    private CommandMapper commandMapper;
+    private CommandService commandService;
 
     private DynamicParameters dynamicParameters;
 
@@ -91,7 +91,7 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandService);
     }
 
     @Test
@@ -122,7 +122,7 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandService);
 
         List<Map<String, String>> parameterGroup = dynamicLogicTask.generateParameterGroup();
 
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupAcquireRequest;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskGroupReleaseRequest;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.StateEventResponseService;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskGroupArbiterTest {
+
+    private static final String MASTER_ADDRESS = "127.0.0.1:5678";
+
+    private static final int TASK_GROUP_ID = 1;
+
+    @InjectMocks
+    private TaskGroupArbiter taskGroupArbiter;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    @Mock
+    private TaskGroupMapper taskGroupMapper;
+
+    @Mock
+    private TaskGroupQueueMapper taskGroupQueueMapper;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private ProcessInstanceDao processInstanceDao;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private StateEventResponseService stateEventResponseService;
+
+    private final Map<Integer, TaskGroupQueue> taskGroupQueues = new HashMap<>();
+
+    private TaskGroup taskGroup;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(masterConfig.getMasterAddress()).thenReturn(MASTER_ADDRESS);
+        Mockito.when(masterConfig.getTaskGroupRefreshInterval()).thenReturn(Duration.ofMinutes(10));
+        Mockito.when(masterSlotManager.getSlot()).thenReturn(0);
+        Mockito.when(masterSlotManager.getSlotCount()).thenReturn(1);
+        Mockito.when(masterSlotManager.getMasterAddress(0)).thenReturn(MASTER_ADDRESS);
+
+        taskGroup = new TaskGroup();
+        taskGroup.setId(TASK_GROUP_ID);
+        taskGroup.setGroupSize(1);
+        taskGroup.setUseSize(0);
+        taskGroup.setStatus(Flag.YES.getCode());
+        Mockito.when(taskGroupMapper.selectById(TASK_GROUP_ID)).thenReturn(taskGroup);
+        Mockito.when(taskGroupMapper.robTaskGroupResource(anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        Mockito.when(taskGroupMapper.releaseTaskGroupResource(anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        Mockito.when(taskGroupQueueMapper.queryByGroupIdAndStatus(anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        // keep the task group queue records in memory
+        Mockito.when(processService.insertIntoTaskGroupQueue(anyInt(), any(), anyInt(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                            .id(taskGroupQueues.size() + 1)
+                            .taskId(invocation.getArgument(0))
+                            .groupId(invocation.getArgument(2))
+                            .processId(invocation.getArgument(3))
+                            .priority(invocation.getArgument(4))
+                            .status(invocation.getArgument(5))
+                            .forceStart(Flag.NO.getCode())
+                            .build();
+                    taskGroupQueues.put(taskGroupQueue.getTaskId(), taskGroupQueue);
+                    return taskGroupQueue;
+                });
+        Mockito.when(taskGroupQueueMapper.queryByTaskId(anyInt()))
+                .thenAnswer(invocation -> taskGroupQueues.get((Integer) invocation.getArgument(0)));
+        Mockito.when(taskGroupQueueMapper.selectById(any()))
+                .thenAnswer(invocation -> taskGroupQueues.values().stream()
+                        .filter(queue -> queue.getId().equals(invocation.getArgument(0)))
+                        .findFirst()
+                        .orElse(null));
+        Mockito.when(taskInstanceDao.queryById(any())).thenAnswer(invocation -> {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(invocation.getArgument(0));
+            taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+            return taskInstance;
+        });
+    }
+
+    @Test
+    void testAcquireAndHandOverOnRelease() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(3, 5)));
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(1).getStatus());
+        Assertions.assertEquals(TaskGroupQueueStatus.WAIT_QUEUE, taskGroupQueues.get(2).getStatus());
+
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 1));
+
+        // the permit is handed over to the waiter with the higher priority
+        Assertions.assertEquals(TaskGroupQueueStatus.RELEASE, taskGroupQueues.get(1).getStatus());
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(3).getStatus());
+        Assertions.assertEquals(TaskGroupQueueStatus.WAIT_QUEUE, taskGroupQueues.get(2).getStatus());
+        ArgumentCaptor<TaskStateEvent> eventCaptor = ArgumentCaptor.forClass(TaskStateEvent.class);
+        Mockito.verify(stateEventResponseService).addEvent2WorkflowExecute(eventCaptor.capture());
+        Assertions.assertEquals(3, eventCaptor.getValue().getTaskInstanceId());
+        // the db is only written, the task group is not queried again
+        Mockito.verify(taskGroupMapper, Mockito.times(1)).selectById(TASK_GROUP_ID);
+    }
+
+    @Test
+    void testReleaseWaitingTask() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(3, 0)));
+
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 2));
+        Assertions.assertEquals(TaskGroupQueueStatus.RELEASE, taskGroupQueues.get(2).getStatus());
+        Mockito.verify(taskGroupMapper, Mockito.never()).releaseTaskGroupResource(anyInt(), anyInt(), anyInt(),
+                anyInt());
+
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 1));
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(3).getStatus());
+    }
+
+    @Test
+    void testSkipForceStartedWaiter() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(3, 0)));
+        taskGroupQueues.get(2).setForceStart(Flag.YES.getCode());
+        taskGroupQueues.get(2).setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 1));
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(3).getStatus());
+        Mockito.verify(taskGroupMapper, Mockito.times(2))
+                .robTaskGroupResource(eq(TASK_GROUP_ID), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testReloadWhenJournalFailed() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 1));
+
+        // the permit is taken by others in db
+        Mockito.when(taskGroupMapper.robTaskGroupResource(anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(0);
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Mockito.verify(taskGroupMapper, Mockito.times(2)).selectById(TASK_GROUP_ID);
+    }
+
+    @Test
+    void testHandOverAfterReloadWhenJournalFailedOnLastRelease() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Mockito.when(taskGroupQueueMapper.queryByGroupIdAndStatus(TASK_GROUP_ID,
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode())).thenAnswer(invocation -> queryWaitingTaskGroupQueues());
+
+        // the use size in db is changed by others when the permit is handed over
+        Mockito.when(taskGroupMapper.robTaskGroupResource(anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(0)
+                .thenReturn(1);
+        taskGroupArbiter.releaseTaskGroupLocally(new TaskGroupReleaseRequest(TASK_GROUP_ID, 1));
+
+        // the task group is reloaded at once and the permit is handed over again
+        Mockito.verify(taskGroupMapper, Mockito.times(2)).selectById(TASK_GROUP_ID);
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(2).getStatus());
+        ArgumentCaptor<TaskStateEvent> eventCaptor = ArgumentCaptor.forClass(TaskStateEvent.class);
+        Mockito.verify(stateEventResponseService).addEvent2WorkflowExecute(eventCaptor.capture());
+        Assertions.assertEquals(2, eventCaptor.getValue().getTaskInstanceId());
+    }
+
+    @Test
+    void testRefreshWaitingTaskGroupsAfterGroupSizeIncreased() {
+        Assertions.assertTrue(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(1, 0)));
+        Assertions.assertFalse(taskGroupArbiter.acquireTaskGroupLocally(createAcquireRequest(2, 0)));
+        Mockito.when(taskGroupQueueMapper.queryByStatus(TaskGroupQueueStatus.WAIT_QUEUE.getCode()))
+                .thenAnswer(invocation -> queryWaitingTaskGroupQueues());
+        Mockito.when(taskGroupQueueMapper.queryByGroupIdAndStatus(TASK_GROUP_ID,
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode())).thenAnswer(invocation -> queryWaitingTaskGroupQueues());
+
+        // the group size is increased by the api server
+        taskGroup.setGroupSize(2);
+        taskGroup.setUseSize(1);
+        taskGroupArbiter.refreshWaitingTaskGroups();
+
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, taskGroupQueues.get(2).getStatus());
+        ArgumentCaptor<TaskStateEvent> eventCaptor = ArgumentCaptor.forClass(TaskStateEvent.class);
+        Mockito.verify(stateEventResponseService).addEvent2WorkflowExecute(eventCaptor.capture());
+        Assertions.assertEquals(2, eventCaptor.getValue().getTaskInstanceId());
+    }
+
+    @Test
+    void testWakeUpNextTaskWhenReleaseInDB() {
+        // there is no owner of the task group
+        Mockito.when(masterSlotManager.getSlotCount()).thenReturn(0);
+        TaskInstance nextTaskInstance = new TaskInstance();
+        nextTaskInstance.setId(2);
+        nextTaskInstance.setProcessInstanceId(100);
+        Mockito.when(processService.releaseTaskGroup(any())).thenReturn(nextTaskInstance);
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setId(100);
+        workflowInstance.setHost(MASTER_ADDRESS);
+        Mockito.when(processInstanceDao.queryById(100)).thenReturn(workflowInstance);
+
+        taskGroupArbiter.releaseTaskGroup(TASK_GROUP_ID, 1);
+
+        ArgumentCaptor<TaskStateEvent> eventCaptor = ArgumentCaptor.forClass(TaskStateEvent.class);
+        Mockito.verify(stateEventResponseService).addEvent2WorkflowExecute(eventCaptor.capture());
+        Assertions.assertEquals(2, eventCaptor.getValue().getTaskInstanceId());
+        Assertions.assertEquals(100, eventCaptor.getValue().getProcessInstanceId());
+    }
+
+    private List<TaskGroupQueue> queryWaitingTaskGroupQueues() {
+        return taskGroupQueues.values().stream()
+                .filter(taskGroupQueue -> taskGroupQueue.getStatus() == TaskGroupQueueStatus.WAIT_QUEUE)
+                .collect(Collectors.toList());
+    }
+
+    private TaskGroupAcquireRequest createAcquireRequest(int taskInstanceId, int priority) {
+        return TaskGroupAcquireRequest.builder()
+                .taskGroupId(TASK_GROUP_ID)
+                .taskGroupPriority(priority)
+                .taskInstanceId(taskInstanceId)
+                .taskName("task-" + taskInstanceId)
+                .workflowInstanceId(100)
+                .workflowInstanceHost(MASTER_ADDRESS)
+                .build();
+    }
+}
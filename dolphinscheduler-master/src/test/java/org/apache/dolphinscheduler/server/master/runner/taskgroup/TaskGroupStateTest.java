@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.taskgroup;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TaskGroupStateTest {
+
+    @Test
+    void testAcquireUntilNoPermit() {
+        TaskGroupState taskGroupState = new TaskGroupState(1, 2, 0);
+
+        Assertions.assertTrue(taskGroupState.tryAcquire(createWaiter(1, 0)));
+        Assertions.assertTrue(taskGroupState.tryAcquire(createWaiter(2, 0)));
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(3, 0)));
+        Assertions.assertEquals(2, taskGroupState.getUseSize());
+        Assertions.assertEquals(1, taskGroupState.getWaitingSize());
+        Assertions.assertTrue(taskGroupState.isWaiting(3));
+    }
+
+    @Test
+    void testHandOverByPriorityThenArrivalOrder() {
+        TaskGroupState taskGroupState = new TaskGroupState(1, 1, 0);
+        Assertions.assertTrue(taskGroupState.tryAcquire(createWaiter(1, 0)));
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(2, 1)));
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(3, 2)));
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(4, 1)));
+
+        // no free permit
+        Assertions.assertNull(taskGroupState.pollWaiterForFreePermit());
+
+        taskGroupState.release();
+        Assertions.assertEquals(3, taskGroupState.pollWaiterForFreePermit().getTaskInstanceId());
+        Assertions.assertNull(taskGroupState.pollWaiterForFreePermit());
+        taskGroupState.release();
+        Assertions.assertEquals(2, taskGroupState.pollWaiterForFreePermit().getTaskInstanceId());
+        taskGroupState.release();
+        Assertions.assertEquals(4, taskGroupState.pollWaiterForFreePermit().getTaskInstanceId());
+        Assertions.assertEquals(1, taskGroupState.getUseSize());
+        Assertions.assertEquals(0, taskGroupState.getWaitingSize());
+    }
+
+    @Test
+    void testNewTaskCannotJumpTheWaiters() {
+        TaskGroupState taskGroupState = new TaskGroupState(1, 1, 1);
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(1, 1)));
+
+        // the group size is increased, the new task with the same priority should wait behind the waiter
+        taskGroupState.setGroupSize(2);
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(2, 1)));
+        // the task with higher priority can take the free permit
+        Assertions.assertTrue(taskGroupState.tryAcquire(createWaiter(3, 2)));
+        Assertions.assertEquals(2, taskGroupState.getWaitingSize());
+    }
+
+    @Test
+    void testHeadWaiterCanAcquireAgain() {
+        TaskGroupState taskGroupState = new TaskGroupState(1, 1, 1);
+        TaskGroupWaiter waiter = createWaiter(1, 0);
+        Assertions.assertFalse(taskGroupState.tryAcquire(waiter));
+
+        taskGroupState.release();
+        Assertions.assertTrue(taskGroupState.tryAcquire(waiter));
+        Assertions.assertEquals(0, taskGroupState.getWaitingSize());
+    }
+
+    @Test
+    void testRemoveWaiter() {
+        TaskGroupState taskGroupState = new TaskGroupState(1, 1, 1);
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(1, 0)));
+        Assertions.assertFalse(taskGroupState.tryAcquire(createWaiter(2, 0)));
+
+        Assertions.assertNotNull(taskGroupState.removeWaiter(1));
+        Assertions.assertNull(taskGroupState.removeWaiter(1));
+        taskGroupState.release();
+        Assertions.assertEquals(2, taskGroupState.pollWaiterForFreePermit().getTaskInstanceId());
+    }
+
+    private TaskGroupWaiter createWaiter(int taskInstanceId, int priority) {
+        // the queue id increases with the arrival order
+        return new TaskGroupWaiter(taskInstanceId * 10, taskInstanceId, 100, priority, "127.0.0.1:5678");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.runner.varpool;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class WorkflowVarPoolTest {
+
+    @Test
+    void testMerge() {
+        WorkflowVarPool workflowVarPool = new WorkflowVarPool(JSONUtils.toJsonString(Arrays.asList(
+                new Property("a", Direct.IN, DataType.VARCHAR, "1"),
+                new Property("b", Direct.OUT, DataType.VARCHAR, "2"))));
+
+        workflowVarPool.merge(Arrays.asList(
+                new Property("a", Direct.OUT, DataType.VARCHAR, "3"),
+                new Property("c", Direct.IN, DataType.VARCHAR, "4"),
+                new Property("c", Direct.OUT, DataType.VARCHAR, "5")));
+
+        List<Property> properties = workflowVarPool.getProperties();
+        Assertions.assertEquals(4, properties.size());
+        Assertions.assertEquals("b", properties.get(0).getProp());
+        Assertions.assertEquals("3", properties.get(1).getValue());
+        Assertions.assertEquals(Direct.IN, properties.get(2).getDirect());
+        Assertions.assertEquals(Direct.OUT, properties.get(3).getDirect());
+        Assertions.assertEquals(JSONUtils.toJsonString(properties), workflowVarPool.toJson());
+    }
+
+    @Test
+    void testSnapshot() {
+        WorkflowVarPool workflowVarPool = new WorkflowVarPool(null);
+        Assertions.assertTrue(workflowVarPool.isEmpty());
+        Assertions.assertNull(workflowVarPool.toJson());
+
+        workflowVarPool.putAll(Collections.singletonList(new Property("a", Direct.OUT, DataType.VARCHAR, "1")));
+        List<Property> snapshot = workflowVarPool.getProperties();
+        Assertions.assertSame(snapshot, workflowVarPool.getProperties());
+        String varPoolJson = workflowVarPool.toJson();
+        Assertions.assertSame(varPoolJson, workflowVarPool.toJson());
+
+        workflowVarPool.putAll(Collections.singletonList(new Property("b", Direct.OUT, DataType.VARCHAR, "2")));
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(2, workflowVarPool.getProperties().size());
+        Assertions.assertNotEquals(varPoolJson, workflowVarPool.toJson());
+    }
+
+    @Test
+    void testRemove() {
+        WorkflowVarPool workflowVarPool = new WorkflowVarPool(null);
+        workflowVarPool.putAll(Arrays.asList(
+                new Property("a", Direct.IN, DataType.VARCHAR, "1"),
+                new Property("a", Direct.OUT, DataType.VARCHAR, "2"),
+                new Property("b", Direct.IN, DataType.VARCHAR, "3")));
+
+        workflowVarPool.removeIf(property -> property.getDirect() == Direct.IN);
+        Assertions.assertEquals(1, workflowVarPool.getProperties().size());
+        Assertions.assertEquals("2", workflowVarPool.getProperties().get(0).getValue());
+
+        workflowVarPool.removeProps(Collections.singleton("a"));
+        Assertions.assertTrue(workflowVarPool.isEmpty());
+        Assertions.assertEquals("[]", workflowVarPool.toJson());
+    }
+
+    @Test
+    void testGetTaskVarPool() {
+        WorkflowVarPool workflowVarPool = new WorkflowVarPool(null);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        Assertions.assertTrue(workflowVarPool.getTaskVarPool(taskInstance).isEmpty());
+
+        taskInstance.setVarPool("[{\"direct\":\"OUT\",\"prop\":\"a\",\"type\":\"VARCHAR\",\"value\":\"1\"}]");
+        List<Property> taskVarPool = workflowVarPool.getTaskVarPool(taskInstance);
+        Assertions.assertEquals("1", taskVarPool.get(0).getValue());
+        // the returned properties are copies
+        taskVarPool.get(0).setDirect(Direct.IN);
+        Assertions.assertEquals(Direct.OUT, workflowVarPool.getTaskVarPool(taskInstance).get(0).getDirect());
+
+        taskInstance.setVarPool("[{\"direct\":\"OUT\",\"prop\":\"a\",\"type\":\"VARCHAR\",\"value\":\"2\"}]");
+        Assertions.assertEquals("2", workflowVarPool.getTaskVarPool(taskInstance).get(0).getValue());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.wheel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    private static final long START_TIME = 1_000_000L;
+
+    @Test
+    void testAdvanceExpireDueElements() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        Assertions.assertTrue(timingWheel.add(1, START_TIME + 250));
+        Assertions.assertTrue(timingWheel.add(2, START_TIME + 100));
+        Assertions.assertFalse(timingWheel.add(2, START_TIME + 500));
+        Assertions.assertEquals(2, timingWheel.size());
+
+        Assertions.assertEquals(Collections.emptyList(), timingWheel.advance(START_TIME + 99));
+        Assertions.assertEquals(Collections.singletonList(2), timingWheel.advance(START_TIME + 100));
+        Assertions.assertEquals(Collections.emptyList(), timingWheel.advance(START_TIME + 200));
+        Assertions.assertEquals(Collections.singletonList(1), timingWheel.advance(START_TIME + 300));
+        Assertions.assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void testAdvanceExpireElementsBeyondOneRound() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(100, 4, START_TIME);
+        // the wheel covers 400ms in one round
+        timingWheel.add(1, START_TIME + 1000);
+        timingWheel.add(2, START_TIME + 200);
+
+        Assertions.assertEquals(Collections.singletonList(2), timingWheel.advance(START_TIME + 999));
+        Assertions.assertEquals(Collections.singletonList(1), timingWheel.advance(START_TIME + 1000));
+    }
+
+    @Test
+    void testAddExpiredElement() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        timingWheel.advance(START_TIME + 1000);
+
+        timingWheel.add(1, START_TIME);
+        Assertions.assertEquals(Collections.singletonList(1), timingWheel.advance(timingWheel.getNextTickTime()));
+    }
+
+    @Test
+    void testCancel() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        timingWheel.add(1, START_TIME + 100);
+        timingWheel.add(2, START_TIME + 100);
+        timingWheel.add(3, START_TIME + 100);
+
+        Assertions.assertTrue(timingWheel.cancel(2));
+        Assertions.assertFalse(timingWheel.cancel(2));
+        Assertions.assertFalse(timingWheel.contains(2));
+        Assertions.assertEquals(Arrays.asList(1, 3), timingWheel.advance(START_TIME + 100));
+    }
+
+    @Test
+    void testClear() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(100, 8, START_TIME);
+        timingWheel.add(1, START_TIME + 100);
+        timingWheel.clear();
+
+        Assertions.assertEquals(0, timingWheel.size());
+        Assertions.assertEquals(Collections.emptyList(), timingWheel.advance(START_TIME + 100));
+        Assertions.assertTrue(timingWheel.add(1, START_TIME + 200));
+    }
+
+    @Test
+    void testNeverExpireBeforeDeadline() {
+        HashedTimingWheel<Integer> timingWheel = new HashedTimingWheel<>(10, 16, START_TIME);
+        long[] deadlines = new long[1000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = START_TIME + (i * 7919L) % 5000;
+            timingWheel.add(i, deadlines[i]);
+        }
+        List<Integer> expired = new ArrayList<>();
+        for (long now = START_TIME; now <= START_TIME + 5010; now = timingWheel.getNextTickTime()) {
+            for (Integer element : timingWheel.advance(now)) {
+                Assertions.assertTrue(deadlines[element] <= now);
+                Assertions.assertTrue(now - deadlines[element] < 10);
+                expired.add(element);
+            }
+        }
+        Assertions.assertEquals(deadlines.length, expired.size());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.command;
+
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the master command fetch query between the `id % masterCount` predicate and the slot range predicate when
+ * there are a lot of pending commands.
+ * <p>
+ * By default this benchmark uses an in-memory H2 database, you can use
+ * -DjdbcUrl=jdbc:mysql://localhost:3306/bench -DjdbcUser=root -DjdbcPassword=xx to run it against MySQL, the MySQL
+ * driver should be added to the classpath.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class CommandFetchBenchMark extends AbstractBaseBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 10000;
+
+    private static final int FETCH_COMMAND_NUM = 10;
+
+    @Param({"1000000"})
+    private int commandSize;
+
+    @Param({"4"})
+    private int masterCount;
+
+    private Connection connection;
+
+    private PreparedStatement queryBySlotModStatement;
+
+    private PreparedStatement queryBySlotRangeStatement;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("jdbcUrl", "jdbc:h2:mem:command_benchmark;DB_CLOSE_DELAY=-1"),
+                System.getProperty("jdbcUser", "sa"),
+                System.getProperty("jdbcPassword", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_command_benchmark");
+            statement.execute("CREATE TABLE t_ds_command_benchmark ("
+                    + "id int NOT NULL AUTO_INCREMENT,"
+                    + "process_definition_code bigint NOT NULL,"
+                    + "command_param text,"
+                    + "process_instance_priority int DEFAULT 2,"
+                    + "slot int DEFAULT 0,"
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_priority_id_slot ON t_ds_command_benchmark "
+                    + "(process_instance_priority, id, slot)");
+        }
+        connection.setAutoCommit(false);
+        try (
+                PreparedStatement insertStatement = connection.prepareStatement(
+                        "INSERT INTO t_ds_command_benchmark "
+                                + "(process_definition_code, command_param, process_instance_priority, slot) "
+                                + "VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < commandSize; i++) {
+                insertStatement.setLong(1, i);
+                insertStatement.setString(2, "{}");
+                insertStatement.setInt(3, ThreadLocalRandom.current().nextInt(5));
+                insertStatement.setInt(4, CommandSlotUtils.assignSlot());
+                insertStatement.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insertStatement.executeBatch();
+                    connection.commit();
+                }
+            }
+            insertStatement.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        queryBySlotModStatement = connection.prepareStatement(
+                "SELECT * FROM t_ds_command_benchmark WHERE MOD(id, ?) = ? "
+                        + "ORDER BY process_instance_priority, id LIMIT ?");
+        queryBySlotRangeStatement = connection.prepareStatement(
+                "SELECT * FROM t_ds_command_benchmark WHERE slot >= ? AND slot < ? "
+                        + "ORDER BY process_instance_priority, id LIMIT ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_command_benchmark");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int queryCommandBySlotMod() throws SQLException {
+        int thisMasterSlot = ThreadLocalRandom.current().nextInt(masterCount);
+        queryBySlotModStatement.setInt(1, masterCount);
+        queryBySlotModStatement.setInt(2, thisMasterSlot);
+        queryBySlotModStatement.setInt(3, FETCH_COMMAND_NUM);
+        return count(queryBySlotModStatement);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int queryCommandBySlotRange() throws SQLException {
+        int thisMasterSlot = ThreadLocalRandom.current().nextInt(masterCount);
+        queryBySlotRangeStatement.setInt(1, CommandSlotUtils.getSlotRangeStart(masterCount, thisMasterSlot));
+        queryBySlotRangeStatement.setInt(2, CommandSlotUtils.getSlotRangeEnd(masterCount, thisMasterSlot));
+        queryBySlotRangeStatement.setInt(3, FETCH_COMMAND_NUM);
+        return count(queryBySlotRangeStatement);
+    }
+
+    private int count(PreparedStatement preparedStatement) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.dispatch;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostLoad;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LoadAwareSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.RandomSelector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulate bursty task dispatching from {@link #MASTER_SIZE} masters to {@link #WORKER_SIZE} workers and compare
+ * the load spread of the host selectors.
+ * <p>
+ * The masters only see the worker load in heartbeats, which are reported every {@link #HEARTBEAT_TICKS} ticks, and
+ * the lower weight selector only refreshes its weights every {@link #WORKER_GROUP_REFRESH_TICKS} ticks like
+ * LowerWeightHostManager. A burst of tasks is dispatched in one tick every {@link #BURST_INTERVAL_TICKS} ticks, so
+ * all of the tasks in a burst are selected by the same stale heartbeats. The workers have 5, 10 or 20 exec threads,
+ * and keep the last {@link #WORKER_RESOURCE_CACHE_SIZE} resources of their tasks in cache.
+ * <p>
+ * Each invocation simulates one burst. The following statistics are reported as secondary results of each iteration,
+ * see {@link DispatchStatistics}:
+ * <ul>
+ *     <li>the variance of the worker load (running and waiting tasks per exec thread) right after each burst</li>
+ *     <li>the max worker load</li>
+ *     <li>the tasks waiting in the worker queues right after each burst</li>
+ *     <li>the resource cache hit rate of the dispatched tasks</li>
+ *     <li>the tasks failed to dispatch because all the workers are busy</li>
+ * </ul>
+ * The measured time is the cost to select the workers for a burst.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 2)
+public class HostSelectBenchMark extends AbstractBaseBenchmark {
+
+    private static final int MASTER_SIZE = 3;
+
+    private static final int WORKER_SIZE = 100;
+
+    private static final int[] WORKER_EXEC_THREADS = {5, 10, 20};
+
+    private static final int WORKER_RESOURCE_CACHE_SIZE = 10;
+
+    private static final int HEARTBEAT_TICKS = 10;
+
+    private static final int WORKER_GROUP_REFRESH_TICKS = 10;
+
+    private static final int BURST_INTERVAL_TICKS = 30;
+
+    private static final int MIN_TASK_TICKS = 20;
+
+    private static final int MAX_TASK_TICKS = 60;
+
+    private static final int RESOURCE_SIZE = 200;
+
+    private static final String WORKER_GROUP = "default";
+
+    @State(Scope.Thread)
+    public static class ClusterState {
+
+        @Param({"RANDOM", "LOWER_WEIGHT", "LOAD_AWARE"})
+        private HostSelector hostSelector;
+
+        /**
+         * The workers have about 1160 exec threads and a task runs 40 ticks in average, so 400 tasks every 30 ticks
+         * take 46% of the threads and 800 tasks take 92%.
+         */
+        @Param({"400", "800"})
+        private int burstSize;
+
+        @Param({"0.2"})
+        private double localityTolerance;
+
+        private Cluster cluster;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            cluster = new Cluster(hostSelector, localityTolerance);
+            // warm the workers up to the steady state
+            for (int i = 0; i < 10; i++) {
+                cluster.burst(burstSize);
+            }
+            cluster.resetStatistics();
+        }
+    }
+
+    /**
+     * The load spread of the cluster in the current iteration, the counters are read by JMH at the end of each
+     * iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DispatchStatistics {
+
+        private Cluster cluster;
+
+        public double loadVariance() {
+            return cluster == null ? 0 : cluster.loadVarianceSum / Math.max(cluster.burstCount, 1);
+        }
+
+        public double maxLoad() {
+            return cluster == null ? 0 : cluster.maxLoad;
+        }
+
+        public double waitingTasks() {
+            return cluster == null ? 0 : (double) cluster.waitingTaskSum / Math.max(cluster.burstCount, 1);
+        }
+
+        public double resourceCacheHitRate() {
+            return cluster == null ? 0 : (double) cluster.resourceCacheHitCount / Math.max(cluster.dispatchCount, 1);
+        }
+
+        public long dispatchFailures() {
+            return cluster == null ? 0 : cluster.dispatchFailureCount;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double dispatchBurst(ClusterState clusterState, DispatchStatistics dispatchStatistics) {
+        dispatchStatistics.cluster = clusterState.cluster;
+        return clusterState.cluster.burst(clusterState.burstSize);
+    }
+
+    private static class Cluster {
+
+        private final Random random = new Random(1);
+
+        private final List<Worker> workers = new ArrayList<>(WORKER_SIZE);
+
+        private final Map<String, Worker> workerMap = new HashMap<>();
+
+        private final List<Master> masters = new ArrayList<>(MASTER_SIZE);
+
+        private long tick;
+
+        private int burstCount;
+
+        private double loadVarianceSum;
+
+        private double maxLoad;
+
+        private long waitingTaskSum;
+
+        private long dispatchCount;
+
+        private long resourceCacheHitCount;
+
+        private long dispatchFailureCount;
+
+        private Cluster(HostSelector hostSelector, double localityTolerance) {
+            for (int i = 0; i < WORKER_SIZE; i++) {
+                Worker worker = new Worker(i);
+                workers.add(worker);
+                workerMap.put(worker.address, worker);
+            }
+            for (int i = 0; i < MASTER_SIZE; i++) {
+                masters.add(new Master(i, hostSelector, localityTolerance, workers));
+            }
+        }
+
+        /**
+         * Run the workers until the next burst, then dispatch a burst in one tick from all the masters.
+         *
+         * @return the load variance after the burst
+         */
+        private double burst(int burstSize) {
+            for (int i = 0; i < BURST_INTERVAL_TICKS; i++) {
+                tick++;
+                for (Worker worker : workers) {
+                    worker.run(tick);
+                }
+                for (Master master : masters) {
+                    master.refresh(tick);
+                }
+            }
+            for (int i = 0; i < burstSize; i++) {
+                String resource = "/default/resources/task_" + random.nextInt(RESOURCE_SIZE) + ".jar";
+                String address = masters.get(i % MASTER_SIZE).select(resource);
+                if (address == null) {
+                    dispatchFailureCount++;
+                    continue;
+                }
+                if (workerMap.get(address).dispatch(MIN_TASK_TICKS + random.nextInt(MAX_TASK_TICKS - MIN_TASK_TICKS),
+                        resource)) {
+                    resourceCacheHitCount++;
+                }
+                dispatchCount++;
+            }
+            return recordStatistics();
+        }
+
+        private double recordStatistics() {
+            double loadSum = 0;
+            double loadSquareSum = 0;
+            for (Worker worker : workers) {
+                double load = worker.getLoad();
+                loadSum += load;
+                loadSquareSum += load * load;
+                maxLoad = Math.max(maxLoad, load);
+                waitingTaskSum += worker.waiting.size();
+            }
+            double mean = loadSum / WORKER_SIZE;
+            double variance = loadSquareSum / WORKER_SIZE - mean * mean;
+            loadVarianceSum += variance;
+            burstCount++;
+            return variance;
+        }
+
+        private void resetStatistics() {
+            burstCount = 0;
+            loadVarianceSum = 0;
+            maxLoad = 0;
+            waitingTaskSum = 0;
+            dispatchCount = 0;
+            resourceCacheHitCount = 0;
+            dispatchFailureCount = 0;
+        }
+    }
+
+    /**
+     * A master which selects the workers by its own selector, like the HostManager in each master server.
+     */
+    private static class Master {
+
+        private final int index;
+
+        private final HostSelector hostSelector;
+
+        private final List<Worker> workers;
+
+        private final RandomSelector randomSelector = new RandomSelector();
+
+        private final LowerWeightRoundRobin lowerWeightRoundRobin = new LowerWeightRoundRobin();
+
+        private final LoadAwareSelector loadAwareSelector;
+
+        private Set<HostWeight> hostWeights = Collections.emptySet();
+
+        private Master(int index, HostSelector hostSelector, double localityTolerance, List<Worker> workers) {
+            this.index = index;
+            this.hostSelector = hostSelector;
+            this.workers = workers;
+            this.loadAwareSelector = new LoadAwareSelector(localityTolerance);
+        }
+
+        private void refresh(long tick) {
+            if ((tick + index) % WORKER_GROUP_REFRESH_TICKS != 0) {
+                return;
+            }
+            Set<HostWeight> newHostWeights = new HashSet<>(WORKER_SIZE);
+            for (Worker worker : workers) {
+                if (!worker.isBusy()) {
+                    newHostWeights.add(worker.toHostWeight());
+                }
+            }
+            hostWeights = newHostWeights;
+        }
+
+        private String select(String resource) {
+            switch (hostSelector) {
+                case RANDOM:
+                    List<HostWorker> hostWorkers = new ArrayList<>(WORKER_SIZE);
+                    for (Worker worker : workers) {
+                        hostWorkers.add(HostWorker.of(worker.address, 100, WORKER_GROUP));
+                    }
+                    return randomSelector.select(hostWorkers).getAddress();
+                case LOWER_WEIGHT:
+                    if (hostWeights.isEmpty()) {
+                        return null;
+                    }
+                    return lowerWeightRoundRobin.select(hostWeights).getHost().getAddress();
+                case LOAD_AWARE:
+                    List<HostLoad> hostLoads = new ArrayList<>(WORKER_SIZE);
+                    for (Worker worker : workers) {
+                        if (!worker.isBusy()) {
+                            hostLoads.add(new HostLoad(worker.toHostWeight(), worker.execThreads, worker.reportTime));
+                        }
+                    }
+                    HostLoad hostLoad = loadAwareSelector.select(hostLoads, Collections.singleton(resource));
+                    return hostLoad == null ? null : hostLoad.getHost().getAddress();
+                default:
+                    throw new IllegalArgumentException("unSupport selector " + hostSelector);
+            }
+        }
+    }
+
+    private static class Worker {
+
+        private final String address;
+
+        private final int execThreads;
+
+        private final int heartbeatOffset;
+
+        /**
+         * The end tick of the running tasks.
+         */
+        private final PriorityQueue<Long> running = new PriorityQueue<>();
+
+        /**
+         * The duration of the waiting tasks.
+         */
+        private final Queue<Integer> waiting = new ArrayDeque<>();
+
+        private final Map<String, Boolean> resourceCache =
+                new LinkedHashMap<String, Boolean>(WORKER_RESOURCE_CACHE_SIZE, 0.75f, true) {
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > WORKER_RESOURCE_CACHE_SIZE;
+                    }
+                };
+
+        private long tick;
+
+        private long reportTime;
+
+        private double reportedCpuUsage;
+
+        private int reportedWaitingTaskCount;
+
+        private Worker(int index) {
+            this.address = "192.168." + (index / 250) + "." + (index % 250 + 1) + ":1234";
+            this.execThreads = WORKER_EXEC_THREADS[index % WORKER_EXEC_THREADS.length];
+            this.heartbeatOffset = index % HEARTBEAT_TICKS;
+        }
+
+        private void run(long currentTick) {
+            tick = currentTick;
+            while (!running.isEmpty() && running.peek() <= tick) {
+                running.poll();
+            }
+            while (running.size() < execThreads && !waiting.isEmpty()) {
+                running.add(tick + waiting.poll());
+            }
+            if ((tick + heartbeatOffset) % HEARTBEAT_TICKS == 0) {
+                reportTime = tick;
+                reportedCpuUsage = (double) running.size() / execThreads;
+                reportedWaitingTaskCount = waiting.size();
+            }
+        }
+
+        /**
+         * @return true if the resource of the task is in cache
+         */
+        private boolean dispatch(int duration, String resource) {
+            if (running.size() < execThreads) {
+                running.add(tick + duration);
+            } else {
+                waiting.add(duration);
+            }
+            return resourceCache.put(resource, Boolean.TRUE) != null;
+        }
+
+        private double getLoad() {
+            return (double) (running.size() + waiting.size()) / execThreads;
+        }
+
+        private boolean isBusy() {
+            return reportedWaitingTaskCount > execThreads;
+        }
+
+        private HostWeight toHostWeight() {
+            return new HostWeight(HostWorker.of(address, 100, WORKER_GROUP), reportedCpuUsage, 0.5, 0,
+                    reportedWaitingTaskCount, 0);
+        }
+    }
+}
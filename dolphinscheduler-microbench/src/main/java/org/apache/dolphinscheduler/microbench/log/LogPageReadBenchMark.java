@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.log;
+
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare reading the last page of a large task log file by skipping lines with {@link Files#lines(Path)}, which is
+ * how the log page was served before, with seeking by the {@link LogLineOffsetIndex}.
+ */
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LogPageReadBenchMark extends AbstractBaseBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String LOG_LINE_PREFIX =
+            "[INFO] 2024-01-01 00:00:00.000 +0800 - [taskAppId=TASK-20240101-1234567890_1-1-1] - ";
+
+    @State(Scope.Benchmark)
+    public static class LogFileState {
+
+        @Param({"1073741824"})
+        private long logFileSize;
+
+        private Path logFile;
+
+        private int totalLineCount;
+
+        private LogLineOffsetIndex logLineOffsetIndex;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            logFile = Files.createTempFile("dolphinscheduler-bench-", ".log");
+            long writtenBytes = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+                while (writtenBytes < logFileSize) {
+                    String line = LOG_LINE_PREFIX + "the log line number is " + totalLineCount;
+                    writer.write(line);
+                    writer.newLine();
+                    writtenBytes += line.length() + 1;
+                    totalLineCount++;
+                }
+            }
+            logLineOffsetIndex = new LogLineOffsetIndex(logFile);
+            // build the index before the measurement, it's built once and extended incrementally afterwards
+            logLineOffsetIndex.readLines(0, 1);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(logFile);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> filesLinesLastPage(LogFileState logFileState) throws IOException {
+        try (Stream<String> stream = Files.lines(logFileState.logFile)) {
+            return stream.skip(logFileState.totalLineCount - PAGE_SIZE).limit(PAGE_SIZE)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> indexedLastPage(LogFileState logFileState) throws IOException {
+        return logFileState.logLineOffsetIndex.readLines(logFileState.totalLineCount - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    /**
+     * The cost of the first read of a log file, which builds the whole index.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> indexedLastPageColdIndex(LogFileState logFileState) throws IOException {
+        return new LogLineOffsetIndex(logFileState.logFile).readLines(logFileState.totalLineCount - PAGE_SIZE,
+                PAGE_SIZE);
+    }
+}
@@ -19,6 +19,9 @@ package org.apache.dolphinscheduler.microbench.rpc;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.util.concurrent.CompletableFuture;
 
 @RpcService
 public interface IService {
@@ -26,4 +29,10 @@ public interface IService {
     @RpcMethod
     String ping(String pingRequest);
 
+    @RpcMethod
+    boolean dispatch(TaskExecutionContext taskExecutionContext);
+
+    @RpcMethod
+    CompletableFuture<Boolean> asyncDispatch(TaskExecutionContext taskExecutionContext);
+
 }
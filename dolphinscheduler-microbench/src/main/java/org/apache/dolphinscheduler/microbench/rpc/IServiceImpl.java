@@ -17,6 +17,10 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.util.concurrent.CompletableFuture;
+
 public class IServiceImpl implements IService {
 
     @Override
@@ -24,4 +28,14 @@ public class IServiceImpl implements IService {
         return "I get " + pingRequest + ", I am Pong!";
     }
 
+    @Override
+    public boolean dispatch(TaskExecutionContext taskExecutionContext) {
+        return taskExecutionContext != null;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> asyncDispatch(TaskExecutionContext taskExecutionContext) {
+        return CompletableFuture.completedFuture(taskExecutionContext != null);
+    }
+
 }
@@ -17,12 +17,26 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClient;
+import org.apache.dolphinscheduler.extract.base.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.extract.base.NettyRemotingServer;
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.client.JdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +46,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -39,6 +54,9 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 @Slf4j
 @Warmup(iterations = 5, time = 1)
 @Measurement(iterations = 10, time = 1)
@@ -46,10 +64,17 @@ import org.openjdk.jmh.infra.Blackhole;
 @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
 public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
+    @Param({"JSON", "SMILE"})
+    private RpcSerializerType serializerType;
+
     private NettyRemotingServer nettyRemotingServer;
 
+    private NettyRemotingClient nettyRemotingClient;
+
     private IService iService;
 
+    private TaskExecutionContext taskExecutionContext;
+
     @Setup
     public void before() {
         nettyRemotingServer = new NettyRemotingServer(new NettyServerConfig(12345));
@@ -57,8 +82,15 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery =
                 new SpringServerMethodInvokerDiscovery(nettyRemotingServer);
         springServerMethodInvokerDiscovery.postProcessAfterInitialization(new IServiceImpl(), "iServiceImpl");
-        iService =
-                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        nettyRemotingClient = NettyRemotingClientFactory.buildNettyRemotingClient(
+                NettyClientConfig.builder().serializerType(serializerType).build());
+        iService = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                .getProxyClient("localhost:12345", IService.class);
+        taskExecutionContext = createTaskExecutionContext();
+
+        log.info("The payload size of {}: ping request {} bytes, dispatch request {} bytes", serializerType,
+                getSerializedArgsSize(new Object[]{"ping"}),
+                getSerializedArgsSize(new Object[]{taskExecutionContext}));
     }
 
     @Benchmark
@@ -69,8 +101,113 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void dispatchTest(Blackhole bh) {
+        bh.consume(iService.dispatch(taskExecutionContext));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void serializeDispatchRequestTest(Blackhole bh) {
+        bh.consume(getSerializedArgsSize(new Object[]{taskExecutionContext}));
+    }
+
+    private int getSerializedArgsSize(Object[] args) {
+        ByteBuf out = Unpooled.buffer();
+        try {
+            serializerType.getSerializer().serializeArgs(args, out);
+            return out.readableBytes();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Each operation dispatches {@link ConcurrencyState#concurrency} requests from the same number of threads, each
+     * thread is blocked until its response arrived.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void syncConcurrentDispatchTest(ConcurrencyState concurrencyState, Blackhole bh) throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>(concurrencyState.concurrency);
+        for (int i = 0; i < concurrencyState.concurrency; i++) {
+            futures.add(concurrencyState.syncCallerThreadPool.submit(() -> iService.dispatch(taskExecutionContext)));
+        }
+        for (Future<Boolean> future : futures) {
+            bh.consume(future.get());
+        }
+    }
+
+    /**
+     * Each operation pipelines {@link ConcurrencyState#concurrency} requests on the same channel from the benchmark
+     * thread, without blocking on any single response.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void asyncConcurrentDispatchTest(ConcurrencyState concurrencyState, Blackhole bh) throws Exception {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(concurrencyState.concurrency);
+        for (int i = 0; i < concurrencyState.concurrency; i++) {
+            futures.add(iService.asyncDispatch(taskExecutionContext));
+        }
+        for (CompletableFuture<Boolean> future : futures) {
+            bh.consume(future.get());
+        }
+    }
+
     @TearDown
     public void after() {
+        nettyRemotingClient.close();
         nettyRemotingServer.close();
     }
+
+    @State(Scope.Benchmark)
+    public static class ConcurrencyState {
+
+        @Param({"1", "16", "64", "256"})
+        private int concurrency;
+
+        private ExecutorService syncCallerThreadPool;
+
+        @Setup
+        public void before() {
+            syncCallerThreadPool = Executors.newFixedThreadPool(concurrency);
+        }
+
+        @TearDown
+        public void after() {
+            syncCallerThreadPool.shutdownNow();
+        }
+    }
+
+    private TaskExecutionContext createTaskExecutionContext() {
+        Map<String, String> definedParams = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            definedParams.put("param_" + i, "value_" + i);
+        }
+        return TaskExecutionContext.builder()
+                .taskInstanceId(1)
+                .taskName("shell-task")
+                .taskType("SHELL")
+                .firstSubmitTime(System.currentTimeMillis())
+                .startTime(System.currentTimeMillis())
+                .workflowInstanceHost("127.0.0.1:5678")
+                .executePath("/tmp/dolphinscheduler/exec/process/default/1/1_1/1/1")
+                .logPath("/opt/dolphinscheduler/logs/20240101/1/1/1.log")
+                .processDefineCode(1L)
+                .processInstanceId(1)
+                .tenantCode("default")
+                .projectCode(1L)
+                .taskParams("{\"localParams\":[],\"rawScript\":\"echo hello world\",\"resourceList\":[]}")
+                .environmentConfig("export JAVA_HOME=/opt/java/openjdk")
+                .definedParams(definedParams)
+                .workerGroup("default")
+                .currentExecutionStatus(TaskExecutionStatus.SUBMITTED_SUCCESS)
+                .varPool("[]")
+                .build();
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.scheduler;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.scheduler.memory.ScheduleTrigger;
+import org.apache.dolphinscheduler.scheduler.memory.ScheduleTriggerQueue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.core.SchedulerSignaler;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.simpl.SimpleClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredResult;
+
+/**
+ * Compare the fires per second of the memory scheduler and quartz when there are a lot of schedules.
+ * <p>
+ * Each invocation fires the earliest trigger and computes its next fire time, without creating the command. The quartz
+ * side uses the {@link RAMJobStore}, the JDBC job store used in production acquires and releases each trigger with
+ * several statements in a database lock, so the quartz result here is an upper bound of the production one.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class SchedulerFireBenchMark extends AbstractBaseBenchmark {
+
+    private static final String[] CRONTABS = {
+            "%d %d * * * ? *",
+            "%d %d/5 * * * ? *",
+            "%d %d/15 * * * ? *",
+            "%d * * * * ? *"
+    };
+
+    @Param({"50000"})
+    private int scheduleSize;
+
+    private ScheduleTriggerQueue scheduleTriggerQueue;
+
+    private RAMJobStore ramJobStore;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+        long now = System.currentTimeMillis();
+        scheduleTriggerQueue = new ScheduleTriggerQueue();
+        ramJobStore = new RAMJobStore();
+        ramJobStore.initialize(new SimpleClassLoadHelper(), new NoopSchedulerSignaler());
+        for (int i = 0; i < scheduleSize; i++) {
+            String crontab = String.format(CRONTABS[i % CRONTABS.length], i % 60, (i / 60) % 5);
+
+            Schedule schedule = new Schedule();
+            schedule.setId(i);
+            schedule.setProcessDefinitionCode(i);
+            schedule.setCrontab(crontab);
+            schedule.setStartTime(new Date(now));
+            schedule.setEndTime(new Date(now + TimeUnit.DAYS.toMillis(3650)));
+            schedule.setUpdateTime(new Date(now));
+            ScheduleTrigger scheduleTrigger = new ScheduleTrigger(schedule);
+            scheduleTrigger.computeNextFireTime(now);
+            scheduleTriggerQueue.put(scheduleTrigger);
+
+            JobDetail jobDetail = JobBuilder.newJob(NoopJob.class).withIdentity("job_" + i, "jobgroup").build();
+            OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                    .withIdentity("job_" + i, "jobgroup")
+                    .startAt(schedule.getStartTime())
+                    .endAt(schedule.getEndTime())
+                    .withSchedule(CronScheduleBuilder.cronSchedule(crontab)
+                            .withMisfireHandlingInstructionIgnoreMisfires())
+                    .forJob(jobDetail)
+                    .build();
+            trigger.computeFirstFireTime(null);
+            ramJobStore.storeJobAndTrigger(jobDetail, trigger);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ScheduleTrigger fireByMemoryScheduler() {
+        List<ScheduleTrigger> dueTriggers = scheduleTriggerQueue.pollDue(Long.MAX_VALUE, 1);
+        ScheduleTrigger scheduleTrigger = dueTriggers.get(0);
+        scheduleTrigger.computeNextFireTime(scheduleTrigger.getNextFireTime());
+        scheduleTriggerQueue.put(scheduleTrigger);
+        return scheduleTrigger;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public OperableTrigger fireByQuartzRamJobStore() throws Exception {
+        List<OperableTrigger> triggers = ramJobStore.acquireNextTriggers(Long.MAX_VALUE / 2, 1, 0);
+        // the next fire time is computed when the trigger is fired
+        List<TriggerFiredResult> firedResults = ramJobStore.triggersFired(triggers);
+        OperableTrigger trigger = firedResults.get(0).getTriggerFiredBundle().getTrigger();
+        ramJobStore.triggeredJobComplete(trigger, firedResults.get(0).getTriggerFiredBundle().getJobDetail(),
+                Trigger.CompletedExecutionInstruction.NOOP);
+        return trigger;
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            // the benchmark doesn't execute the job
+        }
+    }
+
+    private static class NoopSchedulerSignaler implements SchedulerSignaler {
+
+        @Override
+        public void notifyTriggerListenersMisfired(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersFinalized(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersJobDeleted(JobKey jobKey) {
+        }
+
+        @Override
+        public void signalSchedulingChange(long candidateNewNextFireTime) {
+        }
+
+        @Override
+        public void notifySchedulerListenersError(String string, SchedulerException jpe) {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.task;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.log.ProcessOutputHandler;
+import org.apache.dolphinscheduler.plugin.task.api.log.ProcessOutputPump;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the task output pipelines when there are a lot of noisy task processes at the same time.
+ * <p>
+ * The thread per process pipeline is the one used before the {@link ProcessOutputPump}: each process has a thread
+ * reading lines into a buffer and another thread flushing the buffer, which sleeps when the buffer is empty. Each
+ * invocation starts the processes, and finishes once all their output is handled.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class ProcessOutputPumpBenchMark extends AbstractBaseBenchmark {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    @Param({"500"})
+    private int processSize;
+
+    @Param({"2000"})
+    private int lineSize;
+
+    private ProcessOutputPump processOutputPump;
+
+    @Setup
+    public void setup() {
+        processOutputPump = new ProcessOutputPump(4, 1000, FLUSH_INTERVAL_MILLIS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long pumpByThreadPerProcess() throws Exception {
+        AtomicLong handledLines = new AtomicLong();
+        List<ExecutorService> executorServices = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < processSize; i++) {
+            Process process = startNoisyProcess();
+            LinkedBlockingQueue<String> logBuffer = new LinkedBlockingQueue<>();
+            AtomicBoolean readFinished = new AtomicBoolean(false);
+            ExecutorService readExecutorService = Executors.newSingleThreadExecutor();
+            readExecutorService.submit(() -> {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        logBuffer.add(line);
+                    }
+                } finally {
+                    readFinished.set(true);
+                }
+                return null;
+            });
+            ExecutorService flushExecutorService = Executors.newSingleThreadExecutor();
+            futures.add(flushExecutorService.submit(() -> {
+                while (!logBuffer.isEmpty() || !readFinished.get()) {
+                    if (!logBuffer.isEmpty()) {
+                        handledLines.addAndGet(logBuffer.size());
+                        logBuffer.clear();
+                    } else {
+                        Thread.sleep(FLUSH_INTERVAL_MILLIS);
+                    }
+                }
+                return null;
+            }));
+            executorServices.add(readExecutorService);
+            executorServices.add(flushExecutorService);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorServices.forEach(ExecutorService::shutdown);
+        return handledLines.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long pumpBySharedPump() throws Exception {
+        AtomicLong handledLines = new AtomicLong();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < processSize; i++) {
+            futures.add(processOutputPump.register(startNoisyProcess(), new ProcessOutputHandler() {
+
+                @Override
+                public void onLine(String line) {
+                    handledLines.incrementAndGet();
+                }
+
+                @Override
+                public void flush() {
+                    // the lines are counted when they are handled
+                }
+            }));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get();
+        }
+        return handledLines.get();
+    }
+
+    private Process startNoisyProcess() throws IOException {
+        String command = "i=0; while [ $i -lt " + lineSize + " ]; do echo \"noisy output line $i\"; i=$((i+1)); done";
+        return new ProcessBuilder("sh", "-c", command)
+                .redirectErrorStream(true)
+                .start();
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.taskgroup;
+
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupState;
+import org.apache.dolphinscheduler.server.master.runner.taskgroup.TaskGroupWaiter;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the task group permit passing when hundreds of task instances wait for a small task group.
+ * <p>
+ * Each invocation drains all the waiting task instances through the task group with a pool of workers, each worker
+ * stands for a workflow thread of the masters. The rob-in-db workers read the use size and rob a permit by
+ * compare-and-set in db, the task instance goes back to the end of the pending queue if the rob fails, and the release
+ * queries the head waiter to wake it up. The arbiter workers keep the permits and the waiters in a
+ * {@link TaskGroupState}, a released permit is handed over to the head waiter and only journaled in db.
+ * <p>
+ * By default this benchmark uses an in-memory H2 database, you can use
+ * -DjdbcUrl=jdbc:mysql://localhost:3306/bench -DjdbcUser=root -DjdbcPassword=xx to run it against MySQL, the MySQL
+ * driver should be added to the classpath.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class TaskGroupContentionBenchMark extends AbstractBaseBenchmark {
+
+    private static final int TASK_GROUP_ID = 1;
+
+    @Param({"500"})
+    private int waiterSize;
+
+    @Param({"5"})
+    private int groupSize;
+
+    @Param({"8"})
+    private int workerSize;
+
+    private ExecutorService workers;
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    private ThreadLocal<TaskGroupStatements> taskGroupStatements;
+
+    private List<TaskGroupWaiter> taskGroupWaiters;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        workers = Executors.newFixedThreadPool(workerSize);
+        taskGroupStatements = ThreadLocal.withInitial(() -> {
+            try {
+                return new TaskGroupStatements(openConnection());
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        try (Statement statement = openConnection().createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_task_group_benchmark");
+            statement.execute("DROP TABLE IF EXISTS t_ds_task_group_queue_benchmark");
+            statement.execute("CREATE TABLE t_ds_task_group_benchmark ("
+                    + "id int NOT NULL,"
+                    + "group_size int NOT NULL,"
+                    + "use_size int DEFAULT 0,"
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE t_ds_task_group_queue_benchmark ("
+                    + "id int NOT NULL,"
+                    + "group_id int NOT NULL,"
+                    + "priority int DEFAULT 0,"
+                    + "status int DEFAULT -1,"
+                    + "in_queue int DEFAULT 0,"
+                    + "PRIMARY KEY (id))");
+        }
+        taskGroupWaiters = new ArrayList<>(waiterSize);
+        for (int i = 1; i <= waiterSize; i++) {
+            taskGroupWaiters.add(new TaskGroupWaiter(i, i, i, ThreadLocalRandom.current().nextInt(3), null));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetTaskGroup() throws SQLException {
+        Connection connection = taskGroupStatements.get().connection;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM t_ds_task_group_benchmark");
+            statement.execute("DELETE FROM t_ds_task_group_queue_benchmark");
+            statement.execute("INSERT INTO t_ds_task_group_benchmark (id, group_size, use_size) VALUES ("
+                    + TASK_GROUP_ID + ", " + groupSize + ", 0)");
+        }
+        try (
+                PreparedStatement insertStatement = connection.prepareStatement(
+                        "INSERT INTO t_ds_task_group_queue_benchmark (id, group_id, priority, status) "
+                                + "VALUES (?, ?, ?, ?)")) {
+            for (TaskGroupWaiter taskGroupWaiter : taskGroupWaiters) {
+                insertStatement.setInt(1, taskGroupWaiter.getQueueId());
+                insertStatement.setInt(2, TASK_GROUP_ID);
+                insertStatement.setInt(3, taskGroupWaiter.getPriority());
+                insertStatement.setInt(4, TaskGroupQueueStatus.WAIT_QUEUE.getCode());
+                insertStatement.addBatch();
+            }
+            insertStatement.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        workers.shutdownNow();
+        try (Statement statement = openConnection().createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_task_group_benchmark");
+            statement.execute("DROP TABLE IF EXISTS t_ds_task_group_queue_benchmark");
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return the failed robs
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int robTaskGroupInDB() throws Exception {
+        BlockingQueue<TaskGroupWaiter> pendingTasks = new LinkedBlockingQueue<>(taskGroupWaiters);
+        AtomicInteger completedCount = new AtomicInteger();
+        AtomicInteger robFailedCount = new AtomicInteger();
+        runWorkers(completedCount, () -> {
+            TaskGroupWaiter taskGroupWaiter = pendingTasks.poll();
+            if (taskGroupWaiter == null) {
+                return false;
+            }
+            TaskGroupStatements statements = taskGroupStatements.get();
+            if (!statements.robTaskGroup(statements.queryUseSize(), taskGroupWaiter.getQueueId())) {
+                robFailedCount.incrementAndGet();
+                pendingTasks.add(taskGroupWaiter);
+                return true;
+            }
+            statements.updateQueueStatus(taskGroupWaiter.getQueueId(), TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+            statements.releaseTaskGroup(taskGroupWaiter.getQueueId());
+            statements.updateQueueStatus(taskGroupWaiter.getQueueId(), TaskGroupQueueStatus.RELEASE);
+            statements.wakeupHeadWaiter();
+            completedCount.incrementAndGet();
+            return true;
+        });
+        return robFailedCount.get();
+    }
+
+    /**
+     * @return the completed task instances
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int handOverTaskGroupInMemory() throws Exception {
+        BlockingQueue<TaskGroupWaiter> pendingTasks = new LinkedBlockingQueue<>(taskGroupWaiters);
+        BlockingQueue<TaskGroupWaiter> handedOverTasks = new LinkedBlockingQueue<>();
+        TaskGroupState taskGroupState = new TaskGroupState(TASK_GROUP_ID, groupSize, 0);
+        AtomicInteger completedCount = new AtomicInteger();
+        runWorkers(completedCount, () -> {
+            TaskGroupStatements statements = taskGroupStatements.get();
+            TaskGroupWaiter taskGroupWaiter = handedOverTasks.poll();
+            if (taskGroupWaiter == null) {
+                taskGroupWaiter = pendingTasks.poll();
+                if (taskGroupWaiter == null) {
+                    return false;
+                }
+                synchronized (taskGroupState) {
+                    if (!taskGroupState.tryAcquire(taskGroupWaiter)) {
+                        return true;
+                    }
+                    statements.journalAcquired(taskGroupState, taskGroupWaiter);
+                }
+            }
+            synchronized (taskGroupState) {
+                statements.releaseTaskGroup(taskGroupWaiter.getQueueId());
+                statements.updateQueueStatus(taskGroupWaiter.getQueueId(), TaskGroupQueueStatus.RELEASE);
+                taskGroupState.release();
+                TaskGroupWaiter headWaiter = taskGroupState.pollWaiterForFreePermit();
+                if (headWaiter != null) {
+                    statements.journalAcquired(taskGroupState, headWaiter);
+                    handedOverTasks.add(headWaiter);
+                }
+            }
+            completedCount.incrementAndGet();
+            return true;
+        });
+        return completedCount.get();
+    }
+
+    private void runWorkers(AtomicInteger completedCount, WorkerStep workerStep) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(workerSize);
+        for (int i = 0; i < workerSize; i++) {
+            futures.add(workers.submit(() -> {
+                while (completedCount.get() < waiterSize) {
+                    if (!workerStep.step()) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private synchronized Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                System.getProperty("jdbcUrl", "jdbc:h2:mem:task_group_benchmark;DB_CLOSE_DELAY=-1"),
+                System.getProperty("jdbcUser", "sa"),
+                System.getProperty("jdbcPassword", ""));
+        connections.add(connection);
+        return connection;
+    }
+
+    private interface WorkerStep {
+
+        /**
+         * @return false if there is nothing to do
+         */
+        boolean step() throws SQLException;
+    }
+
+    private static class TaskGroupStatements {
+
+        private final Connection connection;
+
+        private final PreparedStatement queryUseSizeStatement;
+
+        private final PreparedStatement robStatement;
+
+        private final PreparedStatement releaseStatement;
+
+        private final PreparedStatement updateQueueStatusStatement;
+
+        private final PreparedStatement queryHeadWaiterStatement;
+
+        private final PreparedStatement updateInQueueStatement;
+
+        private TaskGroupStatements(Connection connection) throws SQLException {
+            this.connection = connection;
+            // the same statements as TaskGroupMapper and TaskGroupQueueMapper
+            this.queryUseSizeStatement = connection.prepareStatement(
+                    "SELECT use_size FROM t_ds_task_group_benchmark WHERE id = " + TASK_GROUP_ID);
+            this.robStatement = connection.prepareStatement(
+                    "UPDATE t_ds_task_group_benchmark SET use_size = use_size + 1 "
+                            + "WHERE id = " + TASK_GROUP_ID + " AND use_size < group_size AND use_size = ? "
+                            + "AND (SELECT count(1) FROM t_ds_task_group_queue_benchmark "
+                            + "WHERE id = ? AND status = " + TaskGroupQueueStatus.WAIT_QUEUE.getCode() + ") = 1");
+            this.releaseStatement = connection.prepareStatement(
+                    "UPDATE t_ds_task_group_benchmark SET use_size = use_size - 1 "
+                            + "WHERE id = " + TASK_GROUP_ID + " AND use_size > 0 "
+                            + "AND (SELECT count(1) FROM t_ds_task_group_queue_benchmark "
+                            + "WHERE id = ? AND status = " + TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode()
+                            + ") = 1");
+            this.updateQueueStatusStatement = connection.prepareStatement(
+                    "UPDATE t_ds_task_group_queue_benchmark SET status = ?, in_queue = 0 WHERE id = ?");
+            this.queryHeadWaiterStatement = connection.prepareStatement(
+                    "SELECT id FROM t_ds_task_group_queue_benchmark "
+                            + "WHERE group_id = " + TASK_GROUP_ID + " AND status = "
+                            + TaskGroupQueueStatus.WAIT_QUEUE.getCode() + " AND in_queue = 0 "
+                            + "ORDER BY priority DESC, id LIMIT 1");
+            this.updateInQueueStatement = connection.prepareStatement(
+                    "UPDATE t_ds_task_group_queue_benchmark SET in_queue = 1 WHERE id = ?");
+        }
+
+        private int queryUseSize() throws SQLException {
+            try (ResultSet resultSet = queryUseSizeStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+
+        private boolean robTaskGroup(int currentUseSize, int queueId) throws SQLException {
+            robStatement.setInt(1, currentUseSize);
+            robStatement.setInt(2, queueId);
+            return robStatement.executeUpdate() == 1;
+        }
+
+        private void releaseTaskGroup(int queueId) throws SQLException {
+            releaseStatement.setInt(1, queueId);
+            releaseStatement.executeUpdate();
+        }
+
+        private void updateQueueStatus(int queueId, TaskGroupQueueStatus status) throws SQLException {
+            updateQueueStatusStatement.setInt(1, status.getCode());
+            updateQueueStatusStatement.setInt(2, queueId);
+            updateQueueStatusStatement.executeUpdate();
+        }
+
+        private void wakeupHeadWaiter() throws SQLException {
+            try (ResultSet resultSet = queryHeadWaiterStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    updateInQueueStatement.setInt(1, resultSet.getInt(1));
+                    updateInQueueStatement.executeUpdate();
+                }
+            }
+        }
+
+        private void journalAcquired(TaskGroupState taskGroupState, TaskGroupWaiter taskGroupWaiter)
+                throws SQLException {
+            if (!robTaskGroup(taskGroupState.getUseSize() - 1, taskGroupWaiter.getQueueId())) {
+                throw new IllegalStateException("The use size in db doesn't match the task group state");
+            }
+            updateQueueStatus(taskGroupWaiter.getQueueId(), TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        }
+    }
+}
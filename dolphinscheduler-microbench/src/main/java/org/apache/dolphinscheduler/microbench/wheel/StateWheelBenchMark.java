@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.wheel;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.runner.wheel.HashedTimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the state wheel check list implementations when there are a lot of task instances with timeout.
+ * <p>
+ * The scan benchmarks measure the cost of one check round: the queue based check list needs to visit all the
+ * candidates, while the timing wheel only visits the candidates in the current tick. The churn benchmarks measure
+ * the cost of adding and removing a candidate, which happens once a task instance is submitted or finished.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class StateWheelBenchMark extends AbstractBaseBenchmark {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private static final long MAX_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(2);
+
+    @Param({"1000", "50000"})
+    private int candidateSize;
+
+    private long startTime;
+
+    private ConcurrentLinkedQueue<Integer> checkQueue;
+
+    private Map<Integer, Long> deadlines;
+
+    private HashedTimingWheel<Integer> timingWheel;
+
+    private long wheelNow;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        startTime = System.currentTimeMillis();
+        wheelNow = startTime;
+        checkQueue = new ConcurrentLinkedQueue<>();
+        deadlines = new ConcurrentHashMap<>();
+        timingWheel = new HashedTimingWheel<>(TICK_MILLIS, 512, startTime);
+        for (int i = 0; i < candidateSize; i++) {
+            long deadline = startTime + ThreadLocalRandom.current().nextLong(MAX_TIMEOUT_MILLIS);
+            checkQueue.add(i);
+            deadlines.put(i, deadline);
+            timingWheel.add(i, deadline);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Integer> scanByQueue() {
+        // the expired candidates are kept, so that each round visits the same amount of candidates
+        long now = System.currentTimeMillis();
+        List<Integer> expired = new ArrayList<>();
+        for (Integer candidate : checkQueue) {
+            if (deadlines.get(candidate) <= now) {
+                expired.add(candidate);
+            }
+        }
+        return expired;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Integer> scanByTimingWheel() {
+        // advance one tick each round, the expired candidates are added back one wheel round later
+        wheelNow += TICK_MILLIS;
+        List<Integer> expired = timingWheel.advance(wheelNow);
+        for (Integer candidate : expired) {
+            timingWheel.add(candidate, wheelNow + MAX_TIMEOUT_MILLIS);
+        }
+        return expired;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean churnByQueue() {
+        Integer candidate = ThreadLocalRandom.current().nextInt(candidateSize);
+        if (!checkQueue.contains(candidate)) {
+            return checkQueue.add(candidate);
+        }
+        return checkQueue.remove(candidate) && checkQueue.add(candidate);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean churnByTimingWheel() {
+        Integer candidate = ThreadLocalRandom.current().nextInt(candidateSize);
+        long deadline = startTime + ThreadLocalRandom.current().nextLong(MAX_TIMEOUT_MILLIS);
+        if (!timingWheel.add(candidate, deadline)) {
+            return timingWheel.cancel(candidate) && timingWheel.add(candidate, deadline);
+        }
+        return true;
+    }
+
+}
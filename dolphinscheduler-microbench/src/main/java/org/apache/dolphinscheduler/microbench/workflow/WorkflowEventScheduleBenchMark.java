@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.workflow;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the end-to-end latency of a workflow state event when most of the workflows in the master are idle.
+ * <p>
+ * The sweep benchmarks model the previous EventExecuteService, which walks all the workflows every
+ * {@link Constants#SLEEP_TIME_MILLIS_SHORT} and submits the ones with pending events. The mailbox benchmarks model
+ * WorkflowExecuteThreadPool scheduling a workflow once an event is added to it. Both use the same multi-thread filter
+ * to make sure a workflow is handled by one thread at the same time.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 2)
+public class WorkflowEventScheduleBenchMark extends AbstractBaseBenchmark {
+
+    private static final int EXEC_THREADS = 10;
+
+    @State(Scope.Benchmark)
+    public static class SweepState {
+
+        @Param({"10000", "50000"})
+        private int idleWorkflowSize;
+
+        private WorkflowScheduler workflowScheduler;
+
+        private Thread sweepThread;
+
+        private volatile boolean running;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            workflowScheduler = new WorkflowScheduler(idleWorkflowSize);
+            running = true;
+            sweepThread = new Thread(() -> {
+                while (running) {
+                    workflowScheduler.sweep();
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS_SHORT);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "WorkflowSweepThread");
+            sweepThread.setDaemon(true);
+            sweepThread.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            sweepThread.interrupt();
+            sweepThread.join();
+            workflowScheduler.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MailboxState {
+
+        @Param({"10000", "50000"})
+        private int idleWorkflowSize;
+
+        private WorkflowScheduler workflowScheduler;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            workflowScheduler = new WorkflowScheduler(idleWorkflowSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            workflowScheduler.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Long sweepEventLatency(SweepState sweepState) throws Exception {
+        WorkflowScheduler workflowScheduler = sweepState.workflowScheduler;
+        CompletableFuture<Long> handled = new CompletableFuture<>();
+        workflowScheduler.randomWorkflow().events.add(handled);
+        return handled.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Long mailboxEventLatency(MailboxState mailboxState) throws Exception {
+        WorkflowScheduler workflowScheduler = mailboxState.workflowScheduler;
+        CompletableFuture<Long> handled = new CompletableFuture<>();
+        Workflow workflow = workflowScheduler.randomWorkflow();
+        workflow.events.add(handled);
+        workflowScheduler.schedule(workflow);
+        return handled.get();
+    }
+
+    /**
+     * The cost of one sweep round over the idle workflows, this is paid every tick even if there is no event at all.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void sweepIdleWorkflows(MailboxState mailboxState) {
+        mailboxState.workflowScheduler.sweep();
+    }
+
+    private static class Workflow {
+
+        private final int id;
+
+        private final Queue<CompletableFuture<Long>> events = new ConcurrentLinkedQueue<>();
+
+        private Workflow(int id) {
+            this.id = id;
+        }
+
+        private void handleEvents() {
+            CompletableFuture<Long> event;
+            while ((event = events.poll()) != null) {
+                event.complete(System.nanoTime());
+            }
+        }
+    }
+
+    private static class WorkflowScheduler {
+
+        private final List<Workflow> workflows;
+
+        private final Map<Integer, Workflow> multiThreadFilterMap = new ConcurrentHashMap<>();
+
+        private final ExecutorService workflowExecuteThreadPool = Executors.newFixedThreadPool(EXEC_THREADS);
+
+        private WorkflowScheduler(int workflowSize) {
+            workflows = new ArrayList<>(workflowSize);
+            for (int i = 0; i < workflowSize; i++) {
+                workflows.add(new Workflow(i));
+            }
+        }
+
+        private Workflow randomWorkflow() {
+            return workflows.get(ThreadLocalRandom.current().nextInt(workflows.size()));
+        }
+
+        private void sweep() {
+            for (Workflow workflow : workflows) {
+                schedule(workflow);
+            }
+        }
+
+        private void schedule(Workflow workflow) {
+            if (workflow.events.isEmpty()) {
+                return;
+            }
+            if (multiThreadFilterMap.putIfAbsent(workflow.id, workflow) != null) {
+                return;
+            }
+            workflowExecuteThreadPool.execute(() -> {
+                try {
+                    workflow.handleEvents();
+                } finally {
+                    multiThreadFilterMap.remove(workflow.id);
+                }
+                // the events added during handling
+                if (!workflow.events.isEmpty()) {
+                    schedule(workflow);
+                }
+            });
+        }
+
+        private void close() {
+            workflowExecuteThreadPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.workflow;
+
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.graph.WorkflowGraph;
+import org.apache.dolphinscheduler.server.master.graph.WorkflowGraphCache;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the latency of creating the workflow graph when starting a workflow instance of a large workflow, with and
+ * without the {@link WorkflowGraphCache}.
+ * <p>
+ * The relation logs and the task definition logs queries are simulated by sleeping {@link #queryLatencyMillis}, they
+ * are queried for each workflow instance in both cases, each task depends on the two tasks before it.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@State(Scope.Benchmark)
+public class WorkflowGraphCacheBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    private int taskSize;
+
+    @Param({"2"})
+    private long queryLatencyMillis;
+
+    private WorkflowGraphCache compileForEachInstance;
+
+    private WorkflowGraphCache sharedCompiledGraph;
+
+    @Setup
+    public void setup() {
+        ProcessService processService = (ProcessService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{ProcessService.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findRelationByCode":
+                            Thread.sleep(queryLatencyMillis);
+                            return Collections.emptyList();
+                        case "transformTask":
+                            return createTaskNodes();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        TaskDefinitionLogDao taskDefinitionLogDao = (TaskDefinitionLogDao) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{TaskDefinitionLogDao.class}, (proxy, method, args) -> {
+                    if ("queryTaskDefineLogList".equals(method.getName())) {
+                        Thread.sleep(queryLatencyMillis);
+                        return Collections.emptyList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        MasterConfig noCacheMasterConfig = new MasterConfig();
+        noCacheMasterConfig.setWorkflowGraphCacheMaxWeight(0);
+        compileForEachInstance = new WorkflowGraphCache(processService, taskDefinitionLogDao, noCacheMasterConfig);
+        sharedCompiledGraph = new WorkflowGraphCache(processService, taskDefinitionLogDao, new MasterConfig());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public WorkflowGraph createGraphByCompileForEachInstance() throws Exception {
+        return compileForEachInstance.getWorkflowGraph(1L, 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public WorkflowGraph createGraphBySharedCompiledGraph() throws Exception {
+        return sharedCompiledGraph.getWorkflowGraph(1L, 1);
+    }
+
+    private List<TaskNode> createTaskNodes() {
+        List<TaskNode> taskNodes = new ArrayList<>(taskSize);
+        for (long code = 1; code <= taskSize; code++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setCode(code);
+            taskNode.setName("task-" + code);
+            if (code == 1) {
+                taskNode.setPreTasks("[]");
+            } else if (code == 2) {
+                taskNode.setPreTasks("[1]");
+            } else {
+                taskNode.setPreTasks("[" + (code - 2) + "," + (code - 1) + "]");
+            }
+            taskNodes.add(taskNode);
+        }
+        return taskNodes;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.workflow;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.master.runner.varpool.WorkflowVarPool;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the var pool handling of a workflow instance whose tasks all emit outputs, between merging the json strings
+ * and the {@link WorkflowVarPool}.
+ * <p>
+ * The tasks run in a chain, each task reads the var pool of the task before it when it's submitted, and its var pool
+ * is merged into the workflow var pool when it's finished. The workflow instance is persisted after each task is
+ * finished, so the workflow var pool is serialized once per task in both cases.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class WorkflowVarPoolBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"1000", "5000"})
+    private int taskSize;
+
+    @Param({"2"})
+    private int outputSize;
+
+    private List<TaskInstance> taskInstances;
+
+    @Setup
+    public void setup() {
+        taskInstances = new ArrayList<>(taskSize);
+        for (int i = 0; i < taskSize; i++) {
+            List<Property> taskVarPool = new ArrayList<>(outputSize);
+            for (int j = 0; j < outputSize; j++) {
+                taskVarPool.add(new Property("task_" + i + "_output_" + j, Direct.OUT, DataType.VARCHAR,
+                        "value_" + i + "_" + j));
+            }
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(i + 1);
+            taskInstance.setVarPool(JSONUtils.toJsonString(taskVarPool));
+            taskInstances.add(taskInstance);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int mergeJsonVarPool() {
+        String workflowVarPool = null;
+        int persistedLength = 0;
+        for (int i = 0; i < taskSize; i++) {
+            if (i > 0) {
+                List<Property> preVarPool = JSONUtils.toList(taskInstances.get(i - 1).getVarPool(), Property.class);
+                preVarPool.forEach(property -> property.setDirect(Direct.IN));
+            }
+            String taskVarPoolJson = taskInstances.get(i).getVarPool();
+            if (StringUtils.isEmpty(workflowVarPool)) {
+                workflowVarPool = taskVarPoolJson;
+            } else {
+                List<Property> processVarPool = new ArrayList<>(JSONUtils.toList(workflowVarPool, Property.class));
+                List<Property> taskVarPool = JSONUtils.toList(taskVarPoolJson, Property.class);
+                Set<String> newProcessVarPoolKeys =
+                        taskVarPool.stream().map(Property::getProp).collect(Collectors.toSet());
+                processVarPool = processVarPool.stream()
+                        .filter(property -> !newProcessVarPoolKeys.contains(property.getProp()))
+                        .collect(Collectors.toList());
+                processVarPool.addAll(taskVarPool);
+                workflowVarPool = JSONUtils.toJsonString(processVarPool);
+            }
+            persistedLength += workflowVarPool.length();
+        }
+        return persistedLength;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int mergeWorkflowVarPool() {
+        WorkflowVarPool workflowVarPool = new WorkflowVarPool(null);
+        int persistedLength = 0;
+        for (int i = 0; i < taskSize; i++) {
+            if (i > 0) {
+                List<Property> preVarPool = workflowVarPool.getTaskVarPool(taskInstances.get(i - 1));
+                preVarPool.forEach(property -> property.setDirect(Direct.IN));
+            }
+            workflowVarPool.merge(workflowVarPool.getTaskVarPool(taskInstances.get(i)));
+            persistedLength += workflowVarPool.toJson().length();
+        }
+        return persistedLength;
+    }
+}
@@ -17,11 +17,14 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.registry.api.Event;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,27 +32,46 @@ import org.apache.commons.lang3.StringUtils;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @ConditionalOnProperty(prefix = "registry", name = "type", havingValue = "jdbc")
 public class JdbcOperator {
 
-    @Autowired
-    private JdbcRegistryDataMapper jdbcRegistryDataMapper;
-    @Autowired
-    private JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    private final JdbcRegistryDataMapper jdbcRegistryDataMapper;
+    private final JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    private final JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper;
+
+    /**
+     * The data change and its change event are written in one transaction, otherwise the subscribers, which only
+     * follow the change events, may miss the change.
+     */
+    private final TransactionTemplate transactionTemplate;
 
     private final long expireTimeWindow;
+    private final long dataChangeEventRetention;
 
-    public JdbcOperator(JdbcRegistryProperties registryProperties) {
+    public JdbcOperator(JdbcRegistryProperties registryProperties,
+                        JdbcRegistryDataMapper jdbcRegistryDataMapper,
+                        JdbcRegistryLockMapper jdbcRegistryLockMapper,
+                        JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper,
+                        @Qualifier("jdbcRegistryTransactionTemplate") TransactionTemplate transactionTemplate) {
+        this.jdbcRegistryDataMapper = jdbcRegistryDataMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcRegistryLockMapper = jdbcRegistryLockMapper;
+        this.jdbcRegistryDataChangeEventMapper = jdbcRegistryDataChangeEventMapper;
         this.expireTimeWindow =
                 registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        this.dataChangeEventRetention = registryProperties.getDataChangeEventRetention().toMillis();
     }
 
     public void healthCheck() {
@@ -61,49 +83,65 @@ public class JdbcOperator {
     }
 
     public Long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
-        if (jdbcRegistryData != null) {
-            long id = jdbcRegistryData.getId();
-            if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
-            }
-            return id;
-        }
-        jdbcRegistryData = JdbcRegistryData.builder()
-                .dataKey(key)
-                .dataValue(value)
-                .dataType(DataType.EPHEMERAL.getTypeValue())
-                .lastTerm(System.currentTimeMillis())
-                .build();
-        jdbcRegistryDataMapper.insert(jdbcRegistryData);
-        return jdbcRegistryData.getId();
+        return insertOrUpdateData(key, value, DataType.EPHEMERAL);
     }
 
     public long insertOrUpdatePersistentData(String key, String value) throws SQLException {
+        return insertOrUpdateData(key, value, DataType.PERSISTENT);
+    }
+
+    private long insertOrUpdateData(String key, String value, DataType dataType) throws SQLException {
+        Long id = transactionTemplate.execute(status -> doInsertOrUpdateData(key, value, dataType));
+        if (id == null) {
+            throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of the data, or null if the data is failed to update
+     */
+    private Long doInsertOrUpdateData(String key, String value, DataType dataType) {
         JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
         if (jdbcRegistryData != null) {
             long id = jdbcRegistryData.getId();
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
-                throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
+                return null;
+            }
+            // only the value change need to be notified, the term refresh is not a data change
+            if (!Objects.equals(jdbcRegistryData.getDataValue(), value)) {
+                insertDataChangeEvent(Event.Type.UPDATE, key, value);
             }
             return id;
         }
         jdbcRegistryData = JdbcRegistryData.builder()
                 .dataKey(key)
                 .dataValue(value)
-                .dataType(DataType.PERSISTENT.getTypeValue())
+                .dataType(dataType.getTypeValue())
                 .lastTerm(System.currentTimeMillis())
                 .build();
         jdbcRegistryDataMapper.insert(jdbcRegistryData);
+        insertDataChangeEvent(Event.Type.ADD, key, value);
         return jdbcRegistryData.getId();
     }
 
     public void deleteDataByKey(String key) {
-        jdbcRegistryDataMapper.deleteByKey(key);
+        transactionTemplate.executeWithoutResult(status -> {
+            JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
+            if (jdbcRegistryData != null && jdbcRegistryDataMapper.deleteByKey(key) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE, key, jdbcRegistryData.getDataValue());
+            }
+        });
     }
 
     public void deleteDataById(long id) {
-        jdbcRegistryDataMapper.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectById(id);
+            if (jdbcRegistryData != null && jdbcRegistryDataMapper.deleteById(id) > 0) {
+                insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getDataKey(),
+                        jdbcRegistryData.getDataValue());
+            }
+        });
     }
 
     public void clearExpireLock() {
@@ -111,8 +149,61 @@ public class JdbcOperator {
     }
 
     public void clearExpireEphemeralDate() {
-        jdbcRegistryDataMapper.clearExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
-                DataType.EPHEMERAL.getTypeValue());
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        List<JdbcRegistryData> expireEphemeralData =
+                jdbcRegistryDataMapper.selectExpireEphemeralDate(expireTerm, DataType.EPHEMERAL.getTypeValue());
+        for (JdbcRegistryData jdbcRegistryData : expireEphemeralData) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // the data may be refreshed or cleared by others after the query
+                if (jdbcRegistryDataMapper.deleteExpireEphemeralDateById(jdbcRegistryData.getId(), expireTerm) > 0) {
+                    insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getDataKey(),
+                            jdbcRegistryData.getDataValue());
+                }
+            });
+        }
+    }
+
+    public void clearExpireDataChangeEvent() {
+        jdbcRegistryDataChangeEventMapper
+                .deleteBeforeCreateTime(new Date(System.currentTimeMillis() - dataChangeEventRetention));
+    }
+
+    /**
+     * Query the data change events whose revision is greater than the given revision, order by revision.
+     */
+    public List<JdbcRegistryDataChangeEvent> queryDataChangeEventsAfter(long revision, int limit) {
+        return jdbcRegistryDataChangeEventMapper.selectAfterRevision(revision, limit);
+    }
+
+    public List<JdbcRegistryDataChangeEvent> queryDataChangeEvents(Collection<Long> revisions) {
+        if (CollectionUtils.isEmpty(revisions)) {
+            return Collections.emptyList();
+        }
+        return jdbcRegistryDataChangeEventMapper.selectBatchIds(revisions);
+    }
+
+    /**
+     * Get the latest revision of the registry data, return 0 if there is no data change event.
+     */
+    public long getMaxDataChangeRevision() {
+        Long maxRevision = jdbcRegistryDataChangeEventMapper.selectMaxRevision();
+        return maxRevision == null ? 0 : maxRevision;
+    }
+
+    /**
+     * Get the oldest revision which is still kept, return null if there is no data change event.
+     */
+    public Long getMinDataChangeRevision() {
+        return jdbcRegistryDataChangeEventMapper.selectMinRevision();
+    }
+
+    private void insertDataChangeEvent(Event.Type eventType, String key, String value) {
+        jdbcRegistryDataChangeEventMapper.insert(JdbcRegistryDataChangeEvent.builder()
+                .eventType(eventType)
+                .dataKey(key)
+                .dataValue(value)
+                .createTime(new Date())
+                .build());
     }
 
     public JdbcRegistryData getData(String key) throws SQLException {
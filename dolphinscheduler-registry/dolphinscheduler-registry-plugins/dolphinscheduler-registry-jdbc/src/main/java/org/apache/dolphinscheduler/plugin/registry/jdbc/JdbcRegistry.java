@@ -58,6 +58,7 @@ public class JdbcRegistry implements Registry {
         this.jdbcOperator = jdbcOperator;
         jdbcOperator.clearExpireLock();
         jdbcOperator.clearExpireEphemeralDate();
+        jdbcOperator.clearExpireDataChangeEvent();
         this.jdbcRegistryProperties = jdbcRegistryProperties;
         this.ephemeralDateManager = new EphemeralDateManager(jdbcRegistryProperties, jdbcOperator);
         this.subscribeDataManager = new SubscribeDataManager(jdbcRegistryProperties, jdbcOperator);
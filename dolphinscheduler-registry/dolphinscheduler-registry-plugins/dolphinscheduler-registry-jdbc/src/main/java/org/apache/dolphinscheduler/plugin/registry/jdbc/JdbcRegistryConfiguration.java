@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
 
@@ -26,6 +27,8 @@ import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
 import com.zaxxer.hikari.HikariDataSource;
@@ -46,9 +49,20 @@ public class JdbcRegistryConfiguration {
     public SqlSessionTemplate jdbcRegistrySqlSessionTemplate(SqlSessionFactory jdbcRegistrySqlSessionFactory) {
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataMapper.class);
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryLockMapper.class);
+        jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataChangeEventMapper.class);
         return new SqlSessionTemplate(jdbcRegistrySqlSessionFactory);
     }
 
+    /**
+     * Used to write the registry data and its change event in one transaction, the transaction manager is not exposed
+     * as a bean so that it will not be mixed up with the transaction manager of the application.
+     */
+    @Bean
+    public TransactionTemplate jdbcRegistryTransactionTemplate(SqlSessionFactory jdbcRegistrySqlSessionFactory) {
+        return new TransactionTemplate(new DataSourceTransactionManager(
+                jdbcRegistrySqlSessionFactory.getConfiguration().getEnvironment().getDataSource()));
+    }
+
     @Bean
     public JdbcRegistryDataMapper jdbcRegistryDataMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataMapper.class);
@@ -59,4 +73,9 @@ public class JdbcRegistryConfiguration {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryLockMapper.class);
     }
 
+    @Bean
+    public JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
+        return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataChangeEventMapper.class);
+    }
+
 }
@@ -42,6 +42,11 @@ public class JdbcRegistryProperties {
      * e.g. if you set 2, and latest two refresh error, then the ephemeral data/lock will be expire.
      */
     private int termExpireTimes = 3;
+    /**
+     * How long the data change events will be kept, the subscriber which falls behind more than this will reload the
+     * whole registry data.
+     */
+    private Duration dataChangeEventRetention = Duration.ofMinutes(10);
     private HikariConfig hikariConfig;
 
 }
@@ -20,35 +20,44 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used to refresh if the subscribe path has been changed.
+ * <p>
+ * The registry data is loaded once at startup, after that only the data change events whose revision is greater than
+ * the last seen revision will be fetched, and dispatched to the listeners whose subscribed path is a prefix of the
+ * changed key.
  */
 @Slf4j
 public class SubscribeDataManager implements AutoCloseable {
 
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
-    private final Map<String, List<SubscribeListener>> dataSubScribeMap = new ConcurrentHashMap<>();
+    private final SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
     private final ScheduledExecutorService dataSubscribeCheckThreadPool;
-    private final Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+    private final Map<String, String> jdbcRegistryDataMap = new ConcurrentHashMap<>();
 
     public SubscribeDataManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
         this.registryProperties = registryProperties;
@@ -61,91 +70,178 @@ public class SubscribeDataManager implements AutoCloseable {
 
     public void start() {
         dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
-                new RegistrySubscribeDataCheckTask(dataSubScribeMap, jdbcOperator, jdbcRegistryDataMap),
+                new RegistrySubscribeDataCheckTask(subscribeListenerTrie, jdbcOperator, jdbcRegistryDataMap,
+                        registryProperties.getTermRefreshInterval().toMillis()
+                                * registryProperties.getTermExpireTimes()),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
     }
 
     public void addListener(String path, SubscribeListener subscribeListener) {
-        dataSubScribeMap.computeIfAbsent(path, k -> new ArrayList<>()).add(subscribeListener);
+        subscribeListenerTrie.addListener(path, subscribeListener);
     }
 
     public void removeListener(String path) {
-        dataSubScribeMap.remove(path);
+        subscribeListenerTrie.removeListeners(path);
     }
 
     public String getData(String path) {
-        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMap.get(path);
-        if (jdbcRegistryData == null) {
-            return null;
-        }
-        return jdbcRegistryData.getDataValue();
+        return jdbcRegistryDataMap.get(path);
     }
 
     @Override
     public void close() {
         dataSubscribeCheckThreadPool.shutdownNow();
-        dataSubScribeMap.clear();
+        subscribeListenerTrie.clear();
     }
 
-    @RequiredArgsConstructor
     static class RegistrySubscribeDataCheckTask implements Runnable {
 
-        private final Map<String, List<SubscribeListener>> dataSubScribeMap;
+        private static final int DATA_CHANGE_EVENT_FETCH_SIZE = 1000;
+
+        private final SubscribeListenerTrie subscribeListenerTrie;
         private final JdbcOperator jdbcOperator;
-        private final Map<String, JdbcRegistryData> jdbcRegistryDataMap;
+        private final Map<String, String> jdbcRegistryDataMap;
+        // The revision may be skipped when the insertions commit out of order or roll back, the skipped revisions
+        // will be checked again until they show up or this window passed
+        private final long missingRevisionCheckWindow;
+        private final Map<Long, Long> missingRevisions = new HashMap<>();
+        // -1 means the registry data hasn't been loaded
+        private long revision = -1;
+
+        RegistrySubscribeDataCheckTask(SubscribeListenerTrie subscribeListenerTrie,
+                                       JdbcOperator jdbcOperator,
+                                       Map<String, String> jdbcRegistryDataMap,
+                                       long missingRevisionCheckWindow) {
+            this.subscribeListenerTrie = subscribeListenerTrie;
+            this.jdbcOperator = jdbcOperator;
+            this.jdbcRegistryDataMap = jdbcRegistryDataMap;
+            this.missingRevisionCheckWindow = missingRevisionCheckWindow;
+        }
 
         @Override
         public void run() {
-            // query the full data from database, and update the jdbcRegistryDataMap
             try {
-                Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
-                        .stream()
-                        .collect(Collectors.toMap(JdbcRegistryData::getDataKey, Function.identity()));
-                // find the different
-                List<JdbcRegistryData> addedData = new ArrayList<>();
-                List<JdbcRegistryData> deletedData = new ArrayList<>();
-                List<JdbcRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
-                    JdbcRegistryData newData = entry.getValue();
-                    JdbcRegistryData oldData = jdbcRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
+                if (revision < 0) {
+                    loadAllData();
+                } else {
+                    loadChangedData();
+                }
+            } catch (Exception e) {
+                log.error("Query data from jdbc registry error", e);
+            }
+        }
+
+        /**
+         * Query the full data from database and diff it with the local data, this is only used at startup or the
+         * data change events we need have been cleared.
+         */
+        private void loadAllData() {
+            // get the revision before query the data, so the changes happen during the query will be replayed later
+            long currentRevision = jdbcOperator.getMaxDataChangeRevision();
+            Map<String, String> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
+                    .stream()
+                    .collect(Collectors.toMap(JdbcRegistryData::getDataKey, JdbcRegistryData::getDataValue));
+            for (String key : new ArrayList<>(jdbcRegistryDataMap.keySet())) {
+                if (!currentJdbcDataMap.containsKey(key)) {
+                    applyDataChange(key, null);
+                }
+            }
+            currentJdbcDataMap.forEach(this::applyDataChange);
+            missingRevisions.clear();
+            revision = currentRevision;
+            log.info("Loaded {} jdbc registry data, revision: {}", currentJdbcDataMap.size(), revision);
+        }
+
+        private void loadChangedData() throws SQLException {
+            recheckMissingRevisions();
+            while (true) {
+                List<JdbcRegistryDataChangeEvent> dataChangeEvents =
+                        jdbcOperator.queryDataChangeEventsAfter(revision, DATA_CHANGE_EVENT_FETCH_SIZE);
+                if (dataChangeEvents.isEmpty()) {
+                    return;
+                }
+                if (dataChangeEvents.get(0).getId() > revision + 1 && isDataChangeEventCleared()) {
+                    log.warn("The data change events after revision: {} have been cleared, will reload all data",
+                            revision);
+                    loadAllData();
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                for (JdbcRegistryDataChangeEvent dataChangeEvent : dataChangeEvents) {
+                    for (long missingRevision = revision + 1; missingRevision < dataChangeEvent.getId();
+                            missingRevision++) {
+                        missingRevisions.put(missingRevision, now);
+                    }
+                    revision = dataChangeEvent.getId();
+                    if (dataChangeEvent.getEventType() == Event.Type.REMOVE) {
+                        applyDataChange(dataChangeEvent.getDataKey(), null);
                     } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
-                        }
+                        applyDataChange(dataChangeEvent.getDataKey(), dataChangeEvent.getDataValue());
                     }
                 }
-                for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
-                    if (!currentJdbcDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
-                    }
+                if (dataChangeEvents.size() < DATA_CHANGE_EVENT_FETCH_SIZE) {
+                    return;
                 }
-                jdbcRegistryDataMap.clear();
-                jdbcRegistryDataMap.putAll(currentJdbcDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+            }
+        }
+
+        private boolean isDataChangeEventCleared() {
+            Long minRevision = jdbcOperator.getMinDataChangeRevision();
+            return minRevision == null || minRevision > revision + 1;
+        }
+
+        /**
+         * The events show up late may be older than the events we have applied, so we don't apply them directly but
+         * reload the latest data of their keys.
+         */
+        private void recheckMissingRevisions() throws SQLException {
+            if (missingRevisions.isEmpty()) {
+                return;
+            }
+            Set<String> changedKeys = new HashSet<>();
+            for (JdbcRegistryDataChangeEvent dataChangeEvent : jdbcOperator
+                    .queryDataChangeEvents(missingRevisions.keySet())) {
+                missingRevisions.remove(dataChangeEvent.getId());
+                changedKeys.add(dataChangeEvent.getDataKey());
+            }
+            for (String changedKey : changedKeys) {
+                JdbcRegistryData jdbcRegistryData = jdbcOperator.getData(changedKey);
+                applyDataChange(changedKey, jdbcRegistryData == null ? null : jdbcRegistryData.getDataValue());
+            }
+            long expireTime = System.currentTimeMillis() - missingRevisionCheckWindow;
+            Iterator<Map.Entry<Long, Long>> iterator = missingRevisions.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() < expireTime) {
+                    iterator.remove();
                 }
-            } catch (Exception e) {
-                log.error("Query data from jdbc registry error");
             }
         }
 
-        private void triggerListener(List<JdbcRegistryData> dataList,
-                                     String subscribeKey,
-                                     List<SubscribeListener> subscribeListeners,
-                                     Event.Type type) {
-            for (JdbcRegistryData data : dataList) {
-                if (data.getDataKey().startsWith(subscribeKey)) {
-                    subscribeListeners.forEach(subscribeListener -> subscribeListener
-                            .notify(new Event(data.getDataKey(), data.getDataKey(), data.getDataValue(), type)));
+        /**
+         * Update the local data and trigger the listeners, the value is null means the key has been removed.
+         */
+        private void applyDataChange(String key, String value) {
+            String oldValue = value == null ? jdbcRegistryDataMap.remove(key) : jdbcRegistryDataMap.put(key, value);
+            Event event;
+            if (value == null) {
+                if (oldValue == null) {
+                    return;
+                }
+                event = new Event(key, key, oldValue, Event.Type.REMOVE);
+            } else if (oldValue == null) {
+                event = new Event(key, key, value, Event.Type.ADD);
+            } else if (!Objects.equals(oldValue, value)) {
+                event = new Event(key, key, value, Event.Type.UPDATE);
+            } else {
+                return;
+            }
+            for (SubscribeListener subscribeListener : subscribeListenerTrie.getMatchedListeners(key)) {
+                try {
+                    subscribeListener.notify(event);
+                } catch (Exception e) {
+                    log.error("Trigger the subscribe listener of key: {} error", key, e);
                 }
             }
         }
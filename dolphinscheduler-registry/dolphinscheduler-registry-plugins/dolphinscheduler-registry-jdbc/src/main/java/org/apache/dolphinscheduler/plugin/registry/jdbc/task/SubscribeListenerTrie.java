@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A prefix trie of the subscribed paths, used to find all the listeners whose subscribed path is a prefix of the
+ * changed key, the cost of a lookup is only related to the length of the key rather than the count of subscriptions.
+ */
+class SubscribeListenerTrie {
+
+    private final Node root = new Node();
+
+    public synchronized void addListener(String path, SubscribeListener subscribeListener) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.computeIfAbsent(path.charAt(i), k -> new Node());
+        }
+        node.listeners.add(subscribeListener);
+    }
+
+    public synchronized void removeListeners(String path) {
+        removeListeners(root, path, 0);
+    }
+
+    /**
+     * Get the listeners whose subscribed path is a prefix of the given key.
+     */
+    public synchronized List<SubscribeListener> getMatchedListeners(String key) {
+        List<SubscribeListener> matchedListeners = new ArrayList<>(root.listeners);
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            matchedListeners.addAll(node.listeners);
+        }
+        return matchedListeners;
+    }
+
+    public synchronized boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    public synchronized void clear() {
+        root.listeners.clear();
+        root.children.clear();
+    }
+
+    private boolean removeListeners(Node node, String path, int index) {
+        if (index == path.length()) {
+            node.listeners.clear();
+        } else {
+            Node child = node.children.get(path.charAt(index));
+            if (child != null && removeListeners(child, path, index + 1)) {
+                node.children.remove(path.charAt(index));
+            }
+        }
+        // tell the parent to prune this node if it doesn't hold any listener
+        return node.isEmpty();
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<SubscribeListener> listeners = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && listeners.isEmpty();
+        }
+    }
+}
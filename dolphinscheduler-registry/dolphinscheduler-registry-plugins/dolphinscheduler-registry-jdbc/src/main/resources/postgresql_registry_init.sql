@@ -31,6 +31,20 @@ create table t_ds_jdbc_registry_data
 create unique index t_ds_jdbc_registry_data_key_uindex on t_ds_jdbc_registry_data (data_key);
 
 
+DROP TABLE IF EXISTS t_ds_jdbc_registry_data_change_event;
+create table t_ds_jdbc_registry_data_change_event
+(
+    id          bigserial
+        constraint t_ds_jdbc_registry_data_change_event_pk primary key,
+    event_type  varchar                             not null,
+    data_key    varchar                             not null,
+    data_value  text                                not null,
+    create_time timestamp default current_timestamp not null
+);
+
+create index t_ds_jdbc_registry_data_change_event_create_time_index on t_ds_jdbc_registry_data_change_event (create_time);
+
+
 DROP TABLE IF EXISTS t_ds_jdbc_registry_lock;
 create table t_ds_jdbc_registry_lock
 (
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+public class JdbcOperatorTest {
+
+    private HikariDataSource dataSource;
+
+    private JdbcOperator jdbcOperator;
+
+    @BeforeEach
+    public void before() throws Exception {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl("jdbc:h2:mem:jdbc_operator;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        hikariConfig.setUsername("sa");
+        dataSource = new HikariDataSource(hikariConfig);
+        try (
+                Connection connection = dataSource.getConnection();
+                Reader reader = new InputStreamReader(
+                        getClass().getClassLoader().getResourceAsStream("h2_registry_init.sql"),
+                        StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, reader);
+        }
+
+        MybatisSqlSessionFactoryBean sqlSessionFactoryBean = new MybatisSqlSessionFactoryBean();
+        sqlSessionFactoryBean.setDataSource(dataSource);
+        SqlSessionFactory sqlSessionFactory = sqlSessionFactoryBean.getObject();
+        JdbcRegistryConfiguration jdbcRegistryConfiguration = new JdbcRegistryConfiguration();
+        SqlSessionTemplate sqlSessionTemplate =
+                jdbcRegistryConfiguration.jdbcRegistrySqlSessionTemplate(sqlSessionFactory);
+        jdbcOperator = new JdbcOperator(new JdbcRegistryProperties(),
+                jdbcRegistryConfiguration.jdbcRegistryDataMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryLockMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryDataChangeEventMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryTransactionTemplate(sqlSessionFactory));
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        dataSource.close();
+    }
+
+    @Test
+    public void testWriteDataWithChangeEvent() throws Exception {
+        jdbcOperator.insertOrUpdateEphemeralData("/nodes/master/master-0", "0");
+        jdbcOperator.insertOrUpdateEphemeralData("/nodes/master/master-0", "1");
+        jdbcOperator.deleteDataByKey("/nodes/master/master-0");
+
+        Assertions.assertFalse(jdbcOperator.existKey("/nodes/master/master-0"));
+        long eventCount = jdbcOperator.getMaxDataChangeRevision() - jdbcOperator.getMinDataChangeRevision() + 1;
+        Assertions.assertEquals(3, eventCount);
+    }
+
+    @Test
+    public void testRollbackDataIfChangeEventFailed() throws Exception {
+        jdbcOperator.insertOrUpdateEphemeralData("/nodes/master/master-0", "0");
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE t_ds_jdbc_registry_data_change_event");
+        }
+
+        Assertions.assertThrows(Exception.class,
+                () -> jdbcOperator.insertOrUpdateEphemeralData("/nodes/master/master-1", "0"));
+        Assertions.assertThrows(Exception.class,
+                () -> jdbcOperator.insertOrUpdateEphemeralData("/nodes/master/master-0", "1"));
+        Assertions.assertThrows(Exception.class, () -> jdbcOperator.deleteDataByKey("/nodes/master/master-0"));
+
+        // the subscribers will never see these changes, so they should not be written
+        Assertions.assertFalse(jdbcOperator.existKey("/nodes/master/master-1"));
+        Assertions.assertEquals("0", jdbcOperator.getData("/nodes/master/master-0").getDataValue());
+    }
+}
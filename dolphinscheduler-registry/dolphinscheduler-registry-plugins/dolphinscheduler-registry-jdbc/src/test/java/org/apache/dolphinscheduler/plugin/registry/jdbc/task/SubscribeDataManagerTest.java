@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConfiguration;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.registry.api.Event;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+@Slf4j
+public class SubscribeDataManagerTest {
+
+    private static final int MASTER_COUNT = 50;
+    private static final int WORKER_COUNT = 300;
+    private static final int ALERT_SERVER_COUNT = 50;
+    private static final int HEARTBEAT_ROUNDS = 5;
+
+    private HikariDataSource dataSource;
+
+    private JdbcRegistryProperties jdbcRegistryProperties;
+
+    private JdbcOperator jdbcOperator;
+
+    private SubscribeDataManager subscribeDataManager;
+
+    @BeforeEach
+    public void before() throws Exception {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl("jdbc:h2:mem:jdbc_registry;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        hikariConfig.setUsername("sa");
+        hikariConfig.setMaximumPoolSize(32);
+        dataSource = new HikariDataSource(hikariConfig);
+        try (
+                Connection connection = dataSource.getConnection();
+                Reader reader = new InputStreamReader(
+                        getClass().getClassLoader().getResourceAsStream("h2_registry_init.sql"),
+                        StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, reader);
+        }
+
+        MybatisSqlSessionFactoryBean sqlSessionFactoryBean = new MybatisSqlSessionFactoryBean();
+        sqlSessionFactoryBean.setDataSource(dataSource);
+        SqlSessionFactory sqlSessionFactory = sqlSessionFactoryBean.getObject();
+        JdbcRegistryConfiguration jdbcRegistryConfiguration = new JdbcRegistryConfiguration();
+        SqlSessionTemplate sqlSessionTemplate =
+                jdbcRegistryConfiguration.jdbcRegistrySqlSessionTemplate(sqlSessionFactory);
+
+        jdbcRegistryProperties = new JdbcRegistryProperties();
+        jdbcRegistryProperties.setTermRefreshInterval(Duration.ofMillis(100));
+        jdbcOperator = new JdbcOperator(jdbcRegistryProperties,
+                jdbcRegistryConfiguration.jdbcRegistryDataMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryLockMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryDataChangeEventMapper(sqlSessionTemplate),
+                jdbcRegistryConfiguration.jdbcRegistryTransactionTemplate(sqlSessionFactory));
+        subscribeDataManager = new SubscribeDataManager(jdbcRegistryProperties, jdbcOperator);
+    }
+
+    @AfterEach
+    public void after() {
+        subscribeDataManager.close();
+        dataSource.close();
+    }
+
+    @Test
+    public void testSubscribeDataChangedByHundredsOfNodes() throws Exception {
+        // the data exists before subscribing will be loaded at startup
+        jdbcOperator.insertOrUpdatePersistentData("/nodes/master/existing", "0");
+
+        Map<String, String> masterView = new ConcurrentHashMap<>();
+        Map<String, String> workerView = new ConcurrentHashMap<>();
+        AtomicInteger alertServerAddCount = new AtomicInteger();
+        subscribeDataManager.addListener("/nodes/master", event -> applyEvent(masterView, event));
+        subscribeDataManager.addListener("/nodes/worker", event -> applyEvent(workerView, event));
+        subscribeDataManager.addListener("/nodes/alert-server", event -> {
+            if (event.type() == Event.Type.ADD) {
+                alertServerAddCount.incrementAndGet();
+            }
+        });
+        subscribeDataManager.start();
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < MASTER_COUNT; i++) {
+            nodes.add("/nodes/master/master-" + i);
+        }
+        for (int i = 0; i < WORKER_COUNT; i++) {
+            nodes.add("/nodes/worker/worker-" + i);
+        }
+        for (int i = 0; i < ALERT_SERVER_COUNT; i++) {
+            nodes.add("/nodes/alert-server/alert-server-" + i);
+        }
+
+        // each node registers itself, reports heartbeat several rounds, and some workers go offline at the end
+        long startTime = System.currentTimeMillis();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String node : nodes) {
+                futures.add(executorService.submit(() -> {
+                    for (int round = 0; round < HEARTBEAT_ROUNDS; round++) {
+                        jdbcOperator.insertOrUpdateEphemeralData(node, String.valueOf(round));
+                    }
+                    if (node.startsWith("/nodes/worker") && node.hashCode() % 3 == 0) {
+                        jdbcOperator.deleteDataByKey(node);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        log.info("{} nodes write {} heartbeats cost {} ms", nodes.size(), nodes.size() * HEARTBEAT_ROUNDS,
+                System.currentTimeMillis() - startTime);
+
+        Map<String, String> expectedData = jdbcOperator.queryAllJdbcRegistryData()
+                .stream()
+                .collect(Collectors.toMap(JdbcRegistryData::getDataKey, JdbcRegistryData::getDataValue));
+        Map<String, String> expectedMasterView = filterByPrefix(expectedData, "/nodes/master");
+        Map<String, String> expectedWorkerView = filterByPrefix(expectedData, "/nodes/worker");
+        Assertions.assertEquals(MASTER_COUNT + 1, expectedMasterView.size());
+
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(30).toMillis();
+        while (System.currentTimeMillis() < deadline
+                && !(expectedMasterView.equals(masterView) && expectedWorkerView.equals(workerView)
+                        && alertServerAddCount.get() == ALERT_SERVER_COUNT)) {
+            Thread.sleep(jdbcRegistryProperties.getTermRefreshInterval().toMillis());
+        }
+        log.info("Subscriber catch up with {} nodes cost {} ms", nodes.size(),
+                System.currentTimeMillis() - startTime);
+        Assertions.assertEquals(expectedMasterView, masterView);
+        Assertions.assertEquals(expectedWorkerView, workerView);
+        Assertions.assertEquals(ALERT_SERVER_COUNT, alertServerAddCount.get());
+        for (Map.Entry<String, String> entry : expectedData.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), subscribeDataManager.getData(entry.getKey()));
+        }
+    }
+
+    private void applyEvent(Map<String, String> view, Event event) {
+        if (event.type() == Event.Type.REMOVE) {
+            view.remove(event.path());
+        } else {
+            view.put(event.path(), event.data());
+        }
+    }
+
+    private Map<String, String> filterByPrefix(Map<String, String> data, String prefix) {
+        return data.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
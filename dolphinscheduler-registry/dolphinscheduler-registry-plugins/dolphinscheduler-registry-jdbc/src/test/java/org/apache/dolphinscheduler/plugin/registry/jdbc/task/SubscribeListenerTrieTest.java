@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SubscribeListenerTrieTest {
+
+    @Test
+    public void testGetMatchedListeners() {
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        SubscribeListener nodesListener = event -> {
+        };
+        SubscribeListener masterListener = event -> {
+        };
+        SubscribeListener workerListener = event -> {
+        };
+        subscribeListenerTrie.addListener("/nodes", nodesListener);
+        subscribeListenerTrie.addListener("/nodes/master", masterListener);
+        subscribeListenerTrie.addListener("/nodes/worker", workerListener);
+
+        Assertions.assertEquals(Arrays.asList(nodesListener, masterListener),
+                subscribeListenerTrie.getMatchedListeners("/nodes/master/127.0.0.1:5678"));
+        Assertions.assertEquals(Arrays.asList(nodesListener, workerListener),
+                subscribeListenerTrie.getMatchedListeners("/nodes/worker"));
+        Assertions.assertEquals(Collections.singletonList(nodesListener),
+                subscribeListenerTrie.getMatchedListeners("/nodes/alert-server/127.0.0.1:50052"));
+        Assertions.assertEquals(Collections.emptyList(), subscribeListenerTrie.getMatchedListeners("/lock"));
+        Assertions.assertEquals(Collections.emptyList(), subscribeListenerTrie.getMatchedListeners("/node"));
+    }
+
+    @Test
+    public void testRemoveListeners() {
+        SubscribeListenerTrie subscribeListenerTrie = new SubscribeListenerTrie();
+        SubscribeListener nodesListener = event -> {
+        };
+        SubscribeListener masterListener = event -> {
+        };
+        subscribeListenerTrie.addListener("/nodes", nodesListener);
+        subscribeListenerTrie.addListener("/nodes/master", masterListener);
+
+        subscribeListenerTrie.removeListeners("/nodes");
+        Assertions.assertEquals(Collections.singletonList(masterListener),
+                subscribeListenerTrie.getMatchedListeners("/nodes/master/127.0.0.1:5678"));
+
+        subscribeListenerTrie.removeListeners("/nodes/master");
+        Assertions.assertEquals(Collections.emptyList(),
+                subscribeListenerTrie.getMatchedListeners("/nodes/master/127.0.0.1:5678"));
+        Assertions.assertTrue(subscribeListenerTrie.isEmpty());
+    }
+}
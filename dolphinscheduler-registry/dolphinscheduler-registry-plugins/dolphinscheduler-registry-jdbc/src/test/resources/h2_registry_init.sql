@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+DROP TABLE IF EXISTS t_ds_jdbc_registry_data;
+CREATE TABLE t_ds_jdbc_registry_data
+(
+    id               bigint AUTO_INCREMENT PRIMARY KEY,
+    data_key         varchar(256) NOT NULL UNIQUE,
+    data_value       text         NOT NULL,
+    data_type        tinyint      NOT NULL,
+    last_term        bigint       NOT NULL,
+    last_update_time timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_time      timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+DROP TABLE IF EXISTS t_ds_jdbc_registry_data_change_event;
+CREATE TABLE t_ds_jdbc_registry_data_change_event
+(
+    id          bigint AUTO_INCREMENT PRIMARY KEY,
+    event_type  varchar(64)  NOT NULL,
+    data_key    varchar(256) NOT NULL,
+    data_value  text         NOT NULL,
+    create_time timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+DROP TABLE IF EXISTS t_ds_jdbc_registry_lock;
+CREATE TABLE t_ds_jdbc_registry_lock
+(
+    id               bigint AUTO_INCREMENT PRIMARY KEY,
+    lock_key         varchar(256) NOT NULL UNIQUE,
+    lock_owner       varchar(256) NOT NULL,
+    last_term        bigint       NOT NULL,
+    last_update_time timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_time      timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
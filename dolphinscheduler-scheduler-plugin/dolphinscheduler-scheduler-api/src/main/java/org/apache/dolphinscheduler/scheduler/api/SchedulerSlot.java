@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.api;
+
+import lombok.Value;
+
+/**
+ * The slot and the total slot count of a server, they are read together so a half updated pair is never seen.
+ */
+@Value
+public class SchedulerSlot {
+
+    public static final SchedulerSlot NONE = new SchedulerSlot(0, 0);
+
+    int slot;
+
+    /**
+     * 0 means the server doesn't own any slot.
+     */
+    int slotCount;
+}
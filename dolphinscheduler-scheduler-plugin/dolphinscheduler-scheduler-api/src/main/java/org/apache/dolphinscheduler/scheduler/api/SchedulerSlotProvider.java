@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.api;
+
+/**
+ * Provide the slot of current server, the schedulers which keep the schedules in memory use it to partition the
+ * schedules across the servers, a schedule belongs to the server whose slot equals to {@code scheduleId % slotCount}.
+ */
+public interface SchedulerSlotProvider {
+
+    /**
+     * @return the slot of current server.
+     */
+    int getSlot();
+
+    /**
+     * @return the total slot count, 0 means current server doesn't own any slot.
+     */
+    int getSlotCount();
+
+    /**
+     * @return the slot and the total slot count of current server, which are updated together.
+     */
+    SchedulerSlot getSchedulerSlot();
+}
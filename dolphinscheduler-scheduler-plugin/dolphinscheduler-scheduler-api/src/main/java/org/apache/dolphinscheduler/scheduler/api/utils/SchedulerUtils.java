@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.api.utils;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.Date;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class SchedulerUtils {
+
+    /**
+     * create the command of a schedule fire.
+     */
+    public static Command createScheduleCommand(Schedule schedule,
+                                                ProcessDefinition processDefinition,
+                                                Date scheduledFireTime,
+                                                Date fireTime) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
+        command.setScheduleTime(scheduledFireTime);
+        command.setStartTime(fireTime);
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        String workerGroup = StringUtils.isEmpty(schedule.getWorkerGroup()) ? Constants.DEFAULT_WORKER_GROUP
+                : schedule.getWorkerGroup();
+        command.setWorkerGroup(workerGroup);
+        command.setTenantCode(schedule.getTenantCode());
+        command.setEnvironmentCode(schedule.getEnvironmentCode());
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        command.setProcessDefinitionVersion(processDefinition.getVersion());
+        if (StringUtils.isNotEmpty(schedule.getTimezoneId())) {
+            command.setCommandParam(JSONUtils.toJsonString(
+                    Collections.singletonMap(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId())));
+        }
+        return command;
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlot;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+import org.apache.dolphinscheduler.scheduler.api.utils.SchedulerUtils;
+import org.apache.dolphinscheduler.scheduler.memory.metrics.MemorySchedulerMetrics;
+import org.apache.dolphinscheduler.service.command.CommandService;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The scheduler which keeps the schedules in memory, ordered by the next fire time, instead of the quartz job store.
+ * <p>
+ * The t_ds_schedules table is the source of truth: each master loads the online schedules whose id belongs to its
+ * slot, and then loads the schedules changed since the last refresh periodically. The api server doesn't hold any
+ * schedule, the changes it saves take effect in the masters at the next refresh.
+ * <p>
+ * When a master takes over schedules, e.g. it's started or another master is down, the fires missed since the last
+ * scheduler command of each schedule are created, but not earlier than the catch-up window.
+ * <p>
+ * While the masters are changing, two masters may own the same schedule for a short time, so the fires whose
+ * scheduler command or process instance already exists are skipped.
+ */
+@Slf4j
+public class MemoryScheduler implements SchedulerApi {
+
+    private static final int QUERY_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ScheduleMapper scheduleMapper;
+
+    @Autowired
+    private ProcessInstanceMapper processInstanceMapper;
+
+    @Autowired
+    private CommandMapper commandMapper;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private CommandService commandService;
+
+    @Autowired
+    private MemorySchedulerProperties memorySchedulerProperties;
+
+    /**
+     * Only exists in the master server.
+     */
+    @Autowired(required = false)
+    private SchedulerSlotProvider schedulerSlotProvider;
+
+    private final ScheduleTriggerQueue scheduleTriggerQueue = new ScheduleTriggerQueue();
+
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+
+    private final Object refreshSignal = new Object();
+
+    private volatile boolean refreshRequested = false;
+
+    private MemorySchedulerThread memorySchedulerThread;
+
+    // the fields below are only accessed by the scheduler thread
+    private int currentSlot = -1;
+
+    private int currentSlotCount = -1;
+
+    private long lastRefreshTime;
+
+    @Override
+    public void start() throws SchedulerException {
+        if (schedulerSlotProvider == null) {
+            throw new SchedulerException("The memory scheduler can only be started in the master server");
+        }
+        if (!RUNNING_FLAG.compareAndSet(false, true)) {
+            return;
+        }
+        MemorySchedulerMetrics.registerScheduleGauge(scheduleTriggerQueue::size);
+        memorySchedulerThread = new MemorySchedulerThread();
+        memorySchedulerThread.start();
+        log.info("MemoryScheduler started...");
+    }
+
+    @Override
+    public void insertOrUpdateScheduleTask(int projectId, Schedule schedule) throws SchedulerException {
+        // the schedule has been saved, it's loaded by the master which owns it
+        requestRefresh();
+    }
+
+    @Override
+    public void deleteScheduleTask(int projectId, int scheduleId) throws SchedulerException {
+        // the schedule has been set offline or deleted, the trigger is removed when it's refreshed or fired
+        requestRefresh();
+    }
+
+    @Override
+    public void close() {
+        if (!RUNNING_FLAG.compareAndSet(true, false)) {
+            return;
+        }
+        log.info("MemoryScheduler stopping...");
+        memorySchedulerThread.interrupt();
+        log.info("MemoryScheduler stopped...");
+    }
+
+    private void requestRefresh() {
+        synchronized (refreshSignal) {
+            refreshRequested = true;
+            refreshSignal.notifyAll();
+        }
+    }
+
+    ScheduleTriggerQueue getScheduleTriggerQueue() {
+        return scheduleTriggerQueue;
+    }
+
+    void refreshIfNeeded(long now) {
+        SchedulerSlot schedulerSlot = schedulerSlotProvider.getSchedulerSlot();
+        int slot = schedulerSlot.getSlot();
+        int slotCount = schedulerSlot.getSlotCount();
+        if (slot != currentSlot || slotCount != currentSlotCount) {
+            reload(slot, slotCount, now);
+            return;
+        }
+        if (refreshRequested || now - lastRefreshTime >= memorySchedulerProperties.getRefreshInterval().toMillis()) {
+            refresh(now);
+        }
+    }
+
+    /**
+     * Load all the online schedules of the slot, the triggers of the schedules which are still owned are kept.
+     */
+    private void reload(int slot, int slotCount, long now) {
+        refreshRequested = false;
+        if (slotCount <= 0) {
+            log.warn("Current master doesn't own any slot, clear all the schedules");
+            scheduleTriggerQueue.clear();
+            currentSlot = slot;
+            currentSlotCount = slotCount;
+            lastRefreshTime = now;
+            return;
+        }
+        List<Schedule> schedules = scheduleMapper.querySchedulesBySlot(slot, slotCount, null);
+        Set<Integer> ownedScheduleIds = new HashSet<>();
+        List<Schedule> takenOverSchedules = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            ownedScheduleIds.add(schedule.getId());
+            ScheduleTrigger trigger = scheduleTriggerQueue.get(schedule.getId());
+            if (trigger == null) {
+                takenOverSchedules.add(schedule);
+            } else if (!trigger.isSameVersion(schedule)) {
+                upsertTrigger(schedule, now);
+            }
+        }
+        new ArrayList<>(scheduleTriggerQueue.getScheduleIds()).stream()
+                .filter(scheduleId -> !ownedScheduleIds.contains(scheduleId))
+                .forEach(scheduleTriggerQueue::remove);
+
+        Map<Long, Long> lastFireTimes = queryLastFireTimes(takenOverSchedules.stream()
+                .map(Schedule::getProcessDefinitionCode)
+                .collect(Collectors.toList()));
+        long catchUpWindow = memorySchedulerProperties.getMisfireCatchUpWindow().toMillis();
+        for (Schedule schedule : takenOverSchedules) {
+            long catchUpFrom = now;
+            if (catchUpWindow > 0) {
+                Long lastFireTime = lastFireTimes.get(schedule.getProcessDefinitionCode());
+                // if the schedule never fired, the fires since it's set online are missed
+                long fromTime = lastFireTime != null ? lastFireTime : schedule.getUpdateTime().getTime();
+                catchUpFrom = Math.min(now, Math.max(fromTime, now - catchUpWindow));
+            }
+            upsertTrigger(schedule, catchUpFrom);
+        }
+        currentSlot = slot;
+        currentSlotCount = slotCount;
+        lastRefreshTime = now;
+        log.info("Reload schedules, slot: {}, slotCount: {}, schedules: {}, taken over: {}",
+                slot, slotCount, ownedScheduleIds.size(), takenOverSchedules.size());
+    }
+
+    /**
+     * Load the schedules changed since last refresh, the query overlaps one interval with the last one, so the
+     * changes committed late or saved by a server whose clock is behind are not missed.
+     */
+    private void refresh(long now) {
+        refreshRequested = false;
+        if (currentSlotCount <= 0) {
+            lastRefreshTime = now;
+            return;
+        }
+        Date updateTimeAfter = new Date(lastRefreshTime - memorySchedulerProperties.getRefreshInterval().toMillis());
+        List<Schedule> schedules = scheduleMapper.querySchedulesBySlot(currentSlot, currentSlotCount, updateTimeAfter);
+        for (Schedule schedule : schedules) {
+            if (ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                scheduleTriggerQueue.remove(schedule.getId());
+                continue;
+            }
+            ScheduleTrigger trigger = scheduleTriggerQueue.get(schedule.getId());
+            if (trigger == null || !trigger.isSameVersion(schedule)) {
+                upsertTrigger(schedule, now);
+            }
+        }
+        lastRefreshTime = now;
+    }
+
+    private void upsertTrigger(Schedule schedule, long afterTime) {
+        try {
+            ScheduleTrigger trigger = new ScheduleTrigger(schedule);
+            if (trigger.computeNextFireTime(afterTime)) {
+                scheduleTriggerQueue.put(trigger);
+                return;
+            }
+            log.info("Schedule has no more fire, scheduleId: {}", schedule.getId());
+        } catch (CronParseException | RuntimeException e) {
+            log.error("Build the trigger of schedule failed, scheduleId: {}, crontab: {}",
+                    schedule.getId(), schedule.getCrontab(), e);
+        }
+        scheduleTriggerQueue.remove(schedule.getId());
+    }
+
+    /**
+     * Query the last schedule time of the scheduler process instances and commands of the process definitions.
+     */
+    private Map<Long, Long> queryLastFireTimes(List<Long> processDefinitionCodes) {
+        Map<Long, Long> lastFireTimes = new HashMap<>();
+        for (List<Long> codes : Lists.partition(processDefinitionCodes, QUERY_BATCH_SIZE)) {
+            for (ProcessInstance processInstance : processInstanceMapper
+                    .queryLastScheduleTimeByProcessDefinitionCodes(codes)) {
+                if (processInstance.getScheduleTime() != null) {
+                    lastFireTimes.merge(processInstance.getProcessDefinitionCode(),
+                            processInstance.getScheduleTime().getTime(), Math::max);
+                }
+            }
+            for (Command command : commandMapper.queryLastScheduleTimeByProcessDefinitionCodes(codes)) {
+                if (command.getScheduleTime() != null) {
+                    lastFireTimes.merge(command.getProcessDefinitionCode(), command.getScheduleTime().getTime(),
+                            Math::max);
+                }
+            }
+        }
+        return lastFireTimes;
+    }
+
+    /**
+     * Create the commands of the due triggers, and put the triggers back with their next fire time. If the commands
+     * fail to be created the triggers are put back unchanged, so the fires are retried.
+     */
+    void fire(List<ScheduleTrigger> dueTriggers) {
+        SchedulerSlot schedulerSlot = schedulerSlotProvider.getSchedulerSlot();
+        if (schedulerSlot.getSlot() != currentSlot || schedulerSlot.getSlotCount() != currentSlotCount) {
+            // the slot is changed, the triggers will be reloaded before firing
+            dueTriggers.forEach(scheduleTriggerQueue::put);
+            return;
+        }
+        List<ScheduleTrigger> firedTriggers;
+        try {
+            firedTriggers = createCommands(dueTriggers);
+        } catch (Exception e) {
+            // the triggers which are not removed or rebuilt are put back
+            dueTriggers.stream()
+                    .filter(trigger -> scheduleTriggerQueue.get(trigger.getScheduleId()) == trigger)
+                    .forEach(scheduleTriggerQueue::put);
+            throw e;
+        }
+        for (ScheduleTrigger trigger : firedTriggers) {
+            if (trigger.computeNextFireTime(trigger.getNextFireTime())) {
+                scheduleTriggerQueue.put(trigger);
+            } else {
+                log.info("Schedule has no more fire, scheduleId: {}", trigger.getScheduleId());
+                scheduleTriggerQueue.remove(trigger.getScheduleId());
+            }
+        }
+    }
+
+    /**
+     * @return the triggers which are fired, the fires of the offline process definitions are skipped but their
+     * triggers are kept, same as the quartz scheduler
+     */
+    private List<ScheduleTrigger> createCommands(List<ScheduleTrigger> dueTriggers) {
+        long now = System.currentTimeMillis();
+        Map<Integer, Schedule> schedules = processService.querySchedules(dueTriggers.stream()
+                .map(ScheduleTrigger::getScheduleId)
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+
+        List<ScheduleTrigger> firedTriggers = new ArrayList<>();
+        for (ScheduleTrigger trigger : dueTriggers) {
+            Schedule schedule = schedules.get(trigger.getScheduleId());
+            if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                log.warn("process schedule does not exist in db or process schedule offline, scheduleId: {}",
+                        trigger.getScheduleId());
+                scheduleTriggerQueue.remove(trigger.getScheduleId());
+                continue;
+            }
+            if (!trigger.isSameVersion(schedule)) {
+                // rebuild the trigger from just before this fire, it fires at once if the new crontab matches it
+                upsertTrigger(schedule, trigger.getNextFireTime() - 1000);
+                continue;
+            }
+            firedTriggers.add(trigger);
+        }
+
+        Map<Long, ProcessDefinition> processDefinitions = processService.findProcessDefinitionByCodes(
+                firedTriggers.stream()
+                        .map(ScheduleTrigger::getProcessDefinitionCode)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProcessDefinition::getCode, Function.identity()));
+        List<Command> commands = new ArrayList<>();
+        List<ScheduleTrigger> commandTriggers = new ArrayList<>();
+        for (ScheduleTrigger trigger : firedTriggers) {
+            Schedule schedule = schedules.get(trigger.getScheduleId());
+            ProcessDefinition processDefinition = processDefinitions.get(schedule.getProcessDefinitionCode());
+            if (processDefinition == null || ReleaseState.OFFLINE == processDefinition.getReleaseState()) {
+                log.warn(
+                        "process definition does not exist in db or offline, need not to create command, processDefinitionCode: {}",
+                        schedule.getProcessDefinitionCode());
+                continue;
+            }
+            commands.add(SchedulerUtils.createScheduleCommand(schedule, processDefinition,
+                    new Date(trigger.getNextFireTime()), new Date(now)));
+            commandTriggers.add(trigger);
+        }
+        if (commands.isEmpty()) {
+            return firedTriggers;
+        }
+
+        Set<Pair<Long, Long>> createdFires = queryCreatedFires(commands);
+        if (!createdFires.isEmpty()) {
+            List<Command> uncreatedCommands = new ArrayList<>();
+            List<ScheduleTrigger> uncreatedCommandTriggers = new ArrayList<>();
+            for (int i = 0; i < commands.size(); i++) {
+                Command command = commands.get(i);
+                if (createdFires.contains(
+                        Pair.of(command.getProcessDefinitionCode(), command.getScheduleTime().getTime()))) {
+                    log.warn("The schedule fire has been created, processDefinitionCode: {}, scheduleTime: {}",
+                            command.getProcessDefinitionCode(), command.getScheduleTime());
+                    continue;
+                }
+                uncreatedCommands.add(command);
+                uncreatedCommandTriggers.add(commandTriggers.get(i));
+            }
+            commands = uncreatedCommands;
+            commandTriggers = uncreatedCommandTriggers;
+            if (commands.isEmpty()) {
+                return firedTriggers;
+            }
+        }
+
+        commandService.batchCreateCommand(commands);
+        long createdTime = System.currentTimeMillis();
+        commandTriggers.forEach(
+                trigger -> MemorySchedulerMetrics.recordFireDelay(createdTime - trigger.getNextFireTime()));
+        log.info("Created {} schedule commands", commands.size());
+        return firedTriggers;
+    }
+
+    /**
+     * Query the fires whose scheduler process instance or command exists, e.g. created by the master which owned the
+     * schedules before the slots are changed.
+     *
+     * @return the pairs of the process definition code and the schedule time
+     */
+    private Set<Pair<Long, Long>> queryCreatedFires(List<Command> commands) {
+        Set<Long> processDefinitionCodes = new HashSet<>();
+        Set<Date> scheduleTimes = new HashSet<>();
+        for (Command command : commands) {
+            processDefinitionCodes.add(command.getProcessDefinitionCode());
+            scheduleTimes.add(command.getScheduleTime());
+        }
+        Set<Pair<Long, Long>> createdFires = new HashSet<>();
+        for (ProcessInstance processInstance : processInstanceMapper
+                .queryScheduleTimeByProcessDefinitionCodes(processDefinitionCodes, scheduleTimes)) {
+            createdFires.add(Pair.of(processInstance.getProcessDefinitionCode(),
+                    processInstance.getScheduleTime().getTime()));
+        }
+        for (Command command : commandMapper.queryScheduleTimeByProcessDefinitionCodes(processDefinitionCodes,
+                scheduleTimes)) {
+            createdFires.add(Pair.of(command.getProcessDefinitionCode(), command.getScheduleTime().getTime()));
+        }
+        return createdFires;
+    }
+
+    private class MemorySchedulerThread extends BaseDaemonThread {
+
+        MemorySchedulerThread() {
+            super("MemorySchedulerThread");
+        }
+
+        @Override
+        public void run() {
+            while (RUNNING_FLAG.get()) {
+                try {
+                    long now = System.currentTimeMillis();
+                    refreshIfNeeded(now);
+                    List<ScheduleTrigger> dueTriggers =
+                            scheduleTriggerQueue.pollDue(now, memorySchedulerProperties.getMaxFireBatchSize());
+                    if (!dueTriggers.isEmpty()) {
+                        fire(dueTriggers);
+                        continue;
+                    }
+                    long nextRefreshTime = lastRefreshTime + memorySchedulerProperties.getRefreshInterval().toMillis();
+                    awaitNextFire(Math.min(scheduleTriggerQueue.getNextFireTime(), nextRefreshTime) - now);
+                } catch (InterruptedException e) {
+                    log.warn("MemorySchedulerThread is interrupted, will close this loop");
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("MemorySchedulerThread loop failed, will retry after one second", e);
+                    ThreadUtils.sleep(1000);
+                }
+            }
+        }
+
+        private void awaitNextFire(long waitMillis) throws InterruptedException {
+            if (waitMillis <= 0) {
+                return;
+            }
+            synchronized (refreshSignal) {
+                if (!refreshRequested) {
+                    refreshSignal.wait(waitMillis);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import java.time.Duration;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "memory")
+@ConfigurationProperties(prefix = "scheduler.memory")
+@Slf4j
+public class MemorySchedulerProperties implements Validator {
+
+    /**
+     * How often the changed schedules are loaded from the database, the schedules changed by the api server take
+     * effect in the masters at most one interval later.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * When a master takes over the schedules of another master, e.g. after failover, the fires missed since the last
+     * fire of each schedule are created, but not earlier than this window. 0 means the missed fires are skipped.
+     */
+    private Duration misfireCatchUpWindow = Duration.ofHours(1);
+
+    /**
+     * The max number of due fires whose commands are created in one batch.
+     */
+    private int maxFireBatchSize = 500;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return MemorySchedulerProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        MemorySchedulerProperties memorySchedulerProperties = (MemorySchedulerProperties) target;
+        if (memorySchedulerProperties.getRefreshInterval().toMillis() <= 0) {
+            errors.rejectValue("refresh-interval", null, "should be a positive value");
+        }
+        if (memorySchedulerProperties.getMisfireCatchUpWindow().isNegative()) {
+            errors.rejectValue("misfire-catch-up-window", null, "should not be negative");
+        }
+        if (memorySchedulerProperties.getMaxFireBatchSize() <= 0) {
+            errors.rejectValue("max-fire-batch-size", null, "should be a positive value");
+        }
+        printConfig();
+    }
+
+    private void printConfig() {
+        log.info("Memory scheduler config: refreshInterval -> {} ", refreshInterval);
+        log.info("Memory scheduler config: misfireCatchUpWindow -> {} ", misfireCatchUpWindow);
+        log.info("Memory scheduler config: maxFireBatchSize -> {} ", maxFireBatchSize);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.service.cron.CronUtils;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+
+import lombok.Getter;
+
+import com.cronutils.model.time.ExecutionTime;
+
+/**
+ * The trigger of a schedule, which computes the fire times of the schedule by its crontab in the schedule timezone.
+ * <p>
+ * The next fire time must not be changed while the trigger is in the {@link ScheduleTriggerQueue}.
+ */
+@Getter
+public class ScheduleTrigger {
+
+    private final int scheduleId;
+
+    private final long processDefinitionCode;
+
+    /**
+     * The update time of the schedule this trigger is built from, used to find out whether the schedule is changed.
+     */
+    private final Date updateTime;
+
+    private final ExecutionTime executionTime;
+
+    private final ZoneId zoneId;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private long nextFireTime;
+
+    public ScheduleTrigger(Schedule schedule) throws CronParseException {
+        this.scheduleId = schedule.getId();
+        this.processDefinitionCode = schedule.getProcessDefinitionCode();
+        this.updateTime = schedule.getUpdateTime();
+        this.executionTime = ExecutionTime.forCron(CronUtils.parse2Cron(schedule.getCrontab()));
+        this.zoneId = StringUtils.isEmpty(schedule.getTimezoneId()) ? ZoneId.systemDefault()
+                : ZoneId.of(schedule.getTimezoneId());
+        // the start time and end time are saved in the server timezone, same as the quartz scheduler
+        this.startTime = DateUtils.transformTimezoneDate(schedule.getStartTime(), schedule.getTimezoneId()).getTime();
+        this.endTime = DateUtils.transformTimezoneDate(schedule.getEndTime(), schedule.getTimezoneId()).getTime();
+    }
+
+    /**
+     * Compute the first fire time after the given time, the start time is inclusive.
+     *
+     * @return false if there is no more fire before the end time
+     */
+    public boolean computeNextFireTime(long afterTime) {
+        // the crontab is in seconds, so the fire at the start time is kept by searching from one second before
+        long searchTime = Math.max(afterTime, startTime - 1000);
+        ZonedDateTime searchDateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(searchTime), zoneId)
+                .truncatedTo(ChronoUnit.SECONDS);
+        Optional<ZonedDateTime> nextExecution = executionTime.nextExecution(searchDateTime);
+        if (!nextExecution.isPresent()) {
+            return false;
+        }
+        long fireTime = nextExecution.get().toInstant().toEpochMilli();
+        if (fireTime > endTime) {
+            return false;
+        }
+        nextFireTime = fireTime;
+        return true;
+    }
+
+    /**
+     * @return whether the trigger is built from the same version of the schedule.
+     */
+    public boolean isSameVersion(Schedule schedule) {
+        return updateTime != null && schedule.getUpdateTime() != null
+                && updateTime.getTime() == schedule.getUpdateTime().getTime();
+    }
+}
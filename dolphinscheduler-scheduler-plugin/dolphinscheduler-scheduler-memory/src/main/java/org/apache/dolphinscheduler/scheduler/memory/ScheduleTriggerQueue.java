@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The schedule triggers ordered by the next fire time.
+ * <p>
+ * Removing an element from the middle of the priority queue costs O(n), so the removed or replaced triggers are only
+ * dropped from the index, and skipped when they reach the head of the queue. The queue is rebuilt once the skipped
+ * triggers take up most of it.
+ * <p>
+ * This class is not thread safe except {@link #size()}, it should be used by the scheduler thread only.
+ */
+public class ScheduleTriggerQueue {
+
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private PriorityQueue<ScheduleTrigger> queue = new PriorityQueue<>(
+            Comparator.comparingLong(ScheduleTrigger::getNextFireTime)
+                    .thenComparingInt(ScheduleTrigger::getScheduleId));
+
+    private final Map<Integer, ScheduleTrigger> triggers = new ConcurrentHashMap<>();
+
+    /**
+     * Add the trigger into the queue, the trigger of the same schedule is replaced.
+     */
+    public void put(ScheduleTrigger trigger) {
+        triggers.put(trigger.getScheduleId(), trigger);
+        queue.add(trigger);
+        compactIfNeeded();
+    }
+
+    public ScheduleTrigger get(int scheduleId) {
+        return triggers.get(scheduleId);
+    }
+
+    public void remove(int scheduleId) {
+        if (triggers.remove(scheduleId) != null) {
+            compactIfNeeded();
+        }
+    }
+
+    public Set<Integer> getScheduleIds() {
+        return triggers.keySet();
+    }
+
+    /**
+     * @return the next fire time of the queue, {@link Long#MAX_VALUE} if the queue is empty
+     */
+    public long getNextFireTime() {
+        skipRemovedTriggers();
+        ScheduleTrigger trigger = queue.peek();
+        return trigger == null ? Long.MAX_VALUE : trigger.getNextFireTime();
+    }
+
+    /**
+     * Poll the triggers whose next fire time is not later than the given time, the polled triggers are kept in the
+     * index, so they should be put back or removed after fired.
+     */
+    public List<ScheduleTrigger> pollDue(long now, int maxSize) {
+        List<ScheduleTrigger> dueTriggers = new ArrayList<>();
+        while (dueTriggers.size() < maxSize) {
+            skipRemovedTriggers();
+            ScheduleTrigger trigger = queue.peek();
+            if (trigger == null || trigger.getNextFireTime() > now) {
+                break;
+            }
+            dueTriggers.add(queue.poll());
+        }
+        return dueTriggers;
+    }
+
+    public void clear() {
+        triggers.clear();
+        queue.clear();
+    }
+
+    public int size() {
+        return triggers.size();
+    }
+
+    private void skipRemovedTriggers() {
+        ScheduleTrigger trigger = queue.peek();
+        while (trigger != null && triggers.get(trigger.getScheduleId()) != trigger) {
+            queue.poll();
+            trigger = queue.peek();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (queue.size() <= COMPACT_THRESHOLD || queue.size() <= triggers.size() * 2) {
+            return;
+        }
+        PriorityQueue<ScheduleTrigger> compactedQueue = new PriorityQueue<>(queue.comparator());
+        for (ScheduleTrigger trigger : queue) {
+            if (triggers.get(trigger.getScheduleId()) == trigger) {
+                compactedQueue.add(trigger);
+            }
+        }
+        queue = compactedQueue;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class MemorySchedulerMetrics {
+
+    private final Timer fireDelayTimer =
+            Timer.builder("ds.master.memory.scheduler.fire.delay")
+                    .description("The time from the scheduled fire time to the command created")
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    public synchronized void registerScheduleGauge(Supplier<Number> function) {
+        Gauge.builder("ds.master.memory.scheduler.schedules", function)
+                .description("The number of schedules kept in the memory scheduler of current master")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordFireDelay(long milliseconds) {
+        fireDelayTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+}
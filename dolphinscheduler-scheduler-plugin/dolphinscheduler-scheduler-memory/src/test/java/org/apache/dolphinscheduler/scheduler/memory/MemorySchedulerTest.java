@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlot;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerSlotProvider;
+import org.apache.dolphinscheduler.service.command.CommandService;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MemorySchedulerTest {
+
+    // 2023-11-15 00:00:00 UTC, which is on a five minutes boundary in all the timezones
+    private static final long START_TIME = 1700006400000L;
+
+    private static final String EVERY_MINUTE = "0 * * * * ? *";
+
+    @InjectMocks
+    private MemoryScheduler memoryScheduler;
+
+    @Mock
+    private ScheduleMapper scheduleMapper;
+
+    @Mock
+    private ProcessInstanceMapper processInstanceMapper;
+
+    @Mock
+    private CommandMapper commandMapper;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private CommandService commandService;
+
+    @Mock
+    private SchedulerSlotProvider schedulerSlotProvider;
+
+    @Spy
+    private MemorySchedulerProperties memorySchedulerProperties = new MemorySchedulerProperties();
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(schedulerSlotProvider.getSchedulerSlot()).thenReturn(new SchedulerSlot(0, 1));
+    }
+
+    @Test
+    public void testTakeOverCatchUp() {
+        long now = START_TIME + TimeUnit.SECONDS.toMillis(630);
+        Schedule firedSchedule = newSchedule(1, EVERY_MINUTE, START_TIME - TimeUnit.DAYS.toMillis(1));
+        Schedule neverFiredSchedule = newSchedule(2, EVERY_MINUTE, now - TimeUnit.HOURS.toMillis(2));
+        Mockito.when(scheduleMapper.querySchedulesBySlot(Mockito.eq(0), Mockito.eq(1), Mockito.isNull()))
+                .thenReturn(Arrays.asList(firedSchedule, neverFiredSchedule));
+        Command lastCommand = new Command();
+        lastCommand.setProcessDefinitionCode(1);
+        lastCommand.setScheduleTime(new Date(START_TIME + TimeUnit.MINUTES.toMillis(5)));
+        Mockito.when(commandMapper.queryLastScheduleTimeByProcessDefinitionCodes(Mockito.anyCollection()))
+                .thenReturn(Collections.singletonList(lastCommand));
+
+        memoryScheduler.refreshIfNeeded(now);
+
+        ScheduleTriggerQueue queue = memoryScheduler.getScheduleTriggerQueue();
+        // the fires since the last scheduler command are created
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(6), queue.get(1).getNextFireTime());
+        // the fires of the schedule never fired are created from the start of the catch-up window
+        Assertions.assertEquals(START_TIME - TimeUnit.MINUTES.toMillis(49), queue.get(2).getNextFireTime());
+
+        // the triggers still owned are kept after the slots are changed
+        ScheduleTrigger ownedTrigger = queue.get(1);
+        Mockito.when(schedulerSlotProvider.getSchedulerSlot()).thenReturn(new SchedulerSlot(1, 2));
+        Mockito.when(scheduleMapper.querySchedulesBySlot(Mockito.eq(1), Mockito.eq(2), Mockito.isNull()))
+                .thenReturn(Collections.singletonList(firedSchedule));
+        memoryScheduler.refreshIfNeeded(now);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertSame(ownedTrigger, queue.get(1));
+    }
+
+    @Test
+    public void testRefreshOfflineAndChangedSchedules() {
+        memorySchedulerProperties.setMisfireCatchUpWindow(Duration.ZERO);
+        long now = START_TIME + TimeUnit.SECONDS.toMillis(30);
+        Mockito.when(scheduleMapper.querySchedulesBySlot(Mockito.eq(0), Mockito.eq(1), Mockito.isNull()))
+                .thenReturn(Arrays.asList(newSchedule(1, EVERY_MINUTE, START_TIME),
+                        newSchedule(2, EVERY_MINUTE, START_TIME)));
+        memoryScheduler.refreshIfNeeded(now);
+        ScheduleTriggerQueue queue = memoryScheduler.getScheduleTriggerQueue();
+        Assertions.assertEquals(2, queue.size());
+        ScheduleTrigger changedTrigger = queue.get(2);
+
+        Schedule offlineSchedule = newSchedule(1, EVERY_MINUTE, START_TIME + 1000);
+        offlineSchedule.setReleaseState(ReleaseState.OFFLINE);
+        Schedule changedSchedule = newSchedule(2, "0 0/5 * * * ? *", START_TIME + 1000);
+        Schedule newSchedule = newSchedule(3, EVERY_MINUTE, START_TIME + 1000);
+        Mockito.when(scheduleMapper.querySchedulesBySlot(Mockito.eq(0), Mockito.eq(1), Mockito.any(Date.class)))
+                .thenReturn(Arrays.asList(offlineSchedule, changedSchedule, newSchedule));
+
+        // the changed schedules are not loaded before the refresh interval
+        memoryScheduler.refreshIfNeeded(now + 1000);
+        Assertions.assertEquals(2, queue.size());
+
+        memoryScheduler.refreshIfNeeded(now + memorySchedulerProperties.getRefreshInterval().toMillis());
+        Assertions.assertNull(queue.get(1));
+        Assertions.assertNotSame(changedTrigger, queue.get(2));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(5), queue.get(2).getNextFireTime());
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(1), queue.get(3).getNextFireTime());
+    }
+
+    @Test
+    public void testPutBackWhenCreateCommandsFailed() {
+        List<ScheduleTrigger> dueTriggers = loadDueTrigger();
+        Mockito.when(commandService.batchCreateCommand(Mockito.anyList())).thenThrow(new RuntimeException("mock"));
+
+        Assertions.assertThrows(RuntimeException.class, () -> memoryScheduler.fire(dueTriggers));
+        ScheduleTriggerQueue queue = memoryScheduler.getScheduleTriggerQueue();
+        Assertions.assertSame(dueTriggers.get(0), queue.get(1));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(1), queue.get(1).getNextFireTime());
+
+        // the fire is retried
+        List<ScheduleTrigger> retryTriggers = queue.pollDue(START_TIME + TimeUnit.MINUTES.toMillis(1), 10);
+        Assertions.assertEquals(dueTriggers, retryTriggers);
+        Mockito.reset(commandService);
+        memoryScheduler.fire(retryTriggers);
+        Mockito.verify(commandService).batchCreateCommand(Mockito.argThat(commands -> commands.size() == 1
+                && commands.get(0).getCommandType() == CommandType.SCHEDULER
+                && commands.get(0).getScheduleTime().getTime() == START_TIME + TimeUnit.MINUTES.toMillis(1)));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(2), queue.get(1).getNextFireTime());
+    }
+
+    @Test
+    public void testSkipCreatedFire() {
+        List<ScheduleTrigger> dueTriggers = loadDueTrigger();
+        Command createdCommand = new Command();
+        createdCommand.setProcessDefinitionCode(1);
+        createdCommand.setScheduleTime(new Date(START_TIME + TimeUnit.MINUTES.toMillis(1)));
+        Mockito.when(commandMapper.queryScheduleTimeByProcessDefinitionCodes(Mockito.anyCollection(),
+                Mockito.anyCollection())).thenReturn(Collections.singletonList(createdCommand));
+
+        memoryScheduler.fire(dueTriggers);
+
+        Mockito.verify(commandService, Mockito.never()).batchCreateCommand(Mockito.anyList());
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(2),
+                memoryScheduler.getScheduleTriggerQueue().get(1).getNextFireTime());
+    }
+
+    @Test
+    public void testPutBackWhenSlotChanged() {
+        List<ScheduleTrigger> dueTriggers = loadDueTrigger();
+        Mockito.when(schedulerSlotProvider.getSchedulerSlot()).thenReturn(new SchedulerSlot(0, 2));
+
+        memoryScheduler.fire(dueTriggers);
+
+        Mockito.verify(commandService, Mockito.never()).batchCreateCommand(Mockito.anyList());
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(1),
+                memoryScheduler.getScheduleTriggerQueue().get(1).getNextFireTime());
+    }
+
+    /**
+     * Load the schedule 1 which fires every minute, and poll its first fire.
+     */
+    private List<ScheduleTrigger> loadDueTrigger() {
+        memorySchedulerProperties.setMisfireCatchUpWindow(Duration.ZERO);
+        Schedule schedule = newSchedule(1, EVERY_MINUTE, START_TIME);
+        Mockito.when(scheduleMapper.querySchedulesBySlot(Mockito.eq(0), Mockito.eq(1), Mockito.isNull()))
+                .thenReturn(Collections.singletonList(schedule));
+        Mockito.when(processService.querySchedules(Mockito.anyCollection()))
+                .thenReturn(Collections.singletonList(schedule));
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setCode(1);
+        processDefinition.setVersion(1);
+        processDefinition.setReleaseState(ReleaseState.ONLINE);
+        Mockito.when(processService.findProcessDefinitionByCodes(Mockito.anyCollection()))
+                .thenReturn(Collections.singletonList(processDefinition));
+
+        memoryScheduler.refreshIfNeeded(START_TIME + TimeUnit.SECONDS.toMillis(30));
+        List<ScheduleTrigger> dueTriggers = memoryScheduler.getScheduleTriggerQueue()
+                .pollDue(START_TIME + TimeUnit.MINUTES.toMillis(1), 10);
+        Assertions.assertEquals(1, dueTriggers.size());
+        return dueTriggers;
+    }
+
+    private Schedule newSchedule(int scheduleId, String crontab, long updateTime) {
+        Schedule schedule = new Schedule();
+        schedule.setId(scheduleId);
+        schedule.setProcessDefinitionCode(scheduleId);
+        schedule.setCrontab(crontab);
+        schedule.setStartTime(new Date(START_TIME - TimeUnit.DAYS.toMillis(1)));
+        schedule.setEndTime(new Date(START_TIME + TimeUnit.DAYS.toMillis(365)));
+        schedule.setReleaseState(ReleaseState.ONLINE);
+        schedule.setUpdateTime(new Date(updateTime));
+        return schedule;
+    }
+}
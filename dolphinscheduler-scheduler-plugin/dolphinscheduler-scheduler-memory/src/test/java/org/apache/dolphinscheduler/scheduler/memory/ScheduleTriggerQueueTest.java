@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.scheduler.memory;
+
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ScheduleTriggerQueueTest {
+
+    // 2023-11-15 00:00:00 UTC, which is on a five minutes boundary in all the timezones
+    private static final long START_TIME = 1700006400000L;
+
+    @Test
+    public void testComputeNextFireTime() throws CronParseException {
+        ScheduleTrigger trigger = new ScheduleTrigger(newSchedule(1, "0 * * * * ? *", START_TIME,
+                START_TIME + TimeUnit.MINUTES.toMillis(2)));
+
+        // the fire at the start time is kept
+        Assertions.assertTrue(trigger.computeNextFireTime(0));
+        Assertions.assertEquals(START_TIME, trigger.getNextFireTime());
+        Assertions.assertTrue(trigger.computeNextFireTime(trigger.getNextFireTime()));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(1), trigger.getNextFireTime());
+        Assertions.assertTrue(trigger.computeNextFireTime(trigger.getNextFireTime()));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(2), trigger.getNextFireTime());
+        // no more fire after the end time
+        Assertions.assertFalse(trigger.computeNextFireTime(trigger.getNextFireTime()));
+    }
+
+    @Test
+    public void testPollDue() throws CronParseException {
+        ScheduleTriggerQueue queue = new ScheduleTriggerQueue();
+        ScheduleTrigger everyMinute = newTrigger(1, "0 * * * * ? *");
+        ScheduleTrigger everyFiveMinutes = newTrigger(2, "30 0/5 * * * ? *");
+        queue.put(everyFiveMinutes);
+        queue.put(everyMinute);
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertEquals(START_TIME, queue.getNextFireTime());
+
+        Assertions.assertTrue(queue.pollDue(START_TIME - 1, 10).isEmpty());
+        List<ScheduleTrigger> dueTriggers = queue.pollDue(START_TIME, 10);
+        Assertions.assertEquals(1, dueTriggers.size());
+        Assertions.assertSame(everyMinute, dueTriggers.get(0));
+        // the polled triggers are still indexed until they are put back or removed
+        Assertions.assertSame(everyMinute, queue.get(1));
+
+        everyMinute.computeNextFireTime(everyMinute.getNextFireTime());
+        queue.put(everyMinute);
+        dueTriggers = queue.pollDue(START_TIME + TimeUnit.HOURS.toMillis(1), 1);
+        Assertions.assertEquals(1, dueTriggers.size());
+        Assertions.assertSame(everyFiveMinutes, dueTriggers.get(0));
+        dueTriggers = queue.pollDue(START_TIME + TimeUnit.HOURS.toMillis(1), 10);
+        Assertions.assertEquals(1, dueTriggers.size());
+        Assertions.assertSame(everyMinute, dueTriggers.get(0));
+        Assertions.assertEquals(START_TIME + TimeUnit.MINUTES.toMillis(1), everyMinute.getNextFireTime());
+    }
+
+    @Test
+    public void testRemoveAndReplace() throws CronParseException {
+        ScheduleTriggerQueue queue = new ScheduleTriggerQueue();
+        queue.put(newTrigger(1, "0 * * * * ? *"));
+        queue.put(newTrigger(2, "30 0/5 * * * ? *"));
+
+        queue.remove(1);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertEquals(START_TIME + TimeUnit.SECONDS.toMillis(30), queue.getNextFireTime());
+
+        // the replaced trigger is skipped
+        ScheduleTrigger replacedTrigger = newTrigger(2, "0 0/10 * * * ? *");
+        queue.put(replacedTrigger);
+        List<ScheduleTrigger> dueTriggers = queue.pollDue(Long.MAX_VALUE, 10);
+        Assertions.assertEquals(1, dueTriggers.size());
+        Assertions.assertSame(replacedTrigger, dueTriggers.get(0));
+
+        queue.clear();
+        Assertions.assertEquals(0, queue.size());
+        Assertions.assertEquals(Long.MAX_VALUE, queue.getNextFireTime());
+    }
+
+    @Test
+    public void testCompact() throws CronParseException {
+        ScheduleTriggerQueue queue = new ScheduleTriggerQueue();
+        for (int i = 0; i < 5000; i++) {
+            queue.put(newTrigger(i % 10, "0 * * * * ? *"));
+        }
+        Assertions.assertEquals(10, queue.size());
+        Assertions.assertEquals(10, queue.pollDue(Long.MAX_VALUE, 100).size());
+    }
+
+    private ScheduleTrigger newTrigger(int scheduleId, String crontab) throws CronParseException {
+        ScheduleTrigger trigger = new ScheduleTrigger(newSchedule(scheduleId, crontab, START_TIME,
+                START_TIME + TimeUnit.DAYS.toMillis(365)));
+        trigger.computeNextFireTime(START_TIME - 1);
+        return trigger;
+    }
+
+    private Schedule newSchedule(int scheduleId, String crontab, long startTime, long endTime) {
+        Schedule schedule = new Schedule();
+        schedule.setId(scheduleId);
+        schedule.setProcessDefinitionCode(scheduleId);
+        schedule.setCrontab(crontab);
+        schedule.setStartTime(new Date(startTime));
+        schedule.setEndTime(new Date(endTime));
+        schedule.setUpdateTime(new Date(startTime));
+        return schedule;
+    }
+}
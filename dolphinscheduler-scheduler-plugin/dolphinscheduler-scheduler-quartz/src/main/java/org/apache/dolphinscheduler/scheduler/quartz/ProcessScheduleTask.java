@@ -17,26 +17,24 @@
 
 package org.apache.dolphinscheduler.scheduler.quartz;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
-import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ReleaseState;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.scheduler.api.utils.SchedulerUtils;
+import org.apache.dolphinscheduler.scheduler.quartz.metrics.QuartzSchedulerMetrics;
 import org.apache.dolphinscheduler.scheduler.quartz.utils.QuartzTaskUtils;
 import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
-import org.apache.commons.lang3.StringUtils;
-
 import java.util.Date;
+import java.util.concurrent.ExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
+import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
@@ -52,10 +50,16 @@ public class ProcessScheduleTask extends QuartzJobBean {
     @Autowired
     private CommandService commandService;
 
+    @Autowired
+    private ScheduleFireBatchProperties scheduleFireBatchProperties;
+
+    @Autowired
+    private ScheduleFireBatcher scheduleFireBatcher;
+
     @Counted(value = "ds.master.quartz.job.executed")
     @Timed(value = "ds.master.quartz.job.execution.time", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
     @Override
-    protected void executeInternal(JobExecutionContext context) {
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
         JobDataMap dataMap = context.getJobDetail().getJobDataMap();
 
         int projectId = dataMap.getInt(QuartzTaskUtils.PROJECT_ID);
@@ -67,13 +71,29 @@ public class ProcessScheduleTask extends QuartzJobBean {
 
         log.info("scheduled fire time :{}, fire time :{}, scheduleId :{}", scheduledFireTime, fireTime, scheduleId);
 
+        if (scheduleFireBatchProperties.isEnabled()) {
+            ScheduleFire scheduleFire =
+                    new ScheduleFire(projectId, scheduleId, scheduledFireTime, fireTime, context.getScheduler());
+            try {
+                // wait for the command created, so that the fire will not be lost
+                scheduleFireBatcher.submit(scheduleFire).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JobExecutionException("Interrupted while waiting for the schedule command created", e);
+            } catch (ExecutionException e) {
+                throw new JobExecutionException("Create schedule command failed, scheduleId: " + scheduleId,
+                        e.getCause());
+            }
+            return;
+        }
+
         // query schedule
         Schedule schedule = processService.querySchedule(scheduleId);
         if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
             log.warn(
                     "process schedule does not exist in db or process schedule offline，delete schedule job in quartz, projectId:{}, scheduleId:{}",
                     projectId, scheduleId);
-            deleteJob(context, projectId, scheduleId);
+            QuartzTaskUtils.deleteJob(context.getScheduler(), scheduleId, projectId);
             return;
         }
 
@@ -88,36 +108,9 @@ public class ProcessScheduleTask extends QuartzJobBean {
             return;
         }
 
-        Command command = new Command();
-        command.setCommandType(CommandType.SCHEDULER);
-        command.setExecutorId(schedule.getUserId());
-        command.setFailureStrategy(schedule.getFailureStrategy());
-        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
-        command.setScheduleTime(scheduledFireTime);
-        command.setStartTime(fireTime);
-        command.setWarningGroupId(schedule.getWarningGroupId());
-        String workerGroup = StringUtils.isEmpty(schedule.getWorkerGroup()) ? Constants.DEFAULT_WORKER_GROUP
-                : schedule.getWorkerGroup();
-        command.setWorkerGroup(workerGroup);
-        command.setTenantCode(schedule.getTenantCode());
-        command.setEnvironmentCode(schedule.getEnvironmentCode());
-        command.setWarningType(schedule.getWarningType());
-        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
-        command.setProcessDefinitionVersion(processDefinition.getVersion());
-
+        Command command =
+                SchedulerUtils.createScheduleCommand(schedule, processDefinition, scheduledFireTime, fireTime);
         commandService.createCommand(command);
-    }
-
-    private void deleteJob(JobExecutionContext context, int projectId, int scheduleId) {
-        final Scheduler scheduler = context.getScheduler();
-        JobKey jobKey = QuartzTaskUtils.getJobKey(scheduleId, projectId);
-        try {
-            if (scheduler.checkExists(jobKey)) {
-                log.info("Try to delete job: {}, projectId: {}, schedulerId", projectId, scheduleId);
-                scheduler.deleteJob(jobKey);
-            }
-        } catch (Exception e) {
-            log.error("Failed to delete job: {}", jobKey);
-        }
+        QuartzSchedulerMetrics.recordFireToCommandTime(System.currentTimeMillis() - fireTime.getTime());
     }
 }
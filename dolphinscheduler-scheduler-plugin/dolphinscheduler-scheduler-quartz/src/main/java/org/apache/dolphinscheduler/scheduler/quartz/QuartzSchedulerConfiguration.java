@@ -19,10 +19,12 @@ package org.apache.dolphinscheduler.scheduler.quartz;
 
 import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "quartz", matchIfMissing = true)
 public class QuartzSchedulerConfiguration {
 
     @Bean
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.Data;
+
+import org.quartz.Scheduler;
+
+/**
+ * A fire of the quartz trigger which is waiting for its command to be created by {@link ScheduleFireBatcher}.
+ */
+@Data
+public class ScheduleFire {
+
+    private final int projectId;
+
+    private final int scheduleId;
+
+    private final Date scheduledFireTime;
+
+    private final Date fireTime;
+
+    private final Scheduler scheduler;
+
+    /**
+     * Completed once the fire is handled, whether its command is created or the fire is skipped.
+     */
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+}
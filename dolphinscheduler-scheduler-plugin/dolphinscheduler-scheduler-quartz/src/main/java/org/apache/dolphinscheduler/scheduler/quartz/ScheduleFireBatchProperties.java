@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.time.Duration;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "scheduler.fire-batch")
+@Slf4j
+public class ScheduleFireBatchProperties implements Validator {
+
+    /**
+     * Whether to collect the quartz fires and create their commands in batch, otherwise each fire queries the
+     * schedule and the process definition and inserts its command by itself.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long the fires are collected before their commands are created, the quartz thread waits at most the window
+     * for its command to be created.
+     */
+    private Duration window = Duration.ofMillis(100);
+
+    /**
+     * The max number of commands created in one batch.
+     */
+    private int maxBatchSize = 500;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return ScheduleFireBatchProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        ScheduleFireBatchProperties scheduleFireBatchProperties = (ScheduleFireBatchProperties) target;
+        if (scheduleFireBatchProperties.getWindow().isNegative()) {
+            errors.rejectValue("window", null, "should not be negative");
+        }
+        if (scheduleFireBatchProperties.getMaxBatchSize() <= 0) {
+            errors.rejectValue("max-batch-size", null, "should be a positive value");
+        }
+        printConfig();
+    }
+
+    private void printConfig() {
+        log.info("Schedule fire batch config: enabled -> {} ", enabled);
+        log.info("Schedule fire batch config: window -> {} ", window);
+        log.info("Schedule fire batch config: maxBatchSize -> {} ", maxBatchSize);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.scheduler.api.utils.SchedulerUtils;
+import org.apache.dolphinscheduler.scheduler.quartz.metrics.QuartzSchedulerMetrics;
+import org.apache.dolphinscheduler.scheduler.quartz.utils.QuartzTaskUtils;
+import org.apache.dolphinscheduler.service.command.CommandService;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collect the quartz fires in a short window and create their commands in batch.
+ * <p>
+ * At the top of the hour thousands of schedules may fire in the same second, if each fire queries its schedule and
+ * process definition and inserts its command separately, the database round trips delay the workflow starts. The
+ * batcher resolves the schedules and the process definitions of the collected fires in bulk, and inserts the commands
+ * with one multi-row insert. The process definitions are not cached, the version of the process definition may be
+ * changed by a re-release at any time and the fire should use the latest one.
+ * <p>
+ * The quartz thread waits until the command of its fire is created, so the fire is not lost if the master crashes
+ * before the batch is flushed.
+ */
+@Slf4j
+@Component
+public class ScheduleFireBatcher implements AutoCloseable {
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private CommandService commandService;
+
+    @Autowired
+    private ScheduleFireBatchProperties scheduleFireBatchProperties;
+
+    private final LinkedBlockingQueue<ScheduleFire> scheduleFireQueue = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
+
+    private ScheduleFireBatchThread scheduleFireBatchThread;
+
+    /**
+     * Submit the fire to be created in batch.
+     *
+     * @return the future which is completed once the fire is handled
+     */
+    public CompletableFuture<Void> submit(ScheduleFire scheduleFire) {
+        start();
+        scheduleFireQueue.add(scheduleFire);
+        return scheduleFire.getFuture();
+    }
+
+    private synchronized void start() {
+        // the batch thread is only started in the server which fires the quartz triggers
+        if (!RUNNING_FLAG.compareAndSet(false, true)) {
+            return;
+        }
+        scheduleFireBatchThread = new ScheduleFireBatchThread();
+        scheduleFireBatchThread.start();
+        log.info("ScheduleFireBatcher started...");
+    }
+
+    /**
+     * Create the commands of the fires, the fires whose schedule or process definition is offline are skipped.
+     */
+    void createCommands(List<ScheduleFire> scheduleFires) throws Exception {
+        QuartzSchedulerMetrics.recordFireBatchSize(scheduleFires.size());
+        Map<Integer, Schedule> schedules = processService.querySchedules(scheduleFires.stream()
+                .map(ScheduleFire::getScheduleId)
+                .distinct()
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+
+        List<ScheduleFire> onlineScheduleFires = new ArrayList<>();
+        for (ScheduleFire scheduleFire : scheduleFires) {
+            Schedule schedule = schedules.get(scheduleFire.getScheduleId());
+            if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                log.warn(
+                        "process schedule does not exist in db or process schedule offline，delete schedule job in quartz, projectId:{}, scheduleId:{}",
+                        scheduleFire.getProjectId(), scheduleFire.getScheduleId());
+                QuartzTaskUtils.deleteJob(scheduleFire.getScheduler(), scheduleFire.getScheduleId(),
+                        scheduleFire.getProjectId());
+                scheduleFire.getFuture().complete(null);
+                continue;
+            }
+            onlineScheduleFires.add(scheduleFire);
+        }
+
+        if (onlineScheduleFires.isEmpty()) {
+            return;
+        }
+        Map<Long, ProcessDefinition> processDefinitions = processService.findProcessDefinitionByCodes(
+                onlineScheduleFires.stream()
+                        .map(scheduleFire -> schedules.get(scheduleFire.getScheduleId()).getProcessDefinitionCode())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProcessDefinition::getCode, Function.identity()));
+        List<Command> commands = new ArrayList<>();
+        List<ScheduleFire> commandScheduleFires = new ArrayList<>();
+        for (ScheduleFire scheduleFire : onlineScheduleFires) {
+            Schedule schedule = schedules.get(scheduleFire.getScheduleId());
+            ProcessDefinition processDefinition = processDefinitions.get(schedule.getProcessDefinitionCode());
+            if (processDefinition == null || ReleaseState.OFFLINE == processDefinition.getReleaseState()) {
+                log.warn(
+                        "process definition does not exist in db or offline，need not to create command, projectId:{}, processDefinitionCode:{}",
+                        scheduleFire.getProjectId(), schedule.getProcessDefinitionCode());
+                scheduleFire.getFuture().complete(null);
+                continue;
+            }
+            commands.add(SchedulerUtils.createScheduleCommand(schedule, processDefinition,
+                    scheduleFire.getScheduledFireTime(), scheduleFire.getFireTime()));
+            commandScheduleFires.add(scheduleFire);
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        commandService.batchCreateCommand(commands);
+        long now = System.currentTimeMillis();
+        for (ScheduleFire scheduleFire : commandScheduleFires) {
+            QuartzSchedulerMetrics.recordFireToCommandTime(now - scheduleFire.getFireTime().getTime());
+            scheduleFire.getFuture().complete(null);
+        }
+        log.info("Created {} schedule commands in batch", commands.size());
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        if (!RUNNING_FLAG.compareAndSet(true, false)) {
+            return;
+        }
+        log.info("ScheduleFireBatcher stopping...");
+        scheduleFireBatchThread.interrupt();
+        List<ScheduleFire> remainingScheduleFires = new ArrayList<>();
+        scheduleFireQueue.drainTo(remainingScheduleFires);
+        remainingScheduleFires.forEach(scheduleFire -> scheduleFire.getFuture()
+                .completeExceptionally(new IllegalStateException("The ScheduleFireBatcher is closed")));
+        log.info("ScheduleFireBatcher stopped...");
+    }
+
+    private class ScheduleFireBatchThread extends BaseDaemonThread {
+
+        ScheduleFireBatchThread() {
+            super("ScheduleFireBatchThread");
+        }
+
+        @Override
+        public void run() {
+            while (RUNNING_FLAG.get()) {
+                List<ScheduleFire> scheduleFires = new ArrayList<>();
+                try {
+                    scheduleFires.add(scheduleFireQueue.take());
+                    long deadline = System.nanoTime() + scheduleFireBatchProperties.getWindow().toNanos();
+                    while (scheduleFires.size() < scheduleFireBatchProperties.getMaxBatchSize()) {
+                        ScheduleFire scheduleFire =
+                                scheduleFireQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (scheduleFire == null) {
+                            break;
+                        }
+                        scheduleFires.add(scheduleFire);
+                    }
+                } catch (InterruptedException e) {
+                    log.warn("ScheduleFireBatchThread is interrupted, will close this loop");
+                    failScheduleFires(scheduleFires, e);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                try {
+                    createCommands(scheduleFires);
+                } catch (Exception e) {
+                    log.error("Create schedule commands in batch failed, fires: {}", scheduleFires.size(), e);
+                    failScheduleFires(scheduleFires, e);
+                }
+            }
+        }
+
+        private void failScheduleFires(List<ScheduleFire> scheduleFires, Exception e) {
+            // the completed fires are not affected
+            scheduleFires.forEach(scheduleFire -> scheduleFire.getFuture().completeExceptionally(e));
+        }
+    }
+}
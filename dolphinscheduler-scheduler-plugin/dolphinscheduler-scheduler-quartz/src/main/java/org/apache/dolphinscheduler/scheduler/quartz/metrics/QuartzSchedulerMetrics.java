@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class QuartzSchedulerMetrics {
+
+    private final Timer fireToCommandTimer =
+            Timer.builder("ds.master.quartz.fire.to.command.time")
+                    .description("The time from the quartz trigger fired to its command created")
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    private final DistributionSummary fireBatchSizeSummary =
+            DistributionSummary.builder("ds.master.quartz.fire.batch.size")
+                    .description("The number of quartz fires whose commands are created in one batch")
+                    .register(Metrics.globalRegistry);
+
+    public void recordFireToCommandTime(long milliseconds) {
+        fireToCommandTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordFireBatchSize(int batchSize) {
+        fireBatchSizeSummary.record(batchSize);
+    }
+}
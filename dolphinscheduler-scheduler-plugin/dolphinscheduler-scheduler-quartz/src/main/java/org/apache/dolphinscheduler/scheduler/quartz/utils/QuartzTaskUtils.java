@@ -23,8 +23,12 @@ import org.apache.dolphinscheduler.dao.entity.Schedule;
 import java.util.HashMap;
 import java.util.Map;
 
+import lombok.extern.slf4j.Slf4j;
+
 import org.quartz.JobKey;
+import org.quartz.Scheduler;
 
+@Slf4j
 public final class QuartzTaskUtils {
 
     public static final String QUARTZ_JOB_PREFIX = "job";
@@ -56,4 +60,19 @@ public final class QuartzTaskUtils {
         return dataMap;
     }
 
+    /**
+     * delete the quartz job of the schedule.
+     */
+    public static void deleteJob(Scheduler scheduler, int scheduleId, int projectId) {
+        JobKey jobKey = getJobKey(scheduleId, projectId);
+        try {
+            if (scheduler.checkExists(jobKey)) {
+                log.info("Try to delete job: {}, projectId: {}, schedulerId", projectId, scheduleId);
+                scheduler.deleteJob(jobKey);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete job: {}", jobKey);
+        }
+    }
+
 }
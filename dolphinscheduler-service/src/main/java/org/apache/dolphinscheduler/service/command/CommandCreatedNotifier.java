@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ICommandEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandCreatedEvent;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Used to notify the masters that a new command has been created, so that the owner master can consume it
+ * immediately rather than waiting for the next polling round.
+ * <p>
+ * The notification is best-effort: it is sent asynchronously after the current transaction committed, and the
+ * masters still sweep t_ds_command periodically, so a lost notification only delays the command.
+ * <p>
+ * The commands created while a notification is being sent are coalesced into the next one, which carries the
+ * distinct slots of the commands, so a batch of commands costs one RPC per master. The masters which poll the
+ * commands are not notified.
+ */
+@Slf4j
+@Component
+public class CommandCreatedNotifier {
+
+    @Autowired(required = false)
+    private RegistryClient registryClient;
+
+    // at most one notification is waiting, the others are coalesced into it
+    private final ThreadPoolExecutor notifyExecutor = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("CommandCreatedNotifier").build());
+
+    private final Object pendingLock = new Object();
+
+    private final BitSet pendingCommandSlots = new BitSet(CommandSlotUtils.COMMAND_SLOT_SIZE);
+
+    private int lastCommandId;
+
+    private boolean notifyScheduled;
+
+    public void notifyCommandCreated(Command command) {
+        if (registryClient == null || command == null || command.getId() == null) {
+            return;
+        }
+        final int commandId = command.getId();
+        final int commandSlot = command.getSlot();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The master cannot see the command before the transaction committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    submitNotify(commandId, commandSlot);
+                }
+            });
+            return;
+        }
+        submitNotify(commandId, commandSlot);
+    }
+
+    private void submitNotify(int commandId, int commandSlot) {
+        synchronized (pendingLock) {
+            pendingCommandSlots.set(commandSlot);
+            lastCommandId = Math.max(lastCommandId, commandId);
+            if (notifyScheduled) {
+                return;
+            }
+            notifyScheduled = true;
+        }
+        try {
+            notifyExecutor.execute(this::doNotify);
+        } catch (RejectedExecutionException ex) {
+            log.warn("The command created notifier is closed, skip notify command: {}", commandId);
+            synchronized (pendingLock) {
+                notifyScheduled = false;
+            }
+        }
+    }
+
+    private void doNotify() {
+        final CommandCreatedEvent commandCreatedEvent;
+        synchronized (pendingLock) {
+            List<Integer> commandSlots = pendingCommandSlots.stream().boxed().collect(Collectors.toList());
+            commandCreatedEvent = new CommandCreatedEvent(lastCommandId, commandSlots, System.currentTimeMillis());
+            pendingCommandSlots.clear();
+            notifyScheduled = false;
+        }
+        Collection<String> masterHeartBeats;
+        try {
+            masterHeartBeats = registryClient.getServerMaps(RegistryNodeType.MASTER).values();
+        } catch (Exception ex) {
+            log.warn("Get master list failed, skip notify command: {}", commandCreatedEvent.getCommandId(), ex);
+            return;
+        }
+        // The slot of each master is computed at master side, so we broadcast the event and each master will
+        // decide whether the commands belong to it.
+        for (String masterHeartBeatJson : masterHeartBeats) {
+            if (StringUtils.isEmpty(masterHeartBeatJson)) {
+                continue;
+            }
+            MasterHeartBeat master = JSONUtils.parseObject(masterHeartBeatJson, MasterHeartBeat.class);
+            if (master == null || !master.isCommandNotifyEnabled()) {
+                continue;
+            }
+            try {
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(master.getHost() + ":" + master.getPort(), ICommandEventListener.class)
+                        .onCommandCreated(commandCreatedEvent);
+            } catch (Exception ex) {
+                log.warn("Notify master: {}:{} command: {} created failed", master.getHost(), master.getPort(),
+                        commandCreatedEvent.getCommandId(), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        notifyExecutor.shutdownNow();
+    }
+
+}
@@ -44,6 +44,13 @@ public interface CommandService {
      */
     int createCommand(Command command);
 
+    /**
+     * Create new commands in one batch insert, the generated ids will be set back to the commands
+     * @param commands commands
+     * @return result
+     */
+    int batchCreateCommand(List<Command> commands);
+
     /**
      * Get command page
      * @param pageSize page size
@@ -37,6 +37,7 @@ import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.service.utils.ParamUtils;
@@ -49,6 +50,7 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -79,6 +81,9 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private CommandCreatedNotifier commandCreatedNotifier;
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -103,16 +108,64 @@ public class CommandServiceImpl implements CommandService {
             command.setCommandParam(JSONUtils.toJsonString(commandParams));
         }
         command.setId(null);
+        command.setSlot(CommandSlotUtils.assignSlot());
         result = commandMapper.insert(command);
+        if (result > 0) {
+            commandCreatedNotifier.notifyCommandCreated(command);
+        }
         return result;
     }
 
+    @Override
+    public int batchCreateCommand(List<Command> commands) {
+        if (CollectionUtils.isEmpty(commands)) {
+            return 0;
+        }
+        // add command timezone, the schedules of the commands without timezone are queried at once
+        List<Long> processDefinitionCodes = commands.stream()
+                .filter(command -> !hasScheduleTimezone(command))
+                .map(Command::getProcessDefinitionCode)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, String> scheduleTimezoneIds = new HashMap<>();
+        if (!processDefinitionCodes.isEmpty()) {
+            for (Schedule schedule : scheduleMapper.querySchedulesByProcessDefinitionCodes(processDefinitionCodes)) {
+                scheduleTimezoneIds.putIfAbsent(schedule.getProcessDefinitionCode(), schedule.getTimezoneId());
+            }
+        }
+        for (Command command : commands) {
+            if (scheduleTimezoneIds.containsKey(command.getProcessDefinitionCode())
+                    && !hasScheduleTimezone(command)) {
+                Map<String, String> commandParams = StringUtils.isNotBlank(command.getCommandParam())
+                        ? JSONUtils.toMap(command.getCommandParam())
+                        : new HashMap<>();
+                commandParams.put(Constants.SCHEDULE_TIMEZONE,
+                        scheduleTimezoneIds.get(command.getProcessDefinitionCode()));
+                command.setCommandParam(JSONUtils.toJsonString(commandParams));
+            }
+            command.setId(null);
+            command.setSlot(CommandSlotUtils.assignSlot());
+        }
+        int result = commandMapper.batchInsert(commands);
+        if (result > 0) {
+            commands.forEach(commandCreatedNotifier::notifyCommandCreated);
+        }
+        return result;
+    }
+
+    private boolean hasScheduleTimezone(Command command) {
+        return StringUtils.isNotBlank(command.getCommandParam())
+                && JSONUtils.toMap(command.getCommandParam()).containsKey(Constants.SCHEDULE_TIMEZONE);
+    }
+
     @Override
     public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot) {
         if (masterCount <= 0) {
             return Lists.newArrayList();
         }
-        return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+        return commandMapper.queryCommandPageBySlotRange(pageSize,
+                CommandSlotUtils.getSlotRangeStart(masterCount, thisMasterSlot),
+                CommandSlotUtils.getSlotRangeEnd(masterCount, thisMasterSlot));
     }
 
     @Override
@@ -201,6 +254,7 @@ public class CommandServiceImpl implements CommandService {
         if (command.getId() != null) {
             return commandMapper.updateById(command);
         } else {
+            command.setSlot(CommandSlotUtils.assignSlot());
             return commandMapper.insert(command);
         }
     }
@@ -52,6 +52,7 @@ import org.apache.dolphinscheduler.service.exceptions.CronParseException;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -80,6 +81,8 @@ public interface ProcessService {
 
     ProcessDefinition findProcessDefinitionByCode(Long processDefinitionCode);
 
+    List<ProcessDefinition> findProcessDefinitionByCodes(Collection<Long> processDefinitionCodes);
+
     int deleteWorkProcessInstanceById(int processInstanceId);
 
     int deleteAllSubWorkProcessByParentId(int processInstanceId);
@@ -118,6 +121,8 @@ public interface ProcessService {
 
     Schedule querySchedule(int id);
 
+    List<Schedule> querySchedules(Collection<Integer> ids);
+
     List<Schedule> queryReleaseSchedulerListByProcessDefinitionCode(long processDefinitionCode);
 
     List<DependentProcessDefinition> queryDependentProcessDefinitionByProcessDefinitionCode(long processDefinitionCode);
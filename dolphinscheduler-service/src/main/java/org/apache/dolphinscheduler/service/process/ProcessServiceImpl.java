@@ -147,6 +147,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -468,6 +470,20 @@ public class ProcessServiceImpl implements ProcessService {
         return processDefineMapper.queryByCode(processDefinitionCode);
     }
 
+    /**
+     * find process define by codes.
+     *
+     * @param processDefinitionCodes processDefinitionCodes
+     * @return process definitions
+     */
+    @Override
+    public List<ProcessDefinition> findProcessDefinitionByCodes(Collection<Long> processDefinitionCodes) {
+        if (CollectionUtils.isEmpty(processDefinitionCodes)) {
+            return Collections.emptyList();
+        }
+        return processDefineMapper.queryByCodes(processDefinitionCodes);
+    }
+
     /**
      * delete work process instance by id
      *
@@ -1546,6 +1562,20 @@ public class ProcessServiceImpl implements ProcessService {
         return scheduleMapper.selectById(id);
     }
 
+    /**
+     * query Schedules by ids
+     *
+     * @param ids ids
+     * @return schedules
+     */
+    @Override
+    public List<Schedule> querySchedules(Collection<Integer> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return scheduleMapper.selectBatchIds(ids);
+    }
+
     /**
      * query Schedule by processDefinitionCode
      *
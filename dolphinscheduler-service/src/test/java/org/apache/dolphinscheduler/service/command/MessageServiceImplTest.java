@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_RECOVER_PROCESS_ID_STRING;
 import static org.mockito.ArgumentMatchers.anyString;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.WarningType;
@@ -31,6 +32,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
@@ -53,6 +55,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -70,6 +73,9 @@ class MessageServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private CommandCreatedNotifier commandCreatedNotifier;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -214,6 +220,33 @@ class MessageServiceImplTest {
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
     }
 
+    @Test
+    public void testBatchCreateCommand() {
+        Command command1 = new Command();
+        command1.setProcessDefinitionCode(123);
+        command1.setCommandType(CommandType.SCHEDULER);
+        Command command2 = new Command();
+        command2.setProcessDefinitionCode(456);
+        command2.setCommandType(CommandType.SCHEDULER);
+        command2.setCommandParam("{\"schedule_timezone\":\"UTC\"}");
+        List<Command> commands = Lists.newArrayList(command1, command2);
+        Schedule schedule = new Schedule();
+        schedule.setProcessDefinitionCode(123);
+        schedule.setTimezoneId("Asia/Shanghai");
+        Mockito.when(scheduleMapper.querySchedulesByProcessDefinitionCodes(Lists.newArrayList(123L)))
+                .thenReturn(Lists.newArrayList(schedule));
+        Mockito.when(commandMapper.batchInsert(commands)).thenReturn(2);
+
+        Assertions.assertEquals(2, commandService.batchCreateCommand(commands));
+        // only the schedules of the commands without timezone are queried
+        Mockito.verify(scheduleMapper, Mockito.times(1))
+                .querySchedulesByProcessDefinitionCodes(Lists.newArrayList(123L));
+        Assertions.assertEquals("Asia/Shanghai",
+                JSONUtils.toMap(command1.getCommandParam()).get(Constants.SCHEDULE_TIMEZONE));
+        Assertions.assertEquals("UTC", JSONUtils.toMap(command2.getCommandParam()).get(Constants.SCHEDULE_TIMEZONE));
+        Mockito.verify(commandCreatedNotifier, Mockito.times(2)).notifyCommandCreated(Mockito.any());
+    }
+
     @Test
     public void testFindCommandPageBySlot() {
         int pageSize = 1;
@@ -26,6 +26,8 @@ import org.apache.dolphinscheduler.common.constants.TenantConstants;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.ProcessOutputHandler;
+import org.apache.dolphinscheduler.plugin.task.api.log.ProcessOutputPump;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
@@ -84,9 +86,7 @@ public abstract class AbstractCommandExecutor {
      */
     protected LinkedBlockingQueue<String> logBuffer;
 
-    protected boolean processLogOutputIsSuccess = false;
-
-    protected boolean podLogOutputIsFinished = false;
+    protected volatile boolean podLogOutputIsFinished = false;
 
     /**
      * taskRequest
@@ -104,7 +104,6 @@ public abstract class AbstractCommandExecutor {
         this.taskRequest = taskRequest;
         this.logger = logger;
         this.logBuffer = new LinkedBlockingQueue<>();
-        this.logBuffer.add(EMPTY_STRING);
 
         if (this.taskRequest != null) {
             // set logBufferEnable=true if the task uses logHandler and logBuffer to buffer log messages
@@ -295,53 +294,40 @@ public abstract class AbstractCommandExecutor {
     }
 
     private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.submit(() -> {
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                String line;
-                while ((line = inReader.readLine()) != null) {
-                    if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
-                        varPool.append(findVarPool(line));
-                        varPool.append("$VarPool$");
-                    } else {
-                        logBuffer.add(line);
-                    }
+        // the output is pumped by the shared pump threads, the var pool lines are parsed once they are read
+        taskOutputFuture = ProcessOutputPump.getInstance().register(process, new ProcessOutputHandler() {
+
+            @Override
+            public void onLine(String line) {
+                if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
+                    varPool.append(findVarPool(line));
+                    varPool.append("$VarPool$");
+                } else {
+                    logBuffer.add(line);
                 }
-                processLogOutputIsSuccess = true;
-            } catch (Exception e) {
-                logger.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
             }
-        });
-
-        getOutputLogService.shutdown();
 
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
-            try {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
+            @Override
+            public void flush() {
+                if (logBuffer.isEmpty()) {
+                    return;
                 }
-            } catch (Exception e) {
-                logger.error("Output task log error", e);
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
+                LinkedBlockingQueue<String> logs = new LinkedBlockingQueue<>();
+                logs.add(EMPTY_STRING);
+                logBuffer.drainTo(logs);
+                try {
+                    LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
+                    logHandler.accept(logs);
+                } finally {
+                    LogUtils.removeTaskInstanceLogFullPathMDC();
+                }
+            }
+
+            @Override
+            public boolean isOtherOutputFinished() {
+                return podLogOutputIsFinished;
             }
         });
-        parseProcessOutputExecutorService.shutdown();
     }
 
     /**
@@ -314,6 +314,21 @@ public class TaskConstants {
      */
     public static final int DEFAULT_DISPLAY_ROWS = 10;
 
+    /**
+     * the jdbc fetch size of the sql task, can be overridden for a datasource type by
+     * sql.task.fetch.size.{datasource type}, e.g. sql.task.fetch.size.mysql
+     */
+    public static final String SQL_TASK_FETCH_SIZE = "sql.task.fetch.size";
+
+    public static final int DEFAULT_SQL_TASK_FETCH_SIZE = 1000;
+
+    /**
+     * the max rows of the sql task query result sent to the alert
+     */
+    public static final String SQL_TASK_ALERT_MAX_ROWS = "sql.task.alert.max.rows";
+
+    public static final int DEFAULT_SQL_TASK_ALERT_MAX_ROWS = 1000;
+
     /**
      * jar
      */
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+/**
+ * Handle the output of a process pumped by the {@link ProcessOutputPump}, the methods are called by the pump thread.
+ */
+public interface ProcessOutputHandler {
+
+    /**
+     * Handle a line of the output, the line separator is removed.
+     */
+    void onLine(String line);
+
+    /**
+     * Flush the buffered lines, called when enough lines are handled or the flush interval passed.
+     */
+    void flush();
+
+    /**
+     * The process output is finished only if the other outputs handled by this handler are finished too, e.g. the
+     * kubernetes pod log, the buffered lines are still flushed periodically until then.
+     */
+    default boolean isOtherOutputFinished() {
+        return true;
+    }
+}
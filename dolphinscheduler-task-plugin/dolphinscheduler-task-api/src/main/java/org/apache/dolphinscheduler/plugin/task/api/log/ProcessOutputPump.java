@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static org.apache.dolphinscheduler.plugin.task.api.utils.AbstractCommandExecutorConstants.TASK_OUTPUT_FLUSH_INTERVAL;
+import static org.apache.dolphinscheduler.plugin.task.api.utils.AbstractCommandExecutorConstants.TASK_OUTPUT_FLUSH_LINES;
+import static org.apache.dolphinscheduler.plugin.task.api.utils.AbstractCommandExecutorConstants.TASK_OUTPUT_PUMP_THREADS;
+
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pump the output of the task processes on a small shared thread pool, instead of two threads for each task.
+ * <p>
+ * The process pipes can't be registered to a selector, so each pump thread polls the streams it owns with
+ * {@link InputStream#available()} and only reads the bytes which are ready, one thread serves lots of processes
+ * without blocking on any of them, a thread which owns no process parks until a process is registered to it. The
+ * lines are handed to the {@link ProcessOutputHandler} as soon as they are read, and the handler is flushed once
+ * enough lines are handled or the flush interval passed.
+ * <p>
+ * After the process exited the remaining bytes in the pipe are read, the output written later by the processes forked
+ * in background is not waited for.
+ */
+@Slf4j
+public class ProcessOutputPump {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static volatile ProcessOutputPump instance;
+
+    private final PumpThread[] pumpThreads;
+
+    private final int flushLines;
+
+    private final long flushIntervalMillis;
+
+    private final Charset charset = Charset.defaultCharset();
+
+    public ProcessOutputPump(int threads, int flushLines, long flushIntervalMillis) {
+        this.flushLines = flushLines;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.pumpThreads = new PumpThread[threads];
+        for (int i = 0; i < threads; i++) {
+            pumpThreads[i] = new PumpThread("ProcessOutputPump-thread-" + i);
+            pumpThreads[i].start();
+        }
+    }
+
+    public static ProcessOutputPump getInstance() {
+        if (instance == null) {
+            synchronized (ProcessOutputPump.class) {
+                if (instance == null) {
+                    instance = new ProcessOutputPump(
+                            PropertyUtils.getInt(TASK_OUTPUT_PUMP_THREADS, 4),
+                            PropertyUtils.getInt(TASK_OUTPUT_FLUSH_LINES, 1000),
+                            PropertyUtils.getLong(TASK_OUTPUT_FLUSH_INTERVAL,
+                                    (long) TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Pump the output of the process until the process exited and its output is read.
+     *
+     * @return the future which is completed once the output is finished and flushed
+     */
+    public CompletableFuture<Void> register(Process process, ProcessOutputHandler handler) {
+        ProcessOutput processOutput = new ProcessOutput(process, handler);
+        PumpThread pumpThread = Arrays.stream(pumpThreads)
+                .reduce((thread1, thread2) -> thread1.outputCount.get() <= thread2.outputCount.get() ? thread1
+                        : thread2)
+                .orElseThrow(() -> new IllegalStateException("There is no pump thread"));
+        pumpThread.register(processOutput);
+        return processOutput.future;
+    }
+
+    private class PumpThread extends BaseDaemonThread {
+
+        private final ConcurrentLinkedQueue<ProcessOutput> registeredOutputs = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger outputCount = new AtomicInteger();
+
+        private final List<ProcessOutput> processOutputs = new ArrayList<>();
+
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        PumpThread(String threadName) {
+            super(threadName);
+        }
+
+        void register(ProcessOutput processOutput) {
+            outputCount.incrementAndGet();
+            registeredOutputs.add(processOutput);
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ProcessOutput registeredOutput;
+                while ((registeredOutput = registeredOutputs.poll()) != null) {
+                    processOutputs.add(registeredOutput);
+                }
+                boolean hasRead = false;
+                long now = System.currentTimeMillis();
+                Iterator<ProcessOutput> iterator = processOutputs.iterator();
+                while (iterator.hasNext()) {
+                    ProcessOutput processOutput = iterator.next();
+                    try {
+                        hasRead |= processOutput.pump(readBuffer, now);
+                        if (processOutput.isFinished()) {
+                            processOutput.handler.flush();
+                            processOutput.close();
+                            processOutput.future.complete(null);
+                            iterator.remove();
+                            outputCount.decrementAndGet();
+                        }
+                    } catch (Throwable e) {
+                        log.error("Pump the process output failed", e);
+                        processOutput.close();
+                        processOutput.future.completeExceptionally(e);
+                        iterator.remove();
+                        outputCount.decrementAndGet();
+                    }
+                }
+                if (processOutputs.isEmpty()) {
+                    // no process to poll, wait until a process is registered, the register unparks this thread
+                    LockSupport.park(this);
+                } else if (!hasRead) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    private class ProcessOutput {
+
+        private final Process process;
+
+        private final InputStream inputStream;
+
+        private final ProcessOutputHandler handler;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private byte[] lineBytes = new byte[256];
+
+        private int lineLength = 0;
+
+        private int unflushedLines = 0;
+
+        private long lastFlushTime = System.currentTimeMillis();
+
+        private boolean streamFinished = false;
+
+        ProcessOutput(Process process, ProcessOutputHandler handler) {
+            this.process = process;
+            this.inputStream = process.getInputStream();
+            this.handler = handler;
+        }
+
+        /**
+         * Read the bytes which are ready, and flush the handler if needed.
+         *
+         * @return whether any byte is read
+         */
+        boolean pump(byte[] readBuffer, long now) throws IOException {
+            boolean hasRead = false;
+            if (!streamFinished) {
+                // check whether the process is alive before reading, so the bytes written before exit are not missed
+                boolean alive = process.isAlive();
+                int available = inputStream.available();
+                if (available > 0) {
+                    int length = inputStream.read(readBuffer, 0, Math.min(available, readBuffer.length));
+                    if (length > 0) {
+                        onBytes(readBuffer, length);
+                        hasRead = true;
+                    } else if (length < 0) {
+                        finishStream();
+                    }
+                } else if (!alive) {
+                    finishStream();
+                }
+            }
+            if (unflushedLines >= flushLines || now - lastFlushTime >= flushIntervalMillis) {
+                handler.flush();
+                unflushedLines = 0;
+                lastFlushTime = now;
+            }
+            return hasRead;
+        }
+
+        boolean isFinished() {
+            return streamFinished && handler.isOtherOutputFinished();
+        }
+
+        void close() {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                log.warn("Close the process output failed", e);
+            }
+        }
+
+        private void onBytes(byte[] bytes, int length) {
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    onLine();
+                    continue;
+                }
+                if (lineLength == lineBytes.length) {
+                    lineBytes = Arrays.copyOf(lineBytes, lineBytes.length * 2);
+                }
+                lineBytes[lineLength++] = b;
+            }
+        }
+
+        private void onLine() {
+            int length = lineLength;
+            if (length > 0 && lineBytes[length - 1] == '\r') {
+                length--;
+            }
+            handler.onLine(new String(lineBytes, 0, length, charset));
+            lineLength = 0;
+            unflushedLines++;
+        }
+
+        private void finishStream() {
+            if (lineLength > 0) {
+                onLine();
+            }
+            streamFinished = true;
+        }
+    }
+}
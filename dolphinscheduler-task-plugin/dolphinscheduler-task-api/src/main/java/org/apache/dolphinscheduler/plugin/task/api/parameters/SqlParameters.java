@@ -253,9 +253,9 @@ public class SqlParameters extends AbstractParameters {
         if (CollectionUtils.isEmpty(sqlResult)) {
             return;
         }
+        Map<String, List<String>> sqlResultFormat = new HashMap<>();
         // if sql return more than one line
         if (sqlResult.size() > 1) {
-            Map<String, List<String>> sqlResultFormat = new HashMap<>();
             // init sqlResultFormat
             Set<String> keySet = sqlResult.get(0).keySet();
             for (String key : keySet) {
@@ -266,21 +266,40 @@ public class SqlParameters extends AbstractParameters {
                     sqlResultFormat.get(key).add(String.valueOf(info.get(key)));
                 }
             }
+        }
+        dealOutParam(sqlResult.get(0), sqlResultFormat, sqlResult.size());
+    }
+
+    /**
+     * deal out params by the values of the query result, so the query result doesn't need to be kept in memory
+     *
+     * @param firstRow the values of the first row
+     * @param columnValues the values of the columns, only required by the LIST out params when there are more than
+     *                     one rows
+     * @param rowCount the row count of the query result
+     */
+    public void dealOutParam(Map<String, String> firstRow, Map<String, List<String>> columnValues, int rowCount) {
+        if (CollectionUtils.isEmpty(localParams)) {
+            return;
+        }
+        List<Property> outProperty = getOutProperty(localParams);
+        if (CollectionUtils.isEmpty(outProperty)) {
+            return;
+        }
+        if (rowCount > 1) {
             for (Property info : outProperty) {
                 if (info.getType() == DataType.LIST) {
-                    info.setValue(JSONUtils.toJsonString(sqlResultFormat.get(info.getProp())));
+                    info.setValue(JSONUtils.toJsonString(columnValues.get(info.getProp())));
                     varPool.add(info);
                 }
             }
         } else {
             // result only one line
-            Map<String, String> firstRow = sqlResult.get(0);
             for (Property info : outProperty) {
                 info.setValue(String.valueOf(firstRow.get(info.getProp())));
                 varPool.add(info);
             }
         }
-
     }
 
     @Override
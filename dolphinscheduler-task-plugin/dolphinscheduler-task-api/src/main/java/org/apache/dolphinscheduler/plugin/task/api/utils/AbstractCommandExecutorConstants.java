@@ -24,4 +24,10 @@ public class AbstractCommandExecutorConstants {
     }
 
     public static final String TASK_RESOURCE_LIMIT_STATE = "task.resource.limit.state";
+
+    public static final String TASK_OUTPUT_PUMP_THREADS = "task.output.pump.threads";
+
+    public static final String TASK_OUTPUT_FLUSH_LINES = "task.output.flush.lines";
+
+    public static final String TASK_OUTPUT_FLUSH_INTERVAL = "task.output.flush.interval";
 }
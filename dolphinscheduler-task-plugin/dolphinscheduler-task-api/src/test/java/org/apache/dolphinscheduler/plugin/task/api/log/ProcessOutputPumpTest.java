@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ProcessOutputPumpTest {
+
+    @Test
+    public void testPumpLines() throws Exception {
+        ProcessOutputPump processOutputPump = new ProcessOutputPump(1, 2, 60000);
+        List<String> lines = new ArrayList<>();
+        AtomicInteger flushTimes = new AtomicInteger();
+        ProcessOutputHandler handler = new ProcessOutputHandler() {
+
+            @Override
+            public void onLine(String line) {
+                lines.add(line);
+            }
+
+            @Override
+            public void flush() {
+                flushTimes.incrementAndGet();
+            }
+        };
+
+        processOutputPump.register(new FinishedProcess("line1\r\nline2\n\nline3"), handler).get(10, TimeUnit.SECONDS);
+        // the last line without line separator is kept
+        Assertions.assertEquals(Arrays.asList("line1", "line2", "", "line3"), lines);
+        // flushed once enough lines are handled, and flushed again once the output is finished
+        Assertions.assertEquals(2, flushTimes.get());
+    }
+
+    @Test
+    public void testWaitOtherOutputFinished() throws Exception {
+        ProcessOutputPump processOutputPump = new ProcessOutputPump(1, 1000, 10);
+        AtomicInteger flushTimes = new AtomicInteger();
+        ProcessOutputHandler handler = new ProcessOutputHandler() {
+
+            @Override
+            public void onLine(String line) {
+            }
+
+            @Override
+            public void flush() {
+                flushTimes.incrementAndGet();
+            }
+
+            @Override
+            public boolean isOtherOutputFinished() {
+                // the buffered lines are flushed periodically until the other output is finished
+                return flushTimes.get() >= 3;
+            }
+        };
+
+        processOutputPump.register(new FinishedProcess(""), handler).get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(flushTimes.get() >= 3);
+    }
+
+    @Test
+    public void testRegisterToIdlePumpThread() throws Exception {
+        ProcessOutputPump processOutputPump = new ProcessOutputPump(1, 1000, 60000);
+        List<String> lines = new ArrayList<>();
+        ProcessOutputHandler handler = new ProcessOutputHandler() {
+
+            @Override
+            public void onLine(String line) {
+                lines.add(line);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+
+        processOutputPump.register(new FinishedProcess("line1\n"), handler).get(10, TimeUnit.SECONDS);
+        // the pump thread parks without timeout once it owns no process, a new process should wake it up
+        Thread.sleep(100);
+        processOutputPump.register(new FinishedProcess("line2\n"), handler).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(Arrays.asList("line1", "line2"), lines);
+    }
+
+    @Test
+    public void testHandlerError() {
+        ProcessOutputPump processOutputPump = new ProcessOutputPump(1, 1000, 60000);
+        ProcessOutputHandler handler = new ProcessOutputHandler() {
+
+            @Override
+            public void onLine(String line) {
+                throw new IllegalStateException("handle line failed");
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+
+        Assertions.assertThrows(Exception.class,
+                () -> processOutputPump.register(new FinishedProcess("line1\n"), handler).get(10, TimeUnit.SECONDS));
+    }
+
+    private static class FinishedProcess extends Process {
+
+        private final InputStream inputStream;
+
+        FinishedProcess(String output) {
+            this.inputStream = new ByteArrayInputStream(output.getBytes(Charset.defaultCharset()));
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return null;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return null;
+        }
+
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -24,7 +24,11 @@ import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -91,4 +95,25 @@ public class SqlParametersTest {
         sqlParameters.dealOutParam(sqlResult);
         Assertions.assertNotNull(sqlParameters.getVarPool().get(0));
     }
+
+    @Test
+    public void testDealOutParamWithRowValues() {
+        Property listProperty = new Property("id", Direct.OUT, DataType.LIST, null);
+        Property varcharProperty = new Property("name", Direct.OUT, DataType.VARCHAR, null);
+        SqlParameters sqlParameters = new SqlParameters();
+        sqlParameters.setLocalParams(Arrays.asList(listProperty, varcharProperty));
+        sqlParameters.varPool = new ArrayList<>();
+
+        Map<String, String> firstRow = new HashMap<>();
+        firstRow.put("id", "1");
+        firstRow.put("name", "a");
+        sqlParameters.dealOutParam(firstRow, Collections.singletonMap("id", Arrays.asList("1", "2")), 2);
+        Assertions.assertEquals(1, sqlParameters.getVarPool().size());
+        Assertions.assertEquals("[\"1\",\"2\"]", sqlParameters.getVarPool().get(0).getValue());
+
+        sqlParameters.varPool = new ArrayList<>();
+        sqlParameters.dealOutParam(firstRow, Collections.emptyMap(), 1);
+        Assertions.assertEquals(2, sqlParameters.getVarPool().size());
+        Assertions.assertEquals("a", sqlParameters.getVarPool().get(1).getValue());
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Write the rows of the sql query result one by one into a JSON lines file, only the first rows are kept in memory
+ * as the preview, and only the columns of the out params are collected for the var pool.
+ */
+public class SqlResultWriter implements Closeable {
+
+    private final Path resultFile;
+
+    private final BufferedWriter writer;
+
+    private final int maxPreviewRows;
+
+    private final List<String> listOutParams = new ArrayList<>();
+
+    private final ArrayNode previewRows = JSONUtils.createArrayNode();
+
+    private final Map<String, String> firstRow = new LinkedHashMap<>();
+
+    private final Map<String, List<String>> columnValues = new HashMap<>();
+
+    private int rowCount;
+
+    public SqlResultWriter(Path resultFile, int maxPreviewRows, List<Property> outProperties) throws IOException {
+        this.resultFile = resultFile;
+        this.writer = Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8);
+        this.maxPreviewRows = maxPreviewRows;
+        for (Property outProperty : outProperties) {
+            if (outProperty.getType() == DataType.LIST) {
+                listOutParams.add(outProperty.getProp());
+                columnValues.put(outProperty.getProp(), new ArrayList<>());
+            }
+        }
+    }
+
+    public void write(ObjectNode row) throws IOException {
+        writer.write(JSONUtils.toJsonString(row));
+        writer.newLine();
+        if (rowCount < maxPreviewRows) {
+            previewRows.add(row);
+        }
+        if (rowCount == 0) {
+            row.fields().forEachRemaining(field -> firstRow.put(field.getKey(), toText(field.getValue())));
+        }
+        for (String listOutParam : listOutParams) {
+            if (row.has(listOutParam)) {
+                columnValues.get(listOutParam).add(String.valueOf(toText(row.get(listOutParam))));
+            }
+        }
+        rowCount++;
+    }
+
+    public Path getResultFile() {
+        return resultFile;
+    }
+
+    public ArrayNode getPreviewRows() {
+        return previewRows;
+    }
+
+    public Map<String, String> getFirstRow() {
+        return firstRow;
+    }
+
+    public Map<String, List<String>> getColumnValues() {
+        return columnValues;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String toText(JsonNode jsonNode) {
+        if (jsonNode == null || jsonNode.isNull()) {
+            return null;
+        }
+        return jsonNode.isValueNode() ? jsonNode.asText() : jsonNode.toString();
+    }
+}
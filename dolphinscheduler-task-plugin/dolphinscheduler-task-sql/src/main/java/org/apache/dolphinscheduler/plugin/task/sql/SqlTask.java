@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.CommonUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
@@ -43,6 +44,10 @@ import org.apache.dolphinscheduler.spi.enums.DbType;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -94,6 +99,8 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    private static final String QUERY_RESULT_FILE_SUFFIX = "_query_result.jsonl";
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
@@ -237,18 +244,16 @@ public class SqlTask extends AbstractTask {
             executeUpdate(connection, preStatementsBinds, "pre");
 
             // main execute
-            String result = null;
             // decide whether to executeQuery or executeUpdate based on sqlType
             if (sqlParameters.getSqlType() == SqlType.QUERY.ordinal()) {
-                // query statements need to be convert to JsonArray and inserted into Alert to send
-                result = executeQuery(connection, mainStatementsBinds.get(0), "main");
+                // query statements are written into the result file, and the out params are dealt with the rows
+                executeQuery(connection, mainStatementsBinds.get(0), "main");
             } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
                 // non query statement
                 String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
-                result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
+                // deal out params
+                sqlParameters.dealOutParam(setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams()));
             }
-            // deal out params
-            sqlParameters.dealOutParam(result);
 
             // post execute
             executeUpdate(connection, postStatementsBinds, "post");
@@ -274,53 +279,79 @@ public class SqlTask extends AbstractTask {
     }
 
     /**
-     * result process
+     * result process, the rows are written into the result file one by one rather than kept in memory, only the
+     * first rows are sent to the alert
      *
      * @param resultSet resultSet
      * @throws Exception Exception
      */
-    private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
-        if (resultSet != null) {
-            ResultSetMetaData md = resultSet.getMetaData();
-            int num = md.getColumnCount();
-
-            int rowCount = 0;
-            int limit = sqlParameters.getLimit() == 0 ? QUERY_LIMIT : sqlParameters.getLimit();
-
-            while (resultSet.next()) {
-                if (rowCount == limit) {
-                    log.info("sql result limit : {} exceeding results are filtered", limit);
-                    break;
-                }
-                ObjectNode mapOfColValues = JSONUtils.createObjectNode();
-                for (int i = 1; i <= num; i++) {
-                    mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
+    private void resultProcess(ResultSet resultSet) throws Exception {
+        int limit = sqlParameters.getLimit() == 0 ? QUERY_LIMIT : sqlParameters.getLimit();
+        int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                : TaskConstants.DEFAULT_DISPLAY_ROWS;
+        boolean sendEmail = Boolean.TRUE.equals(sqlParameters.getSendEmail());
+        int alertMaxRows = sendEmail
+                ? PropertyUtils.getInt(TaskConstants.SQL_TASK_ALERT_MAX_ROWS,
+                        TaskConstants.DEFAULT_SQL_TASK_ALERT_MAX_ROWS)
+                : 0;
+        try (
+                SqlResultWriter sqlResultWriter = new SqlResultWriter(createResultFile(), alertMaxRows,
+                        sqlParameters.getOutProperty(sqlParameters.getLocalParams()))) {
+            if (resultSet != null) {
+                ResultSetMetaData md = resultSet.getMetaData();
+                int num = md.getColumnCount();
+                log.info("display sql result at most {} rows as follows:", displayRows);
+                while (resultSet.next()) {
+                    if (sqlResultWriter.getRowCount() == limit) {
+                        log.info("sql result limit : {} exceeding results are filtered", limit);
+                        break;
+                    }
+                    ObjectNode mapOfColValues = JSONUtils.createObjectNode();
+                    for (int i = 1; i <= num; i++) {
+                        mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
+                    }
+                    if (sqlResultWriter.getRowCount() < displayRows) {
+                        log.info("row {} : {}", sqlResultWriter.getRowCount() + 1,
+                                JSONUtils.toJsonString(mapOfColValues));
+                    }
+                    sqlResultWriter.write(mapOfColValues);
                 }
-                resultJSONArray.add(mapOfColValues);
-                rowCount++;
+            }
+            log.info("sql result {} rows are written into {}", sqlResultWriter.getRowCount(),
+                    sqlResultWriter.getResultFile());
+
+            ArrayNode resultJSONArray = sqlResultWriter.getPreviewRows();
+            if (sqlResultWriter.getRowCount() == 0) {
+                resultJSONArray = generateEmptyRow(resultSet);
+                sqlParameters.dealOutParam(JSONUtils.toMap(resultJSONArray.get(0).toString()),
+                        Collections.emptyMap(), 1);
+            } else {
+                sqlParameters.dealOutParam(sqlResultWriter.getFirstRow(), sqlResultWriter.getColumnValues(),
+                        sqlResultWriter.getRowCount());
             }
 
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, rowCount);
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
+            if (sendEmail) {
+                if (sqlResultWriter.getRowCount() > alertMaxRows) {
+                    log.info("only the first {} rows of the sql result are sent to the alert", alertMaxRows);
+                }
+                sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
+                        ? sqlParameters.getTitle()
+                        : taskExecutionContext.getTaskName() + " query result sets",
+                        JSONUtils.toJsonString(resultJSONArray));
             }
         }
+    }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
-
-        if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
-            sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
-                    ? sqlParameters.getTitle()
-                    : taskExecutionContext.getTaskName() + " query result sets", result);
+    /**
+     * create the file to keep the query result in the execute path of the task
+     */
+    private Path createResultFile() throws IOException {
+        if (StringUtils.isEmpty(taskExecutionContext.getExecutePath())) {
+            return Files.createTempFile(taskExecutionContext.getTaskInstanceId() + "_", QUERY_RESULT_FILE_SUFFIX);
         }
-        log.debug("execute sql result : {}", result);
-        return result;
+        Path executePath = Paths.get(taskExecutionContext.getExecutePath());
+        Files.createDirectories(executePath);
+        return executePath.resolve(taskExecutionContext.getTaskInstanceId() + QUERY_RESULT_FILE_SUFFIX);
     }
 
     /**
@@ -358,14 +389,29 @@ public class SqlTask extends AbstractTask {
         setTaskAlertInfo(taskAlertInfo);
     }
 
-    private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
+    private void executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
-            log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
+            int fetchSize = getFetchSize();
+            if (fetchSize != 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            log.info("{} statement execute query, fetch size: {}, for sql: {}", handlerType, fetchSize,
+                    sqlBinds.getSql());
             ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            resultProcess(resultSet);
         }
     }
 
+    /**
+     * get the jdbc fetch size of the datasource type, the default fetch size is used if it's not set
+     */
+    private int getFetchSize() {
+        int defaultFetchSize =
+                PropertyUtils.getInt(TaskConstants.SQL_TASK_FETCH_SIZE, TaskConstants.DEFAULT_SQL_TASK_FETCH_SIZE);
+        return PropertyUtils.getInt(
+                TaskConstants.SQL_TASK_FETCH_SIZE + "." + sqlParameters.getType().toLowerCase(), defaultFetchSize);
+    }
+
     private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds,
                                  String handlerType) throws Exception {
         int result = 0;
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SqlResultWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteRows() throws Exception {
+        List<Property> outProperties = Arrays.asList(
+                new Property("id", Direct.OUT, DataType.LIST, null),
+                new Property("name", Direct.OUT, DataType.VARCHAR, null));
+        Path resultFile = tempDir.resolve("1_query_result.jsonl");
+        try (SqlResultWriter sqlResultWriter = new SqlResultWriter(resultFile, 2, outProperties)) {
+            for (int i = 1; i <= 3; i++) {
+                ObjectNode row = JSONUtils.createObjectNode();
+                row.put("id", i);
+                row.put("name", "name-" + i);
+                row.putNull("remark");
+                sqlResultWriter.write(row);
+            }
+            Assertions.assertEquals(3, sqlResultWriter.getRowCount());
+            Assertions.assertEquals(2, sqlResultWriter.getPreviewRows().size());
+            Assertions.assertEquals("1", sqlResultWriter.getFirstRow().get("id"));
+            Assertions.assertEquals("name-1", sqlResultWriter.getFirstRow().get("name"));
+            Assertions.assertNull(sqlResultWriter.getFirstRow().get("remark"));
+            Assertions.assertEquals(Arrays.asList("1", "2", "3"), sqlResultWriter.getColumnValues().get("id"));
+            Assertions.assertFalse(sqlResultWriter.getColumnValues().containsKey("name"));
+        }
+        List<String> lines = Files.readAllLines(resultFile, StandardCharsets.UTF_8);
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertEquals("name-3", JSONUtils.parseObject(lines.get(2)).get("name").asText());
+    }
+
+    @Test
+    void testWriteNoPreview() throws Exception {
+        Path resultFile = tempDir.resolve("2_query_result.jsonl");
+        try (SqlResultWriter sqlResultWriter = new SqlResultWriter(resultFile, 0, Collections.emptyList())) {
+            ObjectNode row = JSONUtils.createObjectNode();
+            row.put("id", 1);
+            sqlResultWriter.write(row);
+            Assertions.assertEquals(1, sqlResultWriter.getRowCount());
+            Assertions.assertTrue(sqlResultWriter.getPreviewRows().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The worker level cache of the resource files downloaded from the storage.
+ */
+@Data
+public class ResourceCacheProperties {
+
+    /**
+     * If disabled, the resource files will be downloaded into the task execute path every time.
+     */
+    private boolean enabled = true;
+    /**
+     * The directory to store the cached resource files, it should be in the same file system with the task execute
+     * path, so that the cached files can be hard linked into the task execute path.
+     */
+    private String cacheDir = FileUtils.DATA_BASEDIR + "/resource-cache";
+    /**
+     * The max disk size of the cached resource files, the least recently used files will be evicted once exceeded.
+     */
+    private DataSize maxDiskSize = DataSize.ofGigabytes(10);
+    /**
+     * The max number of resource files downloaded at the same time.
+     */
+    private int downloadParallelism = 4;
+
+}
@@ -60,6 +60,17 @@ public class WorkerConfig implements Validator {
 
     private TaskExecuteThreadsFullPolicy taskExecuteThreadsFullPolicy = TaskExecuteThreadsFullPolicy.REJECT;
 
+    /**
+     * The max number of task instance execution events sent to one master in one request.
+     */
+    private int taskExecuteEventBatchSize = 100;
+    /**
+     * The max time a task instance execution event waits to be batched before it is sent to master.
+     */
+    private Duration taskExecuteEventBatchWindow = Duration.ofMillis(50);
+
+    private ResourceCacheProperties resourceCache = new ResourceCacheProperties();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -74,6 +85,18 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getTaskExecuteEventBatchSize() <= 0) {
+            errors.rejectValue("task-execute-event-batch-size", null, "should be a positive value");
+        }
+        if (workerConfig.getTaskExecuteEventBatchWindow().isNegative()) {
+            errors.rejectValue("task-execute-event-batch-window", null, "should not be negative");
+        }
+        if (workerConfig.getResourceCache().getDownloadParallelism() <= 0) {
+            errors.rejectValue("resource-cache.download-parallelism", null, "should be a positive value");
+        }
+        if (workerConfig.getResourceCache().getMaxDiskSize().isNegative()) {
+            errors.rejectValue("resource-cache.max-disk-size", null, "should not be negative");
+        }
         if (workerConfig.getMaxCpuLoadAvg() <= 0) {
             workerConfig.setMaxCpuLoadAvg(Runtime.getRuntime().availableProcessors() * 2);
         }
@@ -98,5 +121,8 @@ public class WorkerConfig implements Validator {
         log.info("Worker config: workerAddress -> {}", workerAddress);
         log.info("Worker config: workerRegistryPath: {}", workerRegistryPath);
         log.info("Worker config: taskExecuteThreadsFullPolicy: {}", taskExecuteThreadsFullPolicy);
+        log.info("Worker config: taskExecuteEventBatchSize: {}", taskExecuteEventBatchSize);
+        log.info("Worker config: taskExecuteEventBatchWindow: {}", taskExecuteEventBatchWindow);
+        log.info("Worker config: resourceCache: {}", resourceCache);
     }
 }
@@ -17,22 +17,25 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
-
-import org.apache.commons.collections4.MapUtils;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.Data;
 import lombok.NonNull;
@@ -44,6 +47,13 @@ import org.springframework.stereotype.Component;
 
 import com.google.common.base.Objects;
 
+/**
+ * Retry the task instance execution events which have not been acked by master.
+ * <p>
+ * The messages are kept in a queue ordered by their next retry time, the runner will wake up exactly when the first
+ * message is due, and send all the due messages of the same master together. If sending to a master failed, the
+ * messages of that master will be delayed with an exponential backoff, until the master is reachable again.
+ */
 @Component
 @Slf4j
 public class MessageRetryRunner extends BaseDaemonThread {
@@ -54,6 +64,8 @@ public class MessageRetryRunner extends BaseDaemonThread {
 
     private static final long MESSAGE_RETRY_WINDOW = Duration.ofMinutes(5L).toMillis();
 
+    private static final long MASTER_RETRY_INITIAL_BACKOFF = Duration.ofSeconds(1L).toMillis();
+
     @Lazy
     @Autowired
     private List<TaskInstanceExecutionEventSender> messageSenders;
@@ -61,84 +73,133 @@ public class MessageRetryRunner extends BaseDaemonThread {
     private final Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent>> messageSenderMap =
             new HashMap<>();
 
-    private final Map<Integer, List<TaskInstanceMessage>> needToRetryMessages = new ConcurrentHashMap<>();
+    private final AtomicLong messageSequence = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition retryQueueChanged = lock.newCondition();
+
+    // The following fields are guarded by lock
+    private final Map<Integer, Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage>> needToRetryMessages =
+            new HashMap<>();
+
+    private final TreeSet<TaskInstanceMessage> retryQueue = new TreeSet<>(
+            Comparator.comparingLong(TaskInstanceMessage::getNextRetryTime)
+                    .thenComparingLong(TaskInstanceMessage::getSequence));
+
+    private final Map<String, Integer> masterPendingMessageCounts = new HashMap<>();
+
+    private final Map<String, MasterRetryBackoff> masterRetryBackoffs = new HashMap<>();
 
     @Override
     public synchronized void start() {
         log.info("Message retry runner staring");
-        messageSenders.forEach(messageSender -> {
-            messageSenderMap.put(messageSender.getMessageType(), messageSender);
-            log.info("Injected message sender: {}", messageSender.getClass().getName());
-        });
+        messageSenders.forEach(this::registerMessageSender);
+        WorkerServerMetrics.registerWorkerMessageRetryBacklogGauge(this::getRetryMessageSize);
         super.start();
         log.info("Message retry runner started");
     }
 
+    void registerMessageSender(TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent> messageSender) {
+        messageSenderMap.put(messageSender.getMessageType(), messageSender);
+        log.info("Injected message sender: {}", messageSender.getClass().getName());
+    }
+
     public void addRetryMessage(int taskInstanceId, @NonNull ITaskInstanceExecutionEvent iTaskInstanceExecutionEvent) {
-        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(TaskInstanceMessage.of(taskInstanceId, iTaskInstanceExecutionEvent.getEventType(),
-                        iTaskInstanceExecutionEvent));
+        long now = System.currentTimeMillis();
+        iTaskInstanceExecutionEvent.setEventSendTime(now);
+        TaskInstanceMessage taskInstanceMessage = TaskInstanceMessage.of(taskInstanceId,
+                iTaskInstanceExecutionEvent.getEventType(), iTaskInstanceExecutionEvent);
+        taskInstanceMessage.setSequence(messageSequence.incrementAndGet());
+        taskInstanceMessage.setCreateTime(now);
+        taskInstanceMessage.setNextRetryTime(now + MESSAGE_RETRY_WINDOW);
+        lock.lock();
+        try {
+            TaskInstanceMessage oldMessage = needToRetryMessages
+                    .computeIfAbsent(taskInstanceId,
+                            k -> new EnumMap<>(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.class))
+                    .put(taskInstanceMessage.getEventType(), taskInstanceMessage);
+            if (oldMessage != null) {
+                dequeue(oldMessage);
+            }
+            enqueue(taskInstanceMessage);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void removeRetryMessage(int taskInstanceId,
                                    @NonNull ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType) {
-        List<TaskInstanceMessage> taskInstanceMessages = needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.remove(TaskInstanceMessage.of(taskInstanceId, eventType, null));
+        lock.lock();
+        try {
+            Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                    needToRetryMessages.get(taskInstanceId);
+            if (taskInstanceMessages == null) {
+                return;
+            }
+            TaskInstanceMessage taskInstanceMessage = taskInstanceMessages.remove(eventType);
+            if (taskInstanceMessage != null) {
+                dequeue(taskInstanceMessage);
+            }
+            if (taskInstanceMessages.isEmpty()) {
+                needToRetryMessages.remove(taskInstanceId);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     public void removeRetryMessages(int taskInstanceId) {
-        needToRetryMessages.remove(taskInstanceId);
+        lock.lock();
+        try {
+            Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                    needToRetryMessages.remove(taskInstanceId);
+            if (taskInstanceMessages != null) {
+                taskInstanceMessages.values().forEach(this::dequeue);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
+    /**
+     * Redirect the messages of the task instance to the new master, the messages will be retried immediately since the
+     * previous master will never ack them.
+     */
     public void updateMessageHost(int taskInstanceId, String messageReceiverHost) {
-        List<TaskInstanceMessage> taskInstanceMessages = this.needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.forEach(taskInstanceMessage -> {
+        lock.lock();
+        try {
+            Map<ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                    needToRetryMessages.get(taskInstanceId);
+            if (taskInstanceMessages == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages.values()) {
+                dequeue(taskInstanceMessage);
                 taskInstanceMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
-            });
+                taskInstanceMessage.setNextRetryTime(now);
+                enqueue(taskInstanceMessage);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRetryMessageSize() {
+        lock.lock();
+        try {
+            return retryQueue.size();
+        } finally {
+            lock.unlock();
         }
     }
 
     public void run() {
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                if (MapUtils.isEmpty(needToRetryMessages)) {
-                    Thread.sleep(MESSAGE_RETRY_WINDOW);
-                }
-
-                long now = System.currentTimeMillis();
-                Iterator<Map.Entry<Integer, List<TaskInstanceMessage>>> iterator =
-                        needToRetryMessages.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    Map.Entry<Integer, List<TaskInstanceMessage>> taskEntry = iterator.next();
-                    Integer taskInstanceId = taskEntry.getKey();
-                    List<TaskInstanceMessage> taskInstanceMessages = taskEntry.getValue();
-                    if (taskInstanceMessages.isEmpty()) {
-                        iterator.remove();
-                        continue;
-                    }
-                    LogUtils.setTaskInstanceIdMDC(taskInstanceId);
-                    try {
-                        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
-                            ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType =
-                                    taskInstanceMessage.getEventType();
-                            ITaskInstanceExecutionEvent event = taskInstanceMessage.getEvent();
-                            if (now - event.getEventSendTime() > MESSAGE_RETRY_WINDOW) {
-                                log.info("Begin retry send message to master, event: {}", event);
-                                event.setEventSendTime(now);
-                                messageSenderMap.get(eventType).sendEvent(event);
-                                log.info("Success send message to master, event: {}", event);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("Retry send message to master error", e);
-                    } finally {
-                        LogUtils.removeTaskInstanceIdMDC();
-                    }
-                }
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                Map<String, List<TaskInstanceMessage>> dueMessages = takeDueMessages();
+                dueMessages.forEach(this::retrySendMessages);
             } catch (InterruptedException instance) {
                 log.warn("The message retry thread is interrupted, will break this loop", instance);
                 Thread.currentThread().interrupt();
@@ -150,7 +211,172 @@ public class MessageRetryRunner extends BaseDaemonThread {
     }
 
     public void clearMessage() {
-        needToRetryMessages.clear();
+        lock.lock();
+        try {
+            needToRetryMessages.clear();
+            retryQueue.clear();
+            masterPendingMessageCounts.clear();
+            masterRetryBackoffs.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the first message is due, then take all the due messages grouped by the master host.
+     */
+    private Map<String, List<TaskInstanceMessage>> takeDueMessages() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long delay = retryQueue.isEmpty()
+                    ? MESSAGE_RETRY_WINDOW
+                    : retryQueue.first().getNextRetryTime() - System.currentTimeMillis();
+            if (delay > 0) {
+                retryQueueChanged.await(delay, TimeUnit.MILLISECONDS);
+            }
+            return pollDueMessages(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the messages which are due at the given time grouped by the master host, the messages of a master in
+     * backoff are delayed to the end of the backoff. The taken messages are rescheduled to the next retry window, they
+     * will be removed once the master acks them.
+     */
+    Map<String, List<TaskInstanceMessage>> pollDueMessages(long now) {
+        lock.lock();
+        try {
+            Map<String, List<TaskInstanceMessage>> dueMessages = new HashMap<>();
+            List<TaskInstanceMessage> rescheduledMessages = new ArrayList<>();
+            while (!retryQueue.isEmpty() && retryQueue.first().getNextRetryTime() <= now) {
+                TaskInstanceMessage taskInstanceMessage = retryQueue.pollFirst();
+                String masterHost = taskInstanceMessage.getEvent().getWorkflowInstanceHost();
+                MasterRetryBackoff masterRetryBackoff = masterRetryBackoffs.get(masterHost);
+                if (masterRetryBackoff != null && masterRetryBackoff.getNextRetryTime() > now) {
+                    taskInstanceMessage.setNextRetryTime(masterRetryBackoff.getNextRetryTime());
+                } else {
+                    taskInstanceMessage.setNextRetryTime(now + MESSAGE_RETRY_WINDOW);
+                    dueMessages.computeIfAbsent(masterHost, k -> new ArrayList<>()).add(taskInstanceMessage);
+                }
+                rescheduledMessages.add(taskInstanceMessage);
+            }
+            retryQueue.addAll(rescheduledMessages);
+            return dueMessages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void retrySendMessages(String masterHost, List<TaskInstanceMessage> taskInstanceMessages) {
+        long now = System.currentTimeMillis();
+        log.info("Begin retry send {} messages to master: {}", taskInstanceMessages.size(), masterHost);
+        List<CompletableFuture<Void>> sendFutures = new ArrayList<>(taskInstanceMessages.size());
+        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
+            ITaskInstanceExecutionEvent event = taskInstanceMessage.getEvent();
+            LogUtils.setTaskInstanceIdMDC(taskInstanceMessage.getTaskInstanceId());
+            try {
+                log.info("Begin retry send message to master, event: {}", event);
+                WorkerServerMetrics.recordWorkerMessageRetryAge(now - taskInstanceMessage.getCreateTime());
+                event.setEventSendTime(now);
+                sendFutures.add(messageSenderMap.get(taskInstanceMessage.getEventType()).sendEvent(event));
+            } catch (Exception e) {
+                CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+                failedFuture.completeExceptionally(e);
+                sendFutures.add(failedFuture);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
+            }
+        }
+        CompletableFuture.allOf(sendFutures.toArray(new CompletableFuture[0])).whenComplete((r, ex) -> {
+            if (ex != null) {
+                onRetrySendFailed(masterHost, taskInstanceMessages, ex);
+            } else {
+                onRetrySendSuccess(masterHost, taskInstanceMessages);
+            }
+        });
+    }
+
+    private void onRetrySendSuccess(String masterHost, List<TaskInstanceMessage> taskInstanceMessages) {
+        log.info("Success retry send {} messages to master: {}", taskInstanceMessages.size(), masterHost);
+        lock.lock();
+        try {
+            masterRetryBackoffs.remove(masterHost);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRetrySendFailed(String masterHost, List<TaskInstanceMessage> taskInstanceMessages,
+                                   Throwable throwable) {
+        WorkerServerMetrics.incWorkerMessageRetryFailureCount(masterHost);
+        lock.lock();
+        try {
+            if (!masterPendingMessageCounts.containsKey(masterHost)) {
+                // All the messages have been acked or redirected in the meantime, no need to backoff this master
+                return;
+            }
+            MasterRetryBackoff masterRetryBackoff =
+                    masterRetryBackoffs.computeIfAbsent(masterHost, k -> new MasterRetryBackoff());
+            int failureTimes = masterRetryBackoff.getFailureTimes() + 1;
+            long backoff = Math.min(MASTER_RETRY_INITIAL_BACKOFF << Math.min(failureTimes - 1, 20),
+                    MESSAGE_RETRY_WINDOW);
+            long nextRetryTime = System.currentTimeMillis() + backoff;
+            masterRetryBackoff.setFailureTimes(failureTimes);
+            masterRetryBackoff.setNextRetryTime(nextRetryTime);
+            for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
+                // The message may have been acked or replaced in the meantime
+                if (retryQueue.remove(taskInstanceMessage)) {
+                    taskInstanceMessage.setNextRetryTime(nextRetryTime);
+                    retryQueue.add(taskInstanceMessage);
+                }
+            }
+            log.warn("Retry send {} messages to master: {} failed {} times, will retry after {} ms",
+                    taskInstanceMessages.size(), masterHost, failureTimes, backoff, throwable);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    MasterRetryBackoff getMasterRetryBackoff(String masterHost) {
+        lock.lock();
+        try {
+            return masterRetryBackoffs.get(masterHost);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(TaskInstanceMessage taskInstanceMessage) {
+        retryQueue.add(taskInstanceMessage);
+        masterPendingMessageCounts.merge(taskInstanceMessage.getEvent().getWorkflowInstanceHost(), 1, Integer::sum);
+        if (retryQueue.first() == taskInstanceMessage) {
+            retryQueueChanged.signal();
+        }
+    }
+
+    /**
+     * Remove the message from the retry queue, the backoff of the master is released once the master has no pending
+     * message, otherwise the masters which have gone away will be kept forever.
+     */
+    private void dequeue(TaskInstanceMessage taskInstanceMessage) {
+        if (!retryQueue.remove(taskInstanceMessage)) {
+            return;
+        }
+        String masterHost = taskInstanceMessage.getEvent().getWorkflowInstanceHost();
+        Integer pendingMessageCount = masterPendingMessageCounts.computeIfPresent(masterHost,
+                (k, count) -> count > 1 ? count - 1 : null);
+        if (pendingMessageCount == null) {
+            masterRetryBackoffs.remove(masterHost);
+        }
+    }
+
+    @Data
+    static class MasterRetryBackoff {
+
+        private int failureTimes;
+        private long nextRetryTime;
     }
 
     /**
@@ -162,6 +388,9 @@ public class MessageRetryRunner extends BaseDaemonThread {
         private long taskInstanceId;
         private ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType;
         private ITaskInstanceExecutionEvent event;
+        private long sequence;
+        private long createTime;
+        private long nextRetryTime;
 
         public static TaskInstanceMessage of(long taskInstanceId,
                                              ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType eventType,
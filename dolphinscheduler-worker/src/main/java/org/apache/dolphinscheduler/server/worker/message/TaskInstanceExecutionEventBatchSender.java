@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.extract.base.client.HostBatchingSender;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the task instance execution events sent to the same master, and send them in one request.
+ */
+@Slf4j
+@Component
+public class TaskInstanceExecutionEventBatchSender implements AutoCloseable {
+
+    private final HostBatchingSender<ITaskInstanceExecutionEvent> hostBatchingSender;
+
+    public TaskInstanceExecutionEventBatchSender(WorkerConfig workerConfig) {
+        this.hostBatchingSender = new HostBatchingSender<>("TaskInstanceExecutionEventBatchSender",
+                workerConfig.getTaskExecuteEventBatchSize(),
+                workerConfig.getTaskExecuteEventBatchWindow().toMillis(),
+                this::sendBatch);
+    }
+
+    /**
+     * Send the event to the workflow instance host, the events of the same task instance will be received by master in
+     * the order they are sent.
+     */
+    public CompletableFuture<Void> sendEvent(ITaskInstanceExecutionEvent taskInstanceExecutionEvent) {
+        return hostBatchingSender.send(taskInstanceExecutionEvent.getWorkflowInstanceHost(),
+                taskInstanceExecutionEvent);
+    }
+
+    private CompletableFuture<Void> sendBatch(String masterHost, List<ITaskInstanceExecutionEvent> events) {
+        if (log.isDebugEnabled()) {
+            log.debug("Send {} task instance execution events to master: {}", events.size(), masterHost);
+        }
+        ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(masterHost,
+                        ITaskInstanceExecutionEventListener.class);
+        return iTaskInstanceExecutionEventListener
+                .onTaskInstanceExecutionEventBatch(new TaskInstanceExecutionEventBatch(events));
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        hostBatchingSender.close();
+    }
+}
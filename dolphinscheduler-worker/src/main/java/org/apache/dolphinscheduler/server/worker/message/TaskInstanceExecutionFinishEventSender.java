@@ -17,12 +17,13 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -30,13 +31,12 @@ public class TaskInstanceExecutionFinishEventSender
         implements
             TaskInstanceExecutionEventSender<TaskInstanceExecutionFinishEvent> {
 
+    @Autowired
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
+
     @Override
-    public void sendEvent(TaskInstanceExecutionFinishEvent taskInstanceExecutionFinishEvent) {
-        ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskInstanceExecutionFinishEvent.getWorkflowInstanceHost(),
-                                ITaskInstanceExecutionEventListener.class);
-        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionFinish(taskInstanceExecutionFinishEvent);
+    public CompletableFuture<Void> sendEvent(TaskInstanceExecutionFinishEvent taskInstanceExecutionFinishEvent) {
+        return taskInstanceExecutionEventBatchSender.sendEvent(taskInstanceExecutionFinishEvent);
     }
 
     @Override
@@ -17,14 +17,15 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionInfoEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.NonNull;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -32,13 +33,12 @@ public class TaskInstanceExecutionInfoUpdateEventSender
         implements
             TaskInstanceExecutionEventSender<TaskInstanceExecutionInfoEvent> {
 
+    @Autowired
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
+
     @Override
-    public void sendEvent(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent) {
-        ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskInstanceExecutionInfoEvent.getWorkflowInstanceHost(),
-                                ITaskInstanceExecutionEventListener.class);
-        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionInfoUpdate(taskInstanceExecutionInfoEvent);
+    public CompletableFuture<Void> sendEvent(TaskInstanceExecutionInfoEvent taskInstanceExecutionInfoEvent) {
+        return taskInstanceExecutionEventBatchSender.sendEvent(taskInstanceExecutionInfoEvent);
     }
 
     @Override
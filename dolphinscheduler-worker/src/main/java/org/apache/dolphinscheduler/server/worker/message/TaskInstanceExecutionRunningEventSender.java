@@ -17,14 +17,15 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
-import org.apache.dolphinscheduler.extract.master.ITaskInstanceExecutionEventListener;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.NonNull;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -32,13 +33,12 @@ public class TaskInstanceExecutionRunningEventSender
         implements
             TaskInstanceExecutionEventSender<TaskInstanceExecutionRunningEvent> {
 
+    @Autowired
+    private TaskInstanceExecutionEventBatchSender taskInstanceExecutionEventBatchSender;
+
     @Override
-    public void sendEvent(TaskInstanceExecutionRunningEvent taskInstanceExecutionRunningEvent) {
-        ITaskInstanceExecutionEventListener iTaskInstanceExecutionEventListener =
-                SingletonJdkDynamicRpcClientProxyFactory
-                        .getProxyClient(taskInstanceExecutionRunningEvent.getWorkflowInstanceHost(),
-                                ITaskInstanceExecutionEventListener.class);
-        iTaskInstanceExecutionEventListener.onTaskInstanceExecutionRunning(taskInstanceExecutionRunningEvent);
+    public CompletableFuture<Void> sendEvent(TaskInstanceExecutionRunningEvent taskInstanceExecutionRunningEvent) {
+        return taskInstanceExecutionEventBatchSender.sendEvent(taskInstanceExecutionRunningEvent);
     }
 
     @Override
@@ -67,6 +67,31 @@ public class WorkerServerMetrics {
                     .description("size of downloaded resource files on worker")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheSavedBytesCounter =
+            Counter.builder("ds.worker.resource.cache.saved.bytes")
+                    .baseUnit("bytes")
+                    .description("bytes of resource files not downloaded since they are cached on worker")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workerMessageRetryAgeTimer =
+            Timer.builder("ds.worker.message.retry.age")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .description("time since the retried task instance event was first sent")
+                    .register(Metrics.globalRegistry);
+
     public void incWorkerOverloadCount() {
         workerOverloadCounter.increment();
     }
@@ -91,6 +116,40 @@ public class WorkerServerMetrics {
         workerResourceDownloadSizeDistribution.record(size);
     }
 
+    public void incWorkerResourceCacheHitCount(final long savedBytes) {
+        workerResourceCacheHitCounter.increment();
+        workerResourceCacheSavedBytesCounter.increment(savedBytes);
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
+    public void registerWorkerResourceCacheSizeGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.cache.size", supplier)
+                .baseUnit("bytes")
+                .description("total size of the cached resource files on worker")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkerMessageRetryAge(final long milliseconds) {
+        workerMessageRetryAgeTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incWorkerMessageRetryFailureCount(final String masterHost) {
+        Counter.builder("ds.worker.message.retry.failure.count")
+                .tag("host", masterHost)
+                .description("failure count of retrying task instance events to master")
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    public void registerWorkerMessageRetryBacklogGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.message.retry.backlog", supplier)
+                .description("number of task instance events waiting for master ack on worker")
+                .register(Metrics.globalRegistry);
+    }
+
     public void registerWorkerTaskTotalGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.worker.task", supplier)
                 .description("total number of tasks on worker")
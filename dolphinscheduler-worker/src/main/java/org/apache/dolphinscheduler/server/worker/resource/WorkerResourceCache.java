@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheProperties;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.spi.enums.ResourceType;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The worker level cache of the resource files.
+ * <p>
+ * A cached file is keyed by the resource full name and the size/update time of the resource in the storage, so a
+ * modified resource will never hit the stale file. The cached files are read only and hard linked into the task execute
+ * path, so a task cannot modify the shared file through its link. If the worker runs as root, the tasks may run as
+ * root too and ignore the permission, so the cached files are copied instead. The least recently used files are
+ * evicted once the total size exceeds the disk quota, the evicted file is still available for the running tasks since
+ * they hold a hard link. When many tasks need the same file at the same time, only one of them downloads it and the
+ * others wait for the result.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache implements AutoCloseable {
+
+    private static final String TEMP_FILE_SUFFIX = ".downloading";
+
+    private final ResourceCacheProperties resourceCacheProperties;
+
+    private final Path cacheDir;
+
+    private final long maxDiskSize;
+
+    private final ExecutorService downloadExecutor;
+
+    // guarded by itself, access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, CompletableFuture<CachedResource>> downloadingResources = new ConcurrentHashMap<>();
+
+    private long cachedSize;
+
+    private final boolean hardLinkEnabled;
+
+    public WorkerResourceCache(WorkerConfig workerConfig) {
+        this.resourceCacheProperties = workerConfig.getResourceCache();
+        this.cacheDir = Paths.get(resourceCacheProperties.getCacheDir());
+        this.maxDiskSize = resourceCacheProperties.getMaxDiskSize().toBytes();
+        this.downloadExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerResourceDownloadThread",
+                resourceCacheProperties.getDownloadParallelism());
+        this.hardLinkEnabled = !"root".equals(System.getProperty("user.name"));
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!resourceCacheProperties.isEnabled()) {
+            log.info("Worker resource cache is disabled");
+            return;
+        }
+        FileUtils.createDirectoryIfNotPresent(cacheDir);
+        // the files cached before restart are loaded in the order of their modification time
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Path> cachedFiles = files.filter(Files::isRegularFile).collect(Collectors.toList());
+            cachedFiles.sort(Comparator.comparing(this::getLastModifiedTime));
+            for (Path cachedFile : cachedFiles) {
+                if (cachedFile.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+                    Files.deleteIfExists(cachedFile);
+                    continue;
+                }
+                // the files cached by the previous version may be writable
+                setReadOnly(cachedFile);
+                addCachedResource(new CachedResource(cachedFile.getFileName().toString(), cachedFile,
+                        Files.size(cachedFile)));
+            }
+        }
+        WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(this::getCachedSize);
+        log.info("Worker resource cache started, cacheDir: {}, cached files: {}, cached size: {} bytes, hard link: {}",
+                cacheDir, cachedResources.size(), cachedSize, hardLinkEnabled);
+    }
+
+    public boolean isEnabled() {
+        return resourceCacheProperties.isEnabled();
+    }
+
+    /**
+     * Fetch the resource into the target path asynchronously, the resource will be downloaded from the storage only if
+     * it is not cached.
+     *
+     * @param fileOwner the owner of the target file if it cannot be hard linked and need to be copied
+     */
+    public CompletableFuture<Void> fetchAsync(StorageOperate storageOperate,
+                                              String tenantCode,
+                                              String fullName,
+                                              Path targetFile,
+                                              String fileOwner) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                fetch(storageOperate, tenantCode, fullName, targetFile, fileOwner);
+            } catch (Exception ex) {
+                throw new ResourceFetchException(
+                        String.format("Fetch resource: %s into: %s failed", fullName, targetFile), ex);
+            }
+        }, downloadExecutor);
+    }
+
+    public long getCachedSize() {
+        synchronized (cachedResources) {
+            return cachedSize;
+        }
+    }
+
+    private void fetch(StorageOperate storageOperate,
+                       String tenantCode,
+                       String fullName,
+                       Path targetFile,
+                       String fileOwner) throws Exception {
+        StorageEntity storageEntity;
+        try {
+            storageEntity = storageOperate.getFileStatus(fullName, storageOperate.getResDir(tenantCode), tenantCode,
+                    ResourceType.FILE);
+        } catch (Exception ex) {
+            log.warn("Cannot get the status of resource: {}, will download it without cache", fullName, ex);
+            downloadResource(storageOperate, tenantCode, fullName, targetFile);
+            setFileOwner(targetFile, fileOwner);
+            return;
+        }
+        long updateTime = storageEntity.getUpdateTime() == null ? 0 : storageEntity.getUpdateTime().getTime();
+        String cacheKey = DigestUtils.sha256Hex(fullName + "|" + storageEntity.getSize() + "|" + updateTime);
+        try {
+            materialize(getOrDownload(storageOperate, tenantCode, fullName, cacheKey), targetFile, fileOwner);
+        } catch (NoSuchFileException ex) {
+            // the cached file is evicted before it is linked, this should rarely happen unless the quota is too small
+            log.warn("The cached file of resource: {} has been evicted, will fetch it again", fullName);
+            materialize(getOrDownload(storageOperate, tenantCode, fullName, cacheKey), targetFile, fileOwner);
+        }
+    }
+
+    private CachedResource getOrDownload(StorageOperate storageOperate,
+                                         String tenantCode,
+                                         String fullName,
+                                         String cacheKey) throws Exception {
+        CachedResource cachedResource = getCachedResource(cacheKey);
+        if (cachedResource != null) {
+            WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.getSize());
+            return cachedResource;
+        }
+        CompletableFuture<CachedResource> downloadFuture = new CompletableFuture<>();
+        CompletableFuture<CachedResource> existingDownloadFuture =
+                downloadingResources.putIfAbsent(cacheKey, downloadFuture);
+        if (existingDownloadFuture != null) {
+            log.info("Resource: {} is being downloaded by another task, will wait for it", fullName);
+            try {
+                cachedResource = existingDownloadFuture.get();
+            } catch (ExecutionException ex) {
+                throw new IOException(String.format("Download resource: %s failed", fullName), ex.getCause());
+            }
+            WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.getSize());
+            return cachedResource;
+        }
+        try {
+            // the resource may be cached by another task between the check and the download future registered
+            cachedResource = getCachedResource(cacheKey);
+            if (cachedResource == null) {
+                WorkerServerMetrics.incWorkerResourceCacheMissCount();
+                Path tempFile = cacheDir.resolve(cacheKey + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+                Path cachedFile = cacheDir.resolve(cacheKey);
+                try {
+                    downloadResource(storageOperate, tenantCode, fullName, tempFile);
+                    setReadOnly(tempFile);
+                    Files.move(tempFile, cachedFile, StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+                cachedResource = new CachedResource(cacheKey, cachedFile, Files.size(cachedFile));
+                addCachedResource(cachedResource);
+            }
+            downloadFuture.complete(cachedResource);
+            return cachedResource;
+        } catch (Exception ex) {
+            downloadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            downloadingResources.remove(cacheKey);
+        }
+    }
+
+    private void downloadResource(StorageOperate storageOperate,
+                                  String tenantCode,
+                                  String fullName,
+                                  Path targetFile) throws IOException {
+        log.info("get resource file from path:{}", fullName);
+        long resourceDownloadStartTime = System.currentTimeMillis();
+        try {
+            storageOperate.download(tenantCode, fullName, targetFile.toString(), true);
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+            WorkerServerMetrics.recordWorkerResourceDownloadSize(Files.size(targetFile));
+            WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+        } catch (IOException ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            throw ex;
+        }
+    }
+
+    /**
+     * Hard link the cached file into the target path, the cached file is shared by all the tasks, so we don't change
+     * its owner. If the hard link is not supported, e.g. the cache dir is in another file system, or is not safe, copy
+     * it instead.
+     */
+    private void materialize(CachedResource cachedResource, Path targetFile, String fileOwner) throws IOException {
+        FileUtils.createDirectoryIfNotPresent(targetFile.getParent());
+        Files.deleteIfExists(targetFile);
+        if (hardLinkEnabled) {
+            try {
+                Files.createLink(targetFile, cachedResource.getPath());
+                return;
+            } catch (NoSuchFileException ex) {
+                throw ex;
+            } catch (IOException | UnsupportedOperationException ex) {
+                log.debug("Cannot hard link the cached file: {} to {}, will copy it", cachedResource.getPath(),
+                        targetFile, ex);
+            }
+        }
+        // the copy is owned by the task, so it is writable even though the cached file is read only
+        Files.copy(cachedResource.getPath(), targetFile, StandardCopyOption.REPLACE_EXISTING);
+        setPermissions(targetFile, "rwxr-xr-x");
+        setFileOwner(targetFile, fileOwner);
+    }
+
+    private CachedResource getCachedResource(String cacheKey) {
+        synchronized (cachedResources) {
+            return cachedResources.get(cacheKey);
+        }
+    }
+
+    private void addCachedResource(CachedResource cachedResource) {
+        synchronized (cachedResources) {
+            CachedResource oldCachedResource = cachedResources.put(cachedResource.getKey(), cachedResource);
+            if (oldCachedResource != null) {
+                cachedSize -= oldCachedResource.getSize();
+            }
+            cachedSize += cachedResource.getSize();
+            Iterator<CachedResource> iterator = cachedResources.values().iterator();
+            while (cachedSize > maxDiskSize && iterator.hasNext()) {
+                CachedResource eldestCachedResource = iterator.next();
+                if (eldestCachedResource == cachedResource) {
+                    // always keep the newest one even if it exceeds the quota by itself
+                    break;
+                }
+                iterator.remove();
+                cachedSize -= eldestCachedResource.getSize();
+                try {
+                    Files.deleteIfExists(eldestCachedResource.getPath());
+                    log.info("Evicted the cached resource file: {}, size: {} bytes", eldestCachedResource.getPath(),
+                            eldestCachedResource.getSize());
+                } catch (IOException ex) {
+                    log.warn("Delete the evicted resource file: {} failed", eldestCachedResource.getPath(), ex);
+                }
+            }
+        }
+    }
+
+    private void setFileOwner(Path targetFile, String fileOwner) {
+        if (OSUtils.isSudoEnable()) {
+            FileUtils.setFileOwner(targetFile, fileOwner);
+        }
+    }
+
+    private void setReadOnly(Path file) {
+        setPermissions(file, "r-xr-xr-x");
+    }
+
+    private void setPermissions(Path file, String permissions) {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString(permissions));
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.debug("Set the permission of file: {} failed", file, ex);
+        }
+    }
+
+    private FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        downloadExecutor.shutdownNow();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResource {
+
+        private final String key;
+        private final Path path;
+        private final long size;
+    }
+
+    public static class ResourceFetchException extends RuntimeException {
+
+        public ResourceFetchException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -28,6 +28,8 @@ import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHost
 import org.apache.dolphinscheduler.extract.worker.transportor.UpdateWorkflowHostResponse;
 import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceOperationFunctionManager;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -38,9 +40,10 @@ public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
     private TaskInstanceOperationFunctionManager taskInstanceOperationFunctionManager;
 
     @Override
-    public TaskInstanceDispatchResponse dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
-        return taskInstanceOperationFunctionManager.getTaskInstanceDispatchOperationFunction()
-                .operate(taskInstanceDispatchRequest);
+    public CompletableFuture<TaskInstanceDispatchResponse> dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
+        return CompletableFuture.completedFuture(taskInstanceOperationFunctionManager
+                .getTaskInstanceDispatchOperationFunction()
+                .operate(taskInstanceDispatchRequest));
     }
 
     @Override
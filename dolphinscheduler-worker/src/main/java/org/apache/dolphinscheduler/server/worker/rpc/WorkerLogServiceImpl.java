@@ -24,6 +24,8 @@ import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.extract.worker.IWorkerLogService;
 import org.apache.dolphinscheduler.extract.worker.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceLogPageQueryRequest;
@@ -51,6 +53,16 @@ public class WorkerLogServiceImpl implements IWorkerLogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+        String logPath = taskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath();
+        byte[] bytes = org.apache.dolphinscheduler.common.utils.LogUtils.readFileChunk(
+                logPath,
+                taskInstanceLogFileChunkDownloadRequest.getOffset(),
+                taskInstanceLogFileChunkDownloadRequest.getLength());
+        return new TaskInstanceLogFileChunkDownloadResponse(bytes, new File(logPath).length());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
         List<String> lines = org.apache.dolphinscheduler.common.utils.LogUtils.readPartFileContent(
@@ -80,6 +92,7 @@ public class WorkerLogServiceImpl implements IWorkerLogService {
             if (taskLogFile.exists()) {
                 taskLogFile.delete();
             }
+            org.apache.dolphinscheduler.common.utils.LogUtils.evictLineOffsetIndex(taskInstanceLogAbsolutePath);
         } catch (Exception e) {
             log.error("Remove TaskInstanceLog error", e);
         }
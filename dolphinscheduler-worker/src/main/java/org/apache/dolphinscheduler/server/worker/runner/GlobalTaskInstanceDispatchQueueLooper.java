@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +57,9 @@ public class GlobalTaskInstanceDispatchQueueLooper extends BaseDaemonThread {
     @Autowired(required = false)
     private StorageOperate storageOperate;
 
+    @Autowired
+    private WorkerResourceCache workerResourceCache;
+
     @Autowired
     private WorkerRegistryClient workerRegistryClient;
 
@@ -93,6 +97,7 @@ public class GlobalTaskInstanceDispatchQueueLooper extends BaseDaemonThread {
                                 workerMessageSender,
                                 taskPluginManager,
                                 storageOperate,
+                                workerResourceCache,
                                 workerRegistryClient)
                         .createWorkerTaskExecuteRunnable();
                 if (workerManager.offer(workerTaskExecuteRunnable)) {
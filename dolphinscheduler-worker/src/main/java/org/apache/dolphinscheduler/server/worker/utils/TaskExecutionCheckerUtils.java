@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -38,6 +39,8 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -100,6 +103,45 @@ public class TaskExecutionCheckerUtils {
         }
     }
 
+    /**
+     * Fetch the resources through the worker resource cache, the resources are fetched in parallel and the cached ones
+     * will not be downloaded again.
+     */
+    public static void downloadResourcesIfNeeded(WorkerResourceCache workerResourceCache,
+                                                 StorageOperate storageOperate,
+                                                 TaskExecutionContext taskExecutionContext) {
+        if (workerResourceCache == null || !workerResourceCache.isEnabled()) {
+            downloadResourcesIfNeeded(storageOperate, taskExecutionContext);
+            return;
+        }
+        String execLocalPath = taskExecutionContext.getExecutePath();
+        String tenant = taskExecutionContext.getTenantCode();
+        String actualTenant =
+                TenantConstants.DEFAULT_TENANT_CODE.equals(tenant) ? TenantConstants.BOOTSTRAPT_SYSTEM_USER : tenant;
+
+        Map<String, String> projectRes = taskExecutionContext.getResources();
+        if (MapUtils.isEmpty(projectRes)) {
+            return;
+        }
+        List<CompletableFuture<Void>> fetchFutures = new ArrayList<>();
+        projectRes.keySet().forEach(fullName -> {
+            String fileName = storageOperate.getResourceFileName(actualTenant, fullName);
+            projectRes.put(fullName, fileName);
+            File resFile = new File(execLocalPath, fileName);
+            if (resFile.exists()) {
+                log.warn("Resource file : {} already exists will not download again ", resFile.getName());
+                return;
+            }
+            fetchFutures.add(workerResourceCache.fetchAsync(storageOperate, actualTenant, fullName,
+                    resFile.toPath(), taskExecutionContext.getTenantCode()));
+        });
+        try {
+            CompletableFuture.allOf(fetchFutures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new TaskException("Download resource file error", e.getCause());
+        }
+    }
+
     public static void downloadResourcesIfNeeded(StorageOperate storageOperate,
                                                  TaskExecutionContext taskExecutionContext) {
         String execLocalPath = taskExecutionContext.getExecutePath();
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskInstanceExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionFinishEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskInstanceExecutionRunningEvent;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MessageRetryRunnerTest {
+
+    private static final String MASTER_HOST = "127.0.0.1:5678";
+
+    private static final long MESSAGE_RETRY_WINDOW = 5 * 60 * 1000L;
+
+    private MessageRetryRunner messageRetryRunner;
+
+    private MockMessageSender runningMessageSender;
+
+    private MockMessageSender finishMessageSender;
+
+    @BeforeEach
+    public void before() {
+        messageRetryRunner = new MessageRetryRunner();
+        runningMessageSender =
+                new MockMessageSender(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        finishMessageSender = new MockMessageSender(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.FINISH);
+        messageRetryRunner.registerMessageSender(runningMessageSender);
+        messageRetryRunner.registerMessageSender(finishMessageSender);
+    }
+
+    @Test
+    public void testPollDueMessagesInDeadlineOrder() {
+        long now = System.currentTimeMillis();
+        messageRetryRunner.addRetryMessage(1, runningEvent(1));
+        messageRetryRunner.addRetryMessage(2, runningEvent(2));
+        messageRetryRunner.addRetryMessage(3, runningEvent(3));
+        Assertions.assertTrue(messageRetryRunner.pollDueMessages(now).isEmpty());
+
+        // The redirected message is due immediately
+        messageRetryRunner.updateMessageHost(2, "127.0.0.1:5679");
+        Map<String, List<MessageRetryRunner.TaskInstanceMessage>> dueMessages =
+                messageRetryRunner.pollDueMessages(System.currentTimeMillis());
+        Assertions.assertEquals(Collections.singletonList(2L), taskInstanceIds(dueMessages.get("127.0.0.1:5679")));
+        Assertions.assertNull(dueMessages.get(MASTER_HOST));
+
+        dueMessages = messageRetryRunner.pollDueMessages(now + MESSAGE_RETRY_WINDOW + 1000);
+        Assertions.assertEquals(Arrays.asList(1L, 3L), taskInstanceIds(dueMessages.get(MASTER_HOST)));
+        // The taken messages are kept until acked
+        Assertions.assertEquals(3, messageRetryRunner.getRetryMessageSize());
+    }
+
+    @Test
+    public void testMasterBackoffGrowsAndResets() {
+        messageRetryRunner.addRetryMessage(1, runningEvent(1));
+        messageRetryRunner.updateMessageHost(1, MASTER_HOST);
+
+        runningMessageSender.sendResult = failedFuture();
+        long beforeFailure = System.currentTimeMillis();
+        retryDueMessages(System.currentTimeMillis());
+        long afterFailure = System.currentTimeMillis();
+        MessageRetryRunner.MasterRetryBackoff masterRetryBackoff =
+                messageRetryRunner.getMasterRetryBackoff(MASTER_HOST);
+        Assertions.assertEquals(1, masterRetryBackoff.getFailureTimes());
+        Assertions.assertTrue(masterRetryBackoff.getNextRetryTime() >= beforeFailure + 1000);
+        Assertions.assertTrue(masterRetryBackoff.getNextRetryTime() <= afterFailure + 1000);
+
+        // The message is delayed until the end of the backoff
+        long firstBackoffEnd = masterRetryBackoff.getNextRetryTime();
+        Assertions.assertTrue(messageRetryRunner.pollDueMessages(firstBackoffEnd - 1).isEmpty());
+
+        beforeFailure = System.currentTimeMillis();
+        retryDueMessages(firstBackoffEnd);
+        afterFailure = System.currentTimeMillis();
+        masterRetryBackoff = messageRetryRunner.getMasterRetryBackoff(MASTER_HOST);
+        Assertions.assertEquals(2, masterRetryBackoff.getFailureTimes());
+        Assertions.assertTrue(masterRetryBackoff.getNextRetryTime() >= beforeFailure + 2000);
+        Assertions.assertTrue(masterRetryBackoff.getNextRetryTime() <= afterFailure + 2000);
+
+        runningMessageSender.sendResult = CompletableFuture.completedFuture(null);
+        retryDueMessages(masterRetryBackoff.getNextRetryTime());
+        Assertions.assertNull(messageRetryRunner.getMasterRetryBackoff(MASTER_HOST));
+        Assertions.assertEquals(3, runningMessageSender.sendTimes);
+        // The message is still waiting for the ack
+        Assertions.assertEquals(1, messageRetryRunner.getRetryMessageSize());
+    }
+
+    @Test
+    public void testAckRemovesMessage() {
+        messageRetryRunner.addRetryMessage(1, runningEvent(1));
+        messageRetryRunner.addRetryMessage(1, finishEvent(1));
+        messageRetryRunner.addRetryMessage(2, runningEvent(2));
+        // The same message replaces the previous one
+        messageRetryRunner.addRetryMessage(2, runningEvent(2));
+        Assertions.assertEquals(3, messageRetryRunner.getRetryMessageSize());
+
+        messageRetryRunner.removeRetryMessage(1, ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        Assertions.assertEquals(2, messageRetryRunner.getRetryMessageSize());
+
+        messageRetryRunner.removeRetryMessages(2);
+        Assertions.assertEquals(1, messageRetryRunner.getRetryMessageSize());
+
+        messageRetryRunner.removeRetryMessage(1, ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType.FINISH);
+        Assertions.assertEquals(0, messageRetryRunner.getRetryMessageSize());
+        Assertions.assertTrue(messageRetryRunner.pollDueMessages(Long.MAX_VALUE / 2).isEmpty());
+    }
+
+    @Test
+    public void testMasterBackoffReleasedOnceMasterHasNoMessage() {
+        messageRetryRunner.addRetryMessage(1, runningEvent(1));
+        messageRetryRunner.addRetryMessage(2, runningEvent(2));
+        messageRetryRunner.updateMessageHost(1, MASTER_HOST);
+        messageRetryRunner.updateMessageHost(2, MASTER_HOST);
+        runningMessageSender.sendResult = failedFuture();
+        retryDueMessages(System.currentTimeMillis());
+        Assertions.assertNotNull(messageRetryRunner.getMasterRetryBackoff(MASTER_HOST));
+
+        // The master went away, the messages are redirected to the new master
+        messageRetryRunner.updateMessageHost(1, "127.0.0.1:5679");
+        Assertions.assertNotNull(messageRetryRunner.getMasterRetryBackoff(MASTER_HOST));
+        messageRetryRunner.removeRetryMessages(2);
+        Assertions.assertNull(messageRetryRunner.getMasterRetryBackoff(MASTER_HOST));
+
+        // The messages are acked before the failure callback
+        messageRetryRunner.addRetryMessage(3, runningEvent(3));
+        messageRetryRunner.updateMessageHost(3, MASTER_HOST);
+        Map<String, List<MessageRetryRunner.TaskInstanceMessage>> dueMessages =
+                messageRetryRunner.pollDueMessages(System.currentTimeMillis());
+        messageRetryRunner.removeRetryMessages(3);
+        dueMessages.forEach(messageRetryRunner::retrySendMessages);
+        Assertions.assertNull(messageRetryRunner.getMasterRetryBackoff(MASTER_HOST));
+    }
+
+    private void retryDueMessages(long now) {
+        Map<String, List<MessageRetryRunner.TaskInstanceMessage>> dueMessages =
+                messageRetryRunner.pollDueMessages(now);
+        Assertions.assertFalse(dueMessages.isEmpty());
+        dueMessages.forEach(messageRetryRunner::retrySendMessages);
+    }
+
+    private List<Long> taskInstanceIds(List<MessageRetryRunner.TaskInstanceMessage> taskInstanceMessages) {
+        return taskInstanceMessages.stream()
+                .map(MessageRetryRunner.TaskInstanceMessage::getTaskInstanceId)
+                .collect(Collectors.toList());
+    }
+
+    private ITaskInstanceExecutionEvent runningEvent(int taskInstanceId) {
+        TaskInstanceExecutionRunningEvent event = new TaskInstanceExecutionRunningEvent();
+        event.setTaskInstanceId(taskInstanceId);
+        event.setWorkflowInstanceHost(MASTER_HOST);
+        return event;
+    }
+
+    private ITaskInstanceExecutionEvent finishEvent(int taskInstanceId) {
+        TaskInstanceExecutionFinishEvent event = new TaskInstanceExecutionFinishEvent();
+        event.setTaskInstanceId(taskInstanceId);
+        event.setWorkflowInstanceHost(MASTER_HOST);
+        return event;
+    }
+
+    private static CompletableFuture<Void> failedFuture() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("Master is unreachable"));
+        return future;
+    }
+
+    private static class MockMessageSender implements TaskInstanceExecutionEventSender<ITaskInstanceExecutionEvent> {
+
+        private final ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType messageType;
+
+        private CompletableFuture<Void> sendResult = CompletableFuture.completedFuture(null);
+
+        private int sendTimes;
+
+        private MockMessageSender(ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType messageType) {
+            this.messageType = messageType;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendEvent(ITaskInstanceExecutionEvent message) {
+            sendTimes++;
+            return sendResult;
+        }
+
+        @Override
+        public ITaskInstanceExecutionEvent buildEvent(TaskExecutionContext taskExecutionContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ITaskInstanceExecutionEvent.TaskInstanceExecutionEventType getMessageType() {
+            return messageType;
+        }
+    }
+}
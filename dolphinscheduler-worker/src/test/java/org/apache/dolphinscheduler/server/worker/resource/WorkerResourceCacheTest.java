@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
+
+public class WorkerResourceCacheTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private final AtomicInteger downloadCount = new AtomicInteger();
+
+    private StorageOperate storageOperate;
+
+    private WorkerResourceCache workerResourceCache;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        storageOperate = Mockito.mock(StorageOperate.class);
+        Mockito.when(storageOperate.getResDir(anyString())).thenReturn("/dolphinscheduler/default/resources");
+        Mockito.when(storageOperate.getFileStatus(anyString(), anyString(), anyString(), any()))
+                .thenAnswer(invocation -> {
+                    StorageEntity storageEntity = new StorageEntity();
+                    storageEntity.setFullName(invocation.getArgument(0));
+                    storageEntity.setSize(4);
+                    storageEntity.setUpdateTime(new Date(0));
+                    return storageEntity;
+                });
+        Mockito.doAnswer(invocation -> {
+            downloadCount.incrementAndGet();
+            // make the concurrent fetches overlap with the download
+            Thread.sleep(100);
+            Files.write(Paths.get((String) invocation.getArgument(2)), "test".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperate).download(anyString(), anyString(), anyString(), anyBoolean());
+
+        WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.getResourceCache().setCacheDir(tempDir.resolve("cache").toString());
+        workerConfig.getResourceCache().setMaxDiskSize(DataSize.ofBytes(8));
+        workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        workerResourceCache.close();
+    }
+
+    @Test
+    public void testFetchSameResourceConcurrently() throws Exception {
+        List<CompletableFuture<Void>> fetchFutures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fetchFutures.add(workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh",
+                    tempDir.resolve("task-" + i).resolve("a.sh"), "default"));
+        }
+        CompletableFuture.allOf(fetchFutures.toArray(new CompletableFuture[0])).get();
+
+        Assertions.assertEquals(1, downloadCount.get());
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("test",
+                    new String(Files.readAllBytes(tempDir.resolve("task-" + i).resolve("a.sh")),
+                            StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(4, workerResourceCache.getCachedSize());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedResource() throws Exception {
+        workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh", tempDir.resolve("1/a.sh"), "default")
+                .get();
+        workerResourceCache.fetchAsync(storageOperate, "default", "/b.sh", tempDir.resolve("2/b.sh"), "default")
+                .get();
+        workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh", tempDir.resolve("3/a.sh"), "default")
+                .get();
+        Assertions.assertEquals(2, downloadCount.get());
+
+        // the quota is 8 bytes, so the least recently used b.sh should be evicted
+        workerResourceCache.fetchAsync(storageOperate, "default", "/c.sh", tempDir.resolve("4/c.sh"), "default")
+                .get();
+        workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh", tempDir.resolve("5/a.sh"), "default")
+                .get();
+        Assertions.assertEquals(3, downloadCount.get());
+        workerResourceCache.fetchAsync(storageOperate, "default", "/b.sh", tempDir.resolve("6/b.sh"), "default")
+                .get();
+        Assertions.assertEquals(4, downloadCount.get());
+        Assertions.assertEquals(8, workerResourceCache.getCachedSize());
+        // the evicted file is still available for the task which has linked it
+        Assertions.assertTrue(Files.exists(tempDir.resolve("2/b.sh")));
+        Mockito.verify(storageOperate, Mockito.times(4)).download(eq("default"), anyString(), anyString(),
+                anyBoolean());
+    }
+
+    @Test
+    public void testWriteMaterializedFileNotChangeCache() throws Exception {
+        Path firstFile = tempDir.resolve("1/a.sh");
+        workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh", firstFile, "default").get();
+        try {
+            Files.write(firstFile, "modified".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            // the hard linked file is read only
+        }
+
+        Path secondFile = tempDir.resolve("2/a.sh");
+        workerResourceCache.fetchAsync(storageOperate, "default", "/a.sh", secondFile, "default").get();
+        Assertions.assertEquals(1, downloadCount.get());
+        Assertions.assertEquals("test", new String(Files.readAllBytes(secondFile), StandardCharsets.UTF_8));
+    }
+}
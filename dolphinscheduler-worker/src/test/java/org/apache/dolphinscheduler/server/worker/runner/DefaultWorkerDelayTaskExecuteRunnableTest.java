@@ -60,6 +60,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 workerMessageSender,
                 taskPluginManager,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);
@@ -84,6 +85,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 workerMessageSender,
                 taskPluginManager,
                 storageOperate,
+                null,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);